@@ -1,16 +1,133 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import javafx.application.Application;
+import yapper.chatbot.Yapper;
+import yapper.data.user.Person;
+import yapper.ui.HeadlessUi;
+import yapper.ui.ServerUi;
 
 /**
  * A Launcher class to launch the chatbot.
  */
 public class Launcher {
 
+    private static final String CHATBOT_NAME = "Yapper";
+
+    // Task file format, chosen with -Dyapper.taskFormat=binary
+    private static final String PROPERTY_TASK_FORMAT_STRING = "yapper.taskFormat";
+    private static final String TASK_FORMAT_BINARY_STRING = "binary";
+
+    // File paths
+    private static final String TASK_FILE_PATH_CSV = "usertaskdata.csv";
+    private static final String TASK_FILE_PATH_BIN = "usertaskdata.bin";
+    private static final String NOTE_FILE_PATH_CSV = "usernotedata.csv";
+    private static final String USERS_DIRECTORY_PATH = "users";
+
+    // Command line options
+    private static final String OPTION_HEADLESS_STRING = "--headless";
+    private static final String OPTION_SERVER_STRING = "--server";
+    private static final String DEFAULT_SERVER_PORT_STRING = "4242";
+
     /**
-     * Main method to run the chatbot.
+     * Main method to run the chatbot. Run with {@code --headless [command_file]} to read commands from
+     * the file, or from standard input, without starting the GUI. Run with {@code --server [port | socket_path]}
+     * to serve many users over a loopback port or a Unix domain socket.
      *
      * @param args Command line arguments.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(OPTION_HEADLESS_STRING)) {
+            runHeadless(args.length > 1 ? args[1] : null);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(OPTION_SERVER_STRING)) {
+            runServer(args.length > 1 ? args[1] : DEFAULT_SERVER_PORT_STRING);
+            return;
+        }
         Application.launch(Main.class, args);
     }
+
+    /**
+     * Creates the chatbot serving the user whose tasks and notes are stored in the working directory.
+     *
+     * @return Yapper serving the user.
+     */
+    static Yapper createYapper() {
+        return createYapper(Path.of(""));
+    }
+
+    /**
+     * Creates the chatbot serving the user whose tasks and notes are stored in a directory.
+     *
+     * @param directory Directory of the user's tasks and notes.
+     * @return Yapper serving the user.
+     */
+    static Yapper createYapper(Path directory) {
+        String taskFilePath = TASK_FORMAT_BINARY_STRING.equals(System.getProperty(PROPERTY_TASK_FORMAT_STRING))
+                ? TASK_FILE_PATH_BIN
+                : TASK_FILE_PATH_CSV;
+        return new Yapper(CHATBOT_NAME, new Person(directory.resolve(taskFilePath).toString(),
+                directory.resolve(NOTE_FILE_PATH_CSV).toString()));
+    }
+
+    /**
+     * Saves the tasks and notes of the user served by the chatbot, unless they did not change since they were
+     * last saved, and stops its background threads, reporting a file that cannot be written.
+     *
+     * @param yapper Yapper to close, which must not be used afterwards.
+     */
+    static void closeYapper(Yapper yapper) {
+        try {
+            yapper.close();
+        } catch (IOException e) {
+            System.out.println(e.getLocalizedMessage());
+            System.out.flush();
+        }
+    }
+
+    /**
+     * Runs the chatbot without the GUI, reading commands from a file or from standard input, and closes it
+     * once the user says bye or the commands run out.
+     *
+     * @param commandFilePath Path of the file to read commands from, or null to read standard input.
+     */
+    private static void runHeadless(String commandFilePath) {
+        PrintStream out = HeadlessUi.createStandardOutput();
+        System.setOut(out);
+
+        Yapper yapper = createYapper();
+        boolean isInteractive = commandFilePath == null && System.console() != null;
+        try (BufferedReader in = commandFilePath == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(commandFilePath), StandardCharsets.UTF_8)) {
+            HeadlessUi headlessUi = new HeadlessUi(yapper, in, out);
+            yapper.startReminders(headlessUi::showReminder);
+            headlessUi.run(isInteractive);
+        } catch (IOException e) {
+            System.out.println(e.getLocalizedMessage());
+            System.out.flush();
+        } finally {
+            closeYapper(yapper);
+        }
+    }
+
+    /**
+     * Runs the chatbot as a server of many users, each with their tasks and notes in a directory of their own.
+     *
+     * @param portOrPath Loopback port, or path of the Unix domain socket, to listen on.
+     */
+    private static void runServer(String portOrPath) {
+        try {
+            new ServerUi(CHATBOT_NAME, ServerUi.toAddress(portOrPath), Path.of(USERS_DIRECTORY_PATH),
+                    Launcher::createYapper).run();
+        } catch (IOException e) {
+            System.out.println(e.getLocalizedMessage());
+        }
+    }
 }
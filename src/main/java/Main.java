@@ -6,7 +6,6 @@ import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
 import yapper.chatbot.Yapper;
-import yapper.data.user.Person;
 import yapper.ui.MainWindow;
 
 /**
@@ -17,13 +16,20 @@ public class Main extends Application {
     private static final String CHATBOT_NAME = "Yapper";
 
     // File paths
-    private static final String TASK_FILE_PATH_CSV = "usertaskdata.csv";
-    private static final String NOTE_FILE_PATH_CSV = "usernotedata.csv";
     private static final String FILE_PATH_MAIN_WINDOW_FXML = "/view/MainWindow.fxml";
 
     // Assert messages
     private static final String ASSERT_YAPPER_NOT_NULL_STRING = "Yapper should not be null";
-    private static final String ASSERT_PERSON_NOT_NULL_STRING = "Person should not be null";
+
+    /**
+     * Yapper serving the user, closed when the application exits.
+     */
+    private Yapper yapper;
+
+    /**
+     * Controller of the main window running the commands, or null if the window could not be loaded.
+     */
+    private MainWindow mainWindow;
 
     /**
      * Loads the main window scene.
@@ -38,6 +44,7 @@ public class Main extends Application {
 
         MainWindow controller = fxmlLoader.getController();
         controller.setYapper(y1);
+        this.mainWindow = controller;
 
         // Create the scene and show the stage
         Scene scene = new Scene(ap);
@@ -59,18 +66,10 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage stage) {
-        Person p1 = new Person(TASK_FILE_PATH_CSV, NOTE_FILE_PATH_CSV);
-        Yapper y1 = new Yapper(
-                CHATBOT_NAME,
-                p1.getTaskList(),
-                p1.getNoteList(),
-                p1.getTaskFile(),
-                p1.getNoteFile(),
-                p1.getTaskFileManager(),
-                p1.getNoteFileManager());
+        Yapper y1 = Launcher.createYapper();
 
         assert y1 != null : ASSERT_YAPPER_NOT_NULL_STRING;
-        assert p1 != null : ASSERT_PERSON_NOT_NULL_STRING;
+        this.yapper = y1;
 
         try {
             loadScene(stage, y1);
@@ -78,4 +77,17 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Stops the JavaFX application, once the user says bye or closes the window, saving the tasks and notes
+     * if they changed since bye saved them and stopping the background threads.
+     */
+    @Override
+    public void stop() {
+        if (this.mainWindow != null) {
+            this.mainWindow.close();
+        } else if (this.yapper != null) {
+            Launcher.closeYapper(this.yapper); // no command ran, so there is nothing to save
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package yapper.chatbot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import yapper.commands.Command;
+import yapper.data.exception.InvalidCommandSyntaxException;
+import yapper.parser.CommandParser;
+import yapper.util.SerialExecutor;
+import yapper.util.VirtualThreads;
+
+/**
+ * Runs commands entered by the user in the background, one at a time and in the order they were
+ * submitted, so the thread entering them is never held up by a slow command.
+ *
+ * <p>Commands run through a SerialExecutor, so only one thread at a time parses and executes them and
+ * changes the task and note lists. No thread is kept while no command is queued. Once a command ends the
+ * conversation, the commands submitted after it are dropped.
+ */
+public class CommandExecutor {
+
+    // Name of the writer thread
+    private static final String THREAD_NAME_STRING = "yapper-commands";
+
+    // Response to a command that failed unexpectedly
+    private static final String ERR_COMMAND_FAILED_FORMAT_STRING = "Sorry, that command failed: %s";
+
+    /**
+     * Functional interface for handling the responses of a command.
+     */
+    @FunctionalInterface
+    public interface ResponseHandler {
+        void handle(ArrayList<String> responseList, boolean isExit);
+    }
+
+    /**
+     * Yapper to run the commands with.
+     */
+    private final Yapper yapper;
+
+    /**
+     * Executor running the commands one at a time.
+     */
+    private final SerialExecutor writer;
+
+    /**
+     * True once a command ended the conversation.
+     */
+    private volatile boolean isExited;
+
+    /**
+     * Constructs a CommandExecutor instance.
+     *
+     * @param yapper Yapper to run the commands with.
+     */
+    public CommandExecutor(Yapper yapper) {
+        this.yapper = yapper;
+        this.writer = new SerialExecutor(VirtualThreads.executor(THREAD_NAME_STRING));
+    }
+
+    /**
+     * Queues a command to run after every command submitted before it.
+     *
+     * @param input           Command entered by the user.
+     * @param handlerExecutor Executor to hand the responses over with, such as the UI thread's.
+     * @param handler         Handler of the responses, or of the reason the command is invalid.
+     */
+    public void submit(String input, Executor handlerExecutor, ResponseHandler handler) {
+        this.writer.execute(() -> {
+            if (this.isExited) {
+                return;
+            }
+
+            ArrayList<String> responseList = new ArrayList<>();
+            boolean isExit = false;
+            try {
+                isExit = executeLine(this.yapper, input, responseList);
+            } finally {
+                // always answer, so the thread waiting on the responses is never left waiting
+                this.isExited = isExit;
+                boolean isExitHandled = isExit;
+                handlerExecutor.execute(() -> handler.handle(responseList, isExitHandled));
+            }
+        });
+    }
+
+    /**
+     * Closes Yapper once every command submitted before has run, on the thread running them, and waits until
+     * it is closed. Commands submitted afterwards are dropped.
+     *
+     * @throws IOException If a file cannot be written.
+     */
+    public void close() throws IOException {
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        this.writer.execute(() -> {
+            this.isExited = true;
+            try {
+                this.yapper.close();
+                closed.complete(null);
+            } catch (Throwable e) {
+                closed.completeExceptionally(e); // never leave the closing thread waiting
+            }
+        });
+
+        try {
+            closed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Executes one command, adding its responses, or the reason it is invalid or failed, to the response list.
+     *
+     * @param yapper       Yapper to run the command with.
+     * @param input        Command entered by the user.
+     * @param responseList List to store responses.
+     * @return True if the command ends the conversation.
+     */
+    public static boolean executeLine(Yapper yapper, String input, ArrayList<String> responseList) {
+        try {
+            Command command = CommandParser.parse(input, yapper);
+            yapper.execute(command, responseList);
+            return command.isExit();
+
+        } catch (InvalidCommandSyntaxException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            String message = e.getLocalizedMessage();
+            responseList.add(message == null ? String.format(ERR_COMMAND_FAILED_FORMAT_STRING, e) : message);
+            return false;
+
+        } catch (RuntimeException e) {
+            responseList.add(String.format(ERR_COMMAND_FAILED_FORMAT_STRING, e));
+            return false;
+        }
+    }
+}
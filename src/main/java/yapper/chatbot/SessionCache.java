@@ -0,0 +1,309 @@
+package yapper.chatbot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import yapper.chatbot.CommandExecutor.ResponseHandler;
+import yapper.data.index.SearchIndex;
+import yapper.util.SerialExecutor;
+
+/**
+ * Keeps the users served in a cache bounded by an estimate of the memory their tasks, notes and search indexes
+ * take, evicting the least recently used user once the bound is passed.
+ *
+ * <p>A user is loaded on their first command after being evicted, and their commands run one at a time through
+ * a SerialExecutor of their own. An evicted user is saved before being dropped. Only a user with no command
+ * waiting is evicted, and a user coming back is only loaded once that save has finished.
+ */
+public class SessionCache {
+
+    // Default bound on the estimated weight of every user kept
+    public static final long DEFAULT_MAX_WEIGHT_LONG = 64L * 1024 * 1024;
+
+    // Estimated weight of a user, of each of their tasks and of each of their notes, in bytes
+    private static final long USER_WEIGHT_LONG = 16 * 1024;
+    private static final long TASK_WEIGHT_LONG = 200;
+    private static final long NOTE_WEIGHT_LONG = 300;
+
+    // Output
+    private static final String STATISTICS_FORMAT_STRING = "Users kept: %d, weighing %,d of %,d bytes\n"
+            + "Hits: %d, misses: %d, hit rate: %.1f%%, evictions: %d\n"
+            + "Loads: %d, average %.1f ms, longest %.1f ms\n"
+            + "Saves: %d, average %.1f ms, longest %.1f ms";
+
+    // Error messages
+    private static final String ERR_EVICTION_SAVE_FAILED_FORMAT_STRING = "User %s could not be saved: %s";
+    private static final String ERR_LOAD_FAILED_FORMAT_STRING =
+            "Sorry, your tasks and notes could not be loaded: %s";
+
+    /**
+     * A user kept in the cache.
+     */
+    private static final class Session {
+
+        /**
+         * Name of the user.
+         */
+        private final String userName;
+
+        /**
+         * Executor running the user's commands one at a time.
+         */
+        private final SerialExecutor executor;
+
+        /**
+         * Save of the user when they were last evicted, to wait for before loading them.
+         */
+        private final CompletableFuture<Void> previousSave;
+
+        /**
+         * Yapper serving the user, or null until loaded; only used on the executor.
+         */
+        private Yapper yapper;
+
+        /**
+         * Number of commands submitted but not finished, guarded by the cache.
+         */
+        private int pendingCount;
+
+        /**
+         * Estimated weight of the user, in bytes, guarded by the cache.
+         */
+        private long weight = USER_WEIGHT_LONG;
+
+        private Session(String userName, Executor executor, CompletableFuture<Void> previousSave) {
+            this.userName = userName;
+            this.executor = new SerialExecutor(executor);
+            this.previousSave = previousSave;
+        }
+    }
+
+    /**
+     * Loads the Yapper serving a user, given their name.
+     */
+    private final Function<String, Yapper> loader;
+
+    /**
+     * Executor lending the threads every user's commands run on.
+     */
+    private final Executor executor;
+
+    /**
+     * Bound on the estimated weight of every user kept, in bytes.
+     */
+    private final long maxWeight;
+
+    /**
+     * Users kept, from least to most recently used.
+     */
+    private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Saves of evicted users still being written, by user name.
+     */
+    private final HashMap<String, CompletableFuture<Void>> saves = new HashMap<>();
+
+    // Statistics, guarded by the cache
+    private long totalWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long loadCount;
+    private long loadNanos;
+    private long maxLoadNanos;
+    private long saveCount;
+    private long saveNanos;
+    private long maxSaveNanos;
+
+    /**
+     * Constructs a SessionCache instance.
+     *
+     * @param loader    Loads the Yapper serving a user, given their name.
+     * @param executor  Executor lending the threads every user's commands run on.
+     * @param maxWeight Bound on the estimated weight of every user kept, in bytes.
+     */
+    public SessionCache(Function<String, Yapper> loader, Executor executor, long maxWeight) {
+        this.loader = loader;
+        this.executor = executor;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Queues a command of a user to run after every command of theirs submitted before it, loading the user
+     * first if they are not kept.
+     *
+     * @param userName Name of the user.
+     * @param input    Command entered by the user.
+     * @param handler  Handler of the responses, or of the reason the command is invalid or the user could not
+     *                 be loaded, called on the thread the command ran on once the command has finished, however
+     *                 it finished.
+     */
+    public void submit(String userName, String input, ResponseHandler handler) {
+        Session session;
+        synchronized (this) {
+            session = this.sessions.get(userName);
+            if (session == null) {
+                this.missCount++;
+                session = new Session(userName, this.executor, this.saves.get(userName));
+                this.sessions.put(userName, session);
+                this.totalWeight += session.weight;
+            } else {
+                this.hitCount++;
+            }
+            session.pendingCount++;
+        }
+
+        Session submitted = session;
+        session.executor.execute(() -> {
+            ArrayList<String> responseList = new ArrayList<>();
+            boolean isExit = false;
+            try {
+                if (submitted.yapper == null) {
+                    load(submitted);
+                }
+                isExit = CommandExecutor.executeLine(submitted.yapper, input, responseList);
+
+            } catch (RuntimeException e) {
+                responseList.add(String.format(ERR_LOAD_FAILED_FORMAT_STRING, e)); // loaded again next command
+            } finally {
+                try {
+                    release(submitted);
+                } finally {
+                    handler.handle(responseList, isExit);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts, and the load and save latencies, of the cache.
+     *
+     * @return Statistics of the cache, one per line.
+     */
+    public synchronized String getStatistics() {
+        long lookupCount = this.hitCount + this.missCount;
+        return String.format(STATISTICS_FORMAT_STRING, this.sessions.size(), this.totalWeight, this.maxWeight,
+                this.hitCount, this.missCount, lookupCount == 0 ? 0.0 : 100.0 * this.hitCount / lookupCount,
+                this.evictionCount, this.loadCount, toAverageMillis(this.loadNanos, this.loadCount),
+                toMillis(this.maxLoadNanos), this.saveCount, toAverageMillis(this.saveNanos, this.saveCount),
+                toMillis(this.maxSaveNanos));
+    }
+
+    /**
+     * Load a user, once their last save has finished
+     *
+     * @param session The user to load.
+     */
+    private void load(Session session) {
+        if (session.previousSave != null) {
+            session.previousSave.join();
+        }
+
+        long start = System.nanoTime();
+        session.yapper = this.loader.apply(session.userName);
+        long elapsed = System.nanoTime() - start;
+        synchronized (this) {
+            this.loadCount++;
+            this.loadNanos += elapsed;
+            this.maxLoadNanos = Math.max(this.maxLoadNanos, elapsed);
+        }
+    }
+
+    /**
+     * Record that a command of a user finished, weigh the user and their search indexes again and evict users
+     * until the cache is within its bound
+     *
+     * @param session The user whose command finished.
+     */
+    private void release(Session session) {
+        Yapper yapper = session.yapper;
+        long weight = USER_WEIGHT_LONG;
+        if (yapper != null) {
+            weight += TASK_WEIGHT_LONG * yapper.getTaskList().size() + NOTE_WEIGHT_LONG * yapper.getNoteList().size();
+            SearchIndex searchIndex = yapper.getSearchIndex();
+            weight += searchIndex == null ? 0 : searchIndex.estimateWeight();
+        }
+        synchronized (this) {
+            session.pendingCount--;
+            this.totalWeight += weight - session.weight;
+            session.weight = weight;
+            evictWhileOverweight();
+        }
+    }
+
+    /**
+     * Evict the least recently used users with no command waiting until the cache is within its bound
+     */
+    private synchronized void evictWhileOverweight() {
+        Iterator<Session> iterator = this.sessions.values().iterator();
+        while (this.totalWeight > this.maxWeight && iterator.hasNext()) {
+            Session session = iterator.next();
+            if (session.pendingCount > 0) {
+                continue;
+            }
+            iterator.remove();
+            this.totalWeight -= session.weight;
+            this.evictionCount++;
+
+            CompletableFuture<Void> save = new CompletableFuture<>();
+            this.saves.put(session.userName, save);
+            session.executor.execute(() -> save(session, save));
+        }
+    }
+
+    /**
+     * Save an evicted user and drop them
+     *
+     * @param session The evicted user.
+     * @param save    Completed once the user is saved.
+     */
+    private void save(Session session, CompletableFuture<Void> save) {
+        long start = System.nanoTime();
+        try {
+            if (session.yapper != null) {
+                session.yapper.close();
+            }
+        } catch (IOException e) {
+            System.out.println(String.format(ERR_EVICTION_SAVE_FAILED_FORMAT_STRING, session.userName,
+                    e.getLocalizedMessage()));
+        } finally {
+            session.yapper = null;
+            long elapsed = System.nanoTime() - start;
+            synchronized (this) {
+                this.saveCount++;
+                this.saveNanos += elapsed;
+                this.maxSaveNanos = Math.max(this.maxSaveNanos, elapsed);
+                this.saves.remove(session.userName, save);
+            }
+            save.complete(null);
+        }
+    }
+
+    /**
+     * Returns a duration in milliseconds.
+     *
+     * @param nanos Duration in nanoseconds.
+     * @return Duration in milliseconds.
+     */
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the average of durations in milliseconds.
+     *
+     * @param nanos Total of the durations in nanoseconds.
+     * @param count Number of durations.
+     * @return Average duration in milliseconds, or 0 if there are none.
+     */
+    private static double toAverageMillis(long nanos, long count) {
+        return count == 0 ? 0 : toMillis(nanos) / count;
+    }
+}
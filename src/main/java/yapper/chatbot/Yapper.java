@@ -1,12 +1,19 @@
 package yapper.chatbot;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
+import yapper.commands.Command;
+import yapper.data.MutationListener;
+import yapper.data.index.SearchIndex;
 import yapper.data.notes.Note;
 import yapper.data.task.Task;
+import yapper.data.user.Person;
 import yapper.storage.NoteFileManager;
-import yapper.storage.TaskFileManager;
+import yapper.storage.Persistable;
+import yapper.storage.SaveStats;
 
 /**
  * Represents a Yapper chatbot.
@@ -39,15 +46,35 @@ public class Yapper {
     private File noteFile;
 
     /**
-     * TaskFileManager to manage Person's tasks.
+     * Persistable to manage Person's tasks.
      */
-    private TaskFileManager taskFileManager;
+    private Persistable<Task> taskFileManager;
 
     /**
      * NoteFileManager to manage Person's notes.
      */
     private NoteFileManager noteFileManager;
 
+    /**
+     * Listener to notify of changes to the Person's tasks and notes.
+     */
+    private MutationListener mutationListener;
+
+    /**
+     * Lock held while a command runs, shared with anything reading the lists off the command thread.
+     */
+    private Object mutationLock;
+
+    /**
+     * Index of the words of the tasks and notes, or null if there is none.
+     */
+    private SearchIndex searchIndex;
+
+    /**
+     * The Person served, or null if the lists were given directly.
+     */
+    private Person person;
+
     /**
      * Constructor for Yapper.
      *
@@ -58,7 +85,7 @@ public class Yapper {
      * @param noteFile The file to store the note list
      */
     public Yapper(String name, ArrayList<Task> taskList, ArrayList<Note> noteList, File taskFile, File noteFile,
-            TaskFileManager taskFileManager, NoteFileManager noteFileManager) {
+            Persistable<Task> taskFileManager, NoteFileManager noteFileManager) {
         this.name = name;
         this.taskList = taskList;
         this.noteList = noteList;
@@ -66,6 +93,84 @@ public class Yapper {
         this.noteFile = noteFile;
         this.taskFileManager = taskFileManager;
         this.noteFileManager = noteFileManager;
+        this.mutationListener = MutationListener.NONE;
+        this.mutationLock = new Object();
+    }
+
+    /**
+     * Constructor for Yapper serving a Person.
+     *
+     * @param name   The name of the chatbot
+     * @param person The Person whose tasks and notes are managed
+     */
+    public Yapper(String name, Person person) {
+        this(name, person.getTaskList(), person.getNoteList(), person.getTaskFile(), person.getNoteFile(),
+                person.getTaskFileManager(), person.getNoteFileManager());
+        this.mutationListener = person.getMutationListener();
+        this.mutationLock = person.getMutationLock();
+        this.searchIndex = person.getSearchIndex();
+        this.person = person;
+    }
+
+    /**
+     * Saves the tasks and notes to their files, emptying the journal of the Person served if there is one.
+     *
+     * @return Statistics of the files written.
+     * @throws IOException If a file cannot be written.
+     */
+    public ArrayList<SaveStats> save() throws IOException {
+        if (this.person != null) {
+            return this.person.save();
+        }
+        ArrayList<SaveStats> statsList = new ArrayList<>();
+        statsList.add(this.taskFileManager.saveBulk(this.taskFile, this.taskList));
+        statsList.add(this.noteFileManager.saveBulk(this.noteFile, this.noteList));
+        return statsList;
+    }
+
+    /**
+     * Saves the tasks and notes of the Person served, unless nothing changed since they were last saved, and
+     * stops saving them in the background. Yapper must not be used afterwards.
+     *
+     * @return Statistics of the files written, empty if no Person is served or nothing changed.
+     * @throws IOException If a file cannot be written.
+     */
+    public ArrayList<SaveStats> close() throws IOException {
+        return this.person == null ? new ArrayList<>() : this.person.close();
+    }
+
+    /**
+     * Starts reminding the Person served of their deadlines and event starts to come. Does nothing if no
+     * Person is served.
+     *
+     * @param sink Receiver of the reminders, called on a background thread
+     */
+    public void startReminders(Consumer<String> sink) {
+        if (this.person != null) {
+            this.person.startReminders(sink);
+        }
+    }
+
+    /**
+     * Executes a command while holding the mutation lock, so the tasks and notes are never read mid-change.
+     *
+     * @param command      The command to execute
+     * @param responseList The list to store responses
+     * @return The result of the command
+     */
+    public boolean execute(Command command, ArrayList<String> responseList) {
+        synchronized (this.mutationLock) {
+            return command.execute(responseList);
+        }
+    }
+
+    /**
+     * Returns the index of the words of the tasks and notes.
+     *
+     * @return The index of the tasks and notes, or null if there is none
+     */
+    public SearchIndex getSearchIndex() {
+        return this.searchIndex;
     }
 
     /**
@@ -114,11 +219,11 @@ public class Yapper {
     }
 
     /**
-     * Returns the TaskFileManager object.
+     * Returns the Persistable managing the tasks.
      *
-     * @return TaskFileManager object
+     * @return Persistable managing the tasks
      */
-    public TaskFileManager getTaskFileManager() {
+    public Persistable<Task> getTaskFileManager() {
         return this.taskFileManager;
     }
 
@@ -130,4 +235,13 @@ public class Yapper {
     public NoteFileManager getNoteFileManager() {
         return this.noteFileManager;
     }
+
+    /**
+     * Returns the listener to notify of changes to the tasks and notes.
+     *
+     * @return Listener to notify of changes
+     */
+    public MutationListener getMutationListener() {
+        return this.mutationListener;
+    }
 }
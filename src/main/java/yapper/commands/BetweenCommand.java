@@ -0,0 +1,80 @@
+package yapper.commands;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import yapper.data.index.ScheduleIndex;
+import yapper.data.task.ScheduleTask;
+import yapper.util.DateTimeCodec;
+
+/**
+ * Represents a command to list the events and deadlines in a period.
+ */
+public class BetweenCommand implements Command {
+
+    // Constants
+    private static final String NOTHING_ON_FORMAT_STRING = "Nothing is on between %s and %s!";
+    private static final String LIST_OUTPUT_FORMAT_STRING = "%d. %s";
+
+    /**
+     * Index of the dates of a Person's tasks.
+     */
+    private ScheduleIndex index;
+
+    /**
+     * Start of the period.
+     */
+    private LocalDateTime from;
+
+    /**
+     * End of the period, included.
+     */
+    private LocalDateTime to;
+
+    /**
+     * Constructs a BetweenCommand object.
+     *
+     * @param index Index of the dates of a Person's tasks.
+     * @param from  Start of the period.
+     * @param to    End of the period, included.
+     */
+    private BetweenCommand(ScheduleIndex index, LocalDateTime from, LocalDateTime to) {
+        this.index = index;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the command to list the events overlapping the period and the deadlines due in it.
+     *
+     * @param responseList List of responses to be displayed to the user.
+     * @return True if the command is successfully executed, false otherwise.
+     */
+    @Override
+    public boolean execute(ArrayList<String> responseList) {
+        ArrayList<ScheduleTask> matches = this.index.between(this.from, this.to);
+        for (int i = 0; i < matches.size(); i++) {
+            responseList.add(String.format(LIST_OUTPUT_FORMAT_STRING, i + 1, matches.get(i)));
+        }
+
+        if (matches.isEmpty()) {
+            responseList.add(String.format(NOTHING_ON_FORMAT_STRING,
+                    DateTimeCodec.formatDisplay(this.from, new StringBuilder()),
+                    DateTimeCodec.formatDisplay(this.to, new StringBuilder())));
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds a BetweenCommand object.
+     *
+     * @param index Index of the dates of a Person's tasks.
+     * @param from  Start of the period.
+     * @param to    End of the period, included.
+     * @return BetweenCommand object.
+     */
+    public static Command buildBetweenCommand(ScheduleIndex index, LocalDateTime from, LocalDateTime to) {
+        return new BetweenCommand(index, from, to);
+    }
+}
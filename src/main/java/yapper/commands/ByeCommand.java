@@ -1,13 +1,10 @@
 package yapper.commands;
 
-import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 
-import javafx.application.Platform;
-import yapper.data.notes.Note;
-import yapper.data.task.Task;
-import yapper.storage.NoteFileManager;
-import yapper.storage.TaskFileManager;
+import yapper.chatbot.Yapper;
+import yapper.storage.SaveStats;
 
 /**
  * Represents a command to end the chatbot conversation.
@@ -20,66 +17,47 @@ public class ByeCommand implements Command {
     private static final String BYE_MESSAGE = "Bye. Hope to see you again soon!";
 
     /**
-     * List of a Person's current tasks.
+     * Yapper whose tasks and notes are saved.
      */
-    private ArrayList<Task> taskList;
-
-    /**
-     * List of a Person's current notes.
-     */
-    private ArrayList<Note> noteList;
-
-    /**
-     * File to save the tasks to.
-     */
-    private File taskFile;
-
-    /**
-     * File to save the notes to.
-     */
-    private File noteFile;
-
-    /**
-     * TaskFileManager to manage tasks.
-     */
-    private TaskFileManager taskFileManager;
-
-    /**
-     * NoteFileManager to manage notes.
-     */
-    private NoteFileManager noteFileManager;
+    private Yapper yapper;
 
     /**
      * Constructs a ByeCommand object.
      *
-     * @param taskList List of a Person's current tasks.
-     * @param noteList List of a Person's current notes.
-     * @param taskFile File to save the tasks to.
-     * @param noteFile File to save the notes to.
+     * @param yapper Yapper whose tasks and notes are saved, and whose journal is emptied if there is one.
      */
-    public ByeCommand(ArrayList<Task> taskList, ArrayList<Note> noteList, File taskFile, File noteFile,
-            TaskFileManager taskFileManager, NoteFileManager noteFileManager) {
-        this.taskList = taskList;
-        this.noteList = noteList;
-        this.taskFile = taskFile;
-        this.noteFile = noteFile;
-        this.taskFileManager = taskFileManager;
-        this.noteFileManager = noteFileManager;
+    public ByeCommand(Yapper yapper) {
+        this.yapper = yapper;
     }
 
     /**
-     * Executes the command to end the chatbot conversation.
+     * Executes the command to end the chatbot conversation, reporting how the tasks and notes were saved.
      *
      * @param responseList List of responses to add to.
-     * @return false to indicate that the chatbot conversation has ended.
+     * @return True once the tasks and notes have been saved, false if saving failed.
      */
     @Override
     public boolean execute(ArrayList<String> responseList) {
-        this.taskFileManager.save(taskFile, taskList);
-        this.noteFileManager.save(noteFile, noteList);
+        boolean isSaved = true;
+        try {
+            for (SaveStats stats : this.yapper.save()) {
+                responseList.add(stats.toString());
+            }
+        } catch (IOException e) {
+            responseList.add(e.getLocalizedMessage());
+            isSaved = false;
+        }
         responseList.add(BYE_MESSAGE);
-        Platform.exit();
-        System.exit(0);
-        return false;
+        return isSaved;
+    }
+
+    /**
+     * Returns true, as this command ends the chatbot conversation.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean isExit() {
+        return true;
     }
 }
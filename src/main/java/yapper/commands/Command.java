@@ -13,4 +13,13 @@ public interface Command {
      * @return True if the command is successfully executed, false otherwise.
      */
     public boolean execute(ArrayList<String> responseList);
+
+    /**
+     * Returns true if the chatbot conversation should end once this command is executed.
+     *
+     * @return True if this command ends the conversation.
+     */
+    public default boolean isExit() {
+        return false;
+    }
 }
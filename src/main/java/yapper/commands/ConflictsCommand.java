@@ -0,0 +1,62 @@
+package yapper.commands;
+
+import java.util.ArrayList;
+
+import yapper.data.index.ScheduleIndex;
+import yapper.data.index.ScheduleIndex.Clash;
+
+/**
+ * Represents a command to list every pair of events clashing with each other.
+ */
+public class ConflictsCommand implements Command {
+
+    // Constants
+    private static final String NO_CLASHES_STRING = "None of your events clash!";
+    private static final String CLASH_FIRST_FORMAT_STRING = "%d. %s";
+    private static final String CLASH_SECOND_FORMAT_STRING = "   clashes with %s";
+
+    /**
+     * Index of the dates of a Person's tasks.
+     */
+    private ScheduleIndex index;
+
+    /**
+     * Constructs a ConflictsCommand object.
+     *
+     * @param index Index of the dates of a Person's tasks.
+     */
+    private ConflictsCommand(ScheduleIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Executes the command to list every pair of clashing events.
+     *
+     * @param responseList List of responses to be displayed to the user.
+     * @return True if the command is successfully executed, false otherwise.
+     */
+    @Override
+    public boolean execute(ArrayList<String> responseList) {
+        ArrayList<Clash> clashes = this.index.clashes();
+        for (int i = 0; i < clashes.size(); i++) {
+            responseList.add(String.format(CLASH_FIRST_FORMAT_STRING, i + 1, clashes.get(i).getFirst()));
+            responseList.add(String.format(CLASH_SECOND_FORMAT_STRING, clashes.get(i).getSecond()));
+        }
+
+        if (clashes.isEmpty()) {
+            responseList.add(NO_CLASHES_STRING);
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds a ConflictsCommand object.
+     *
+     * @param index Index of the dates of a Person's tasks.
+     * @return ConflictsCommand object.
+     */
+    public static Command buildConflictsCommand(ScheduleIndex index) {
+        return new ConflictsCommand(index);
+    }
+}
@@ -2,6 +2,7 @@ package yapper.commands;
 
 import java.util.ArrayList;
 
+import yapper.data.MutationListener;
 import yapper.data.task.DeadlineScheduleTask;
 import yapper.data.task.Task;
 
@@ -23,15 +24,22 @@ public class DeadlineTaskCommand implements TaskCommand {
      */
     private DeadlineScheduleTask dl;
 
+    /**
+     * Listener to notify once the task is added.
+     */
+    private MutationListener listener;
+
     /**
      * Constructs a DeadlineCommand object.
      *
      * @param taskList List of a Person's current tasks.
      * @param dl       DeadlineTask task to be added.
+     * @param listener Listener to notify once the task is added.
      */
-    private DeadlineTaskCommand(ArrayList<Task> taskList, DeadlineScheduleTask dl) {
+    private DeadlineTaskCommand(ArrayList<Task> taskList, DeadlineScheduleTask dl, MutationListener listener) {
         this.taskList = taskList;
         this.dl = dl;
+        this.listener = listener;
     }
 
     /**
@@ -43,6 +51,7 @@ public class DeadlineTaskCommand implements TaskCommand {
     @Override
     public boolean execute(ArrayList<String> respondList) {
         taskList.add(dl);
+        listener.onTaskAdded(taskList.size() - 1, dl);
         respondList.add(DEADLINE_INFO_STRING);
         respondList.add(dl.toString());
         respondList.add(String.format(DEADLINE_INFO_FORMAT_STRING, taskList.size()));
@@ -64,10 +73,12 @@ public class DeadlineTaskCommand implements TaskCommand {
      *
      * @param taskList List of a Person's current tasks.
      * @param dl       DeadlineTask task to be added.
+     * @param listener Listener to notify once the task is added.
      * @return DeadlineCommand object.
      */
-    public static Command buildDeadlineCommand(ArrayList<Task> taskList, DeadlineScheduleTask dl) {
-        return new DeadlineTaskCommand(taskList, dl);
+    public static Command buildDeadlineCommand(ArrayList<Task> taskList, DeadlineScheduleTask dl,
+            MutationListener listener) {
+        return new DeadlineTaskCommand(taskList, dl, listener);
     }
 
 }
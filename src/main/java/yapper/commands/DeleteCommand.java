@@ -2,6 +2,7 @@ package yapper.commands;
 
 import java.util.ArrayList;
 
+import yapper.data.MutationListener;
 import yapper.data.notes.Note;
 import yapper.data.task.Task;
 
@@ -29,15 +30,22 @@ public class DeleteCommand<T> implements Command {
      */
     private int idx;
 
+    /**
+     * Listener to notify once the task/note is deleted.
+     */
+    private MutationListener listener;
+
     /**
      * Constructs a DeleteCommand object.
      *
-     * @param list List of a Person's current tasks/notes.
-     * @param idx  Index of the task to be deleted in the list.
+     * @param list     List of a Person's current tasks/notes.
+     * @param idx      Index of the task to be deleted in the list.
+     * @param listener Listener to notify once the task/note is deleted.
      */
-    public DeleteCommand(ArrayList<T> list, int idx) {
+    public DeleteCommand(ArrayList<T> list, int idx, MutationListener listener) {
         this.list = list;
         this.idx = idx;
+        this.listener = listener;
     }
 
     /**
@@ -65,7 +73,13 @@ public class DeleteCommand<T> implements Command {
             responseList.add(String.format(DELETE_REMAINING_NOTES_STRING, list.size() - 1));
         }
 
-        list.remove(idx);
+        T removed = list.remove(idx);
+
+        if (removed instanceof Task) {
+            listener.onTaskRemoved(idx, (Task) removed);
+        } else if (removed instanceof Note) {
+            listener.onNoteRemoved(idx, (Note) removed);
+        }
 
         return true;
     }
@@ -2,6 +2,8 @@ package yapper.commands;
 
 import java.util.ArrayList;
 
+import yapper.data.MutationListener;
+import yapper.data.index.ScheduleIndex;
 import yapper.data.task.EventsScheduleTask;
 import yapper.data.task.Task;
 
@@ -15,6 +17,8 @@ public class EventsTaskCommand implements TaskCommand {
     private static final String ASSERT_EVENTS_TASK_NOT_NULL_STRING = "EventsTask should not be null.";
     private static final String DELETE_INFO_STRING = "Got it. I've added this task:";
     private static final String DELETE_REMAINING_TASKS_STRING = "Now you have %d tasks in the list.";
+    private static final String CLASHES_INFO_STRING = "Heads up, it clashes with:";
+    private static final String CLASH_FORMAT_STRING = "  %s";
 
     /**
      * List of a Person's current tasks.
@@ -26,15 +30,30 @@ public class EventsTaskCommand implements TaskCommand {
      */
     private EventsScheduleTask ev;
 
+    /**
+     * Listener to notify once the task is added.
+     */
+    private MutationListener listener;
+
+    /**
+     * Index of the dates of the tasks, to warn of the events the task clashes with, or null not to check.
+     */
+    private ScheduleIndex scheduleIndex;
+
     /**
      * Constructs an EventsCommand object.
      *
-     * @param taskList List of a Person's current tasks.
-     * @param ev       EventsTask task to be added.
+     * @param taskList      List of a Person's current tasks.
+     * @param ev            EventsTask task to be added.
+     * @param listener      Listener to notify once the task is added.
+     * @param scheduleIndex Index of the dates of the tasks, or null not to check for clashes.
      */
-    private EventsTaskCommand(ArrayList<Task> taskList, EventsScheduleTask ev) {
+    private EventsTaskCommand(ArrayList<Task> taskList, EventsScheduleTask ev, MutationListener listener,
+            ScheduleIndex scheduleIndex) {
         this.taskList = taskList;
         this.ev = ev;
+        this.listener = listener;
+        this.scheduleIndex = scheduleIndex;
     }
 
     /**
@@ -44,11 +63,22 @@ public class EventsTaskCommand implements TaskCommand {
      */
     @Override
     public boolean execute(ArrayList<String> responseList) {
+        ArrayList<EventsScheduleTask> clashing = scheduleIndex == null
+                ? new ArrayList<>()
+                : scheduleIndex.clashesWith(ev.getFromLocalDateTime(), ev.getToLocalDateTime());
+
         taskList.add(ev);
         assert taskList.size() >= 0 : ASSERT_TASK_LIST_NEGATIVE_STRING;
+        listener.onTaskAdded(taskList.size() - 1, ev);
         responseList.add(DELETE_INFO_STRING);
         responseList.add(ev.toString());
         responseList.add(String.format(DELETE_REMAINING_TASKS_STRING, taskList.size()));
+        if (!clashing.isEmpty()) {
+            responseList.add(CLASHES_INFO_STRING);
+            for (EventsScheduleTask other : clashing) {
+                responseList.add(String.format(CLASH_FORMAT_STRING, other));
+            }
+        }
         return true;
     }
 
@@ -65,12 +95,15 @@ public class EventsTaskCommand implements TaskCommand {
     /**
      * Builds an EventsCommand object.
      *
-     * @param taskList List of a Person's current tasks.
-     * @param ev       EventsTask task to be added.
+     * @param taskList      List of a Person's current tasks.
+     * @param ev            EventsTask task to be added.
+     * @param listener      Listener to notify once the task is added.
+     * @param scheduleIndex Index of the dates of the tasks, or null not to check for clashes.
      * @return EventsCommand object.
      */
-    public static Command buildEventsCommand(ArrayList<Task> taskList, EventsScheduleTask ev) {
+    public static Command buildEventsCommand(ArrayList<Task> taskList, EventsScheduleTask ev,
+            MutationListener listener, ScheduleIndex scheduleIndex) {
         assert ev != null : ASSERT_EVENTS_TASK_NOT_NULL_STRING;
-        return new EventsTaskCommand(taskList, ev);
+        return new EventsTaskCommand(taskList, ev, listener, scheduleIndex);
     }
 }
@@ -1,9 +1,9 @@
 package yapper.commands;
 
 import java.util.ArrayList;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import yapper.data.ContentDisplayable;
+import yapper.data.index.TrigramIndex;
 
 /**
  * Represents a command to find tasks with a search term.
@@ -21,11 +21,22 @@ public class FindCommand<T extends ContentDisplayable> implements Command {
      */
     private ArrayList<T> taskList;
 
+    /**
+     * Index of the list, or null to check every item.
+     */
+    private TrigramIndex<T> index;
+
     /**
      * Search term
      */
     private String searchTerm;
 
+    /**
+     * Greatest edit distance between a word of the search term and a word matching it, or -1 to match the
+     * search term exactly.
+     */
+    private int maxDistance;
+
     /**
      * Constructs a FindCommand object.
      *
@@ -34,8 +45,36 @@ public class FindCommand<T extends ContentDisplayable> implements Command {
      * @param searchTerm Search term to find tasks.
      */
     public FindCommand(ArrayList<T> list, String searchTerm) {
+        this(list, null, searchTerm);
+    }
+
+    /**
+     * Constructs a FindCommand object searching through an index of the list.
+     *
+     * @param <T> Type of the list.
+     * @param list List of a Person's current tasks.
+     * @param index Index of the list, or null to check every item.
+     * @param searchTerm Search term to find tasks.
+     */
+    public FindCommand(ArrayList<T> list, TrigramIndex<T> index, String searchTerm) {
+        this(list, index, searchTerm, -1);
+    }
+
+    /**
+     * Constructs a FindCommand object matching the words of the search term within an edit distance.
+     *
+     * @param <T> Type of the list.
+     * @param list List of a Person's current tasks.
+     * @param index Index of the list.
+     * @param searchTerm Search term to find tasks.
+     * @param maxDistance Greatest edit distance between a word of the search term and a word matching it, or -1
+     *                    to match the search term exactly.
+     */
+    public FindCommand(ArrayList<T> list, TrigramIndex<T> index, String searchTerm, int maxDistance) {
         this.taskList = list;
+        this.index = index;
         this.searchTerm = searchTerm;
+        this.maxDistance = maxDistance;
     }
 
     /**
@@ -51,17 +90,33 @@ public class FindCommand<T extends ContentDisplayable> implements Command {
             return true;
         }
 
-        AtomicInteger idx = new AtomicInteger(1);
-        taskList.stream()
-                .filter(task -> task.getDescription().contains(searchTerm))
-                .map(task -> String.format(LIST_OUTPUT_FORMAT_STRING, idx.getAndIncrement(), task))
-                .forEach(responseList::add);
+        ArrayList<T> matches = this.maxDistance >= 0
+                ? this.index.findFuzzy(searchTerm, this.maxDistance)
+                : this.index == null ? scan() : this.index.find(searchTerm);
+        for (int i = 0; i < matches.size(); i++) {
+            responseList.add(String.format(LIST_OUTPUT_FORMAT_STRING, i + 1, matches.get(i)));
+        }
 
-        if (responseList.isEmpty()) {
+        if (matches.isEmpty()) {
             responseList.add(String.format(NOT_FOUND_STRING, searchTerm));
             return true;
         }
 
         return true;
     }
+
+    /**
+     * Returns the items whose description contains the search term, checking every item.
+     *
+     * @return Items containing the search term, in list order.
+     */
+    private ArrayList<T> scan() {
+        ArrayList<T> matches = new ArrayList<>();
+        for (T task : taskList) {
+            if (task.getDescription().contains(searchTerm)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
 }
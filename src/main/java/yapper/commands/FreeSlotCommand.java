@@ -0,0 +1,101 @@
+package yapper.commands;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import yapper.data.index.ScheduleIndex;
+import yapper.data.index.ScheduleIndex.FreeSlot;
+import yapper.util.DateTimeCodec;
+
+/**
+ * Represents a command to list the earliest free slots long enough for a new event.
+ */
+public class FreeSlotCommand implements Command {
+
+    // Constants
+    private static final String NO_FREE_SLOT_FORMAT_STRING = "No free slot that long between %s and %s!";
+    private static final String SLOT_FORMAT_STRING = "%d. %s to %s";
+
+    /**
+     * Index of the dates of a Person's tasks.
+     */
+    private ScheduleIndex index;
+
+    /**
+     * Least length of a free slot.
+     */
+    private Duration minLength;
+
+    /**
+     * Start of the period to look in.
+     */
+    private LocalDateTime from;
+
+    /**
+     * End of the period to look in.
+     */
+    private LocalDateTime to;
+
+    /**
+     * Greatest number of free slots listed.
+     */
+    private int limit;
+
+    /**
+     * Constructs a FreeSlotCommand object.
+     *
+     * @param index     Index of the dates of a Person's tasks.
+     * @param minLength Least length of a free slot.
+     * @param from      Start of the period to look in.
+     * @param to        End of the period to look in.
+     * @param limit     Greatest number of free slots listed.
+     */
+    private FreeSlotCommand(ScheduleIndex index, Duration minLength, LocalDateTime from, LocalDateTime to,
+            int limit) {
+        this.index = index;
+        this.minLength = minLength;
+        this.from = from;
+        this.to = to;
+        this.limit = limit;
+    }
+
+    /**
+     * Executes the command to list the earliest free slots between the events of the period.
+     *
+     * @param responseList List of responses to be displayed to the user.
+     * @return True if the command is successfully executed, false otherwise.
+     */
+    @Override
+    public boolean execute(ArrayList<String> responseList) {
+        ArrayList<FreeSlot> slots = this.index.freeSlots(this.from, this.to, this.minLength, this.limit);
+        for (int i = 0; i < slots.size(); i++) {
+            responseList.add(String.format(SLOT_FORMAT_STRING, i + 1,
+                    DateTimeCodec.formatDisplay(slots.get(i).getFrom(), new StringBuilder()),
+                    DateTimeCodec.formatDisplay(slots.get(i).getTo(), new StringBuilder())));
+        }
+
+        if (slots.isEmpty()) {
+            responseList.add(String.format(NO_FREE_SLOT_FORMAT_STRING,
+                    DateTimeCodec.formatDisplay(this.from, new StringBuilder()),
+                    DateTimeCodec.formatDisplay(this.to, new StringBuilder())));
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds a FreeSlotCommand object.
+     *
+     * @param index     Index of the dates of a Person's tasks.
+     * @param minLength Least length of a free slot.
+     * @param from      Start of the period to look in.
+     * @param to        End of the period to look in.
+     * @param limit     Greatest number of free slots listed.
+     * @return FreeSlotCommand object.
+     */
+    public static Command buildFreeSlotCommand(ScheduleIndex index, Duration minLength, LocalDateTime from,
+            LocalDateTime to, int limit) {
+        return new FreeSlotCommand(index, minLength, from, to, limit);
+    }
+}
@@ -2,6 +2,7 @@ package yapper.commands;
 
 import java.util.ArrayList;
 
+import yapper.data.MutationListener;
 import yapper.data.task.Task;
 
 /**
@@ -23,15 +24,22 @@ public class MarkCommand implements Command {
      */
     private int idx;
 
+    /**
+     * Listener to notify once the task is marked.
+     */
+    private MutationListener listener;
+
     /**
      * Constructs a MarkCommand object.
      *
      * @param taskList List of a Person's current tasks.
      * @param idx      Index of the task to be marked as done.
+     * @param listener Listener to notify once the task is marked.
      */
-    private MarkCommand(ArrayList<Task> taskList, int idx) {
+    private MarkCommand(ArrayList<Task> taskList, int idx, MutationListener listener) {
         this.taskList = taskList;
         this.idx = idx;
+        this.listener = listener;
     }
 
     /**
@@ -45,6 +53,7 @@ public class MarkCommand implements Command {
         Task t = this.taskList.get(this.idx);
         assert t != null : ASSERT_TASK_NULL_STRING;
         t.markAsDone();
+        this.listener.onTaskStatusChanged(this.idx, t);
         responseList.add(MARK_INFO_STRING);
         responseList.add(t.toString());
         return true;
@@ -55,15 +64,17 @@ public class MarkCommand implements Command {
      *
      * @param taskList List of a Person's current tasks.
      * @param idx      Index of the task to be marked as done.
+     * @param listener Listener to notify once the task is marked.
      * @return MarkCommand object.
      */
-    public static Command buildMarkCommand(ArrayList<Task> taskList, int idx) throws IndexOutOfBoundsException {
+    public static Command buildMarkCommand(ArrayList<Task> taskList, int idx, MutationListener listener)
+            throws IndexOutOfBoundsException {
         try {
             taskList.get(idx);
         } catch (IndexOutOfBoundsException e) {
             throw e;
         }
-        return new MarkCommand(taskList, idx);
+        return new MarkCommand(taskList, idx, listener);
     }
 
 }
@@ -0,0 +1,68 @@
+package yapper.commands;
+
+import java.util.ArrayList;
+
+import yapper.data.index.UrgencyIndex;
+import yapper.data.task.ScheduleTask;
+
+/**
+ * Represents a command to list the most urgent unfinished deadlines and events.
+ */
+public class NextCommand implements Command {
+
+    // Constants
+    private static final String NOTHING_NEXT_STRING = "No unfinished deadlines or events!";
+    private static final String LIST_OUTPUT_FORMAT_STRING = "%d. %s";
+
+    /**
+     * Index of a Person's unfinished tasks by urgency.
+     */
+    private UrgencyIndex index;
+
+    /**
+     * Greatest number of tasks listed.
+     */
+    private int limit;
+
+    /**
+     * Constructs a NextCommand object.
+     *
+     * @param index Index of a Person's unfinished tasks by urgency.
+     * @param limit Greatest number of tasks listed.
+     */
+    private NextCommand(UrgencyIndex index, int limit) {
+        this.index = index;
+        this.limit = limit;
+    }
+
+    /**
+     * Executes the command to list the most urgent unfinished tasks, the most urgent first.
+     *
+     * @param responseList List of responses to be displayed to the user.
+     * @return True if the command is successfully executed, false otherwise.
+     */
+    @Override
+    public boolean execute(ArrayList<String> responseList) {
+        ArrayList<ScheduleTask> tasks = this.index.next(this.limit);
+        for (int i = 0; i < tasks.size(); i++) {
+            responseList.add(String.format(LIST_OUTPUT_FORMAT_STRING, i + 1, tasks.get(i)));
+        }
+
+        if (tasks.isEmpty()) {
+            responseList.add(NOTHING_NEXT_STRING);
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds a NextCommand object.
+     *
+     * @param index Index of a Person's unfinished tasks by urgency.
+     * @param limit Greatest number of tasks listed.
+     * @return NextCommand object.
+     */
+    public static Command buildNextCommand(UrgencyIndex index, int limit) {
+        return new NextCommand(index, limit);
+    }
+}
@@ -2,6 +2,7 @@ package yapper.commands;
 
 import java.util.ArrayList;
 
+import yapper.data.MutationListener;
 import yapper.data.notes.Note;
 
 /**
@@ -22,16 +23,23 @@ public class NoteCommand implements Command {
      */
     private Note noteToAdd;
 
+    /**
+     * Listener to notify once the note is added.
+     */
+    private MutationListener listener;
+
     /**
      * Constructor of a NoteCommand object.
      *
      * @param title     List of a Person's current tasks.
      * @param content   Index of the task to be marked as done.
+     * @param listener  Listener to notify once the note is added.
      * @return          NoteCommand object.
      */
-    private NoteCommand(ArrayList<Note> notesList, Note noteToAdd) {
+    private NoteCommand(ArrayList<Note> notesList, Note noteToAdd, MutationListener listener) {
         this.notesList = notesList;
         this.noteToAdd = noteToAdd;
+        this.listener = listener;
     }
 
     /**
@@ -43,6 +51,7 @@ public class NoteCommand implements Command {
     @Override
     public boolean execute(ArrayList<String> responseList) {
         notesList.add(this.noteToAdd);
+        this.listener.onNoteAdded(notesList.size() - 1, this.noteToAdd);
         responseList.add(String.format(NOTE_INFO_FORMAT_STRING, this.noteToAdd.getName()));
         return true;
     }
@@ -52,10 +61,11 @@ public class NoteCommand implements Command {
      *
      * @param notesList List of a Person's current notes.
      * @param noteToAdd Note to be added.
+     * @param listener  Listener to notify once the note is added.
      * @return NoteCommand object.
      */
-    public static Command buildNoteCommand(ArrayList<Note> notesList, Note noteToAdd) {
-        return new NoteCommand(notesList, noteToAdd);
+    public static Command buildNoteCommand(ArrayList<Note> notesList, Note noteToAdd, MutationListener listener) {
+        return new NoteCommand(notesList, noteToAdd, listener);
     }
 
 }
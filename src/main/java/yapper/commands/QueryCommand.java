@@ -0,0 +1,87 @@
+package yapper.commands;
+
+import java.util.ArrayList;
+
+import yapper.data.query.Filter;
+import yapper.data.query.QueryPlan;
+import yapper.data.query.QueryPlanner;
+
+/**
+ * Represents a command to list the tasks matching a filter, optionally explaining how they were found.
+ */
+public class QueryCommand implements Command {
+
+    // Constants
+    private static final String NO_MATCH_FORMAT_STRING = "No task matches %s!";
+    private static final String LIST_OUTPUT_FORMAT_STRING = "%d. %s";
+    private static final String EXAMINED_FORMAT_STRING = "Examined %d of %d tasks, %d matched.";
+
+    /**
+     * Planner over the indexes of a Person's tasks.
+     */
+    private QueryPlanner planner;
+
+    /**
+     * Filter the tasks must match.
+     */
+    private Filter filter;
+
+    /**
+     * True to show the plan chosen and the number of tasks examined.
+     */
+    private boolean isExplained;
+
+    /**
+     * Constructs a QueryCommand object.
+     *
+     * @param planner     Planner over the indexes of a Person's tasks.
+     * @param filter      Filter the tasks must match.
+     * @param isExplained True to show the plan chosen and the number of tasks examined.
+     */
+    private QueryCommand(QueryPlanner planner, Filter filter, boolean isExplained) {
+        this.planner = planner;
+        this.filter = filter;
+        this.isExplained = isExplained;
+    }
+
+    /**
+     * Executes the command to list the tasks matching the filter, numbered as in the task list.
+     *
+     * @param responseList List of responses to be displayed to the user.
+     * @return True if the command is successfully executed, false otherwise.
+     */
+    @Override
+    public boolean execute(ArrayList<String> responseList) {
+        QueryPlan plan = this.planner.plan(this.filter);
+        QueryPlan.Result result = plan.execute();
+        if (this.isExplained) {
+            responseList.addAll(plan.explain());
+        }
+
+        for (int i = 0; i < result.getMatches().size(); i++) {
+            responseList.add(String.format(LIST_OUTPUT_FORMAT_STRING, result.getPositions().get(i) + 1,
+                    result.getMatches().get(i)));
+        }
+        if (result.getMatches().isEmpty()) {
+            responseList.add(String.format(NO_MATCH_FORMAT_STRING, this.filter));
+        }
+
+        if (this.isExplained) {
+            responseList.add(String.format(EXAMINED_FORMAT_STRING, result.getExamined(), result.getTotal(),
+                    result.getMatches().size()));
+        }
+        return true;
+    }
+
+    /**
+     * Builds a QueryCommand object.
+     *
+     * @param planner     Planner over the indexes of a Person's tasks.
+     * @param filter      Filter the tasks must match.
+     * @param isExplained True to show the plan chosen and the number of tasks examined.
+     * @return QueryCommand object.
+     */
+    public static Command buildQueryCommand(QueryPlanner planner, Filter filter, boolean isExplained) {
+        return new QueryCommand(planner, filter, isExplained);
+    }
+}
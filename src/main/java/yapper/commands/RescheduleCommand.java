@@ -1,11 +1,12 @@
 package yapper.commands;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 
+import yapper.data.MutationListener;
 import yapper.data.task.ScheduleTask;
 import yapper.data.task.Task;
+import yapper.util.DateTimeCodec;
 
 /**
  * Represents a command to reschedule a task.
@@ -14,7 +15,6 @@ public class RescheduleCommand implements Command {
 
     private static final String ASSERT_TASK_IS_NULL_STRING = "Rescheduled task should not be null.";
     private static final String EXECUTE_INFO_STRING = "Task has been rescheduled!";
-    private static final String DTF_FORMATTER_STRING = "dd-MM-yyyy HHmm";
 
     private static final int RESCHEDULE_COMMAND_MAX_DTL_ARGS = 2;
 
@@ -33,17 +33,25 @@ public class RescheduleCommand implements Command {
      */
     private String[] newDateTimeString;
 
+    /**
+     * Listener to notify once the task is rescheduled.
+     */
+    private MutationListener listener;
+
     /**
      * Constructs a RescheduleCommand object.
      *
      * @param taskList          List of a Person's current tasks.
      * @param idx               Index of the task to be rescheduled.
+     * @param listener          Listener to notify once the task is rescheduled.
      * @param newDateTimeString New date and time for the task.
      * @return RescheduleCommand object.
      */
-    private RescheduleCommand(ArrayList<Task> taskList, int idx, String... newDateTimeString) {
+    private RescheduleCommand(ArrayList<Task> taskList, int idx, MutationListener listener,
+            String... newDateTimeString) {
         this.taskList = taskList;
         this.idx = idx;
+        this.listener = listener;
         this.newDateTimeString = newDateTimeString;
     }
 
@@ -52,11 +60,13 @@ public class RescheduleCommand implements Command {
      *
      * @param taskList          List of a Person's current tasks.
      * @param idx               Index of the task to be rescheduled.
+     * @param listener          Listener to notify once the task is rescheduled.
      * @param newDateTimeString New date and time for the task.
      * @return RescheduleCommand object.
      */
-    public static Command buildRescheduleCommand(ArrayList<Task> taskList, int idx, String... newDateTimeString) {
-        return new RescheduleCommand(taskList, idx, newDateTimeString);
+    public static Command buildRescheduleCommand(ArrayList<Task> taskList, int idx, MutationListener listener,
+            String... newDateTimeString) {
+        return new RescheduleCommand(taskList, idx, listener, newDateTimeString);
     }
 
     /**
@@ -74,8 +84,7 @@ public class RescheduleCommand implements Command {
 
         for (int i = 0; i < newDateTimeString.length; i++) {
             try {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DTF_FORMATTER_STRING);
-                newDateTime[i] = LocalDateTime.parse(this.newDateTimeString[i], formatter);
+                newDateTime[i] = DateTimeCodec.parse(this.newDateTimeString[i]);
             } catch (Exception e) {
                 responseList.add("Invalid date and time format. Please use the format dd-MM-yyyy HHmm");
                 return false;
@@ -87,6 +96,7 @@ public class RescheduleCommand implements Command {
         assert rescheduledTask != null : ASSERT_TASK_IS_NULL_STRING;
 
         this.taskList.set(this.idx, rescheduledTask);
+        this.listener.onTaskReplaced(this.idx, oldTask, rescheduledTask);
         responseList.add(EXECUTE_INFO_STRING);
         responseList.add(rescheduledTask.toString());
 
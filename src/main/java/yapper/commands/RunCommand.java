@@ -0,0 +1,277 @@
+package yapper.commands;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import yapper.data.exception.InvalidCommandSyntaxException;
+import yapper.util.VirtualThreads;
+
+/**
+ * Represents a command to run every command in a file, in order.
+ *
+ * <p>The file is run through a two-stage pipeline. A worker thread reads and parses the lines while the
+ * thread running this command executes the commands already parsed, so the two overlap. The responses of
+ * every command are collected into the one response list, followed by a summary of how fast each stage ran
+ * and which line failed first.
+ */
+public class RunCommand implements Command {
+
+    // Pipeline settings
+    private static final int QUEUE_CAPACITY_INT = 1024;
+    private static final String THREAD_NAME_STRING = "yapper-run-parser";
+
+    // Output
+    private static final String LINE_FAILED_FORMAT_STRING = "Line %d: %s";
+    private static final String SUMMARY_FORMAT_STRING = "Ran %d commands from %s.";
+    private static final String PARSE_STAGE_FORMAT_STRING = "Parsed %d lines in %d ms (%,d lines/s).";
+    private static final String EXECUTE_STAGE_FORMAT_STRING = "Executed %d commands in %d ms (%,d commands/s).";
+    private static final String NO_FAILURE_STRING = "Every command succeeded.";
+    private static final String FAILURE_FORMAT_STRING = "%d commands failed, the first on line %d.";
+
+    // Error messages
+    private static final String ERR_NESTED_RUN_STRING = "A file being run cannot run another file.";
+    private static final String ERR_FILE_NOT_READ_FORMAT_STRING = "File %s could not be read: %s";
+
+    /**
+     * Functional interface for parsing one line of the file into a command.
+     */
+    @FunctionalInterface
+    public interface LineParser {
+        Command parse(String line) throws InvalidCommandSyntaxException;
+    }
+
+    /**
+     * A line of the file, parsed by the first stage.
+     */
+    private static final class ParsedLine {
+
+        /**
+         * Marks the end of the file.
+         */
+        private static final ParsedLine END = new ParsedLine(-1, null, null);
+
+        /**
+         * Number of the line in the file, starting from 1.
+         */
+        private final int lineNumber;
+
+        /**
+         * Command parsed from the line, or null if it could not be parsed.
+         */
+        private final Command command;
+
+        /**
+         * Reason the line could not be parsed or read, or null.
+         */
+        private final String error;
+
+        private ParsedLine(int lineNumber, Command command, String error) {
+            this.lineNumber = lineNumber;
+            this.command = command;
+            this.error = error;
+        }
+    }
+
+    /**
+     * File to run.
+     */
+    private final Path file;
+
+    /**
+     * Parser of each line.
+     */
+    private final LineParser lineParser;
+
+    /**
+     * Time the first stage spent parsing, in nanoseconds.
+     */
+    private volatile long parseNanos;
+
+    /**
+     * Number of lines the first stage parsed.
+     */
+    private volatile int parsedCount;
+
+    /**
+     * True once a command in the file ended the conversation.
+     */
+    private boolean isExit;
+
+    /**
+     * Constructs a RunCommand object.
+     *
+     * @param file       File to run.
+     * @param lineParser Parser of each line.
+     */
+    public RunCommand(Path file, LineParser lineParser) {
+        this.file = file;
+        this.lineParser = lineParser;
+    }
+
+    /**
+     * Builds a RunCommand object.
+     *
+     * @param file       File to run.
+     * @param lineParser Parser of each line.
+     * @return RunCommand object.
+     */
+    public static Command buildRunCommand(Path file, LineParser lineParser) {
+        return new RunCommand(file, lineParser);
+    }
+
+    /**
+     * Executes every command in the file, stopping early only if one ends the conversation.
+     *
+     * @param responseList List of responses to be displayed to the user.
+     * @return True if every command succeeded, false otherwise.
+     */
+    @Override
+    public boolean execute(ArrayList<String> responseList) {
+        BlockingQueue<ParsedLine> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY_INT);
+        Thread parser = VirtualThreads.start(THREAD_NAME_STRING, () -> parseLines(queue));
+
+        ArrayList<String> lineResponseList = new ArrayList<>();
+        int executedCount = 0;
+        int failedCount = 0;
+        int firstFailedLine = -1;
+        long executeNanos = 0;
+        try {
+            for (ParsedLine parsed = queue.take(); parsed != ParsedLine.END; parsed = queue.take()) {
+                long start = System.nanoTime();
+                lineResponseList.clear();
+                boolean isSuccessful = executeLine(parsed, lineResponseList);
+                executeNanos += System.nanoTime() - start;
+                executedCount++;
+
+                if (!isSuccessful) {
+                    failedCount++;
+                    firstFailedLine = firstFailedLine < 0 ? parsed.lineNumber : firstFailedLine;
+                    for (String response : lineResponseList) {
+                        responseList.add(String.format(LINE_FAILED_FORMAT_STRING, parsed.lineNumber, response));
+                    }
+                } else {
+                    responseList.addAll(lineResponseList);
+                }
+                if (this.isExit) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            parser.interrupt();
+        }
+
+        responseList.add(String.format(SUMMARY_FORMAT_STRING, executedCount, this.file.getFileName()));
+        responseList.add(String.format(PARSE_STAGE_FORMAT_STRING, this.parsedCount, this.parseNanos / 1_000_000,
+                perSecond(this.parsedCount, this.parseNanos)));
+        responseList.add(String.format(EXECUTE_STAGE_FORMAT_STRING, executedCount, executeNanos / 1_000_000,
+                perSecond(executedCount, executeNanos)));
+        responseList.add(failedCount == 0
+                ? NO_FAILURE_STRING
+                : String.format(FAILURE_FORMAT_STRING, failedCount, firstFailedLine));
+        return failedCount == 0;
+    }
+
+    /**
+     * Returns true if a command in the file ended the conversation.
+     *
+     * @return True if the conversation should end.
+     */
+    @Override
+    public boolean isExit() {
+        return this.isExit;
+    }
+
+    /**
+     * Read and parse every line of the file into the queue, ending with ParsedLine.END
+     *
+     * @param queue Queue of parsed lines to execute.
+     */
+    private void parseLines(BlockingQueue<ParsedLine> queue) {
+        try {
+            try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+                int lineNumber = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    long start = System.nanoTime();
+                    ParsedLine parsed = parseLine(lineNumber, line);
+                    this.parseNanos += System.nanoTime() - start;
+                    this.parsedCount++;
+                    queue.put(parsed);
+                }
+            } catch (IOException e) {
+                queue.put(new ParsedLine(0, null,
+                        String.format(ERR_FILE_NOT_READ_FORMAT_STRING, this.file, e.getLocalizedMessage())));
+            }
+            queue.put(ParsedLine.END);
+        } catch (InterruptedException e) {
+            // the commands stopped being executed
+        }
+    }
+
+    /**
+     * Parse one line of the file.
+     *
+     * @param lineNumber Number of the line in the file.
+     * @param line       Line to parse.
+     * @return The parsed line.
+     */
+    private ParsedLine parseLine(int lineNumber, String line) {
+        try {
+            Command command = this.lineParser.parse(line);
+            if (command instanceof RunCommand) {
+                return new ParsedLine(lineNumber, null, ERR_NESTED_RUN_STRING);
+            }
+            return new ParsedLine(lineNumber, command, null);
+
+        } catch (InvalidCommandSyntaxException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return new ParsedLine(lineNumber, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Execute the command of one line.
+     *
+     * @param parsed       The parsed line.
+     * @param responseList List to store the responses of the command.
+     * @return True if the command succeeded.
+     */
+    private boolean executeLine(ParsedLine parsed, ArrayList<String> responseList) {
+        if (parsed.command == null) {
+            responseList.add(parsed.error);
+            return false;
+        }
+
+        try {
+            boolean isSuccessful = parsed.command.execute(responseList);
+            this.isExit = parsed.command.isExit();
+            return isSuccessful;
+
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            responseList.add(e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns how many items were handled per second.
+     *
+     * @param count Number of items handled.
+     * @param nanos Time spent handling them, in nanoseconds.
+     * @return Items handled per second.
+     */
+    private static long perSecond(int count, long nanos) {
+        return nanos == 0 ? 0 : count * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,76 @@
+package yapper.commands;
+
+import java.util.ArrayList;
+
+import yapper.data.index.NoteTextIndex;
+import yapper.data.notes.Note;
+
+/**
+ * Represents a command to search the title and content of notes, listing the best matches first.
+ */
+public class SearchCommand implements Command {
+
+    // Constants
+    private static final String NOT_FOUND_STRING = "Notes matching \"%s\" not found!";
+    private static final String LIST_OUTPUT_FORMAT_STRING = "%d. %s";
+
+    /**
+     * Index of the title and content of a Person's notes.
+     */
+    private NoteTextIndex index;
+
+    /**
+     * Words to search for.
+     */
+    private String query;
+
+    /**
+     * Greatest number of notes to list.
+     */
+    private int limit;
+
+    /**
+     * Constructs a SearchCommand object.
+     *
+     * @param index Index of the title and content of a Person's notes.
+     * @param query Words to search for.
+     * @param limit Greatest number of notes to list.
+     */
+    private SearchCommand(NoteTextIndex index, String query, int limit) {
+        this.index = index;
+        this.query = query;
+        this.limit = limit;
+    }
+
+    /**
+     * Executes the command to list the notes best matching the query.
+     *
+     * @param responseList List of responses to be displayed to the user.
+     * @return True if the command is successfully executed, false otherwise.
+     */
+    @Override
+    public boolean execute(ArrayList<String> responseList) {
+        ArrayList<Note> matches = this.index.search(this.query, this.limit);
+        for (int i = 0; i < matches.size(); i++) {
+            responseList.add(String.format(LIST_OUTPUT_FORMAT_STRING, i + 1, matches.get(i)));
+        }
+
+        if (matches.isEmpty()) {
+            responseList.add(String.format(NOT_FOUND_STRING, this.query));
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds a SearchCommand object.
+     *
+     * @param index Index of the title and content of a Person's notes.
+     * @param query Words to search for.
+     * @param limit Greatest number of notes to list.
+     * @return SearchCommand object.
+     */
+    public static Command buildSearchCommand(NoteTextIndex index, String query, int limit) {
+        return new SearchCommand(index, query, limit);
+    }
+}
@@ -2,6 +2,7 @@ package yapper.commands;
 
 import java.util.ArrayList;
 
+import yapper.data.MutationListener;
 import yapper.data.task.Task;
 import yapper.data.task.ToDosTask;
 
@@ -25,15 +26,22 @@ public class ToDosTaskCommand implements TaskCommand {
      */
     private ToDosTask td;
 
+    /**
+     * Listener to notify once the task is added.
+     */
+    private MutationListener listener;
+
     /**
      * Constructs a ToDosCommand object.
      *
      * @param taskList List of a Person's current tasks.
      * @param td       ToDosTask task to be added.
+     * @param listener Listener to notify once the task is added.
      */
-    private ToDosTaskCommand(ArrayList<Task> taskList, ToDosTask td) {
+    private ToDosTaskCommand(ArrayList<Task> taskList, ToDosTask td, MutationListener listener) {
         this.taskList = taskList;
         this.td = td;
+        this.listener = listener;
     }
 
     /**
@@ -56,6 +64,7 @@ public class ToDosTaskCommand implements TaskCommand {
     public boolean execute(ArrayList<String> responseList) {
         taskList.add(td);
         assert taskList.size() >= 0 : ASSERT_TASK_LIST_NEGATIVE_STRING;
+        listener.onTaskAdded(taskList.size() - 1, td);
         responseList.add(TASK_INFO_STRING);
         responseList.add(td.toString());
         responseList.add(String.format(TASK_REMAINING_FORMAT_STRING, taskList.size()));
@@ -67,9 +76,10 @@ public class ToDosTaskCommand implements TaskCommand {
      *
      * @param taskList List of a Person's current tasks.
      * @param td       ToDosTask task to be added.
+     * @param listener Listener to notify once the task is added.
      * @return ToDosCommand object.
      */
-    public static Command buildToDosCommand(ArrayList<Task> taskList, ToDosTask td) {
-        return new ToDosTaskCommand(taskList, td);
+    public static Command buildToDosCommand(ArrayList<Task> taskList, ToDosTask td, MutationListener listener) {
+        return new ToDosTaskCommand(taskList, td, listener);
     }
 }
@@ -2,6 +2,7 @@ package yapper.commands;
 
 import java.util.ArrayList;
 
+import yapper.data.MutationListener;
 import yapper.data.task.Task;
 
 /**
@@ -23,15 +24,22 @@ public class UnmarkCommand implements Command {
      */
     private int idx;
 
+    /**
+     * Listener to notify once the task is unmarked.
+     */
+    private MutationListener listener;
+
     /**
      * Constructs an UnmarkCommand object.
      *
      * @param taskList List of a Person's current tasks.
      * @param idx      Index of the task to be marked as not done.
+     * @param listener Listener to notify once the task is unmarked.
      */
-    private UnmarkCommand(ArrayList<Task> taskList, int idx) {
+    private UnmarkCommand(ArrayList<Task> taskList, int idx, MutationListener listener) {
         this.taskList = taskList;
         this.idx = idx;
+        this.listener = listener;
     }
 
     /**
@@ -45,6 +53,7 @@ public class UnmarkCommand implements Command {
         Task t = taskList.get(idx);
         assert t != null : ASSERT_TASK_NULL_STRING;
         t.markAsUndone();
+        listener.onTaskStatusChanged(idx, t);
         responseList.add(UNMARK_INFO_STRING);
         responseList.add(t.toString());
         return true;
@@ -56,10 +65,11 @@ public class UnmarkCommand implements Command {
      *
      * @param taskList List of a Person's current tasks.
      * @param idx      Index of the task to be marked as not done.
+     * @param listener Listener to notify once the task is unmarked.
      * @return UnmarkCommand object.
      */
-    public static Command buildUnmarkCommand(ArrayList<Task> taskList, int idx) {
-        return new UnmarkCommand(taskList, idx);
+    public static Command buildUnmarkCommand(ArrayList<Task> taskList, int idx, MutationListener listener) {
+        return new UnmarkCommand(taskList, idx, listener);
     }
 
 }
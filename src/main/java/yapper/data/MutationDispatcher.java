@@ -0,0 +1,97 @@
+package yapper.data;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import yapper.data.notes.Note;
+import yapper.data.task.Task;
+
+/**
+ * Forwards changes made to a Person's lists to every registered MutationListener, in registration order.
+ */
+public class MutationDispatcher implements MutationListener {
+
+    /**
+     * Listeners to notify of changes.
+     */
+    private final CopyOnWriteArrayList<MutationListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Number of changes forwarded so far, written only under the mutation lock that serializes changes.
+     */
+    private volatile long changeCount;
+
+    /**
+     * Registers a listener to be notified of changes.
+     *
+     * @param listener Listener to register.
+     */
+    public void addListener(MutationListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops notifying a listener of changes.
+     *
+     * @param listener Listener to remove.
+     */
+    public void removeListener(MutationListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Returns the number of changes forwarded so far, which tells whether the lists changed since a given point.
+     *
+     * @return Number of changes forwarded.
+     */
+    public long getChangeCount() {
+        return this.changeCount;
+    }
+
+    @Override
+    public void onTaskAdded(int idx, Task task) {
+        this.changeCount++;
+        for (MutationListener listener : this.listeners) {
+            listener.onTaskAdded(idx, task);
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(int idx, Task task) {
+        this.changeCount++;
+        for (MutationListener listener : this.listeners) {
+            listener.onTaskRemoved(idx, task);
+        }
+    }
+
+    @Override
+    public void onTaskReplaced(int idx, Task oldTask, Task newTask) {
+        this.changeCount++;
+        for (MutationListener listener : this.listeners) {
+            listener.onTaskReplaced(idx, oldTask, newTask);
+        }
+    }
+
+    @Override
+    public void onTaskStatusChanged(int idx, Task task) {
+        this.changeCount++;
+        for (MutationListener listener : this.listeners) {
+            listener.onTaskStatusChanged(idx, task);
+        }
+    }
+
+    @Override
+    public void onNoteAdded(int idx, Note note) {
+        this.changeCount++;
+        for (MutationListener listener : this.listeners) {
+            listener.onNoteAdded(idx, note);
+        }
+    }
+
+    @Override
+    public void onNoteRemoved(int idx, Note note) {
+        this.changeCount++;
+        for (MutationListener listener : this.listeners) {
+            listener.onNoteRemoved(idx, note);
+        }
+    }
+}
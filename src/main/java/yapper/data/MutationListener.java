@@ -0,0 +1,72 @@
+package yapper.data;
+
+import yapper.data.notes.Note;
+import yapper.data.task.Task;
+
+/**
+ * Represents an observer of changes made to a Person's task and note lists.
+ * Every method is called after the list has been changed.
+ */
+public interface MutationListener {
+
+    /**
+     * Listener that ignores every change.
+     */
+    public static final MutationListener NONE = new MutationListener() {
+    };
+
+    /**
+     * Called after a task is added to the task list.
+     *
+     * @param idx  Index of the added task.
+     * @param task Task that was added.
+     */
+    public default void onTaskAdded(int idx, Task task) {
+    }
+
+    /**
+     * Called after a task is removed from the task list.
+     *
+     * @param idx  Index the task was removed from.
+     * @param task Task that was removed.
+     */
+    public default void onTaskRemoved(int idx, Task task) {
+    }
+
+    /**
+     * Called after a task in the task list is replaced, e.g. when it is rescheduled.
+     *
+     * @param idx     Index of the replaced task.
+     * @param oldTask Task that was replaced.
+     * @param newTask Task that took its place.
+     */
+    public default void onTaskReplaced(int idx, Task oldTask, Task newTask) {
+    }
+
+    /**
+     * Called after a task is marked as done or not done.
+     *
+     * @param idx  Index of the task.
+     * @param task Task whose status changed.
+     */
+    public default void onTaskStatusChanged(int idx, Task task) {
+    }
+
+    /**
+     * Called after a note is added to the note list.
+     *
+     * @param idx  Index of the added note.
+     * @param note Note that was added.
+     */
+    public default void onNoteAdded(int idx, Note note) {
+    }
+
+    /**
+     * Called after a note is removed from the note list.
+     *
+     * @param idx  Index the note was removed from.
+     * @param note Note that was removed.
+     */
+    public default void onNoteRemoved(int idx, Note note) {
+    }
+}
@@ -0,0 +1,170 @@
+package yapper.data.index;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+import yapper.data.index.ScheduleIndex.FreeSlot;
+import yapper.data.task.EventsScheduleTask;
+
+/**
+ * Periods taken up by events, in order of start, to find the free time between them.
+ *
+ * <p>Each period is the union of events overlapping or touching one another, so the periods never overlap and
+ * the gaps between consecutive periods are exactly the free time. An event is added by merging it with the
+ * periods it overlaps, and removed by dropping its period and merging the events left in it again.
+ */
+final class BusyPeriods {
+
+    /**
+     * A period taken up by events.
+     */
+    private static final class Period {
+
+        /**
+         * Start of the earliest event of the period.
+         */
+        private final LocalDateTime start;
+
+        /**
+         * Latest end of the events of the period.
+         */
+        private final LocalDateTime end;
+
+        /**
+         * Number of events in the period.
+         */
+        private final int count;
+
+        private Period(LocalDateTime start, LocalDateTime end, int count) {
+            this.start = start;
+            this.end = end;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Periods by start.
+     */
+    private final TreeMap<LocalDateTime, Period> periods = new TreeMap<>();
+
+    /**
+     * Adds an event, merging it with the periods it overlaps or touches.
+     *
+     * @param event event to add
+     */
+    void add(EventsScheduleTask event) {
+        if (endsBeforeStart(event)) {
+            return;
+        }
+
+        LocalDateTime start = event.getFromLocalDateTime();
+        LocalDateTime end = event.getToLocalDateTime();
+        int count = 1;
+        Map.Entry<LocalDateTime, Period> entry = this.periods.floorEntry(start);
+        if (entry != null && !entry.getValue().end.isBefore(start)) {
+            start = entry.getKey();
+        }
+        // every period from there on starting no later than the event ends is merged with it
+        while ((entry = this.periods.ceilingEntry(start)) != null && !entry.getKey().isAfter(end)) {
+            if (entry.getValue().end.isAfter(end)) {
+                end = entry.getValue().end;
+            }
+            count += entry.getValue().count;
+            this.periods.remove(entry.getKey());
+        }
+        this.periods.put(start, new Period(start, end, count));
+    }
+
+    /**
+     * Removes an event, splitting its period again if other events are left in it.
+     *
+     * @param event  event to remove
+     * @param events tree of the events left, no longer holding the event
+     */
+    void remove(EventsScheduleTask event, IntervalTree events) {
+        if (endsBeforeStart(event)) {
+            return;
+        }
+
+        Map.Entry<LocalDateTime, Period> entry = this.periods.floorEntry(event.getFromLocalDateTime());
+        if (entry == null) {
+            return;
+        }
+        Period period = this.periods.remove(entry.getKey());
+        if (period.count == 1) {
+            return;
+        }
+
+        // any event overlapping the period is in it, as it would have been merged otherwise
+        ArrayList<EventsScheduleTask> left = new ArrayList<>();
+        events.collectOverlapping(period.start, period.end, left);
+        for (EventsScheduleTask other : left) {
+            add(other);
+        }
+    }
+
+    /**
+     * Removes every period.
+     */
+    void clear() {
+        this.periods.clear();
+    }
+
+    /**
+     * Returns the earliest gaps between the periods, within a window, at least a given length.
+     *
+     * @param from      start of the window
+     * @param to        end of the window
+     * @param minLength least length of a gap
+     * @param limit     greatest number of gaps to return
+     * @return gaps in order of start
+     */
+    ArrayList<FreeSlot> freeSlots(LocalDateTime from, LocalDateTime to, Duration minLength, int limit) {
+        ArrayList<FreeSlot> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        Map.Entry<LocalDateTime, Period> entry = this.periods.floorEntry(from);
+        if (entry != null && entry.getValue().end.isAfter(cursor)) {
+            cursor = entry.getValue().end; // the window starts in a period
+        }
+
+        for (Period period : this.periods.tailMap(from, false).values()) {
+            if (slots.size() == limit || !period.start.isBefore(to)) {
+                break;
+            }
+            addIfLongEnough(slots, cursor, period.start, minLength);
+            cursor = period.end;
+        }
+        if (slots.size() < limit && cursor.isBefore(to)) {
+            addIfLongEnough(slots, cursor, to, minLength);
+        }
+        return slots;
+    }
+
+    /**
+     * Add a gap to a list if it is at least a given length
+     *
+     * @param slots     list to add the gap to
+     * @param from      start of the gap
+     * @param to        end of the gap
+     * @param minLength least length of a gap
+     */
+    private static void addIfLongEnough(ArrayList<FreeSlot> slots, LocalDateTime from, LocalDateTime to,
+            Duration minLength) {
+        if (!from.plus(minLength).isAfter(to)) {
+            slots.add(new FreeSlot(from, to));
+        }
+    }
+
+    /**
+     * Returns true if an event ends before it starts, so it takes up no time.
+     *
+     * @param event event to check
+     * @return true if the event ends before it starts
+     */
+    private static boolean endsBeforeStart(EventsScheduleTask event) {
+        return event.getToLocalDateTime().isBefore(event.getFromLocalDateTime());
+    }
+}
@@ -0,0 +1,104 @@
+package yapper.data.index;
+
+import java.util.Arrays;
+
+/**
+ * Fenwick tree over the ids of the items of a list, counting which are still in the list, so that the
+ * position of an id in the list, and the id at a position, are both found in logarithmic time.
+ */
+final class FenwickTree {
+
+    // Initial number of ids with room in the tree
+    private static final int INITIAL_CAPACITY_INT = 16;
+
+    /**
+     * Tree of counts, indexed from 1.
+     */
+    private int[] tree = new int[INITIAL_CAPACITY_INT + 1];
+
+    /**
+     * Returns the number of ids with room in the tree.
+     *
+     * @return number of ids with room in the tree
+     */
+    int capacity() {
+        return this.tree.length - 1;
+    }
+
+    /**
+     * Adds to the count of an id, growing the tree if needed.
+     *
+     * @param id    id whose count changes
+     * @param delta change of the count
+     */
+    void add(int id, int delta) {
+        if (id >= capacity()) {
+            grow(id + 1);
+        }
+        for (int i = id + 1; i < this.tree.length; i += i & -i) {
+            this.tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the total count of the ids below an id.
+     *
+     * @param id id to count below
+     * @return total count of the ids below it
+     */
+    int countBelow(int id) {
+        int count = 0;
+        for (int i = Math.min(id, capacity()); i > 0; i -= i & -i) {
+            count += this.tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the smallest id with the given total count of ids below it and a count of its own.
+     *
+     * @param rank total count of the ids below the id looked for
+     * @return the id, or capacity() if the counts do not reach rank + 1
+     */
+    int select(int rank) {
+        int id = 0;
+        int remaining = rank + 1;
+        for (int step = Integer.highestOneBit(capacity()); step > 0; step >>= 1) {
+            int next = id + step;
+            if (next < this.tree.length && this.tree[next] < remaining) {
+                id = next;
+                remaining -= this.tree[next];
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Clears every count.
+     */
+    void clear() {
+        Arrays.fill(this.tree, 0);
+    }
+
+    /**
+     * Grow the tree to hold at least the given number of ids, keeping the counts
+     *
+     * @param minCapacity number of ids to hold
+     */
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, capacity() * 2);
+        int[] counts = new int[capacity];
+        for (int id = 0; id < capacity(); id++) {
+            counts[id] = countBelow(id + 1) - countBelow(id);
+        }
+
+        this.tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            this.tree[i] += counts[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                this.tree[parent] += this.tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package yapper.data.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+import yapper.data.task.EventsScheduleTask;
+
+/**
+ * Interval tree of events, finding the events overlapping a period in order of start.
+ *
+ * <p>The tree is a treap ordered by start, balanced in expectation by random priorities, every node holding
+ * the latest end in its subtree. A subtree whose latest end is before the period cannot overlap it, and the
+ * nodes after a node starting after the period cannot either, so only the overlapping events and the nodes
+ * on the paths leading to them are visited.
+ */
+final class IntervalTree {
+
+    /**
+     * An event of the tree.
+     */
+    private static final class Node {
+
+        /**
+         * Event of the node.
+         */
+        private final EventsScheduleTask event;
+
+        /**
+         * Order the event was added in, breaking ties between events starting at the same time.
+         */
+        private final long sequence;
+
+        /**
+         * Random priority, no lower than the priority of either child.
+         */
+        private final int priority;
+
+        /**
+         * Latest end of the events in the subtree.
+         */
+        private LocalDateTime maxEnd;
+
+        /**
+         * Child starting before the event, or null.
+         */
+        private Node left;
+
+        /**
+         * Child starting after the event, or null.
+         */
+        private Node right;
+
+        private Node(EventsScheduleTask event, long sequence, int priority) {
+            this.event = event;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = event.getToLocalDateTime();
+        }
+
+        /**
+         * Returns true if the node comes before another in the tree.
+         *
+         * @param other the other node
+         * @return true if the node starts earlier, or at the same time but was added earlier
+         */
+        private boolean isBefore(Node other) {
+            int order = this.event.getFromLocalDateTime().compareTo(other.event.getFromLocalDateTime());
+            return order < 0 || order == 0 && this.sequence < other.sequence;
+        }
+
+        /**
+         * Recompute the latest end of the subtree from the children
+         */
+        private void update() {
+            this.maxEnd = this.event.getToLocalDateTime();
+            if (this.left != null && this.left.maxEnd.isAfter(this.maxEnd)) {
+                this.maxEnd = this.left.maxEnd;
+            }
+            if (this.right != null && this.right.maxEnd.isAfter(this.maxEnd)) {
+                this.maxEnd = this.right.maxEnd;
+            }
+        }
+    }
+
+    /**
+     * Node of every event in the tree.
+     */
+    private final IdentityHashMap<EventsScheduleTask, Node> nodes = new IdentityHashMap<>();
+
+    /**
+     * Source of the priorities of the nodes.
+     */
+    private final Random random = new Random();
+
+    /**
+     * Root of the tree, or null if it is empty.
+     */
+    private Node root;
+
+    /**
+     * Number of events added so far.
+     */
+    private long nextSequence;
+
+    /**
+     * Adds an event, unless already present.
+     *
+     * @param event event to add
+     * @return true if the event was added
+     */
+    boolean add(EventsScheduleTask event) {
+        if (this.nodes.containsKey(event)) {
+            return false;
+        }
+        Node node = new Node(event, this.nextSequence++, this.random.nextInt());
+        this.nodes.put(event, node);
+        this.root = insert(this.root, node);
+        return true;
+    }
+
+    /**
+     * Removes an event, if present.
+     *
+     * @param event event to remove
+     * @return true if the event was removed
+     */
+    boolean remove(EventsScheduleTask event) {
+        Node node = this.nodes.remove(event);
+        if (node == null) {
+            return false;
+        }
+        this.root = delete(this.root, node);
+        return true;
+    }
+
+    /**
+     * Removes every event.
+     */
+    void clear() {
+        this.nodes.clear();
+        this.root = null;
+    }
+
+    /**
+     * Returns the number of events in the tree.
+     *
+     * @return number of events
+     */
+    int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Adds every event to a list, in order of start.
+     *
+     * @param events list to add the events to
+     */
+    void collectAll(ArrayList<EventsScheduleTask> events) {
+        collectAll(this.root, events);
+    }
+
+    /**
+     * Adds the events overlapping a period to a list, in order of start.
+     *
+     * @param from    start of the period
+     * @param to      end of the period
+     * @param matches list to add the events to
+     */
+    void collectOverlapping(LocalDateTime from, LocalDateTime to, ArrayList<EventsScheduleTask> matches) {
+        collectOverlapping(this.root, from, to, matches);
+    }
+
+    /**
+     * Add every event of a subtree to a list, in order of start
+     *
+     * @param node   root of the subtree
+     * @param events list to add the events to
+     */
+    private static void collectAll(Node node, ArrayList<EventsScheduleTask> events) {
+        if (node == null) {
+            return;
+        }
+        collectAll(node.left, events);
+        events.add(node.event);
+        collectAll(node.right, events);
+    }
+
+    /**
+     * Add the events of a subtree overlapping a period to a list, in order of start
+     *
+     * @param node    root of the subtree
+     * @param from    start of the period
+     * @param to      end of the period
+     * @param matches list to add the events to
+     */
+    private static void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to,
+            ArrayList<EventsScheduleTask> matches) {
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return; // every event of the subtree ends before the period
+        }
+        collectOverlapping(node.left, from, to, matches);
+        if (node.event.getFromLocalDateTime().isAfter(to)) {
+            return; // the event and those after it start after the period
+        }
+        if (!node.event.getToLocalDateTime().isBefore(from)) {
+            matches.add(node.event);
+        }
+        collectOverlapping(node.right, from, to, matches);
+    }
+
+    /**
+     * Insert a node into a subtree
+     *
+     * @param subtree root of the subtree, or null
+     * @param node    node to insert
+     * @return new root of the subtree
+     */
+    private static Node insert(Node subtree, Node node) {
+        if (subtree == null) {
+            return node;
+        }
+        if (node.isBefore(subtree)) {
+            subtree.left = insert(subtree.left, node);
+            if (subtree.left.priority > subtree.priority) {
+                subtree = rotateRight(subtree);
+            }
+        } else {
+            subtree.right = insert(subtree.right, node);
+            if (subtree.right.priority > subtree.priority) {
+                subtree = rotateLeft(subtree);
+            }
+        }
+        subtree.update();
+        return subtree;
+    }
+
+    /**
+     * Delete a node from a subtree holding it
+     *
+     * @param subtree root of the subtree
+     * @param node    node to delete
+     * @return new root of the subtree
+     */
+    private static Node delete(Node subtree, Node node) {
+        if (subtree == node) {
+            if (subtree.left == null) {
+                return subtree.right;
+            }
+            if (subtree.right == null) {
+                return subtree.left;
+            }
+            // rotate the higher priority child up, then delete the node from below it
+            if (subtree.left.priority > subtree.right.priority) {
+                subtree = rotateRight(subtree);
+                subtree.right = delete(subtree.right, node);
+            } else {
+                subtree = rotateLeft(subtree);
+                subtree.left = delete(subtree.left, node);
+            }
+        } else if (node.isBefore(subtree)) {
+            subtree.left = delete(subtree.left, node);
+        } else {
+            subtree.right = delete(subtree.right, node);
+        }
+        subtree.update();
+        return subtree;
+    }
+
+    /**
+     * Rotate a subtree right, making its left child its root
+     *
+     * @param subtree root of the subtree
+     * @return new root of the subtree
+     */
+    private static Node rotateRight(Node subtree) {
+        Node newRoot = subtree.left;
+        subtree.left = newRoot.right;
+        newRoot.right = subtree;
+        subtree.update();
+        newRoot.update();
+        return newRoot;
+    }
+
+    /**
+     * Rotate a subtree left, making its right child its root
+     *
+     * @param subtree root of the subtree
+     * @return new root of the subtree
+     */
+    private static Node rotateLeft(Node subtree) {
+        Node newRoot = subtree.right;
+        subtree.right = newRoot.left;
+        newRoot.left = subtree;
+        subtree.update();
+        newRoot.update();
+        return newRoot;
+    }
+}
@@ -0,0 +1,323 @@
+package yapper.data.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import yapper.data.notes.Note;
+
+/**
+ * Inverted index from the words of the title and content of notes to the notes containing them, kept up to
+ * date as the note list changes, to rank the notes matching a query with BM25.
+ *
+ * <p>Notes are given ids in list order, as in TrigramIndex, and every word keeps the ids of the notes holding
+ * it along with how often it occurs there, a word of the title counting as {@value #TITLE_WEIGHT_INT} words
+ * of the content. A query only walks the postings of its own words, merging them by id, and keeps the best
+ * notes in a heap bounded by the number of results asked for.
+ */
+public class NoteTextIndex {
+
+    // BM25 parameters: saturation of the term frequency, and normalisation by note length
+    private static final double K1_DOUBLE = 1.2;
+    private static final double B_DOUBLE = 0.75;
+
+    // Times a word of the title counts as a word of the content
+    private static final int TITLE_WEIGHT_INT = 2;
+
+    // Ids of removed notes kept, beyond twice the notes in the list, before the ids are given out again
+    private static final int MAX_REMOVED_SLACK_INT = 64;
+
+    // Assertion message for a change to the list not reported to the index
+    private static final String ASSERT_UNREPORTED_CHANGE_STRING = "A change to the list was not reported.";
+
+    /**
+     * Ids of the notes containing a word, in increasing order, with the weighted count of the word in each.
+     */
+    private static final class TermPostings {
+
+        /**
+         * Ids, of which the first size are used.
+         */
+        private int[] ids = new int[2];
+
+        /**
+         * Weighted count of the word in the note of the id at the same position.
+         */
+        private int[] counts = new int[2];
+
+        /**
+         * Number of ids.
+         */
+        private int size;
+
+        /**
+         * Appends an id greater than every id present.
+         *
+         * @param id    id to append
+         * @param count weighted count of the word in the note
+         */
+        private void append(int id, int count) {
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+                this.counts = Arrays.copyOf(this.counts, this.size * 2);
+            }
+            this.ids[this.size] = id;
+            this.counts[this.size] = count;
+            this.size++;
+        }
+
+        /**
+         * Removes an id, if present.
+         *
+         * @param id id to remove
+         */
+        private void remove(int id) {
+            int pos = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(this.ids, pos + 1, this.ids, pos, this.size - pos - 1);
+            System.arraycopy(this.counts, pos + 1, this.counts, pos, this.size - pos - 1);
+            this.size--;
+        }
+    }
+
+    /**
+     * A note scored against a query.
+     */
+    private static final class ScoredNote {
+
+        /**
+         * Id of the note.
+         */
+        private final int id;
+
+        /**
+         * Score of the note.
+         */
+        private final double score;
+
+        private ScoredNote(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Orders scored notes from the worst to the best, ties going to the note earlier in the list.
+     */
+    private static final Comparator<ScoredNote> WORST_FIRST = Comparator
+            .comparingDouble((ScoredNote scored) -> scored.score)
+            .thenComparing(Comparator.comparingInt((ScoredNote scored) -> scored.id).reversed());
+
+    /**
+     * List indexed.
+     */
+    private final List<Note> list;
+
+    /**
+     * Note of every id, or null once removed.
+     */
+    private final ArrayList<Note> items = new ArrayList<>();
+
+    /**
+     * Weighted number of words of the note of every id.
+     */
+    private int[] lengths = new int[16];
+
+    /**
+     * Ids of the notes still in the list.
+     */
+    private final FenwickTree liveIds = new FenwickTree();
+
+    /**
+     * Postings of every word.
+     */
+    private final HashMap<String, TermPostings> postings = new HashMap<>();
+
+    /**
+     * Number of notes in the list.
+     */
+    private int size;
+
+    /**
+     * Weighted number of words of every note in the list.
+     */
+    private long totalLength;
+
+    /**
+     * Constructs a NoteTextIndex instance indexing a list of notes.
+     *
+     * @param list list to index, whose changes must all be reported
+     */
+    public NoteTextIndex(List<Note> list) {
+        this.list = list;
+        rebuild();
+    }
+
+    /**
+     * Records that a note was added to the list.
+     *
+     * @param idx  index the note was added at
+     * @param note note added
+     */
+    public void add(int idx, Note note) {
+        if (idx != this.size) {
+            rebuild(); // ids only sort like positions if notes are appended
+            return;
+        }
+        append(note);
+    }
+
+    /**
+     * Records that a note was removed from the list.
+     *
+     * @param idx index the note was removed from
+     */
+    public void remove(int idx) {
+        int id = this.liveIds.select(idx);
+        for (String term : countTerms(this.items.get(id)).keySet()) {
+            TermPostings termPostings = this.postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.size == 0) {
+                this.postings.remove(term);
+            }
+        }
+        this.totalLength -= this.lengths[id];
+        this.items.set(id, null);
+        this.liveIds.add(id, -1);
+        this.size--;
+
+        if (this.items.size() > 2 * this.size + MAX_REMOVED_SLACK_INT) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the notes best matching a query, best first.
+     *
+     * @param query words to look for in the title and content of the notes
+     * @param limit greatest number of notes to return
+     * @return at most limit notes holding a word of the query, ranked by BM25 score
+     */
+    public ArrayList<Note> search(String query, int limit) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+
+        ArrayList<TermPostings> queryPostings = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(TrigramIndex.toWords(query))) {
+            TermPostings termPostings = this.postings.get(term);
+            if (termPostings != null) {
+                queryPostings.add(termPostings);
+            }
+        }
+        if (limit <= 0 || queryPostings.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        double[] idfs = new double[queryPostings.size()];
+        for (int i = 0; i < idfs.length; i++) {
+            int documentCount = queryPostings.get(i).size;
+            idfs[i] = Math.log(1 + (this.size - documentCount + 0.5) / (documentCount + 0.5));
+        }
+        double averageLength = (double) this.totalLength / this.size;
+        PriorityQueue<ScoredNote> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        int[] cursors = new int[queryPostings.size()];
+        while (true) {
+            // merge the postings by id, scoring each note holding a word of the query once
+            int id = Integer.MAX_VALUE;
+            for (int i = 0; i < cursors.length; i++) {
+                TermPostings termPostings = queryPostings.get(i);
+                if (cursors[i] < termPostings.size) {
+                    id = Math.min(id, termPostings.ids[cursors[i]]);
+                }
+            }
+            if (id == Integer.MAX_VALUE) {
+                break;
+            }
+
+            double score = 0;
+            double lengthNorm = K1_DOUBLE * (1 - B_DOUBLE + B_DOUBLE * this.lengths[id] / averageLength);
+            for (int i = 0; i < cursors.length; i++) {
+                TermPostings termPostings = queryPostings.get(i);
+                if (cursors[i] < termPostings.size && termPostings.ids[cursors[i]] == id) {
+                    int count = termPostings.counts[cursors[i]];
+                    score += idfs[i] * count * (K1_DOUBLE + 1) / (count + lengthNorm);
+                    cursors[i]++;
+                }
+            }
+
+            ScoredNote scored = new ScoredNote(id, score);
+            if (best.size() < limit) {
+                best.add(scored);
+            } else if (WORST_FIRST.compare(scored, best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+
+        Note[] ranked = new Note[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = this.items.get(best.poll().id);
+        }
+        return new ArrayList<>(Arrays.asList(ranked));
+    }
+
+    /**
+     * Give every note of the list a new id, in list order, and index it again
+     */
+    private void rebuild() {
+        this.items.clear();
+        this.postings.clear();
+        this.liveIds.clear();
+        this.size = 0;
+        this.totalLength = 0;
+        for (Note note : this.list) {
+            append(note);
+        }
+    }
+
+    /**
+     * Give a note the next id and add it to the postings of its words
+     *
+     * @param note note to index
+     */
+    private void append(Note note) {
+        int id = this.items.size();
+        this.items.add(note);
+        this.liveIds.add(id, 1);
+        this.size++;
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : countTerms(note).entrySet()) {
+            this.postings.computeIfAbsent(entry.getKey(), term -> new TermPostings()).append(id, entry.getValue());
+            length += entry.getValue();
+        }
+        if (id == this.lengths.length) {
+            this.lengths = Arrays.copyOf(this.lengths, id * 2);
+        }
+        this.lengths[id] = length;
+        this.totalLength += length;
+    }
+
+    /**
+     * Returns the weighted count of every word of a note.
+     *
+     * @param note note to count the words of
+     * @return weighted count of every word
+     */
+    private static HashMap<String, Integer> countTerms(Note note) {
+        HashMap<String, Integer> counts = new HashMap<>();
+        for (String term : TrigramIndex.toWords(note.getName())) {
+            counts.merge(term, TITLE_WEIGHT_INT, Integer::sum);
+        }
+        for (String term : TrigramIndex.toWords(note.getContent())) {
+            counts.merge(term, 1, Integer::sum);
+        }
+        return counts;
+    }
+}
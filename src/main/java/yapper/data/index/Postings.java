@@ -0,0 +1,133 @@
+package yapper.data.index;
+
+import java.util.Arrays;
+
+/**
+ * Ids of the items containing a trigram or a word, in increasing order, held in a plain int array.
+ */
+final class Postings {
+
+    /**
+     * Ids, of which the first size are used.
+     */
+    private int[] ids = new int[2];
+
+    /**
+     * Number of ids.
+     */
+    private int size;
+
+    /**
+     * Returns the number of ids.
+     *
+     * @return number of ids
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an id, unless already present.
+     *
+     * @param id id to add
+     */
+    void add(int id) {
+        int pos = this.size == 0 || this.ids[this.size - 1] < id ? -this.size - 1 : search(0, this.size, id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+        }
+        System.arraycopy(this.ids, pos, this.ids, pos + 1, this.size - pos);
+        this.ids[pos] = id;
+        this.size++;
+    }
+
+    /**
+     * Removes an id, if present.
+     *
+     * @param id id to remove
+     */
+    void remove(int id) {
+        int pos = search(0, this.size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(this.ids, pos + 1, this.ids, pos, this.size - pos - 1);
+        this.size--;
+    }
+
+    /**
+     * Drops the room kept for more ids.
+     */
+    void trim() {
+        if (this.size < this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, Math.max(this.size, 1));
+        }
+    }
+
+    /**
+     * Returns a copy of the ids.
+     *
+     * @return ids in increasing order
+     */
+    int[] toArray() {
+        return Arrays.copyOf(this.ids, this.size);
+    }
+
+    /**
+     * Copies the ids into an array.
+     *
+     * @param target array with room for the ids after the offset
+     * @param offset position of the array to copy the first id to
+     * @return position after the last id copied
+     */
+    int copyInto(int[] target, int offset) {
+        System.arraycopy(this.ids, 0, target, offset, this.size);
+        return offset + this.size;
+    }
+
+    /**
+     * Keeps, of the first ids of an array, only those also present here.
+     *
+     * @param candidates ids in increasing order, overwritten with the ids kept
+     * @param count      number of ids of the array to consider
+     * @return number of ids kept, at the start of the array
+     */
+    int retainAll(int[] candidates, int count) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < this.size; i++) {
+            // gallop ahead of the last position, as the candidates are sorted and often close together
+            int step = 1;
+            int to = from;
+            while (to < this.size && this.ids[to] < candidates[i]) {
+                from = to + 1;
+                to += step;
+                step <<= 1;
+            }
+            int pos = search(from, Math.min(to + 1, this.size), candidates[i]);
+            if (pos >= 0) {
+                candidates[kept++] = candidates[i];
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Returns the position of an id between two positions, or -(insertion point) - 1 if absent.
+     *
+     * @param from first position to search
+     * @param to   position after the last to search
+     * @param id   id to look for
+     * @return position of the id
+     */
+    private int search(int from, int to, int id) {
+        return Arrays.binarySearch(this.ids, from, to, id);
+    }
+}
@@ -0,0 +1,122 @@
+package yapper.data.index;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from trigrams, packed into longs, to their Postings, so looking up the trigrams
+ * of a description boxes nothing.
+ */
+final class PostingsTable {
+
+    // Initial number of slots, a power of two
+    private static final int INITIAL_CAPACITY_INT = 1024;
+
+    // Multiplier spreading the bits of a trigram over the slots
+    private static final long HASH_MULTIPLIER_LONG = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Trigram of every slot used.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY_INT];
+
+    /**
+     * Postings of every slot used, or null if the slot is free.
+     */
+    private Postings[] values = new Postings[INITIAL_CAPACITY_INT];
+
+    /**
+     * Number of slots used.
+     */
+    private int size;
+
+    /**
+     * Returns the postings of a trigram.
+     *
+     * @param gram trigram packed into a long
+     * @return postings of the trigram, or null if it was never added
+     */
+    Postings get(long gram) {
+        for (int slot = slotOf(gram, this.keys.length); this.values[slot] != null;
+                slot = (slot + 1) & (this.keys.length - 1)) {
+            if (this.keys[slot] == gram) {
+                return this.values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the postings of a trigram, adding empty postings if it was never added.
+     *
+     * @param gram trigram packed into a long
+     * @return postings of the trigram
+     */
+    Postings getOrAdd(long gram) {
+        int slot = slotOf(gram, this.keys.length);
+        for (; this.values[slot] != null; slot = (slot + 1) & (this.keys.length - 1)) {
+            if (this.keys[slot] == gram) {
+                return this.values[slot];
+            }
+        }
+
+        Postings postings = new Postings();
+        this.keys[slot] = gram;
+        this.values[slot] = postings;
+        this.size++;
+        if (this.size * 2 > this.keys.length) {
+            grow();
+        }
+        return postings;
+    }
+
+    /**
+     * Drops the room kept for more ids in the postings of every trigram.
+     */
+    void trim() {
+        for (Postings postings : this.values) {
+            if (postings != null) {
+                postings.trim();
+            }
+        }
+    }
+
+    /**
+     * Removes every trigram.
+     */
+    void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Double the number of slots, moving every trigram to its new slot
+     */
+    private void grow() {
+        long[] oldKeys = this.keys;
+        Postings[] oldValues = this.values;
+        this.keys = new long[oldKeys.length * 2];
+        this.values = new Postings[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = slotOf(oldKeys[i], this.keys.length);
+            while (this.values[slot] != null) {
+                slot = (slot + 1) & (this.keys.length - 1);
+            }
+            this.keys[slot] = oldKeys[i];
+            this.values[slot] = oldValues[i];
+        }
+    }
+
+    /**
+     * Returns the slot a trigram is looked up from.
+     *
+     * @param gram     trigram packed into a long
+     * @param capacity number of slots, a power of two
+     * @return first slot to look in
+     */
+    private static int slotOf(long gram, int capacity) {
+        return (int) ((gram * HASH_MULTIPLIER_LONG) >>> (Long.SIZE - Integer.numberOfTrailingZeros(capacity)));
+    }
+}
@@ -0,0 +1,352 @@
+package yapper.data.index;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.ScheduleTask;
+import yapper.data.task.Task;
+
+/**
+ * Index of the dates of the events and deadlines in a task list, kept up to date as the list changes, to find
+ * what is on in a period without checking every task.
+ *
+ * <p>Events are kept in an IntervalTree and deadlines in a TreeMap by due date, so a period is looked up in
+ * logarithmic time plus the time to list what is on. The periods the events take up are also kept merged in
+ * BusyPeriods, so free time is found by stepping from one period to the next.
+ *
+ * <p>Two events clash when each starts before the other ends, so an event ending as another starts does not
+ * clash with it.
+ */
+public class ScheduleIndex {
+
+    // Assertion message for a change to the list not reported to the index
+    private static final String ASSERT_UNREPORTED_CHANGE_STRING = "A change to the list was not reported.";
+
+    /**
+     * Two events clashing with each other.
+     */
+    public static final class Clash {
+
+        /**
+         * Event starting first.
+         */
+        private final EventsScheduleTask first;
+
+        /**
+         * Event starting second.
+         */
+        private final EventsScheduleTask second;
+
+        private Clash(EventsScheduleTask first, EventsScheduleTask second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        /**
+         * Returns the event starting first.
+         *
+         * @return the event starting first
+         */
+        public EventsScheduleTask getFirst() {
+            return this.first;
+        }
+
+        /**
+         * Returns the event starting second.
+         *
+         * @return the event starting no earlier than the first
+         */
+        public EventsScheduleTask getSecond() {
+            return this.second;
+        }
+    }
+
+    /**
+     * A gap between events.
+     */
+    public static final class FreeSlot {
+
+        /**
+         * Start of the gap.
+         */
+        private final LocalDateTime from;
+
+        /**
+         * End of the gap.
+         */
+        private final LocalDateTime to;
+
+        FreeSlot(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Returns the start of the gap.
+         *
+         * @return the start of the gap
+         */
+        public LocalDateTime getFrom() {
+            return this.from;
+        }
+
+        /**
+         * Returns the end of the gap.
+         *
+         * @return the end of the gap
+         */
+        public LocalDateTime getTo() {
+            return this.to;
+        }
+    }
+
+    /**
+     * Orders events by start.
+     */
+    private static final Comparator<EventsScheduleTask> BY_START =
+            Comparator.comparing(EventsScheduleTask::getFromLocalDateTime);
+
+    /**
+     * Orders events by end.
+     */
+    private static final Comparator<EventsScheduleTask> BY_END =
+            Comparator.comparing(EventsScheduleTask::getToLocalDateTime);
+
+    /**
+     * List indexed.
+     */
+    private final List<Task> list;
+
+    /**
+     * Events of the list.
+     */
+    private final IntervalTree events = new IntervalTree();
+
+    /**
+     * Periods taken up by the events of the list.
+     */
+    private final BusyPeriods busyPeriods = new BusyPeriods();
+
+    /**
+     * Deadlines of the list, by due date, in the order they were added.
+     */
+    private final TreeMap<LocalDateTime, ArrayList<DeadlineScheduleTask>> deadlines = new TreeMap<>();
+
+    /**
+     * Number of tasks in the list.
+     */
+    private int size;
+
+    /**
+     * Constructs a ScheduleIndex instance indexing a list of tasks.
+     *
+     * @param list list to index, whose changes must all be reported
+     */
+    public ScheduleIndex(List<Task> list) {
+        this.list = list;
+        indexAll();
+    }
+
+    /**
+     * Records that a task was added to the list.
+     *
+     * @param task task added
+     */
+    public void add(Task task) {
+        this.size++;
+        index(task);
+    }
+
+    /**
+     * Records that a task was removed from the list.
+     *
+     * @param task task removed
+     */
+    public void remove(Task task) {
+        this.size--;
+        unindex(task);
+    }
+
+    /**
+     * Records that a task of the list was replaced.
+     *
+     * @param oldTask task replaced
+     * @param newTask task that took its place
+     */
+    public void replace(Task oldTask, Task newTask) {
+        unindex(oldTask);
+        index(newTask);
+    }
+
+    /**
+     * Returns the events overlapping a period and the deadlines due in it, in order of start or due date.
+     *
+     * @param from start of the period
+     * @param to   end of the period, included
+     * @return events and deadlines in the period
+     */
+    public ArrayList<ScheduleTask> between(LocalDateTime from, LocalDateTime to) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+
+        ArrayList<EventsScheduleTask> overlapping = new ArrayList<>();
+        this.events.collectOverlapping(from, to, overlapping);
+        ArrayList<DeadlineScheduleTask> due = new ArrayList<>();
+        if (!from.isAfter(to)) {
+            for (ArrayList<DeadlineScheduleTask> sameTime : this.deadlines.subMap(from, true, to, true).values()) {
+                due.addAll(sameTime);
+            }
+        }
+
+        // merge the two lists, each already in order
+        ArrayList<ScheduleTask> matches = new ArrayList<>(overlapping.size() + due.size());
+        int i = 0;
+        int j = 0;
+        while (i < overlapping.size() || j < due.size()) {
+            boolean isEventNext = j == due.size() || i < overlapping.size()
+                    && !overlapping.get(i).getFromLocalDateTime().isAfter(due.get(j).getByLocalDateTime());
+            matches.add(isEventNext ? overlapping.get(i++) : due.get(j++));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the events that would clash with an event held over a period, in order of start.
+     *
+     * @param from start of the period
+     * @param to   end of the period
+     * @return events starting before the end of the period and ending after its start
+     */
+    public ArrayList<EventsScheduleTask> clashesWith(LocalDateTime from, LocalDateTime to) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+
+        ArrayList<EventsScheduleTask> clashing = new ArrayList<>();
+        this.events.collectOverlapping(from, to, clashing);
+        clashing.removeIf(event -> !isClash(event, from, to)); // only touching the period
+        return clashing;
+    }
+
+    /**
+     * Returns every pair of clashing events, in order of the start of the event starting second, then of the
+     * start of the event starting first.
+     *
+     * <p>The events are swept in order of start, keeping those still going on in a heap by end. An event
+     * clashes with every event still going on when it starts, so the sweep takes O(n log n) time plus the time
+     * to list the clashes.
+     *
+     * @return pairs of clashing events
+     */
+    public ArrayList<Clash> clashes() {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+
+        ArrayList<EventsScheduleTask> byStart = new ArrayList<>(this.events.size());
+        this.events.collectAll(byStart);
+        PriorityQueue<EventsScheduleTask> ongoing = new PriorityQueue<>(BY_END);
+        ArrayList<EventsScheduleTask> clashing = new ArrayList<>();
+        ArrayList<Clash> clashes = new ArrayList<>();
+        for (EventsScheduleTask event : byStart) {
+            LocalDateTime from = event.getFromLocalDateTime();
+            while (!ongoing.isEmpty() && !ongoing.peek().getToLocalDateTime().isAfter(from)) {
+                ongoing.poll(); // over by the time the event starts
+            }
+
+            clashing.clear();
+            for (EventsScheduleTask other : ongoing) {
+                if (isClash(other, from, event.getToLocalDateTime())) {
+                    clashing.add(other);
+                }
+            }
+            clashing.sort(BY_START);
+            for (EventsScheduleTask other : clashing) {
+                clashes.add(new Clash(other, event));
+            }
+            ongoing.add(event);
+        }
+        return clashes;
+    }
+
+    /**
+     * Returns the earliest gaps between events within a window, at least a given length.
+     *
+     * <p>Finding the first gap takes logarithmic time, then each gap is reached from the one before it, short
+     * gaps in between being stepped over.
+     *
+     * @param from      start of the window
+     * @param to        end of the window
+     * @param minLength least length of a gap
+     * @param limit     greatest number of gaps to return
+     * @return gaps within the window, in order of start
+     */
+    public ArrayList<FreeSlot> freeSlots(LocalDateTime from, LocalDateTime to, Duration minLength, int limit) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        return this.busyPeriods.freeSlots(from, to, minLength, limit);
+    }
+
+    /**
+     * Returns true if an event clashes with another held over a period.
+     *
+     * @param event event to check
+     * @param from  start of the period
+     * @param to    end of the period
+     * @return true if each starts before the other ends
+     */
+    private static boolean isClash(EventsScheduleTask event, LocalDateTime from, LocalDateTime to) {
+        return event.getFromLocalDateTime().isBefore(to) && from.isBefore(event.getToLocalDateTime());
+    }
+
+    /**
+     * Index every task of the list
+     */
+    private void indexAll() {
+        for (Task task : this.list) {
+            add(task);
+        }
+    }
+
+    /**
+     * Add a task's dates to the index, if it has any
+     *
+     * @param task task to index
+     */
+    private void index(Task task) {
+        if (task instanceof EventsScheduleTask) {
+            EventsScheduleTask event = (EventsScheduleTask) task;
+            if (this.events.add(event)) {
+                this.busyPeriods.add(event);
+            }
+        } else if (task instanceof DeadlineScheduleTask) {
+            DeadlineScheduleTask deadline = (DeadlineScheduleTask) task;
+            this.deadlines.computeIfAbsent(deadline.getByLocalDateTime(), by -> new ArrayList<>()).add(deadline);
+        }
+    }
+
+    /**
+     * Remove a task's dates from the index, if it has any
+     *
+     * @param task task to remove
+     */
+    private void unindex(Task task) {
+        if (task instanceof EventsScheduleTask) {
+            EventsScheduleTask event = (EventsScheduleTask) task;
+            if (this.events.remove(event)) {
+                this.busyPeriods.remove(event, this.events);
+            }
+        } else if (task instanceof DeadlineScheduleTask) {
+            LocalDateTime by = ((DeadlineScheduleTask) task).getByLocalDateTime();
+            ArrayList<DeadlineScheduleTask> sameTime = this.deadlines.get(by);
+            if (sameTime == null) {
+                return;
+            }
+            sameTime.removeIf(deadline -> deadline == task);
+            if (sameTime.isEmpty()) {
+                this.deadlines.remove(by);
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package yapper.data.index;
+
+import java.util.ArrayList;
+
+import yapper.data.MutationListener;
+import yapper.data.notes.Note;
+import yapper.data.task.Task;
+
+/**
+ * Keeps a TrigramIndex of a Person's tasks and of their notes, a NoteTextIndex of the text of their notes, a
+ * ScheduleIndex of the dates of their tasks, an UrgencyIndex of their unfinished tasks and a TaskFacetIndex of
+ * the type, status and due date of their tasks up to date with every change reported.
+ *
+ * <p>Each index is built from the lists the first time it is asked for, so loading a Person does not wait on
+ * indexes no command has used yet. Changes are only passed to the indexes already built.
+ */
+public class SearchIndex implements MutationListener {
+
+    // Estimated weight of each task or note in each index, in bytes
+    private static final long TASK_TRIGRAM_WEIGHT_LONG = 400;
+    private static final long NOTE_TRIGRAM_WEIGHT_LONG = 300;
+    private static final long NOTE_TEXT_WEIGHT_LONG = 500;
+    private static final long SCHEDULE_WEIGHT_LONG = 150;
+    private static final long URGENCY_WEIGHT_LONG = 100;
+    private static final long FACET_WEIGHT_LONG = 100;
+
+    /**
+     * Live list of tasks.
+     */
+    private final ArrayList<Task> taskList;
+
+    /**
+     * Live list of notes.
+     */
+    private final ArrayList<Note> noteList;
+
+    /**
+     * Index of the tasks, or null until first asked for.
+     */
+    private TrigramIndex<Task> taskIndex;
+
+    /**
+     * Index of the notes, or null until first asked for.
+     */
+    private TrigramIndex<Note> noteIndex;
+
+    /**
+     * Index of the title and content of the notes, or null until first asked for.
+     */
+    private NoteTextIndex noteTextIndex;
+
+    /**
+     * Index of the dates of the tasks, or null until first asked for.
+     */
+    private ScheduleIndex scheduleIndex;
+
+    /**
+     * Index of the unfinished tasks by urgency, or null until first asked for.
+     */
+    private UrgencyIndex urgencyIndex;
+
+    /**
+     * Index of the type, status and due date of the tasks, or null until first asked for.
+     */
+    private TaskFacetIndex facetIndex;
+
+    /**
+     * Constructs a SearchIndex instance indexing the loaded tasks and notes once asked for.
+     *
+     * @param taskList live list of tasks
+     * @param noteList live list of notes
+     */
+    public SearchIndex(ArrayList<Task> taskList, ArrayList<Note> noteList) {
+        this.taskList = taskList;
+        this.noteList = noteList;
+    }
+
+    /**
+     * Returns the index of the tasks, building it if not yet built.
+     *
+     * @return index of the tasks
+     */
+    public TrigramIndex<Task> getTaskIndex() {
+        if (this.taskIndex == null) {
+            this.taskIndex = new TrigramIndex<>(this.taskList);
+        }
+        return this.taskIndex;
+    }
+
+    /**
+     * Returns the index of the notes, building it if not yet built.
+     *
+     * @return index of the notes
+     */
+    public TrigramIndex<Note> getNoteIndex() {
+        if (this.noteIndex == null) {
+            this.noteIndex = new TrigramIndex<>(this.noteList);
+        }
+        return this.noteIndex;
+    }
+
+    /**
+     * Returns the index of the title and content of the notes, building it if not yet built.
+     *
+     * @return index of the text of the notes
+     */
+    public NoteTextIndex getNoteTextIndex() {
+        if (this.noteTextIndex == null) {
+            this.noteTextIndex = new NoteTextIndex(this.noteList);
+        }
+        return this.noteTextIndex;
+    }
+
+    /**
+     * Returns the index of the dates of the tasks, building it if not yet built.
+     *
+     * @return index of the dates of the tasks
+     */
+    public ScheduleIndex getScheduleIndex() {
+        if (this.scheduleIndex == null) {
+            this.scheduleIndex = new ScheduleIndex(this.taskList);
+        }
+        return this.scheduleIndex;
+    }
+
+    /**
+     * Returns the index of the unfinished tasks by urgency, building it if not yet built.
+     *
+     * @return index of the unfinished tasks
+     */
+    public UrgencyIndex getUrgencyIndex() {
+        if (this.urgencyIndex == null) {
+            this.urgencyIndex = new UrgencyIndex(this.taskList);
+        }
+        return this.urgencyIndex;
+    }
+
+    /**
+     * Returns the index of the type, status and due date of the tasks, building it if not yet built.
+     *
+     * @return index of the type, status and due date of the tasks
+     */
+    public TaskFacetIndex getFacetIndex() {
+        if (this.facetIndex == null) {
+            this.facetIndex = new TaskFacetIndex(this.taskList);
+        }
+        return this.facetIndex;
+    }
+
+    /**
+     * Returns an estimate of the memory the indexes built so far take, in bytes.
+     *
+     * @return estimated weight of the built indexes, growing with the number of tasks and notes
+     */
+    public long estimateWeight() {
+        long taskWeight = 0;
+        taskWeight += this.taskIndex == null ? 0 : TASK_TRIGRAM_WEIGHT_LONG;
+        taskWeight += this.scheduleIndex == null ? 0 : SCHEDULE_WEIGHT_LONG;
+        taskWeight += this.urgencyIndex == null ? 0 : URGENCY_WEIGHT_LONG;
+        taskWeight += this.facetIndex == null ? 0 : FACET_WEIGHT_LONG;
+        long noteWeight = 0;
+        noteWeight += this.noteIndex == null ? 0 : NOTE_TRIGRAM_WEIGHT_LONG;
+        noteWeight += this.noteTextIndex == null ? 0 : NOTE_TEXT_WEIGHT_LONG;
+        return taskWeight * this.taskList.size() + noteWeight * this.noteList.size();
+    }
+
+    @Override
+    public void onTaskAdded(int idx, Task task) {
+        if (this.taskIndex != null) {
+            this.taskIndex.add(idx, task);
+        }
+        if (this.scheduleIndex != null) {
+            this.scheduleIndex.add(task);
+        }
+        if (this.urgencyIndex != null) {
+            this.urgencyIndex.add(task);
+        }
+        if (this.facetIndex != null) {
+            this.facetIndex.add(idx, task);
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(int idx, Task task) {
+        if (this.taskIndex != null) {
+            this.taskIndex.remove(idx);
+        }
+        if (this.scheduleIndex != null) {
+            this.scheduleIndex.remove(task);
+        }
+        if (this.urgencyIndex != null) {
+            this.urgencyIndex.remove(task);
+        }
+        if (this.facetIndex != null) {
+            this.facetIndex.remove(idx);
+        }
+    }
+
+    @Override
+    public void onTaskReplaced(int idx, Task oldTask, Task newTask) {
+        if (this.taskIndex != null) {
+            this.taskIndex.replace(idx, newTask);
+        }
+        if (this.scheduleIndex != null) {
+            this.scheduleIndex.replace(oldTask, newTask);
+        }
+        if (this.urgencyIndex != null) {
+            this.urgencyIndex.replace(oldTask, newTask);
+        }
+        if (this.facetIndex != null) {
+            this.facetIndex.replace(idx, newTask);
+        }
+    }
+
+    @Override
+    public void onTaskStatusChanged(int idx, Task task) {
+        if (this.urgencyIndex != null) {
+            this.urgencyIndex.updateStatus(task);
+        }
+        if (this.facetIndex != null) {
+            this.facetIndex.updateStatus(idx, task);
+        }
+    }
+
+    @Override
+    public void onNoteAdded(int idx, Note note) {
+        if (this.noteIndex != null) {
+            this.noteIndex.add(idx, note);
+        }
+        if (this.noteTextIndex != null) {
+            this.noteTextIndex.add(idx, note);
+        }
+    }
+
+    @Override
+    public void onNoteRemoved(int idx, Note note) {
+        if (this.noteIndex != null) {
+            this.noteIndex.remove(idx);
+        }
+        if (this.noteTextIndex != null) {
+            this.noteTextIndex.remove(idx);
+        }
+    }
+}
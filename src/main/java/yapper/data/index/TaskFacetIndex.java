@@ -0,0 +1,379 @@
+package yapper.data.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.TreeMap;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.Task;
+
+/**
+ * Index of the type, status and due date of the tasks in a list, kept up to date as the list changes, to find
+ * the tasks of a type, done or not, or due in a period without checking every task.
+ *
+ * <p>Every task is given an id when added, in list order, so ids sort like positions, as in TrigramIndex. The
+ * ids of the tasks of each type, and of the tasks done, are kept as bitmaps, which are combined a word of 64
+ * tasks at a time. The ids of the deadlines and events are also kept in a TreeMap by due date or start, so the
+ * tasks due in a period are found in logarithmic time plus the time to list them.
+ */
+public class TaskFacetIndex {
+
+    // Ids of removed tasks kept, beyond twice the tasks in the list, before the ids are given out again
+    private static final int MAX_REMOVED_SLACK_INT = 64;
+
+    // Assertion message for a change to the list not reported to the index
+    private static final String ASSERT_UNREPORTED_CHANGE_STRING = "A change to the list was not reported.";
+
+    /**
+     * Types of task.
+     */
+    public enum Kind {
+        TODO, DEADLINE, EVENT;
+
+        /**
+         * Returns the type of a task.
+         *
+         * @param task task to look at
+         * @return the type of the task
+         */
+        public static Kind of(Task task) {
+            if (task instanceof DeadlineScheduleTask) {
+                return DEADLINE;
+            }
+            if (task instanceof EventsScheduleTask) {
+                return EVENT;
+            }
+            return TODO;
+        }
+    }
+
+    /**
+     * List indexed.
+     */
+    private final List<Task> list;
+
+    /**
+     * Task of every id, or null once removed.
+     */
+    private final ArrayList<Task> items = new ArrayList<>();
+
+    /**
+     * Id of every task in the list.
+     */
+    private final IdentityHashMap<Task, Integer> ids = new IdentityHashMap<>();
+
+    /**
+     * Ids of the tasks still in the list.
+     */
+    private final FenwickTree liveIds = new FenwickTree();
+
+    /**
+     * Ids of the tasks still in the list, as a bitmap.
+     */
+    private final BitSet liveBits = new BitSet();
+
+    /**
+     * Ids of the tasks of every type, by ordinal.
+     */
+    private final BitSet[] kindBits = new BitSet[Kind.values().length];
+
+    /**
+     * Ids of the tasks done.
+     */
+    private final BitSet doneBits = new BitSet();
+
+    /**
+     * Ids of the deadlines and events, by due date or start.
+     */
+    private final TreeMap<LocalDateTime, Postings> dueIds = new TreeMap<>();
+
+    /**
+     * Number of tasks in the list.
+     */
+    private int size;
+
+    /**
+     * Constructs a TaskFacetIndex instance indexing a list of tasks.
+     *
+     * @param list list to index, whose changes must all be reported
+     */
+    public TaskFacetIndex(List<Task> list) {
+        this.list = list;
+        for (int i = 0; i < this.kindBits.length; i++) {
+            this.kindBits[i] = new BitSet();
+        }
+        rebuild();
+    }
+
+    /**
+     * Records that a task was added to the list.
+     *
+     * @param idx  index the task was added at
+     * @param task task added
+     */
+    public void add(int idx, Task task) {
+        if (idx != this.size) {
+            rebuild(); // ids only sort like positions if tasks are appended
+            return;
+        }
+        append(task);
+    }
+
+    /**
+     * Records that a task was removed from the list.
+     *
+     * @param idx index the task was removed from
+     */
+    public void remove(int idx) {
+        int id = this.liveIds.select(idx);
+        unindex(id, this.items.get(id));
+        this.items.set(id, null);
+        this.liveIds.add(id, -1);
+        this.liveBits.clear(id);
+        this.size--;
+
+        if (this.items.size() > 2 * this.size + MAX_REMOVED_SLACK_INT) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Records that a task of the list was replaced.
+     *
+     * @param idx  index of the task replaced
+     * @param task task that took its place
+     */
+    public void replace(int idx, Task task) {
+        int id = this.liveIds.select(idx);
+        unindex(id, this.items.get(id));
+        this.items.set(id, task);
+        index(id, task);
+    }
+
+    /**
+     * Records that a task of the list was marked as done or not done.
+     *
+     * @param idx  index of the task marked
+     * @param task task marked
+     */
+    public void updateStatus(int idx, Task task) {
+        this.doneBits.set(this.liveIds.select(idx), task.isDone());
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return number of tasks in the list
+     */
+    public int size() {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        return this.size;
+    }
+
+    /**
+     * Returns the ids of every task in the list.
+     *
+     * @return bitmap of the ids, which the caller may change
+     */
+    public BitSet allIds() {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        return (BitSet) this.liveBits.clone();
+    }
+
+    /**
+     * Returns the ids of the tasks of a type.
+     *
+     * @param kind type of the tasks
+     * @return bitmap of the ids, which the caller may change
+     */
+    public BitSet idsOf(Kind kind) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        return (BitSet) this.kindBits[kind.ordinal()].clone();
+    }
+
+    /**
+     * Returns the ids of the tasks done, or of those not done.
+     *
+     * @param isDone true for the tasks done, false for those not done
+     * @return bitmap of the ids, which the caller may change
+     */
+    public BitSet idsDone(boolean isDone) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        BitSet bits = (BitSet) (isDone ? this.doneBits : this.liveBits).clone();
+        if (!isDone) {
+            bits.andNot(this.doneBits);
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the number of deadlines due and events starting in a period, counting no further than a bound.
+     *
+     * @param from  start of the period, included
+     * @param to    end of the period, excluded
+     * @param bound number past which counting stops
+     * @return the number of tasks, or bound if there are at least as many
+     */
+    public int countDue(LocalDateTime from, LocalDateTime to, int bound) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+        int count = 0;
+        for (Postings postings : this.dueIds.subMap(from, true, to, false).values()) {
+            count += postings.size();
+            if (count >= bound) {
+                return bound;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the ids of the deadlines due and events starting in a period.
+     *
+     * @param from start of the period, included
+     * @param to   end of the period, excluded
+     * @return bitmap of the ids, which the caller may change
+     */
+    public BitSet idsDue(LocalDateTime from, LocalDateTime to) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        BitSet bits = new BitSet();
+        if (!from.isBefore(to)) {
+            return bits;
+        }
+        for (Postings postings : this.dueIds.subMap(from, true, to, false).values()) {
+            for (int id : postings.toArray()) {
+                bits.set(id);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the ids of some tasks of the list.
+     *
+     * @param tasks tasks of the list
+     * @return bitmap of the ids, which the caller may change
+     */
+    public BitSet idsOf(List<Task> tasks) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        BitSet bits = new BitSet();
+        for (Task task : tasks) {
+            Integer id = this.ids.get(task);
+            if (id != null) {
+                bits.set(id);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the task with an id.
+     *
+     * @param id id of a task in the list
+     * @return the task
+     */
+    public Task getTask(int id) {
+        return this.items.get(id);
+    }
+
+    /**
+     * Returns the position in the list of the task with an id.
+     *
+     * @param id id of a task in the list
+     * @return index of the task in the list
+     */
+    public int getPosition(int id) {
+        return this.liveIds.countBelow(id);
+    }
+
+    /**
+     * Give every task of the list a new id, in list order, and index it again
+     */
+    private void rebuild() {
+        this.items.clear();
+        this.ids.clear();
+        this.liveIds.clear();
+        this.liveBits.clear();
+        for (BitSet bits : this.kindBits) {
+            bits.clear();
+        }
+        this.doneBits.clear();
+        this.dueIds.clear();
+        this.size = 0;
+        for (Task task : this.list) {
+            append(task);
+        }
+    }
+
+    /**
+     * Give a task appended to the list the next id and index it
+     *
+     * @param task task appended
+     */
+    private void append(Task task) {
+        int id = this.items.size();
+        this.items.add(task);
+        this.liveIds.add(id, 1);
+        this.liveBits.set(id);
+        this.size++;
+        index(id, task);
+    }
+
+    /**
+     * Add a task's id to the bitmaps of its type and status and to the ids due at its date
+     *
+     * @param id   id of the task
+     * @param task the task
+     */
+    private void index(int id, Task task) {
+        this.ids.put(task, id);
+        this.kindBits[Kind.of(task).ordinal()].set(id);
+        this.doneBits.set(id, task.isDone());
+        LocalDateTime dueDateTime = toDateTime(task);
+        if (dueDateTime != null) {
+            this.dueIds.computeIfAbsent(dueDateTime, d -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Remove a task's id from the bitmaps of its type and status and from the ids due at its date
+     *
+     * @param id   id of the task
+     * @param task the task
+     */
+    private void unindex(int id, Task task) {
+        this.ids.remove(task);
+        this.kindBits[Kind.of(task).ordinal()].clear(id);
+        this.doneBits.clear(id);
+        LocalDateTime dueDateTime = toDateTime(task);
+        Postings postings = dueDateTime == null ? null : this.dueIds.get(dueDateTime);
+        if (postings != null) {
+            postings.remove(id);
+            if (postings.size() == 0) {
+                this.dueIds.remove(dueDateTime);
+            }
+        }
+    }
+
+    /**
+     * Returns the due date or start of a task.
+     *
+     * @param task task to look at
+     * @return the due date of a deadline, the start of an event, or null for any other task
+     */
+    public static LocalDateTime toDateTime(Task task) {
+        if (task instanceof DeadlineScheduleTask) {
+            return ((DeadlineScheduleTask) task).getByLocalDateTime();
+        }
+        if (task instanceof EventsScheduleTask) {
+            return ((EventsScheduleTask) task).getFromLocalDateTime();
+        }
+        return null;
+    }
+}
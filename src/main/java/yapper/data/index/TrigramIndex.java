@@ -0,0 +1,442 @@
+package yapper.data.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import yapper.data.ContentDisplayable;
+
+/**
+ * Inverted index from the trigrams of the descriptions in a list to the items containing them, kept up to date
+ * as the list changes, to find the items whose description contains a search term.
+ *
+ * <p>Every item is given an id when added, in list order, so ids sort like positions. A FenwickTree over the
+ * ids still in the list turns the position reported with a change into the id of the item changed. Trigrams
+ * are runs of three chars of a description lower-cased one char at a time, which keeps its length, so every
+ * trigram of a lower-cased search term is one of any description containing the term. Only the items in the
+ * intersection of the postings of those trigrams, smallest first, are checked. A search term shorter than a
+ * trigram is checked against every item.
+ *
+ * <p>The lower-cased runs of letters and digits of the descriptions are kept as well, with the ids of the items
+ * holding them, in a WordTrie finding the words within an edit distance of a misspelt search term. Words no
+ * longer held by any item stay in the trie, ignored, until they outnumber the others.
+ *
+ * @param <T> Type of the items in the list.
+ */
+public class TrigramIndex<T extends ContentDisplayable> {
+
+    // Length of the runs of chars indexed
+    private static final int GRAM_LENGTH_INT = 3;
+
+    // Ids of removed items kept, beyond twice the items in the list, before the ids are given out again
+    private static final int MAX_REMOVED_SLACK_INT = 64;
+
+    // Assertion message for a change to the list not reported to the index
+    private static final String ASSERT_UNREPORTED_CHANGE_STRING = "A change to the list was not reported.";
+
+    /**
+     * List indexed.
+     */
+    private final List<T> list;
+
+    /**
+     * Item of every id, or null once removed.
+     */
+    private final ArrayList<T> items = new ArrayList<>();
+
+    /**
+     * Ids of the items still in the list.
+     */
+    private final FenwickTree liveIds = new FenwickTree();
+
+    /**
+     * Ids of the items containing every trigram.
+     */
+    private final PostingsTable postings = new PostingsTable();
+
+    /**
+     * Ids of the items containing every word.
+     */
+    private final HashMap<String, Postings> wordPostings = new HashMap<>();
+
+    /**
+     * Every word held by an item since the trie was last built.
+     */
+    private final WordTrie vocabulary = new WordTrie();
+
+    /**
+     * Number of items in the list.
+     */
+    private int size;
+
+    /**
+     * Constructs a TrigramIndex instance indexing a list.
+     *
+     * @param list list to index, whose changes must all be reported
+     */
+    public TrigramIndex(List<T> list) {
+        this.list = list;
+        rebuild();
+    }
+
+    /**
+     * Records that an item was added to the list.
+     *
+     * @param idx  index the item was added at
+     * @param item item added
+     */
+    public void add(int idx, T item) {
+        if (idx != this.size) {
+            rebuild(); // ids only sort like positions if items are appended
+            return;
+        }
+        int id = this.items.size();
+        this.items.add(item);
+        this.liveIds.add(id, 1);
+        this.size++;
+        index(id, item);
+    }
+
+    /**
+     * Records that an item was removed from the list.
+     *
+     * @param idx index the item was removed from
+     */
+    public void remove(int idx) {
+        int id = this.liveIds.select(idx);
+        unindex(id, this.items.get(id));
+        this.items.set(id, null);
+        this.liveIds.add(id, -1);
+        this.size--;
+
+        if (this.items.size() > 2 * this.size + MAX_REMOVED_SLACK_INT) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Records that an item of the list was replaced.
+     *
+     * @param idx  index of the item replaced
+     * @param item item that took its place
+     */
+    public void replace(int idx, T item) {
+        int id = this.liveIds.select(idx);
+        unindex(id, this.items.get(id));
+        this.items.set(id, item);
+        index(id, item);
+    }
+
+    /**
+     * Returns the items whose description contains a search term, in list order.
+     *
+     * @param searchTerm search term, matched case-sensitively anywhere in a description
+     * @return items containing the search term
+     */
+    public ArrayList<T> find(String searchTerm) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        if (searchTerm.length() < GRAM_LENGTH_INT) {
+            return scan(searchTerm);
+        }
+
+        int[] candidates = candidateIds(toLowerCase(searchTerm));
+        ArrayList<T> matches = new ArrayList<>();
+        for (int id : candidates) {
+            T item = this.items.get(id);
+            if (item.getDescription().contains(searchTerm)) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the items with, for every word of a search term, a word within an edit distance of it, in list
+     * order.
+     *
+     * @param searchTerm  search term, matched case-insensitively
+     * @param maxDistance greatest number of chars inserted, deleted or replaced to turn a word of the search term
+     *                    into a word of a description
+     * @return items matching the search term
+     */
+    public ArrayList<T> findFuzzy(String searchTerm, int maxDistance) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+
+        int[] ids = null;
+        for (String term : toWords(searchTerm)) {
+            int[] termIds = new int[0];
+            int count = 0;
+            for (String word : this.vocabulary.search(term, maxDistance)) {
+                Postings postings = this.wordPostings.get(word);
+                if (postings == null) {
+                    continue; // no longer held by any item
+                }
+                if (count + postings.size() > termIds.length) {
+                    termIds = Arrays.copyOf(termIds, Math.max(count + postings.size(), termIds.length * 2));
+                }
+                count = postings.copyInto(termIds, count);
+            }
+            termIds = sortedDistinct(termIds, count);
+            ids = ids == null ? termIds : intersect(ids, termIds);
+        }
+
+        ArrayList<T> matches = new ArrayList<>();
+        for (int id : ids == null ? new int[0] : ids) {
+            matches.add(this.items.get(id));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns at least the number of items whose description contains a search term, without finding them.
+     *
+     * @param searchTerm search term
+     * @return the number of items with its rarest trigram, or of every item if it is shorter than a trigram
+     */
+    public int countCandidates(String searchTerm) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        if (searchTerm.length() < GRAM_LENGTH_INT) {
+            return this.size;
+        }
+
+        String lowerCaseTerm = toLowerCase(searchTerm);
+        int count = this.size;
+        for (int i = 0; i + GRAM_LENGTH_INT <= lowerCaseTerm.length(); i++) {
+            Postings gramPostings = this.postings.get(gramAt(lowerCaseTerm, i));
+            count = Math.min(count, gramPostings == null ? 0 : gramPostings.size());
+        }
+        return count;
+    }
+
+    /**
+     * Returns the items whose description might contain a search term, in list order, leaving the caller to
+     * check them.
+     *
+     * @param searchTerm search term
+     * @return the items with every trigram of the search term, or every item if it is shorter than a trigram
+     */
+    public ArrayList<T> findCandidates(String searchTerm) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+        if (searchTerm.length() < GRAM_LENGTH_INT) {
+            return new ArrayList<>(this.list);
+        }
+
+        ArrayList<T> candidates = new ArrayList<>();
+        for (int id : candidateIds(toLowerCase(searchTerm))) {
+            candidates.add(this.items.get(id));
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the ids of the items with every trigram of a lower-cased search term, in increasing order.
+     *
+     * @param lowerCaseTerm lower-cased search term, at least a trigram long
+     * @return ids of the items, without duplicates
+     */
+    private int[] candidateIds(String lowerCaseTerm) {
+        Postings[] gramPostings = new Postings[lowerCaseTerm.length() - GRAM_LENGTH_INT + 1];
+        for (int i = 0; i < gramPostings.length; i++) {
+            gramPostings[i] = this.postings.get(gramAt(lowerCaseTerm, i));
+            if (gramPostings[i] == null || gramPostings[i].size() == 0) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(gramPostings, Comparator.comparingInt(Postings::size));
+
+        int[] ids = gramPostings[0].toArray();
+        int count = ids.length;
+        for (int i = 1; i < gramPostings.length && count > 0; i++) {
+            if (gramPostings[i] != gramPostings[i - 1]) {
+                count = gramPostings[i].retainAll(ids, count);
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Returns the items whose description contains a search term, checking every item.
+     *
+     * @param searchTerm search term
+     * @return items containing the search term, in list order
+     */
+    private ArrayList<T> scan(String searchTerm) {
+        ArrayList<T> matches = new ArrayList<>();
+        for (T item : this.list) {
+            if (item.getDescription().contains(searchTerm)) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Give every item of the list a new id, in list order, and index it again
+     */
+    private void rebuild() {
+        this.items.clear();
+        this.postings.clear();
+        this.wordPostings.clear();
+        this.vocabulary.clear();
+        this.liveIds.clear();
+        this.size = 0;
+        for (T item : this.list) {
+            int id = this.items.size();
+            this.items.add(item);
+            this.liveIds.add(id, 1);
+            this.size++;
+            index(id, item);
+        }
+        this.postings.trim();
+    }
+
+    /**
+     * Add an item's id to the postings of its trigrams
+     *
+     * @param id   id of the item
+     * @param item the item
+     */
+    private void index(int id, T item) {
+        String description = toLowerCase(item.getDescription());
+        for (int i = 0; i + GRAM_LENGTH_INT <= description.length(); i++) {
+            this.postings.getOrAdd(gramAt(description, i)).add(id);
+        }
+        for (String word : toWords(item.getDescription())) {
+            this.wordPostings.computeIfAbsent(word, w -> {
+                this.vocabulary.add(w);
+                return new Postings();
+            }).add(id);
+        }
+    }
+
+    /**
+     * Remove an item's id from the postings of its trigrams
+     *
+     * @param id   id of the item
+     * @param item the item
+     */
+    private void unindex(int id, T item) {
+        String description = toLowerCase(item.getDescription());
+        for (int i = 0; i + GRAM_LENGTH_INT <= description.length(); i++) {
+            Postings gramPostings = this.postings.get(gramAt(description, i));
+            if (gramPostings != null) {
+                gramPostings.remove(id);
+            }
+        }
+        for (String word : toWords(item.getDescription())) {
+            Postings postings = this.wordPostings.get(word);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(id);
+            if (postings.size() == 0) {
+                this.wordPostings.remove(word);
+            }
+        }
+        if (this.vocabulary.size() > 2 * this.wordPostings.size() + MAX_REMOVED_SLACK_INT) {
+            rebuildVocabulary();
+        }
+    }
+
+    /**
+     * Build the trie of words again from the words still held by an item
+     */
+    private void rebuildVocabulary() {
+        this.vocabulary.clear();
+        for (String word : this.wordPostings.keySet()) {
+            this.vocabulary.add(word);
+        }
+    }
+
+    /**
+     * Returns the trigram starting at a position of a text, packed into a long.
+     *
+     * @param text text holding the trigram
+     * @param pos  position of its first char
+     * @return the three chars, 16 bits each
+     */
+    static long gramAt(String text, int pos) {
+        return ((long) text.charAt(pos) << (2 * Character.SIZE)) | ((long) text.charAt(pos + 1) << Character.SIZE)
+                | text.charAt(pos + 2);
+    }
+
+    /**
+     * Returns the lower-cased runs of letters and digits of a text.
+     *
+     * @param text text to split
+     * @return words of the text, possibly repeated
+     */
+    static ArrayList<String> toWords(String text) {
+        ArrayList<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(toLowerCase(text.substring(start, i)));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns a string lower-cased one char at a time, so that it keeps its length and a lower-cased
+     * description contains the lower-cased form of every term it contains.
+     *
+     * @param text text to lower-case
+     * @return lower-cased text
+     */
+    static String toLowerCase(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the first ids of an array, sorted and without duplicates.
+     *
+     * @param ids   array of ids
+     * @param count number of ids to keep
+     * @return sorted distinct ids
+     */
+    private static int[] sortedDistinct(int[] ids, int count) {
+        Arrays.sort(ids, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * Returns the ids present in two sorted arrays of distinct ids.
+     *
+     * @param ids      sorted distinct ids
+     * @param otherIds other sorted distinct ids
+     * @return ids present in both, sorted
+     */
+    private static int[] intersect(int[] ids, int[] otherIds) {
+        int[] common = new int[Math.min(ids.length, otherIds.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < ids.length && j < otherIds.length;) {
+            if (ids[i] < otherIds[j]) {
+                i++;
+            } else if (ids[i] > otherIds[j]) {
+                j++;
+            } else {
+                common[count++] = ids[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(common, count);
+    }
+}
@@ -0,0 +1,310 @@
+package yapper.data.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.ScheduleTask;
+import yapper.data.task.Task;
+
+/**
+ * Index of the unfinished deadlines and events of a task list by urgency, kept up to date as the list changes,
+ * to find the most urgent without sorting every task.
+ *
+ * <p>The tasks are kept in a binary min-heap by due date or start, every task knowing its place in the heap,
+ * so a task is added, removed, rescheduled or marked in logarithmic time. The k most urgent are found by
+ * walking the heap from its root with a second heap of the nodes reached, in O(k log k) time.
+ */
+public class UrgencyIndex {
+
+    // Initial capacity of the heap
+    private static final int INITIAL_CAPACITY_INT = 16;
+
+    // Assertion message for a change to the list not reported to the index
+    private static final String ASSERT_UNREPORTED_CHANGE_STRING = "A change to the list was not reported.";
+
+    /**
+     * An unfinished task of the heap.
+     */
+    private static final class Entry {
+
+        /**
+         * Task of the entry.
+         */
+        private final ScheduleTask task;
+
+        /**
+         * Due date or start of the task.
+         */
+        private final LocalDateTime dateTime;
+
+        /**
+         * Order the task was added in, breaking ties between tasks due at the same time.
+         */
+        private final long sequence;
+
+        /**
+         * Place of the entry in the heap.
+         */
+        private int position;
+
+        private Entry(ScheduleTask task, LocalDateTime dateTime, long sequence) {
+            this.task = task;
+            this.dateTime = dateTime;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Returns true if the entry is more urgent than another.
+         *
+         * @param other the other entry
+         * @return true if the task is due earlier, or at the same time but was added earlier
+         */
+        private boolean isBefore(Entry other) {
+            return MOST_URGENT_FIRST.compare(this, other) < 0;
+        }
+    }
+
+    /**
+     * Orders entries from the most to the least urgent.
+     */
+    private static final Comparator<Entry> MOST_URGENT_FIRST = Comparator
+            .comparing((Entry entry) -> entry.dateTime)
+            .thenComparingLong(entry -> entry.sequence);
+
+    /**
+     * List indexed.
+     */
+    private final List<Task> list;
+
+    /**
+     * Entry of every unfinished task in the heap.
+     */
+    private final IdentityHashMap<Task, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * Heap of the entries, the most urgent first.
+     */
+    private Entry[] heap = new Entry[INITIAL_CAPACITY_INT];
+
+    /**
+     * Number of entries in the heap.
+     */
+    private int heapSize;
+
+    /**
+     * Number of tasks added so far.
+     */
+    private long nextSequence;
+
+    /**
+     * Number of tasks in the list.
+     */
+    private int size;
+
+    /**
+     * Constructs an UrgencyIndex instance indexing a list of tasks.
+     *
+     * @param list list to index, whose changes must all be reported
+     */
+    public UrgencyIndex(List<Task> list) {
+        this.list = list;
+        indexAll();
+    }
+
+    /**
+     * Records that a task was added to the list.
+     *
+     * @param task task added
+     */
+    public void add(Task task) {
+        this.size++;
+        update(task);
+    }
+
+    /**
+     * Records that a task was removed from the list.
+     *
+     * @param task task removed
+     */
+    public void remove(Task task) {
+        this.size--;
+        unindex(task);
+    }
+
+    /**
+     * Records that a task of the list was replaced.
+     *
+     * @param oldTask task replaced
+     * @param newTask task that took its place
+     */
+    public void replace(Task oldTask, Task newTask) {
+        unindex(oldTask);
+        update(newTask);
+    }
+
+    /**
+     * Records that a task of the list was marked as done or not done.
+     *
+     * @param task task marked
+     */
+    public void updateStatus(Task task) {
+        update(task);
+    }
+
+    /**
+     * Returns the most urgent unfinished deadlines and events, by due date or start.
+     *
+     * @param limit greatest number of tasks to return
+     * @return the tasks, the most urgent first
+     */
+    public ArrayList<ScheduleTask> next(int limit) {
+        assert this.size == this.list.size() : ASSERT_UNREPORTED_CHANGE_STRING;
+
+        ArrayList<ScheduleTask> tasks = new ArrayList<>(Math.min(limit, this.heapSize));
+        PriorityQueue<Entry> reached = new PriorityQueue<>(MOST_URGENT_FIRST);
+        if (this.heapSize > 0) {
+            reached.add(this.heap[0]);
+        }
+        // the next most urgent entry is always a child of one already taken
+        while (tasks.size() < limit && !reached.isEmpty()) {
+            Entry entry = reached.poll();
+            tasks.add(entry.task);
+            for (int child = 2 * entry.position + 1; child <= 2 * entry.position + 2; child++) {
+                if (child < this.heapSize) {
+                    reached.add(this.heap[child]);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Index every task of the list
+     */
+    private void indexAll() {
+        for (Task task : this.list) {
+            add(task);
+        }
+    }
+
+    /**
+     * Put a task in the heap if it is an unfinished deadline or event, or take it out otherwise
+     *
+     * @param task task to index
+     */
+    private void update(Task task) {
+        boolean isIndexed = this.entries.containsKey(task);
+        boolean isUrgent = task instanceof ScheduleTask && !task.isDone() && toDateTime(task) != null;
+        if (isIndexed && !isUrgent) {
+            unindex(task);
+        } else if (!isIndexed && isUrgent) {
+            Entry entry = new Entry((ScheduleTask) task, toDateTime(task), this.nextSequence++);
+            this.entries.put(task, entry);
+            if (this.heapSize == this.heap.length) {
+                this.heap = Arrays.copyOf(this.heap, 2 * this.heap.length);
+            }
+            entry.position = this.heapSize++;
+            this.heap[entry.position] = entry;
+            siftUp(entry.position);
+        }
+    }
+
+    /**
+     * Take a task out of the heap, if it is in it
+     *
+     * @param task task to take out
+     */
+    private void unindex(Task task) {
+        Entry entry = this.entries.remove(task);
+        if (entry == null) {
+            return;
+        }
+
+        // move the last entry into the place left, then restore the heap order around it
+        Entry last = this.heap[--this.heapSize];
+        this.heap[this.heapSize] = null;
+        if (last == entry) {
+            return;
+        }
+        last.position = entry.position;
+        this.heap[last.position] = last;
+        siftUp(last.position);
+        siftDown(last.position);
+    }
+
+    /**
+     * Move an entry up the heap until its parent is more urgent
+     *
+     * @param position place of the entry
+     */
+    private void siftUp(int position) {
+        Entry entry = this.heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!entry.isBefore(this.heap[parent])) {
+                break;
+            }
+            move(this.heap[parent], position);
+            position = parent;
+        }
+        move(entry, position);
+    }
+
+    /**
+     * Move an entry down the heap until its children are less urgent
+     *
+     * @param position place of the entry
+     */
+    private void siftDown(int position) {
+        Entry entry = this.heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= this.heapSize) {
+                break;
+            }
+            if (child + 1 < this.heapSize && this.heap[child + 1].isBefore(this.heap[child])) {
+                child++;
+            }
+            if (!this.heap[child].isBefore(entry)) {
+                break;
+            }
+            move(this.heap[child], position);
+            position = child;
+        }
+        move(entry, position);
+    }
+
+    /**
+     * Put an entry at a place of the heap
+     *
+     * @param entry    entry to put
+     * @param position place to put it at
+     */
+    private void move(Entry entry, int position) {
+        this.heap[position] = entry;
+        entry.position = position;
+    }
+
+    /**
+     * Returns the due date or start of a task.
+     *
+     * @param task task to look at
+     * @return the due date of a deadline, the start of an event, or null for any other task
+     */
+    private static LocalDateTime toDateTime(Task task) {
+        if (task instanceof DeadlineScheduleTask) {
+            return ((DeadlineScheduleTask) task).getByLocalDateTime();
+        }
+        if (task instanceof EventsScheduleTask) {
+            return ((EventsScheduleTask) task).getFromLocalDateTime();
+        }
+        return null;
+    }
+}
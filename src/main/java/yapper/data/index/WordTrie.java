@@ -0,0 +1,209 @@
+package yapper.data.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Trie of words finding the words within a Levenshtein distance of a term, without measuring the distance to
+ * every word.
+ *
+ * <p>The trie is walked depth first along with the Levenshtein automaton of the term, run as one row of the
+ * edit distance table per char of the prefix walked. A prefix whose row holds no distance within the bound
+ * cannot be extended into a match, so the words under it are skipped. Nodes are kept in parallel arrays, each
+ * linking to its first child and its next sibling.
+ */
+final class WordTrie {
+
+    // Initial number of nodes with room in the arrays
+    private static final int INITIAL_CAPACITY_INT = 64;
+
+    /**
+     * Char leading to every node from its parent.
+     */
+    private char[] labels = new char[INITIAL_CAPACITY_INT];
+
+    /**
+     * First child of every node, or -1 if it has none.
+     */
+    private int[] firstChildren = new int[INITIAL_CAPACITY_INT];
+
+    /**
+     * Next sibling of every node, or -1 if it has none.
+     */
+    private int[] nextSiblings = new int[INITIAL_CAPACITY_INT];
+
+    /**
+     * Word ending at every node, or null if none does.
+     */
+    private String[] words = new String[INITIAL_CAPACITY_INT];
+
+    /**
+     * Number of nodes, the root being node 0.
+     */
+    private int nodeCount;
+
+    /**
+     * Number of words.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty WordTrie instance.
+     */
+    WordTrie() {
+        clear();
+    }
+
+    /**
+     * Returns the number of words.
+     *
+     * @return number of words
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds a word, unless already present.
+     *
+     * @param word word to add
+     * @return true if the word was added
+     */
+    boolean add(String word) {
+        int node = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int child = childOf(node, word.charAt(i));
+            node = child >= 0 ? child : addChild(node, word.charAt(i));
+        }
+        if (this.words[node] != null) {
+            return false;
+        }
+        this.words[node] = word;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Returns the words within a distance of a term.
+     *
+     * @param term        term to look for
+     * @param maxDistance greatest distance of the words returned
+     * @return words within the distance, in no particular order
+     */
+    ArrayList<String> search(String term, int maxDistance) {
+        ArrayList<String> matches = new ArrayList<>();
+        int[][] rows = new int[INITIAL_CAPACITY_INT][];
+        rows[0] = new int[term.length() + 1];
+        for (int i = 0; i <= term.length(); i++) {
+            rows[0][i] = i;
+        }
+        if (term.length() <= maxDistance && this.words[0] != null) {
+            matches.add(this.words[0]);
+        }
+
+        // nodes still to walk, with their depth, the row of a node's parent being the last row at its depth - 1
+        int[] pendingNodes = new int[INITIAL_CAPACITY_INT];
+        int[] pendingDepths = new int[INITIAL_CAPACITY_INT];
+        int pendingCount = 0;
+        for (int child = this.firstChildren[0]; child >= 0; child = this.nextSiblings[child]) {
+            if (pendingCount == pendingNodes.length) {
+                pendingNodes = Arrays.copyOf(pendingNodes, pendingCount * 2);
+                pendingDepths = Arrays.copyOf(pendingDepths, pendingCount * 2);
+            }
+            pendingNodes[pendingCount] = child;
+            pendingDepths[pendingCount] = 1;
+            pendingCount++;
+        }
+
+        while (pendingCount > 0) {
+            pendingCount--;
+            int node = pendingNodes[pendingCount];
+            int depth = pendingDepths[pendingCount];
+            if (depth == rows.length) {
+                rows = Arrays.copyOf(rows, depth * 2);
+            }
+            if (rows[depth] == null) {
+                rows[depth] = new int[term.length() + 1];
+            }
+
+            int[] previousRow = rows[depth - 1];
+            int[] row = rows[depth];
+            char label = this.labels[node];
+            row[0] = depth;
+            int minDistance = row[0];
+            for (int i = 1; i <= term.length(); i++) {
+                int replaceCost = previousRow[i - 1] + (term.charAt(i - 1) == label ? 0 : 1);
+                row[i] = Math.min(replaceCost, Math.min(previousRow[i], row[i - 1]) + 1);
+                minDistance = Math.min(minDistance, row[i]);
+            }
+
+            if (row[term.length()] <= maxDistance && this.words[node] != null) {
+                matches.add(this.words[node]);
+            }
+            if (minDistance > maxDistance) {
+                continue; // no word under this prefix is within the distance
+            }
+            for (int child = this.firstChildren[node]; child >= 0; child = this.nextSiblings[child]) {
+                if (pendingCount == pendingNodes.length) {
+                    pendingNodes = Arrays.copyOf(pendingNodes, pendingCount * 2);
+                    pendingDepths = Arrays.copyOf(pendingDepths, pendingCount * 2);
+                }
+                pendingNodes[pendingCount] = child;
+                pendingDepths[pendingCount] = depth + 1;
+                pendingCount++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Removes every word.
+     */
+    void clear() {
+        Arrays.fill(this.words, 0, Math.max(this.nodeCount, 1), null);
+        this.firstChildren[0] = -1;
+        this.nextSiblings[0] = -1;
+        this.nodeCount = 1;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the child of a node reached by a char.
+     *
+     * @param node  parent node
+     * @param label char leading to the child
+     * @return the child, or -1 if there is none
+     */
+    private int childOf(int node, char label) {
+        for (int child = this.firstChildren[node]; child >= 0; child = this.nextSiblings[child]) {
+            if (this.labels[child] == label) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add a child to a node, growing the arrays if needed
+     *
+     * @param node  parent node
+     * @param label char leading to the child
+     * @return the child
+     */
+    private int addChild(int node, char label) {
+        if (this.nodeCount == this.labels.length) {
+            int capacity = this.nodeCount * 2;
+            this.labels = Arrays.copyOf(this.labels, capacity);
+            this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+            this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+            this.words = Arrays.copyOf(this.words, capacity);
+        }
+        int child = this.nodeCount++;
+        this.labels[child] = label;
+        this.firstChildren[child] = -1;
+        this.nextSiblings[child] = this.firstChildren[node];
+        this.words[child] = null;
+        this.firstChildren[node] = child;
+        return child;
+    }
+}
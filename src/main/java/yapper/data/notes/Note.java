@@ -46,6 +46,15 @@ public class Note implements ContentDisplayable {
      *
      * @return content of the note.
      */
+    public String getContent() {
+        return this.noteContent;
+    }
+
+    /**
+     * Return the string representation of the note.
+     *
+     * @return title and content of the note.
+     */
     @Override
     public String toString() {
         return String.format(NOTE_FORMAT_STRING, this.noteName, this.noteContent);
@@ -0,0 +1,279 @@
+package yapper.data.query;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import yapper.data.index.TaskFacetIndex;
+import yapper.data.index.TrigramIndex;
+import yapper.data.task.Task;
+
+/**
+ * Way of finding the ids of the tasks a filter might match, every one of which a QueryPlan then checks against
+ * the filter.
+ */
+abstract class AccessPath {
+
+    // Indentation of the paths a path is made of
+    private static final String INDENT_STRING = "  ";
+
+    /**
+     * Returns at least the number of ids the path finds.
+     *
+     * @return the number of tasks the plan examines, or more
+     */
+    abstract int estimate();
+
+    /**
+     * Returns the ids the path finds.
+     *
+     * @return bitmap of the ids, which the caller may change
+     */
+    abstract BitSet findIds();
+
+    /**
+     * Adds a line describing the path, and lines for the paths it is made of, to a list.
+     *
+     * @param indent indentation of the line
+     * @param lines  list to add the lines to
+     */
+    abstract void describe(String indent, ArrayList<String> lines);
+
+    /**
+     * Every task of the list.
+     */
+    static final class Scan extends AccessPath {
+
+        /**
+         * Index of the tasks.
+         */
+        private final TaskFacetIndex facets;
+
+        Scan(TaskFacetIndex facets) {
+            this.facets = facets;
+        }
+
+        @Override
+        int estimate() {
+            return this.facets.size();
+        }
+
+        @Override
+        BitSet findIds() {
+            return this.facets.allIds();
+        }
+
+        @Override
+        void describe(String indent, ArrayList<String> lines) {
+            lines.add(String.format("%sscan of every task, %d tasks", indent, estimate()));
+        }
+    }
+
+    /**
+     * Tasks of a type or status, the bitmaps of several terms combined.
+     */
+    static final class Bitmap extends AccessPath {
+
+        /**
+         * Ids of the tasks matching the terms.
+         */
+        private final BitSet ids;
+
+        /**
+         * Terms the bitmaps were combined for.
+         */
+        private final Filter filter;
+
+        Bitmap(BitSet ids, Filter filter) {
+            this.ids = ids;
+            this.filter = filter;
+        }
+
+        @Override
+        int estimate() {
+            return this.ids.cardinality();
+        }
+
+        @Override
+        BitSet findIds() {
+            return (BitSet) this.ids.clone();
+        }
+
+        @Override
+        void describe(String indent, ArrayList<String> lines) {
+            lines.add(String.format("%stype and status bitmaps for %s, %d tasks", indent, this.filter, estimate()));
+        }
+    }
+
+    /**
+     * Deadlines due and events starting in a period.
+     */
+    static final class DueRange extends AccessPath {
+
+        /**
+         * Index of the tasks.
+         */
+        private final TaskFacetIndex facets;
+
+        /**
+         * Term giving the period.
+         */
+        private final Filter.DueTerm term;
+
+        /**
+         * Number of tasks in the period.
+         */
+        private final int count;
+
+        DueRange(TaskFacetIndex facets, Filter.DueTerm term, int count) {
+            this.facets = facets;
+            this.term = term;
+            this.count = count;
+        }
+
+        @Override
+        int estimate() {
+            return this.count;
+        }
+
+        @Override
+        BitSet findIds() {
+            return this.facets.idsDue(this.term.getFrom(), this.term.getTo());
+        }
+
+        @Override
+        void describe(String indent, ArrayList<String> lines) {
+            lines.add(String.format("%sdue date index for %s, %d tasks", indent, this.term, this.count));
+        }
+    }
+
+    /**
+     * Tasks with every trigram of a search term.
+     */
+    static final class Text extends AccessPath {
+
+        /**
+         * Index of the tasks.
+         */
+        private final TaskFacetIndex facets;
+
+        /**
+         * Index of the descriptions of the tasks.
+         */
+        private final TrigramIndex<Task> textIndex;
+
+        /**
+         * Term giving the search term.
+         */
+        private final Filter.TextTerm term;
+
+        /**
+         * Number of tasks with the rarest trigram of the search term.
+         */
+        private final int count;
+
+        Text(TaskFacetIndex facets, TrigramIndex<Task> textIndex, Filter.TextTerm term, int count) {
+            this.facets = facets;
+            this.textIndex = textIndex;
+            this.term = term;
+            this.count = count;
+        }
+
+        @Override
+        int estimate() {
+            return this.count;
+        }
+
+        @Override
+        BitSet findIds() {
+            return this.facets.idsOf(this.textIndex.findCandidates(this.term.getSearchTerm()));
+        }
+
+        @Override
+        void describe(String indent, ArrayList<String> lines) {
+            lines.add(String.format("%strigram index for %s, at most %d tasks", indent, this.term, this.count));
+        }
+    }
+
+    /**
+     * Tasks found by every path of a list.
+     */
+    static final class Intersection extends AccessPath {
+
+        /**
+         * Paths intersected.
+         */
+        private final List<AccessPath> paths;
+
+        Intersection(List<AccessPath> paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        int estimate() {
+            int estimate = Integer.MAX_VALUE;
+            for (AccessPath path : this.paths) {
+                estimate = Math.min(estimate, path.estimate());
+            }
+            return estimate;
+        }
+
+        @Override
+        BitSet findIds() {
+            BitSet ids = this.paths.get(0).findIds();
+            for (int i = 1; i < this.paths.size(); i++) {
+                ids.and(this.paths.get(i).findIds());
+            }
+            return ids;
+        }
+
+        @Override
+        void describe(String indent, ArrayList<String> lines) {
+            lines.add(String.format("%sintersection of", indent));
+            for (AccessPath path : this.paths) {
+                path.describe(indent + INDENT_STRING, lines);
+            }
+        }
+    }
+
+    /**
+     * Tasks found by any path of a list.
+     */
+    static final class Union extends AccessPath {
+
+        /**
+         * Paths joined.
+         */
+        private final List<AccessPath> paths;
+
+        Union(List<AccessPath> paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        int estimate() {
+            long estimate = 0;
+            for (AccessPath path : this.paths) {
+                estimate += path.estimate();
+            }
+            return (int) Math.min(estimate, Integer.MAX_VALUE);
+        }
+
+        @Override
+        BitSet findIds() {
+            BitSet ids = new BitSet();
+            for (AccessPath path : this.paths) {
+                ids.or(path.findIds());
+            }
+            return ids;
+        }
+
+        @Override
+        void describe(String indent, ArrayList<String> lines) {
+            lines.add(String.format("%sunion of", indent));
+            for (AccessPath path : this.paths) {
+                path.describe(indent + INDENT_STRING, lines);
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package yapper.data.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import yapper.data.index.TaskFacetIndex;
+import yapper.data.index.TaskFacetIndex.Kind;
+import yapper.data.task.Task;
+
+/**
+ * Compiled filter over tasks, a tree of terms joined by and, or and not, parsed once by FilterParser and then
+ * tested against every task a QueryPlan finds.
+ */
+public abstract class Filter implements Predicate<Task> {
+
+    /**
+     * Tasks matching every filter of a list.
+     */
+    static final class And extends Filter {
+
+        /**
+         * Filters joined.
+         */
+        private final List<Filter> operands;
+
+        And(List<Filter> operands) {
+            this.operands = operands;
+        }
+
+        /**
+         * Returns the filters joined.
+         *
+         * @return the filters joined
+         */
+        List<Filter> getOperands() {
+            return this.operands;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (Filter operand : this.operands) {
+                if (!operand.test(task)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (Filter operand : this.operands) {
+                sb.append(sb.length() == 0 ? "" : " ").append(operand);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Tasks matching any filter of a list.
+     */
+    static final class Or extends Filter {
+
+        /**
+         * Filters joined.
+         */
+        private final List<Filter> operands;
+
+        Or(List<Filter> operands) {
+            this.operands = operands;
+        }
+
+        /**
+         * Returns the filters joined.
+         *
+         * @return the filters joined
+         */
+        List<Filter> getOperands() {
+            return this.operands;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (Filter operand : this.operands) {
+                if (operand.test(task)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("(");
+            for (Filter operand : this.operands) {
+                sb.append(sb.length() == 1 ? "" : " or ").append(operand);
+            }
+            return sb.append(")").toString();
+        }
+    }
+
+    /**
+     * Tasks not matching a filter.
+     */
+    static final class Not extends Filter {
+
+        /**
+         * Filter negated.
+         */
+        private final Filter operand;
+
+        Not(Filter operand) {
+            this.operand = operand;
+        }
+
+        /**
+         * Returns the filter negated.
+         *
+         * @return the filter negated
+         */
+        Filter getOperand() {
+            return this.operand;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return !this.operand.test(task);
+        }
+
+        @Override
+        public String toString() {
+            return "not " + this.operand;
+        }
+    }
+
+    /**
+     * Tasks of a type.
+     */
+    static final class KindTerm extends Filter {
+
+        /**
+         * Type of the tasks.
+         */
+        private final Kind kind;
+
+        KindTerm(Kind kind) {
+            this.kind = kind;
+        }
+
+        /**
+         * Returns the type of the tasks.
+         *
+         * @return the type of the tasks
+         */
+        Kind getKind() {
+            return this.kind;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return Kind.of(task) == this.kind;
+        }
+
+        @Override
+        public String toString() {
+            return "type:" + this.kind.name().toLowerCase();
+        }
+    }
+
+    /**
+     * Tasks done, or tasks not done.
+     */
+    static final class DoneTerm extends Filter {
+
+        /**
+         * True for the tasks done, false for those not done.
+         */
+        private final boolean isDone;
+
+        DoneTerm(boolean isDone) {
+            this.isDone = isDone;
+        }
+
+        /**
+         * Returns true if the term matches the tasks done, false if it matches those not done.
+         *
+         * @return the status of the tasks
+         */
+        boolean isDone() {
+            return this.isDone;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.isDone() == this.isDone;
+        }
+
+        @Override
+        public String toString() {
+            return "done:" + this.isDone;
+        }
+    }
+
+    /**
+     * Deadlines due and events starting in a period.
+     */
+    static final class DueTerm extends Filter {
+
+        /**
+         * Start of the period, included.
+         */
+        private final LocalDateTime from;
+
+        /**
+         * End of the period, excluded.
+         */
+        private final LocalDateTime to;
+
+        /**
+         * Term as written.
+         */
+        private final String text;
+
+        DueTerm(LocalDateTime from, LocalDateTime to, String text) {
+            this.from = from;
+            this.to = to;
+            this.text = text;
+        }
+
+        /**
+         * Returns the start of the period.
+         *
+         * @return the start of the period, included
+         */
+        LocalDateTime getFrom() {
+            return this.from;
+        }
+
+        /**
+         * Returns the end of the period.
+         *
+         * @return the end of the period, excluded
+         */
+        LocalDateTime getTo() {
+            return this.to;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            LocalDateTime dueDateTime = TaskFacetIndex.toDateTime(task);
+            return dueDateTime != null && !dueDateTime.isBefore(this.from) && dueDateTime.isBefore(this.to);
+        }
+
+        @Override
+        public String toString() {
+            return this.text;
+        }
+    }
+
+    /**
+     * Tasks whose description contains a search term.
+     */
+    static final class TextTerm extends Filter {
+
+        /**
+         * Search term, matched case-sensitively anywhere in a description.
+         */
+        private final String searchTerm;
+
+        TextTerm(String searchTerm) {
+            this.searchTerm = searchTerm;
+        }
+
+        /**
+         * Returns the search term.
+         *
+         * @return the search term
+         */
+        String getSearchTerm() {
+            return this.searchTerm;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.getDescription().contains(this.searchTerm);
+        }
+
+        @Override
+        public String toString() {
+            return "text:\"" + this.searchTerm + "\"";
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package yapper.data.query;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import yapper.data.exception.InvalidCommandSyntaxException;
+import yapper.data.index.TaskFacetIndex.Kind;
+import yapper.util.DateTimeCodec;
+
+/**
+ * Parses a query such as {@code type:deadline done:false due<25-12-2026 text:report} into a Filter.
+ *
+ * <p>Terms next to each other must all match, {@code or} joins terms of which any must match, and binds
+ * looser, {@code not} negates the term after it, and parentheses group terms. A term is a field, an operator
+ * and a value: {@code type:todo}, {@code type:deadline} or {@code type:event}; {@code done:true} or
+ * {@code done:false}; {@code due} with {@code <}, {@code <=}, {@code :}, {@code >=} or {@code >} and a date
+ * written as {@code dd-MM-yyyy}, the due date of a deadline or the start of an event falling before, on or
+ * after that day; and {@code text:} with a search term, in double quotes if it holds spaces.
+ */
+public final class FilterParser {
+
+    // Keywords
+    private static final String OR_STRING = "or";
+    private static final String AND_STRING = "and";
+    private static final String NOT_STRING = "not";
+    private static final String OPEN_STRING = "(";
+    private static final String CLOSE_STRING = ")";
+    private static final char QUOTE_CHAR = '"';
+
+    // A field, an operator and a value
+    private static final Pattern TERM_PATTERN = Pattern.compile("(type|done|due|text)(<=|>=|<|>|:|=)(.*)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    // Error messages
+    private static final String ERR_EMPTY_QUERY_STRING =
+        "Empty query! Use: query [explain] <filters>";
+    private static final String ERR_UNKNOWN_TERM_FORMAT_STRING =
+        "Unknown filter %s! Use type:, done:, due<, due<=, due:, due>=, due> or text:";
+    private static final String ERR_UNEXPECTED_FORMAT_STRING =
+        "Unexpected %s in query!";
+    private static final String ERR_MISSING_CLOSE_STRING =
+        "Missing ) in query!";
+    private static final String ERR_INVALID_TYPE_FORMAT_STRING =
+        "Invalid type %s! Use todo, deadline or event.";
+    private static final String ERR_INVALID_DONE_FORMAT_STRING =
+        "Invalid status %s! Use true or false.";
+    private static final String ERR_INVALID_DUE_FORMAT_STRING =
+        "Invalid date %s! Please use dd-MM-yyyy.";
+    private static final String ERR_EMPTY_TEXT_STRING =
+        "Search term of text: cannot be empty!";
+
+    /**
+     * Tokens of the query.
+     */
+    private final ArrayList<String> tokens;
+
+    /**
+     * Position of the next token to read.
+     */
+    private int pos;
+
+    private FilterParser(ArrayList<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses a query into a Filter.
+     *
+     * @param query query entered by the user
+     * @return the filter
+     * @throws InvalidCommandSyntaxException If the query is invalid.
+     */
+    public static Filter parse(String query) throws InvalidCommandSyntaxException {
+        ArrayList<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            throw new InvalidCommandSyntaxException(ERR_EMPTY_QUERY_STRING);
+        }
+
+        FilterParser parser = new FilterParser(tokens);
+        Filter filter = parser.parseOr();
+        if (parser.pos < tokens.size()) {
+            throw new InvalidCommandSyntaxException(
+                    String.format(ERR_UNEXPECTED_FORMAT_STRING, tokens.get(parser.pos)));
+        }
+        return filter;
+    }
+
+    /**
+     * Parse terms joined by or
+     *
+     * @return the filter
+     * @throws InvalidCommandSyntaxException If the terms are invalid.
+     */
+    private Filter parseOr() throws InvalidCommandSyntaxException {
+        ArrayList<Filter> operands = new ArrayList<>();
+        operands.add(parseAnd());
+        while (isNext(OR_STRING)) {
+            this.pos++;
+            operands.add(parseAnd());
+        }
+        return operands.size() == 1 ? operands.get(0) : new Filter.Or(operands);
+    }
+
+    /**
+     * Parse terms next to each other, up to the next or, closing parenthesis or the end of the query
+     *
+     * @return the filter
+     * @throws InvalidCommandSyntaxException If the terms are invalid.
+     */
+    private Filter parseAnd() throws InvalidCommandSyntaxException {
+        ArrayList<Filter> operands = new ArrayList<>();
+        operands.add(parseUnary());
+        while (this.pos < this.tokens.size() && !isNext(OR_STRING) && !isNext(CLOSE_STRING)) {
+            if (isNext(AND_STRING)) {
+                this.pos++;
+            }
+            operands.add(parseUnary());
+        }
+        return operands.size() == 1 ? operands.get(0) : new Filter.And(operands);
+    }
+
+    /**
+     * Parse a term, a negated term or terms in parentheses
+     *
+     * @return the filter
+     * @throws InvalidCommandSyntaxException If the term is invalid.
+     */
+    private Filter parseUnary() throws InvalidCommandSyntaxException {
+        if (this.pos == this.tokens.size()) {
+            throw new InvalidCommandSyntaxException(ERR_EMPTY_QUERY_STRING);
+        }
+
+        String token = this.tokens.get(this.pos++);
+        if (token.equalsIgnoreCase(NOT_STRING)) {
+            return new Filter.Not(parseUnary());
+        }
+        if (token.equals(OPEN_STRING)) {
+            Filter filter = parseOr();
+            if (!isNext(CLOSE_STRING)) {
+                throw new InvalidCommandSyntaxException(ERR_MISSING_CLOSE_STRING);
+            }
+            this.pos++;
+            return filter;
+        }
+        if (token.equals(CLOSE_STRING) || token.equalsIgnoreCase(OR_STRING) || token.equalsIgnoreCase(AND_STRING)) {
+            throw new InvalidCommandSyntaxException(String.format(ERR_UNEXPECTED_FORMAT_STRING, token));
+        }
+        return parseTerm(token);
+    }
+
+    /**
+     * Returns true if the next token is a keyword.
+     *
+     * @param keyword keyword to look for, matched case-insensitively
+     * @return true if the next token is the keyword
+     */
+    private boolean isNext(String keyword) {
+        return this.pos < this.tokens.size() && this.tokens.get(this.pos).equalsIgnoreCase(keyword);
+    }
+
+    /**
+     * Parses a field, an operator and a value into a term.
+     *
+     * @param token term as written
+     * @return the term
+     * @throws InvalidCommandSyntaxException If the term is invalid.
+     */
+    private static Filter parseTerm(String token) throws InvalidCommandSyntaxException {
+        Matcher matcher = TERM_PATTERN.matcher(token);
+        if (!matcher.matches()) {
+            throw new InvalidCommandSyntaxException(String.format(ERR_UNKNOWN_TERM_FORMAT_STRING, token));
+        }
+
+        String field = matcher.group(1).toLowerCase();
+        String operator = matcher.group(2);
+        String value = matcher.group(3);
+        boolean isEquality = operator.equals(":") || operator.equals("=");
+        if (field.equals("due")) {
+            return parseDueTerm(token, operator, value);
+        }
+        if (!isEquality) {
+            throw new InvalidCommandSyntaxException(String.format(ERR_UNKNOWN_TERM_FORMAT_STRING, token));
+        }
+
+        switch (field) {
+        case "type":
+            try {
+                return new Filter.KindTerm(Kind.valueOf(value.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCommandSyntaxException(String.format(ERR_INVALID_TYPE_FORMAT_STRING, value));
+            }
+        case "done":
+            if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                throw new InvalidCommandSyntaxException(String.format(ERR_INVALID_DONE_FORMAT_STRING, value));
+            }
+            return new Filter.DoneTerm(Boolean.parseBoolean(value));
+        default:
+            String searchTerm = unquote(value);
+            if (searchTerm.isEmpty()) {
+                throw new InvalidCommandSyntaxException(ERR_EMPTY_TEXT_STRING);
+            }
+            return new Filter.TextTerm(searchTerm);
+        }
+    }
+
+    /**
+     * Parses the operator and date of a due term into the period it matches.
+     *
+     * @param token    term as written
+     * @param operator comparison with the date
+     * @param value    date written as {@code dd-MM-yyyy}
+     * @return the term
+     * @throws InvalidCommandSyntaxException If the date is invalid.
+     */
+    private static Filter parseDueTerm(String token, String operator, String value)
+            throws InvalidCommandSyntaxException {
+        LocalDateTime dayStart;
+        try {
+            dayStart = DateTimeCodec.parseDate(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new InvalidCommandSyntaxException(String.format(ERR_INVALID_DUE_FORMAT_STRING, value));
+        }
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        switch (operator) {
+        case "<":
+            return new Filter.DueTerm(LocalDateTime.MIN, dayStart, token);
+        case "<=":
+            return new Filter.DueTerm(LocalDateTime.MIN, dayEnd, token);
+        case ">":
+            return new Filter.DueTerm(dayEnd, LocalDateTime.MAX, token);
+        case ">=":
+            return new Filter.DueTerm(dayStart, LocalDateTime.MAX, token);
+        default:
+            return new Filter.DueTerm(dayStart, dayEnd, token);
+        }
+    }
+
+    /**
+     * Returns a value without the double quotes around it, if any.
+     *
+     * @param value value as written
+     * @return the value unquoted
+     */
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.charAt(0) == QUOTE_CHAR && value.charAt(value.length() - 1) == QUOTE_CHAR) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the tokens of a query: parentheses, and runs of other chars up to a space or parenthesis outside
+     * double quotes.
+     *
+     * @param query query entered by the user
+     * @return the tokens
+     */
+    private static ArrayList<String> tokenize(String query) {
+        ArrayList<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+                continue;
+            }
+
+            int start = i;
+            boolean isQuoted = false;
+            while (i < query.length()) {
+                c = query.charAt(i);
+                if (c == QUOTE_CHAR) {
+                    isQuoted = !isQuoted;
+                } else if (!isQuoted && (Character.isWhitespace(c) || c == '(' || c == ')')) {
+                    break;
+                }
+                i++;
+            }
+            tokens.add(query.substring(start, i));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,133 @@
+package yapper.data.query;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import yapper.data.index.TaskFacetIndex;
+import yapper.data.task.Task;
+
+/**
+ * Way chosen by a QueryPlanner of finding the tasks a Filter matches: an AccessPath finding the ids of the
+ * tasks that might match, each of which is then checked against the filter.
+ */
+public final class QueryPlan {
+
+    /**
+     * Tasks matching a filter, with what it took to find them.
+     */
+    public static final class Result {
+
+        /**
+         * Tasks matching the filter, in list order.
+         */
+        private final ArrayList<Task> matches = new ArrayList<>();
+
+        /**
+         * Index in the list of every task matching the filter.
+         */
+        private final ArrayList<Integer> positions = new ArrayList<>();
+
+        /**
+         * Number of tasks checked against the filter.
+         */
+        private int examined;
+
+        /**
+         * Number of tasks in the list.
+         */
+        private int total;
+
+        private Result() {
+        }
+
+        /**
+         * Returns the tasks matching the filter.
+         *
+         * @return the tasks matching the filter, in list order
+         */
+        public ArrayList<Task> getMatches() {
+            return this.matches;
+        }
+
+        /**
+         * Returns the index in the list of every task matching the filter.
+         *
+         * @return the indexes, in the order of the tasks
+         */
+        public ArrayList<Integer> getPositions() {
+            return this.positions;
+        }
+
+        /**
+         * Returns the number of tasks checked against the filter.
+         *
+         * @return the number of tasks examined
+         */
+        public int getExamined() {
+            return this.examined;
+        }
+
+        /**
+         * Returns the number of tasks in the list.
+         *
+         * @return the number of tasks in the list
+         */
+        public int getTotal() {
+            return this.total;
+        }
+    }
+
+    /**
+     * Filter to match.
+     */
+    private final Filter filter;
+
+    /**
+     * Path finding the tasks that might match.
+     */
+    private final AccessPath path;
+
+    /**
+     * Index of the tasks, giving the task and position of every id.
+     */
+    private final TaskFacetIndex facets;
+
+    QueryPlan(Filter filter, AccessPath path, TaskFacetIndex facets) {
+        this.filter = filter;
+        this.path = path;
+        this.facets = facets;
+    }
+
+    /**
+     * Returns the lines describing the plan.
+     *
+     * @return the path finding the tasks, then the filter they are checked against
+     */
+    public ArrayList<String> explain() {
+        ArrayList<String> lines = new ArrayList<>();
+        lines.add("Plan:");
+        this.path.describe("  ", lines);
+        lines.add("  then check each against " + this.filter);
+        return lines;
+    }
+
+    /**
+     * Finds the tasks matching the filter.
+     *
+     * @return the tasks matching the filter, in list order
+     */
+    public Result execute() {
+        Result result = new Result();
+        result.total = this.facets.size();
+        BitSet ids = this.path.findIds();
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            Task task = this.facets.getTask(id);
+            result.examined++;
+            if (this.filter.test(task)) {
+                result.matches.add(task);
+                result.positions.add(this.facets.getPosition(id));
+            }
+        }
+        return result;
+    }
+}
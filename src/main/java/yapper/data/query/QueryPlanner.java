@@ -0,0 +1,202 @@
+package yapper.data.query;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import yapper.data.index.TaskFacetIndex;
+import yapper.data.index.TrigramIndex;
+import yapper.data.task.Task;
+
+/**
+ * Chooses how to find the tasks a Filter matches, using the indexes of a task list rather than checking every
+ * task wherever that examines fewer tasks.
+ *
+ * <p>Terms on the type and status of tasks, and any and, or and not of them only, are worked out exactly by
+ * combining the bitmaps of TaskFacetIndex. Of the other terms next to each other, the one finding the fewest
+ * tasks, by counting the due date index no further than the best count so far or taking the rarest trigram of
+ * a search term, is intersected with those bitmaps. Terms joined by or are looked up each and joined, unless
+ * one of them has no index or they find as many tasks as the list holds. Every task found is then checked
+ * against the whole filter.
+ */
+public final class QueryPlanner {
+
+    /**
+     * Index of the type, status and due date of the tasks.
+     */
+    private final TaskFacetIndex facets;
+
+    /**
+     * Index of the descriptions of the tasks.
+     */
+    private final TrigramIndex<Task> textIndex;
+
+    /**
+     * Constructs a QueryPlanner instance over the indexes of a task list.
+     *
+     * @param facets    index of the type, status and due date of the tasks
+     * @param textIndex index of the descriptions of the tasks
+     */
+    public QueryPlanner(TaskFacetIndex facets, TrigramIndex<Task> textIndex) {
+        this.facets = facets;
+        this.textIndex = textIndex;
+    }
+
+    /**
+     * Returns the plan examining the fewest tasks to find those matching a filter.
+     *
+     * @param filter filter to match
+     * @return the plan
+     */
+    public QueryPlan plan(Filter filter) {
+        AccessPath path = findPath(filter, this.facets.size());
+        return new QueryPlan(filter, path == null ? new AccessPath.Scan(this.facets) : path, this.facets);
+    }
+
+    /**
+     * Returns the path finding every task a filter matches, and as few others as possible, if it examines fewer
+     * tasks than a bound.
+     *
+     * @param filter filter to match
+     * @param bound  number of tasks the path must examine fewer of
+     * @return the path, or null if no index finds fewer tasks
+     */
+    private AccessPath findPath(Filter filter, int bound) {
+        BitSet ids = findBitmapIds(filter);
+        if (ids != null) {
+            return ids.cardinality() < bound ? new AccessPath.Bitmap(ids, filter) : null;
+        }
+
+        if (filter instanceof Filter.DueTerm) {
+            Filter.DueTerm term = (Filter.DueTerm) filter;
+            int count = this.facets.countDue(term.getFrom(), term.getTo(), bound);
+            return count < bound ? new AccessPath.DueRange(this.facets, term, count) : null;
+        }
+        if (filter instanceof Filter.TextTerm) {
+            Filter.TextTerm term = (Filter.TextTerm) filter;
+            int count = this.textIndex.countCandidates(term.getSearchTerm());
+            return count < bound ? new AccessPath.Text(this.facets, this.textIndex, term, count) : null;
+        }
+        if (filter instanceof Filter.And) {
+            return findAndPath((Filter.And) filter, bound);
+        }
+        if (filter instanceof Filter.Or) {
+            return findOrPath((Filter.Or) filter, bound);
+        }
+        return null; // the negation of a term finds nearly every task
+    }
+
+    /**
+     * Returns the path for terms next to each other: the bitmaps of those on type and status, intersected with
+     * the path finding the fewest tasks of the others.
+     *
+     * @param filter terms next to each other
+     * @param bound  number of tasks the path must examine fewer of
+     * @return the path, or null if no index finds fewer tasks
+     */
+    private AccessPath findAndPath(Filter.And filter, int bound) {
+        ArrayList<Filter> bitmapOperands = new ArrayList<>();
+        BitSet ids = null;
+        for (Filter operand : filter.getOperands()) {
+            BitSet operandIds = findBitmapIds(operand);
+            if (operandIds != null) {
+                bitmapOperands.add(operand);
+                if (ids == null) {
+                    ids = operandIds;
+                } else {
+                    ids.and(operandIds);
+                }
+            }
+        }
+
+        AccessPath bitmapPath = null;
+        int best = bound;
+        if (ids != null && ids.cardinality() < best) {
+            Filter bitmapFilter = bitmapOperands.size() == 1 ? bitmapOperands.get(0) : new Filter.And(bitmapOperands);
+            bitmapPath = new AccessPath.Bitmap(ids, bitmapFilter);
+            best = ids.cardinality();
+        }
+        AccessPath otherPath = null;
+        for (Filter operand : filter.getOperands()) {
+            if (bitmapOperands.contains(operand)) {
+                continue;
+            }
+            AccessPath path = findPath(operand, best);
+            if (path != null) {
+                otherPath = path;
+                best = path.estimate();
+            }
+        }
+
+        if (bitmapPath != null && otherPath != null) {
+            ArrayList<AccessPath> paths = new ArrayList<>();
+            paths.add(otherPath);
+            paths.add(bitmapPath);
+            return new AccessPath.Intersection(paths);
+        }
+        return otherPath != null ? otherPath : bitmapPath;
+    }
+
+    /**
+     * Returns the path for terms joined by or: the paths of every term, joined.
+     *
+     * @param filter terms joined by or
+     * @param bound  number of tasks the path must examine fewer of
+     * @return the path, or null if a term has no index or they find as many tasks as the bound
+     */
+    private AccessPath findOrPath(Filter.Or filter, int bound) {
+        ArrayList<AccessPath> paths = new ArrayList<>();
+        int remaining = bound;
+        for (Filter operand : filter.getOperands()) {
+            AccessPath path = findPath(operand, remaining);
+            if (path == null) {
+                return null;
+            }
+            paths.add(path);
+            remaining -= path.estimate();
+        }
+        return new AccessPath.Union(paths);
+    }
+
+    /**
+     * Returns the ids of the tasks a filter matches, if it is made of terms on type and status only.
+     *
+     * @param filter filter to match
+     * @return bitmap of the ids, or null if the filter holds other terms
+     */
+    private BitSet findBitmapIds(Filter filter) {
+        if (filter instanceof Filter.KindTerm) {
+            return this.facets.idsOf(((Filter.KindTerm) filter).getKind());
+        }
+        if (filter instanceof Filter.DoneTerm) {
+            return this.facets.idsDone(((Filter.DoneTerm) filter).isDone());
+        }
+        if (filter instanceof Filter.Not) {
+            BitSet operandIds = findBitmapIds(((Filter.Not) filter).getOperand());
+            if (operandIds == null) {
+                return null;
+            }
+            BitSet ids = this.facets.allIds();
+            ids.andNot(operandIds);
+            return ids;
+        }
+        if (filter instanceof Filter.And || filter instanceof Filter.Or) {
+            boolean isAnd = filter instanceof Filter.And;
+            BitSet ids = null;
+            for (Filter operand : isAnd ? ((Filter.And) filter).getOperands() : ((Filter.Or) filter).getOperands()) {
+                BitSet operandIds = findBitmapIds(operand);
+                if (operandIds == null) {
+                    return null;
+                }
+                if (ids == null) {
+                    ids = operandIds;
+                } else if (isAnd) {
+                    ids.and(operandIds);
+                } else {
+                    ids.or(operandIds);
+                }
+            }
+            return ids;
+        }
+        return null;
+    }
+}
@@ -1,7 +1,8 @@
 package yapper.data.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+
+import yapper.util.DateTimeCodec;
 
 /**
  * Represents a Deadline task.
@@ -10,8 +11,9 @@ public class DeadlineScheduleTask extends ScheduleTask {
 
     // Constants
     private static final String ASSERT_NEW_DATE_TIME_STRING = "Only one new date and time should be provided.";
-    private static final String DEADLINE_INFO_FORMAT_STRING = "[D]%s (by: %s)";
-    private static final String DTF_FORMATTER_STRING = "dd-MMM-yyyy";
+    private static final String DEADLINE_INFO_PREFIX_STRING = "[D]";
+    private static final String DEADLINE_BY_STRING = " (by: ";
+    private static final String DEADLINE_INFO_SUFFIX_STRING = ")";
 
     /**
      * Represents the Deadline of the task
@@ -35,8 +37,10 @@ public class DeadlineScheduleTask extends ScheduleTask {
      */
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DTF_FORMATTER_STRING);
-        return String.format(DEADLINE_INFO_FORMAT_STRING, super.toString(), this.byLocalDateTime.format(formatter));
+        StringBuilder sb = new StringBuilder(DEADLINE_INFO_PREFIX_STRING).append(super.toString())
+                .append(DEADLINE_BY_STRING);
+        return DateTimeCodec.formatDisplayDate(this.byLocalDateTime, sb).append(DEADLINE_INFO_SUFFIX_STRING)
+                .toString();
     }
 
     /**
@@ -1,7 +1,8 @@
 package yapper.data.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+
+import yapper.util.DateTimeCodec;
 
 /**
  * Represents an Events task.
@@ -10,8 +11,10 @@ public class EventsScheduleTask extends ScheduleTask {
 
     // Constants
     private static final String ASSERT_NEW_DATE_TIME_STRING = "Only two new date and time should be provided.";
-    private static final String EVENTS_INFO_FORMAT_STRING = "[E]%s (from: %s to: %s)";
-    private static final String DTF_FORMATTER_STRING = "dd-MMM-yyyy HHmm";
+    private static final String EVENTS_INFO_PREFIX_STRING = "[E]";
+    private static final String EVENTS_FROM_STRING = " (from: ";
+    private static final String EVENTS_TO_STRING = " to: ";
+    private static final String EVENTS_INFO_SUFFIX_STRING = ")";
 
     /**
      * Represents the instance of when the Events is started
@@ -59,12 +62,10 @@ public class EventsScheduleTask extends ScheduleTask {
      */
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DTF_FORMATTER_STRING);
-        return String.format(
-                EVENTS_INFO_FORMAT_STRING,
-                super.toString(),
-                this.fromLocalDateTime.format(formatter),
-                this.toLocalDateTime.format(formatter));
+        StringBuilder sb = new StringBuilder(EVENTS_INFO_PREFIX_STRING).append(super.toString())
+                .append(EVENTS_FROM_STRING);
+        DateTimeCodec.formatDisplay(this.fromLocalDateTime, sb).append(EVENTS_TO_STRING);
+        return DateTimeCodec.formatDisplay(this.toLocalDateTime, sb).append(EVENTS_INFO_SUFFIX_STRING).toString();
     }
 
     /**
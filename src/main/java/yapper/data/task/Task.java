@@ -42,6 +42,15 @@ public class Task implements ContentDisplayable {
         return (isDone ? DONE_SYMBOL_STRING : EMPTY_SYMBOL_STRING); // mark done task with X
     }
 
+    /**
+     * Returns true if the Task is marked as done.
+     *
+     * @return true if the task is done
+     */
+    public boolean isDone() {
+        return this.isDone;
+    }
+
     /**
      * Returns the description of the Task.
      *
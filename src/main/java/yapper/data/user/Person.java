@@ -2,11 +2,28 @@ package yapper.data.user;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
+import yapper.data.MutationDispatcher;
+import yapper.data.MutationListener;
+import yapper.data.index.SearchIndex;
 import yapper.data.notes.Note;
 import yapper.data.task.Task;
+import yapper.reminder.ReminderScheduler;
+import yapper.storage.AutosaveScheduler;
+import yapper.storage.BinaryTaskFileManager;
+import yapper.storage.JournalFileManager;
 import yapper.storage.NoteFileManager;
+import yapper.storage.Persistable;
+import yapper.storage.SaveStats;
+import yapper.storage.SnapshotCompactor;
 import yapper.storage.TaskFileManager;
 
 /**
@@ -14,8 +31,30 @@ import yapper.storage.TaskFileManager;
  */
 public class Person {
 
+    // Journal file extension
+    private static final String JOURNAL_FILE_EXTENSION_STRING = ".journal";
+
+    // Extension of a task file set aside because it could not be loaded
+    private static final String DAMAGED_FILE_EXTENSION_STRING = ".damaged";
+
+    // System properties overriding the journal compaction thresholds
+    private static final String PROPERTY_COMPACT_MAX_RECORDS_STRING = "yapper.compact.maxRecords";
+    private static final String PROPERTY_COMPACT_MAX_BYTES_STRING = "yapper.compact.maxBytes";
+    private static final String PROPERTY_COMPACT_MAX_AGE_MILLIS_STRING = "yapper.compact.maxAgeMillis";
+
+    // System properties overriding the autosave delays
+    private static final String PROPERTY_AUTOSAVE_QUIET_MILLIS_STRING = "yapper.autosave.quietMillis";
+    private static final String PROPERTY_AUTOSAVE_MAX_DELAY_MILLIS_STRING = "yapper.autosave.maxDelayMillis";
+
+    // System property overriding the time a reminder fires before its deadline or start
+    private static final String PROPERTY_REMINDER_LEAD_MINUTES_STRING = "yapper.reminder.leadMinutes";
+
     // Error messages
     private static final String ERR_FILE_NOT_FOUND_FORMAT_STRING = "Existing file %s not found.";
+    private static final String ERR_JOURNAL_NOT_REPLAYED_FORMAT_STRING = "Journal %s could not be replayed: %s";
+    private static final String ERR_TASK_FILE_NOT_LOADED_FORMAT_STRING = "Task file %s could not be loaded: %s";
+    private static final String ERR_TASK_FILE_SET_ASIDE_FORMAT_STRING =
+            "Task file %s could not be loaded: %s\nIt was kept as %s and your tasks start empty.";
 
     /**
      * Path of Person's file to cache user tasks.
@@ -48,15 +87,62 @@ public class Person {
     private ArrayList<Note> noteList;
 
     /**
-     * TaskFileManager to manage tasks.
+     * Persistable to manage tasks, storing them as CSV or in binary.
      */
-    private TaskFileManager taskFileManager;
+    private Persistable<Task> taskFileManager;
 
     /**
      * NoteFileManager to manage notes.
      */
     private NoteFileManager noteFileManager;
 
+    /**
+     * File object of the journal of changes made since the files were last saved.
+     */
+    private File journalFile;
+
+    /**
+     * JournalFileManager to record changes to tasks and notes.
+     */
+    private JournalFileManager journalFileManager;
+
+    /**
+     * Dispatcher notifying every listener of changes to tasks and notes.
+     */
+    private MutationDispatcher mutationDispatcher;
+
+    /**
+     * SnapshotCompactor keeping the journal short.
+     */
+    private SnapshotCompactor snapshotCompactor;
+
+    /**
+     * SearchIndex of the words of tasks and notes.
+     */
+    private SearchIndex searchIndex;
+
+    /**
+     * AutosaveScheduler saving tasks and notes in the background after they change, or null if changes are
+     * journaled instead.
+     */
+    private AutosaveScheduler autosaveScheduler;
+
+    /**
+     * ReminderScheduler reminding of deadlines and events, or null if reminders were not started.
+     */
+    private ReminderScheduler reminderScheduler;
+
+    /**
+     * Lock held while a command reads or changes the tasks and notes.
+     */
+    private final Object mutationLock = new Object();
+
+    /**
+     * Number of changes the dispatcher had forwarded when the files last held every change, or -1 if they
+     * have not held them since the journal was replayed.
+     */
+    private long savedChangeCount;
+
     /**
      * Constructs a Person instance.
      *
@@ -67,16 +153,34 @@ public class Person {
         this.noteFileName = noteFileName;
         this.openFiles();
         this.loadFiles();
+        this.indexFiles();
+        this.startAutosave();
     }
 
     /**
      * Opens the files to store tasks and notes.
      */
     private void openFiles() {
-        this.taskFileManager = new TaskFileManager();
+        this.taskFileManager = BinaryTaskFileManager.isBinaryTaskFile(taskFileName)
+                ? new BinaryTaskFileManager()
+                : new TaskFileManager();
         this.noteFileManager = new NoteFileManager();
         this.taskFile = this.taskFileManager.open(taskFileName);
         this.noteFile = this.noteFileManager.open(noteFileName);
+        this.journalFileManager = new JournalFileManager();
+        this.journalFile = this.journalFileManager.open(toJournalFileName(taskFileName));
+        this.mutationDispatcher = new MutationDispatcher();
+    }
+
+    /**
+     * Returns the name of the journal file kept next to the task file. The full task file name is kept
+     * so that CSV and binary task files never share a journal.
+     *
+     * @param taskFileName name of the file to cache Person's tasks.
+     * @return name of the journal file.
+     */
+    private static String toJournalFileName(String taskFileName) {
+        return taskFileName + JOURNAL_FILE_EXTENSION_STRING;
     }
 
     /**
@@ -85,10 +189,166 @@ public class Person {
     private void loadFiles() {
         try {
             this.taskList = this.taskFileManager.load(this.taskFile);
-            this.noteList = this.noteFileManager.load(this.noteFile);
         } catch (FileNotFoundException e) {
             System.out.println(String.format(ERR_FILE_NOT_FOUND_FORMAT_STRING, this.taskFileName));
             this.taskList = new ArrayList<>();
+        } catch (UncheckedIOException e) {
+            this.taskList = new ArrayList<>();
+            this.setAsideDamagedTaskFile(e.getCause());
+        }
+
+        try {
+            this.noteList = this.noteFileManager.load(this.noteFile);
+        } catch (FileNotFoundException e) {
+            System.out.println(String.format(ERR_FILE_NOT_FOUND_FORMAT_STRING, this.noteFileName));
+            this.noteList = new ArrayList<>();
+        }
+
+        if (this.journalFile == null) {
+            return;
+        }
+
+        try {
+            if (this.journalFileManager.replay(this.taskFile, this.noteFile, this.taskList, this.noteList) > 0) {
+                this.savedChangeCount = -1; // the files lack the replayed changes
+            }
+            this.mutationDispatcher.addListener(this.journalFileManager);
+            this.snapshotCompactor = new SnapshotCompactor(this.journalFileManager,
+                    this.taskFileManager, this.taskFile, this.taskList,
+                    this.noteFileManager, this.noteFile, this.noteList,
+                    Long.getLong(PROPERTY_COMPACT_MAX_RECORDS_STRING, SnapshotCompactor.DEFAULT_MAX_RECORDS_LONG),
+                    Long.getLong(PROPERTY_COMPACT_MAX_BYTES_STRING, SnapshotCompactor.DEFAULT_MAX_BYTES_LONG),
+                    Long.getLong(PROPERTY_COMPACT_MAX_AGE_MILLIS_STRING,
+                            SnapshotCompactor.DEFAULT_MAX_AGE_MILLIS_LONG));
+            this.mutationDispatcher.addListener(this.snapshotCompactor); // must follow the journal
+        } catch (IOException e) {
+            System.out.println(String.format(ERR_JOURNAL_NOT_REPLAYED_FORMAT_STRING,
+                    this.journalFile.getName(), e.getLocalizedMessage()));
+            this.journalFile = null; // keep the unreplayed journal untouched on disk
+        }
+    }
+
+    /**
+     * Moves a task file that could not be loaded aside, so that saving the tasks does not overwrite it, and
+     * starts a new task file in its place.
+     *
+     * @param cause reason the task file could not be loaded.
+     */
+    private void setAsideDamagedTaskFile(IOException cause) {
+        File damagedFile = new File(this.taskFileName + DAMAGED_FILE_EXTENSION_STRING);
+        try {
+            Files.move(this.taskFile.toPath(), damagedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println(String.format(ERR_TASK_FILE_NOT_LOADED_FORMAT_STRING, this.taskFileName,
+                    cause.getLocalizedMessage()));
+            System.out.println(e.getLocalizedMessage());
+            return;
+        }
+
+        System.out.println(String.format(ERR_TASK_FILE_SET_ASIDE_FORMAT_STRING, this.taskFileName,
+                cause.getLocalizedMessage(), damagedFile.getName()));
+        this.taskFile = this.taskFileManager.open(this.taskFileName);
+    }
+
+    /**
+     * Sets up the indexes of the loaded tasks and notes, built on first use, and keeps them up to date as they
+     * change.
+     */
+    private void indexFiles() {
+        this.searchIndex = new SearchIndex(this.taskList, this.noteList);
+        this.mutationDispatcher.addListener(this.searchIndex);
+    }
+
+    /**
+     * Starts saving tasks and notes in the background after they change, unless every change is journaled and
+     * left to the SnapshotCompactor.
+     */
+    private void startAutosave() {
+        if (this.getJournalFileManager() != null) {
+            return;
+        }
+        this.autosaveScheduler = new AutosaveScheduler(this.mutationLock,
+                this.taskFileManager, this.taskFile, this.taskList,
+                this.noteFileManager, this.noteFile, this.noteList,
+                Long.getLong(PROPERTY_AUTOSAVE_QUIET_MILLIS_STRING, AutosaveScheduler.DEFAULT_QUIET_MILLIS_LONG),
+                Long.getLong(PROPERTY_AUTOSAVE_MAX_DELAY_MILLIS_STRING,
+                        AutosaveScheduler.DEFAULT_MAX_DELAY_MILLIS_LONG));
+        this.mutationDispatcher.addListener(this.autosaveScheduler);
+        this.autosaveScheduler.start();
+    }
+
+    /**
+     * Starts reminding of the deadlines and event starts to come, registering those of the loaded tasks and
+     * keeping them up to date as the tasks change. Does nothing if reminders were already started.
+     *
+     * @param sink receiver of the reminders, called on a background thread.
+     */
+    public void startReminders(Consumer<String> sink) {
+        ReminderScheduler scheduler;
+        synchronized (this.mutationLock) {
+            if (this.reminderScheduler != null) {
+                return;
+            }
+            scheduler = new ReminderScheduler(Clock.systemDefaultZone(),
+                    Duration.ofMinutes(Long.getLong(PROPERTY_REMINDER_LEAD_MINUTES_STRING,
+                            ReminderScheduler.DEFAULT_LEAD_MINUTES_LONG)),
+                    sink);
+            scheduler.registerAll(this.taskList);
+            this.mutationDispatcher.addListener(scheduler);
+            this.reminderScheduler = scheduler;
+        }
+        scheduler.start();
+    }
+
+    /**
+     * Saves the tasks and notes to their files, as a snapshot that empties the journal if there is one.
+     *
+     * @return statistics of the task and note files written.
+     * @throws IOException if a file cannot be written; changes already journaled are replayed on the next load.
+     */
+    public ArrayList<SaveStats> save() throws IOException {
+        synchronized (this.mutationLock) {
+            long changeCount = this.mutationDispatcher.getChangeCount();
+            ArrayList<SaveStats> statsList;
+            if (this.getJournalFileManager() == null) {
+                statsList = new ArrayList<>();
+                statsList.add(this.taskFileManager.saveBulk(this.taskFile, this.taskList));
+                statsList.add(this.noteFileManager.saveBulk(this.noteFile, this.noteList));
+            } else {
+                statsList = this.journalFileManager.snapshot(this.taskFileManager, this.taskFile, this.taskList,
+                        this.noteFileManager, this.noteFile, this.noteList);
+            }
+            this.savedChangeCount = changeCount;
+            return statsList;
+        }
+    }
+
+    /**
+     * Stops saving tasks and notes in the background, saves them unless nothing changed since they were last
+     * saved, and closes the journal. The Person must not be used afterwards.
+     *
+     * @return statistics of the task and note files written, empty if there was nothing to save.
+     * @throws IOException if a file cannot be written; changes already journaled are replayed on the next load.
+     */
+    public ArrayList<SaveStats> close() throws IOException {
+        if (this.reminderScheduler != null) {
+            this.reminderScheduler.stop();
+        }
+        if (this.autosaveScheduler != null) {
+            this.autosaveScheduler.stop();
+        }
+        synchronized (this.mutationLock) {
+            try {
+                if (this.savedChangeCount == this.mutationDispatcher.getChangeCount()) {
+                    return new ArrayList<>();
+                }
+                return save();
+            } finally {
+                if (this.snapshotCompactor != null) {
+                    this.snapshotCompactor.close();
+                }
+                this.journalFileManager.close();
+            }
         }
     }
 
@@ -129,11 +389,11 @@ public class Person {
     }
 
     /**
-     * Returns the TaskFileManager object.
+     * Returns the Persistable managing the tasks.
      *
-     * @return TaskFileManager object.
+     * @return Persistable managing the tasks.
      */
-    public TaskFileManager getTaskFileManager() {
+    public Persistable<Task> getTaskFileManager() {
         return this.taskFileManager;
     }
 
@@ -145,4 +405,40 @@ public class Person {
     public NoteFileManager getNoteFileManager() {
         return this.noteFileManager;
     }
+
+    /**
+     * Returns the JournalFileManager object.
+     *
+     * @return JournalFileManager object, or null if the journal could not be opened.
+     */
+    public JournalFileManager getJournalFileManager() {
+        return this.journalFile == null ? null : this.journalFileManager;
+    }
+
+    /**
+     * Returns the listener to notify of changes to tasks and notes.
+     *
+     * @return listener to notify of changes.
+     */
+    public MutationListener getMutationListener() {
+        return this.mutationDispatcher;
+    }
+
+    /**
+     * Returns the index of the words of tasks and notes.
+     *
+     * @return index of tasks and notes.
+     */
+    public SearchIndex getSearchIndex() {
+        return this.searchIndex;
+    }
+
+    /**
+     * Returns the lock held while a command reads or changes tasks and notes.
+     *
+     * @return lock guarding tasks and notes.
+     */
+    public Object getMutationLock() {
+        return this.mutationLock;
+    }
 }
@@ -1,32 +1,57 @@
 package yapper.parser;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import yapper.chatbot.Yapper;
+import yapper.commands.BetweenCommand;
 import yapper.commands.ByeCommand;
 import yapper.commands.Command;
+import yapper.commands.ConflictsCommand;
 import yapper.commands.DeadlineTaskCommand;
 import yapper.commands.DeleteCommand;
 import yapper.commands.EventsTaskCommand;
 import yapper.commands.FindCommand;
+import yapper.commands.FreeSlotCommand;
 import yapper.commands.HelpCommand;
 import yapper.commands.ListCommand;
 import yapper.commands.MarkCommand;
+import yapper.commands.NextCommand;
 import yapper.commands.NoteCommand;
+import yapper.commands.QueryCommand;
 import yapper.commands.RescheduleCommand;
+import yapper.commands.RunCommand;
+import yapper.commands.SearchCommand;
 import yapper.commands.ToDosTaskCommand;
 import yapper.commands.UnmarkCommand;
+import yapper.data.MutationListener;
 import yapper.data.exception.InvalidCommandSyntaxException;
+import yapper.data.index.NoteTextIndex;
+import yapper.data.index.ScheduleIndex;
+import yapper.data.index.SearchIndex;
+import yapper.data.index.TaskFacetIndex;
+import yapper.data.index.TrigramIndex;
+import yapper.data.index.UrgencyIndex;
 import yapper.data.notes.Note;
+import yapper.data.query.Filter;
+import yapper.data.query.FilterParser;
+import yapper.data.query.QueryPlanner;
 import yapper.data.task.DeadlineScheduleTask;
 import yapper.data.task.EventsScheduleTask;
 import yapper.data.task.Task;
 import yapper.data.task.ToDosTask;
+import yapper.parser.CommandTokens.Marker;
 import yapper.storage.NoteFileManager;
 import yapper.storage.TaskFileManager;
+import yapper.util.DateTimeCodec;
 
 /**
  * CommandParser parses the commands entered by the user into the chatbot.
@@ -39,29 +64,30 @@ public class CommandParser {
     // Empty string
     private static final String EMPTY_STRING = "";
 
-    // Subcommand lengths for index checking
-    private static final int BY_MAGIC_LENGTH_INT = 4;
-    private static final int DEADLINE_MAGIC_LENGTH_INT = 9;
-    private static final int FROM_MAGIC_LENGTH_INT = 6;
-    private static final int TITLE_MAGIC_LENGTH_INT = 7;
-    private static final int CONTENT_MAGIC_LENGTH_INT = 9;
-
-    // Commands
-    private static final String COMMAND_EVENT_STRING = "event";
-    private static final String COMMAND_DEADLINE_STRING = "deadline";
-    private static final String COMMAND_TODO_STRING = "todo";
-
     // Subcommands
-    private static final String SUBCOMMAND_FROM_STRING = "/from";
-    private static final String SUBCOMMAND_TO_STRING = "/to";
-    private static final String SUBCOMMAND_BY_STRING = "/by";
-    private static final String SUBCOMMAND_NOTE_TITLE_STRING = "/title";
-    private static final String SUBCOMMAND_NOTE_CONTENT_STRING = "/content";
     private static final String SUBCOMMAND_OPTION_TASK_STRING = "task";
     private static final String SUBCOMMAND_OPTION_NOTE_STRING = "note";
 
-    // DateTimeFormatter String pattern
-    private static final String DATE_TIME_FORMATTER_PATTERN_STRING = "dd-MM-yyyy HHmm";
+    // Prefix of the list type asking find to tolerate typos, and the edit distance it tolerates by default for
+    // search terms up to and longer than the short length
+    private static final String FUZZY_PREFIX_STRING = "~";
+    private static final int FUZZY_SHORT_TERM_LENGTH_INT = 4;
+    private static final int FUZZY_SHORT_TERM_DISTANCE_INT = 1;
+    private static final int FUZZY_LONG_TERM_DISTANCE_INT = 2;
+
+    // Greatest number of notes listed by a search
+    private static final int SEARCH_LIMIT_INT = 10;
+
+    // Length of a free slot, as days, hours and minutes such as 1h30m, and the greatest number of slots listed
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(?:(\\d+)d)?(?:(\\d+)h)?(?:(\\d+)m)?",
+            Pattern.CASE_INSENSITIVE);
+    private static final int FREESLOT_LIMIT_INT = 5;
+
+    // Number of tasks listed by next when not given
+    private static final int NEXT_DEFAULT_LIMIT_INT = 5;
+
+    // Option of query showing the plan chosen
+    private static final String QUERY_EXPLAIN_STRING = "explain";
 
     // Error messages
     private static final String ERR_CANNOT_RESCHEDULE_TODO_TASK_STRING =
@@ -84,12 +110,27 @@ public class CommandParser {
         "Invalid date format! Please use dd-MM-yyyy HHmm.";
     private static final String ERR_INVALID_LIST_INDEX_FORMAT_STRING =
         "Invalid index in list %s!";
+    private static final String ERR_SEARCH_NOTES_ONLY_STRING =
+        "Only notes can be searched! Use: search note <words>";
+    private static final String ERR_BETWEEN_INVALID_SYNTAX_STRING =
+        "Invalid syntax. Use: between <from> <to> (Format: dd-MM-yyyy HHmm)";
+    private static final String ERR_END_BEFORE_START_STRING =
+        "The end of the period cannot be before its start!";
+    private static final String ERR_FREESLOT_INVALID_SYNTAX_STRING =
+        "Invalid syntax. Use: freeslot <duration> /from <from> /to <to> (Format: 1h30m, dd-MM-yyyy HHmm)";
+    private static final String ERR_FREESLOT_TOO_LONG_STRING =
+        "The free slot cannot be longer than the period!";
+    private static final String ERR_NEXT_INVALID_SYNTAX_STRING =
+        "Invalid syntax. Use: next [k], k being a positive number";
+    private static final String ERR_QUERY_INVALID_SYNTAX_STRING =
+        "Invalid syntax. Use: query [explain] <filters>, e.g. query type:deadline done:false due<25-12-2026";
 
     /**
      * Enum to represent the different types of commands.
      */
     public enum CommandOption {
-        LIST, MARK, UNMARK, TODO, DEADLINE, EVENT, DELETE, BYE, HELP, FIND, RESCHEDULE, NOTE;
+        LIST, MARK, UNMARK, TODO, DEADLINE, EVENT, DELETE, BYE, HELP, FIND, RESCHEDULE, NOTE, RUN, SEARCH, BETWEEN,
+        CONFLICTS, FREESLOT, NEXT, QUERY;
 
         /**
          * Converts a string to a CommandOption.
@@ -108,28 +149,115 @@ public class CommandParser {
         }
     }
 
+    /**
+     * Functional interface for building a command from a tokenized command line.
+     */
+    @FunctionalInterface
+    private interface CommandBuilder {
+        Command build(CommandTokens tokens, Yapper yapper) throws InvalidCommandSyntaxException;
+    }
+
+    /**
+     * Builder of every command, looked up once per command line.
+     */
+    private static final EnumMap<CommandOption, CommandBuilder> COMMAND_BUILDERS = new EnumMap<>(CommandOption.class);
+
+    static {
+        COMMAND_BUILDERS.put(CommandOption.LIST, CommandParser::buildListCommand);
+        COMMAND_BUILDERS.put(CommandOption.MARK, CommandParser::buildMarkCommand);
+        COMMAND_BUILDERS.put(CommandOption.UNMARK, CommandParser::buildUnmarkCommand);
+        COMMAND_BUILDERS.put(CommandOption.TODO, CommandParser::buildToDosCommand);
+        COMMAND_BUILDERS.put(CommandOption.DEADLINE, CommandParser::buildDeadlineCommand);
+        COMMAND_BUILDERS.put(CommandOption.EVENT, CommandParser::buildEventCommand);
+        COMMAND_BUILDERS.put(CommandOption.DELETE, CommandParser::buildDeleteCommand);
+        COMMAND_BUILDERS.put(CommandOption.BYE, CommandParser::buildByeCommand);
+        COMMAND_BUILDERS.put(CommandOption.HELP, (tokens, yapper) -> buildHelpCommand());
+        COMMAND_BUILDERS.put(CommandOption.FIND, CommandParser::buildFindCommand);
+        COMMAND_BUILDERS.put(CommandOption.RESCHEDULE, CommandParser::buildRescheduleCommand);
+        COMMAND_BUILDERS.put(CommandOption.NOTE, CommandParser::buildNoteCommand);
+        COMMAND_BUILDERS.put(CommandOption.RUN, CommandParser::buildRunCommand);
+        COMMAND_BUILDERS.put(CommandOption.SEARCH, CommandParser::buildSearchCommand);
+        COMMAND_BUILDERS.put(CommandOption.BETWEEN, CommandParser::buildBetweenCommand);
+        COMMAND_BUILDERS.put(CommandOption.CONFLICTS, CommandParser::buildConflictsCommand);
+        COMMAND_BUILDERS.put(CommandOption.FREESLOT, CommandParser::buildFreeSlotCommand);
+        COMMAND_BUILDERS.put(CommandOption.NEXT, CommandParser::buildNextCommand);
+        COMMAND_BUILDERS.put(CommandOption.QUERY, CommandParser::buildQueryCommand);
+    }
+
+    /**
+     * Commands whose builders read neither the lists nor their indexes, so they can be built on another thread
+     * while the commands before them run. Every other command is built only once those commands ran.
+     */
+    private static final EnumSet<CommandOption> PARSED_AHEAD_OPTIONS = EnumSet.of(CommandOption.LIST,
+            CommandOption.TODO, CommandOption.DEADLINE, CommandOption.NOTE, CommandOption.BYE, CommandOption.HELP,
+            CommandOption.RUN);
+
+    /**
+     * Command whose tokens were checked ahead of time, but which is only built when it is executed.
+     */
+    private static final class DeferredCommand implements Command {
+
+        /**
+         * Tokenized command entered by the user.
+         */
+        private final CommandTokens tokens;
+
+        /**
+         * Yapper managing the tasks and notes.
+         */
+        private final Yapper yapper;
+
+        /**
+         * Builder of the command.
+         */
+        private final CommandBuilder builder;
+
+        private DeferredCommand(CommandTokens tokens, Yapper yapper, CommandBuilder builder) {
+            this.tokens = tokens;
+            this.yapper = yapper;
+            this.builder = builder;
+        }
+
+        /**
+         * Builds the command against the current lists and executes it.
+         *
+         * @param responseList List of responses to be displayed to the user.
+         * @return True if the command was built and succeeded.
+         */
+        @Override
+        public boolean execute(ArrayList<String> responseList) {
+            try {
+                return this.builder.build(this.tokens, this.yapper).execute(responseList);
+
+            } catch (InvalidCommandSyntaxException e) {
+                responseList.add(e.getMessage());
+                return false;
+            }
+        }
+    }
+
     /**
      * Builds a list command.
      *
-     * @param cmd      Full command entered by the user.
-     * @param taskList List of tasks.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return List command.
      * @throws InvalidCommandSyntaxException If the command is invalid.
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    private static Command buildListCommand(String cmd, ArrayList<Task> taskList, ArrayList<Note> noteList)
+    private static Command buildListCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException {
 
-        if (cmd.split(" ").length != 2) {
+        if (tokens.size() != 2) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
-        String listTypeString = cmd.split(" ")[1];
+        String listTypeString = tokens.get(1);
         try {
             if (listTypeString.strip().toLowerCase().equals(SUBCOMMAND_OPTION_TASK_STRING)) {
-                return new ListCommand(taskList);
+                return new ListCommand(yapper.getTaskList());
             } else if (listTypeString.strip().toLowerCase().equals(SUBCOMMAND_OPTION_NOTE_STRING)) {
-                return new ListCommand(noteList);
+                return new ListCommand(yapper.getNoteList());
             } else {
                 throw new InvalidCommandSyntaxException(
                         String.format(ERR_LIST_NOT_FOUND_FORMAT_STRING, listTypeString));
@@ -143,22 +271,22 @@ public class CommandParser {
     /**
      * Builds a mark command.
      *
-     * @param cmd      Full command entered by the user.
-     * @param taskList List of tasks.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return Mark command.
      * @throws InvalidCommandSyntaxException If the command is invalid.
      * @throws IndexOutOfBoundsException     If the index is out of bounds.
      */
-    private static Command buildMarkCommand(String cmd, ArrayList<Task> taskList)
+    private static Command buildMarkCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException {
-        if (cmd.split(" ").length != 2) {
+        if (tokens.size() != 2) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
         int idx = -1;
         try {
-            idx = Integer.parseInt(cmd.split(" ")[1]) - 1;
-            return MarkCommand.buildMarkCommand(taskList, idx);
+            idx = Integer.parseInt(tokens.get(1)) - 1;
+            return MarkCommand.buildMarkCommand(yapper.getTaskList(), idx, yapper.getMutationListener());
 
         } catch (NumberFormatException e) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
@@ -170,22 +298,22 @@ public class CommandParser {
     /**
      * Builds an unmark command.
      *
-     * @param cmd      Full command entered by the user.
-     * @param taskList List of tasks.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return Unmark command.
      * @throws InvalidCommandSyntaxException If the command is invalid.
      * @throws IndexOutOfBoundsException     If the index is out of bounds.
      */
-    private static Command buildUnmarkCommand(String cmd, ArrayList<Task> taskList)
+    private static Command buildUnmarkCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException, IndexOutOfBoundsException {
-        if (cmd.split(" ").length != 2) {
+        if (tokens.size() != 2) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
         int idx = -1;
 
         try {
-            idx = Integer.parseInt(cmd.split(" ")[1]) - 1;
+            idx = Integer.parseInt(tokens.get(1)) - 1;
 
         } catch (NumberFormatException e) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
@@ -193,57 +321,56 @@ public class CommandParser {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
-        return UnmarkCommand.buildUnmarkCommand(taskList, idx);
+        return UnmarkCommand.buildUnmarkCommand(yapper.getTaskList(), idx, yapper.getMutationListener());
     }
 
     /**
      * Builds a todo command.
      *
-     * @param cmd      Full command entered by the user.
-     * @param taskList List of tasks.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return Todo command.
      * @throws InvalidCommandSyntaxException If the command is invalid.
      */
-    private static Command buildToDosCommand(String cmd, ArrayList<Task> taskList)
+    private static Command buildToDosCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException {
-        return ToDosTaskCommand.buildToDosCommand(taskList,
-                new ToDosTask(cmd.substring(COMMAND_TODO_STRING.length() + 1)));
+        if (tokens.size() < 2) {
+            throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
+        }
+
+        return ToDosTaskCommand.buildToDosCommand(yapper.getTaskList(),
+                new ToDosTask(tokens.sliceToEnd(tokens.startOf(1))), yapper.getMutationListener());
     }
 
     /**
      * Builds a deadline command.
      *
-     * @param cmd      Full command entered by the user.
-     * @param taskList List of tasks.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return DeadlineTask command.
      * @throws InvalidCommandSyntaxException If the command is invalid.
      */
-    private static Command buildDeadlineCommand(String cmd, ArrayList<Task> taskList)
+    private static Command buildDeadlineCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException {
-        if (cmd.split(" ").length < 2) {
+        if (tokens.size() < 2) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
-        int deadlineIndex = cmd.indexOf(COMMAND_DEADLINE_STRING) + DEADLINE_MAGIC_LENGTH_INT;
-        int byIndex = -1;
         String description = EMPTY_STRING;
         String dueDateString = EMPTY_STRING;
 
         try {
-            byIndex = cmd.indexOf(SUBCOMMAND_BY_STRING);
-            description = cmd.substring(deadlineIndex, byIndex).trim();
-            cmd.substring(deadlineIndex, byIndex).trim();
-            dueDateString = cmd.substring(byIndex + BY_MAGIC_LENGTH_INT).trim();
+            description = tokens.slice(tokens.startOf(1), tokens.startOf(Marker.BY));
+            dueDateString = tokens.sliceToEnd(tokens.endOf(Marker.BY));
 
         } catch (StringIndexOutOfBoundsException e) {
             throw new InvalidCommandSyntaxException(ERR_MISSING_END_DATE_STRING);
         }
 
         try {
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern(DATE_TIME_FORMATTER_PATTERN_STRING);
-            LocalDateTime byLocalDateTime = LocalDateTime.parse(dueDateString, dtf);
-            return DeadlineTaskCommand.buildDeadlineCommand(taskList,
-                    new DeadlineScheduleTask(description, byLocalDateTime));
+            LocalDateTime byLocalDateTime = DateTimeCodec.parse(dueDateString);
+            return DeadlineTaskCommand.buildDeadlineCommand(yapper.getTaskList(),
+                    new DeadlineScheduleTask(description, byLocalDateTime), yapper.getMutationListener());
 
         } catch (DateTimeParseException e) {
             throw new InvalidCommandSyntaxException(ERR_INVALID_DATE_FORMAT_STRING);
@@ -253,15 +380,15 @@ public class CommandParser {
     /**
      * Builds an event command.
      *
-     * @param cmd      Full command entered by the user.
-     * @param taskList List of tasks.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return Event command.
      * @throws InvalidCommandSyntaxException If the command is invalid.
      */
-    private static Command buildEventCommand(String cmd, ArrayList<Task> taskList)
+    private static Command buildEventCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException {
 
-        if (cmd.split(" ").length < 2) {
+        if (tokens.size() < 2) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
@@ -270,26 +397,21 @@ public class CommandParser {
         String toTimeString = EMPTY_STRING;
 
         try {
-            int eventIndex = cmd.indexOf(COMMAND_EVENT_STRING) + FROM_MAGIC_LENGTH_INT;
-            int fromIndex = -1;
-            int toIndex = -1;
-
-            fromIndex = cmd.indexOf(SUBCOMMAND_FROM_STRING);
-            toIndex = cmd.indexOf(SUBCOMMAND_TO_STRING);
-            description = cmd.substring(eventIndex, fromIndex).trim();
-            fromTimeString = cmd.substring(fromIndex + FROM_MAGIC_LENGTH_INT, toIndex).trim();
-            toTimeString = cmd.substring(toIndex + BY_MAGIC_LENGTH_INT).trim();
+            description = tokens.slice(tokens.startOf(1), tokens.startOf(Marker.FROM));
+            fromTimeString = tokens.slice(tokens.endOf(Marker.FROM), tokens.startOf(Marker.TO));
+            toTimeString = tokens.sliceToEnd(tokens.endOf(Marker.TO));
 
         } catch (StringIndexOutOfBoundsException e) {
             throw new InvalidCommandSyntaxException(ERR_MISSING_START_END_DATE_STRING);
         }
 
         try {
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern(DATE_TIME_FORMATTER_PATTERN_STRING);
-            LocalDateTime fromLocalDateTime = LocalDateTime.parse(fromTimeString, dtf);
-            LocalDateTime toLocalDateTime = LocalDateTime.parse(toTimeString, dtf);
-            return EventsTaskCommand.buildEventsCommand(taskList,
-                    new EventsScheduleTask(description, fromLocalDateTime, toLocalDateTime));
+            LocalDateTime fromLocalDateTime = DateTimeCodec.parse(fromTimeString);
+            LocalDateTime toLocalDateTime = DateTimeCodec.parse(toTimeString);
+            SearchIndex searchIndex = yapper.getSearchIndex();
+            return EventsTaskCommand.buildEventsCommand(yapper.getTaskList(),
+                    new EventsScheduleTask(description, fromLocalDateTime, toLocalDateTime),
+                    yapper.getMutationListener(), searchIndex == null ? null : searchIndex.getScheduleIndex());
 
         } catch (DateTimeParseException e) {
             throw new InvalidCommandSyntaxException(ERR_INVALID_DATE_FORMAT_STRING);
@@ -299,32 +421,35 @@ public class CommandParser {
     /**
      * Builds a delete command.
      *
-     * @param cmd      Full command entered by the user.
-     * @param taskList List of tasks.
-     * @param noteList List of notes.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return Delete command.
      * @throws InvalidCommandSyntaxException If the command is invalid.
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    private static Command buildDeleteCommand(String cmd, ArrayList<Task> taskList, ArrayList<Note> noteList)
+    private static Command buildDeleteCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException, IndexOutOfBoundsException {
-        if (cmd.split(" ").length < 2) {
+        if (tokens.size() < 2) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
+        ArrayList<Task> taskList = yapper.getTaskList();
+        ArrayList<Note> noteList = yapper.getNoteList();
+        MutationListener listener = yapper.getMutationListener();
+
         int idx = -1; // index of the selected item to delete
         String listTypeString = EMPTY_STRING;
 
         try {
-            listTypeString = cmd.split(" ")[1];
-            idx = Integer.parseInt(cmd.split(" ")[2]) - 1;
-
-            taskList.get(idx);
+            listTypeString = tokens.get(1);
+            idx = Integer.parseInt(tokens.get(2)) - 1;
 
             if (listTypeString.strip().toLowerCase().equals(SUBCOMMAND_OPTION_TASK_STRING)) {
-                return new DeleteCommand(taskList, idx);
+                taskList.get(idx);
+                return new DeleteCommand(taskList, idx, listener);
             } else if (listTypeString.strip().toLowerCase().equals(SUBCOMMAND_OPTION_NOTE_STRING)) {
-                return new DeleteCommand(noteList, idx);
+                noteList.get(idx);
+                return new DeleteCommand(noteList, idx, listener);
             } else {
                 throw new InvalidCommandSyntaxException(
                         String.format(ERR_LIST_NOT_FOUND_FORMAT_STRING, listTypeString));
@@ -344,37 +469,32 @@ public class CommandParser {
     /**
      * Builds a bye command.
      *
-     * @param fullCmd  Full command entered by the user.
-     * @param taskList List of tasks.
-     * @param noteList List of notes.
-     * @param taskFile File to save the tasks to.
-     * @param noteFile File to save the notes to.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes, and the files they are saved to.
      * @return Bye command.
      * @throws InvalidCommandSyntaxException If the command is invalid
      */
-    private static Command buildByeCommand(String fullCmd, ArrayList<Task> taskList, ArrayList<Note> noteList,
-            File taskFile, File noteFile, TaskFileManager taskFileManager, NoteFileManager noteFileManager)
-            throws InvalidCommandSyntaxException {
-        if (fullCmd.split(" ").length != 1) {
+    private static Command buildByeCommand(CommandTokens tokens, Yapper yapper) throws InvalidCommandSyntaxException {
+        if (tokens.size() != 1) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
-        return new ByeCommand(taskList, noteList, taskFile, noteFile, taskFileManager, noteFileManager);
+        return new ByeCommand(yapper);
     }
 
     /**
-     * Builds a find command.
+     * Builds a find command. A list type prefixed by {@code ~} matches the words of the search term with typos,
+     * up to the edit distance given after the search term.
      *
-     * @param cmd      Full command entered by the user.
-     * @param taskList List of tasks.
-     * @param noteList List of notes.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return Find command.
      * @throws InvalidCommandSyntaxException If the command is invalid
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    private static Command buildFindCommand(String cmd, ArrayList<Task> taskList, ArrayList<Note> noteList)
+    private static Command buildFindCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException {
-        if (cmd.split(" ").length != 3) {
+        if (tokens.size() < 3) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
@@ -382,16 +502,40 @@ public class CommandParser {
         String listTypeString = EMPTY_STRING;
 
         try {
-            listTypeString = cmd.split(" ")[1];
-            searchString = cmd.split(" ")[2];
+            listTypeString = tokens.get(1).strip().toLowerCase();
+            searchString = tokens.get(2);
 
-            if (listTypeString.strip().toLowerCase().equals(SUBCOMMAND_OPTION_TASK_STRING)) {
-                return new FindCommand(taskList, searchString);
-            } else if (listTypeString.strip().toLowerCase().equals(SUBCOMMAND_OPTION_NOTE_STRING)) {
-                return new FindCommand(noteList, searchString);
+            boolean isFuzzy = listTypeString.startsWith(FUZZY_PREFIX_STRING);
+            if (isFuzzy) {
+                listTypeString = listTypeString.substring(FUZZY_PREFIX_STRING.length());
+            }
+            int maxDistance = -1;
+            if (isFuzzy && tokens.size() == 4) {
+                maxDistance = parseMaxDistance(tokens.get(3));
+            } else if (isFuzzy && tokens.size() == 3) {
+                maxDistance = searchString.length() <= FUZZY_SHORT_TERM_LENGTH_INT
+                        ? FUZZY_SHORT_TERM_DISTANCE_INT
+                        : FUZZY_LONG_TERM_DISTANCE_INT;
+            } else if (tokens.size() != 3) {
+                throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
+            }
+
+            SearchIndex searchIndex = yapper.getSearchIndex();
+            if (listTypeString.equals(SUBCOMMAND_OPTION_TASK_STRING)) {
+                TrigramIndex<Task> index = searchIndex == null ? null : searchIndex.getTaskIndex();
+                if (isFuzzy && index == null) {
+                    index = new TrigramIndex<>(yapper.getTaskList());
+                }
+                return new FindCommand(yapper.getTaskList(), index, searchString, maxDistance);
+            } else if (listTypeString.equals(SUBCOMMAND_OPTION_NOTE_STRING)) {
+                TrigramIndex<Note> index = searchIndex == null ? null : searchIndex.getNoteIndex();
+                if (isFuzzy && index == null) {
+                    index = new TrigramIndex<>(yapper.getNoteList());
+                }
+                return new FindCommand(yapper.getNoteList(), index, searchString, maxDistance);
             } else {
                 throw new InvalidCommandSyntaxException(
-                        String.format(ERR_LIST_NOT_FOUND_FORMAT_STRING, listTypeString));
+                        String.format(ERR_LIST_NOT_FOUND_FORMAT_STRING, tokens.get(1)));
             }
 
         } catch (StringIndexOutOfBoundsException e) {
@@ -405,23 +549,262 @@ public class CommandParser {
 
     }
 
+    /**
+     * Parses the greatest edit distance a fuzzy find tolerates.
+     *
+     * @param maxDistanceString Edit distance entered by the user.
+     * @return Edit distance, at least 0.
+     * @throws InvalidCommandSyntaxException If the edit distance is not a number of at least 0.
+     */
+    private static int parseMaxDistance(String maxDistanceString) throws InvalidCommandSyntaxException {
+        try {
+            int maxDistance = Integer.parseInt(maxDistanceString);
+            if (maxDistance >= 0) {
+                return maxDistance;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
+    }
+
+    /**
+     * Builds a search command.
+     *
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
+     * @return Search command.
+     * @throws InvalidCommandSyntaxException If the command is invalid.
+     */
+    private static Command buildSearchCommand(CommandTokens tokens, Yapper yapper)
+            throws InvalidCommandSyntaxException {
+        if (tokens.size() < 3) {
+            throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
+        }
+        if (!tokens.get(1).strip().toLowerCase().equals(SUBCOMMAND_OPTION_NOTE_STRING)) {
+            throw new InvalidCommandSyntaxException(ERR_SEARCH_NOTES_ONLY_STRING);
+        }
+
+        SearchIndex searchIndex = yapper.getSearchIndex();
+        NoteTextIndex index = searchIndex == null
+                ? new NoteTextIndex(yapper.getNoteList())
+                : searchIndex.getNoteTextIndex();
+        return SearchCommand.buildSearchCommand(index, tokens.sliceToEnd(tokens.startOf(2)), SEARCH_LIMIT_INT);
+    }
+
+    /**
+     * Builds a between command, from two dates and times each written as {@code dd-MM-yyyy HHmm}.
+     *
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
+     * @return Between command.
+     * @throws InvalidCommandSyntaxException If the command is invalid.
+     */
+    private static Command buildBetweenCommand(CommandTokens tokens, Yapper yapper)
+            throws InvalidCommandSyntaxException {
+        if (tokens.size() != 5) {
+            throw new InvalidCommandSyntaxException(ERR_BETWEEN_INVALID_SYNTAX_STRING);
+        }
+
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            from = DateTimeCodec.parse(tokens.slice(tokens.startOf(1), tokens.startOf(3)).strip());
+            to = DateTimeCodec.parse(tokens.sliceToEnd(tokens.startOf(3)));
+
+        } catch (DateTimeParseException e) {
+            throw new InvalidCommandSyntaxException(ERR_INVALID_DATE_FORMAT_STRING);
+        }
+        if (to.isBefore(from)) {
+            throw new InvalidCommandSyntaxException(ERR_END_BEFORE_START_STRING);
+        }
+
+        return BetweenCommand.buildBetweenCommand(getScheduleIndex(yapper), from, to);
+    }
+
+    /**
+     * Builds a conflicts command.
+     *
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
+     * @return Conflicts command.
+     * @throws InvalidCommandSyntaxException If the command is invalid.
+     */
+    private static Command buildConflictsCommand(CommandTokens tokens, Yapper yapper)
+            throws InvalidCommandSyntaxException {
+        if (tokens.size() != 1) {
+            throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
+        }
+        return ConflictsCommand.buildConflictsCommand(getScheduleIndex(yapper));
+    }
+
+    /**
+     * Builds a freeslot command, listing the earliest free slots of a given length between two dates.
+     *
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
+     * @return Freeslot command.
+     * @throws InvalidCommandSyntaxException If the command is invalid.
+     */
+    private static Command buildFreeSlotCommand(CommandTokens tokens, Yapper yapper)
+            throws InvalidCommandSyntaxException {
+        if (tokens.size() < 2 || !tokens.has(Marker.FROM) || !tokens.has(Marker.TO)) {
+            throw new InvalidCommandSyntaxException(ERR_FREESLOT_INVALID_SYNTAX_STRING);
+        }
+
+        String durationString;
+        String fromDateString;
+        String toDateString;
+        try {
+            durationString = tokens.slice(tokens.startOf(1), tokens.startOf(Marker.FROM)).strip();
+            fromDateString = tokens.slice(tokens.endOf(Marker.FROM), tokens.startOf(Marker.TO));
+            toDateString = tokens.sliceToEnd(tokens.endOf(Marker.TO));
+
+        } catch (StringIndexOutOfBoundsException e) {
+            throw new InvalidCommandSyntaxException(ERR_FREESLOT_INVALID_SYNTAX_STRING);
+        }
+
+        Duration minLength = parseDuration(durationString);
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            from = DateTimeCodec.parse(fromDateString);
+            to = DateTimeCodec.parse(toDateString);
+
+        } catch (DateTimeParseException e) {
+            throw new InvalidCommandSyntaxException(ERR_INVALID_DATE_FORMAT_STRING);
+        }
+        if (to.isBefore(from)) {
+            throw new InvalidCommandSyntaxException(ERR_END_BEFORE_START_STRING);
+        }
+        if (minLength.compareTo(Duration.between(from, to)) > 0) {
+            throw new InvalidCommandSyntaxException(ERR_FREESLOT_TOO_LONG_STRING);
+        }
+
+        return FreeSlotCommand.buildFreeSlotCommand(getScheduleIndex(yapper), minLength, from, to,
+                FREESLOT_LIMIT_INT);
+    }
+
+    /**
+     * Parses a positive length of time written as days, hours and minutes, such as {@code 1h30m}.
+     *
+     * @param durationString Length of time entered by the user.
+     * @return Length of time.
+     * @throws InvalidCommandSyntaxException If the length is invalid or not positive.
+     */
+    private static Duration parseDuration(String durationString) throws InvalidCommandSyntaxException {
+        Matcher matcher = DURATION_PATTERN.matcher(durationString);
+        try {
+            if (matcher.matches()) {
+                Duration duration = Duration.ZERO;
+                if (matcher.group(1) != null) {
+                    duration = duration.plusDays(Long.parseLong(matcher.group(1)));
+                }
+                if (matcher.group(2) != null) {
+                    duration = duration.plusHours(Long.parseLong(matcher.group(2)));
+                }
+                if (matcher.group(3) != null) {
+                    duration = duration.plusMinutes(Long.parseLong(matcher.group(3)));
+                }
+                if (duration.compareTo(Duration.ZERO) > 0) {
+                    return duration;
+                }
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            // reported below
+        }
+        throw new InvalidCommandSyntaxException(ERR_FREESLOT_INVALID_SYNTAX_STRING);
+    }
+
+    /**
+     * Builds a next command, listing the most urgent unfinished tasks.
+     *
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
+     * @return Next command.
+     * @throws InvalidCommandSyntaxException If the command is invalid.
+     */
+    private static Command buildNextCommand(CommandTokens tokens, Yapper yapper)
+            throws InvalidCommandSyntaxException {
+        if (tokens.size() > 2) {
+            throw new InvalidCommandSyntaxException(ERR_NEXT_INVALID_SYNTAX_STRING);
+        }
+
+        int limit = NEXT_DEFAULT_LIMIT_INT;
+        if (tokens.size() == 2) {
+            try {
+                limit = Integer.parseInt(tokens.get(1).strip());
+            } catch (NumberFormatException e) {
+                throw new InvalidCommandSyntaxException(ERR_NEXT_INVALID_SYNTAX_STRING);
+            }
+            if (limit <= 0) {
+                throw new InvalidCommandSyntaxException(ERR_NEXT_INVALID_SYNTAX_STRING);
+            }
+        }
+
+        SearchIndex searchIndex = yapper.getSearchIndex();
+        UrgencyIndex index = searchIndex == null
+                ? new UrgencyIndex(yapper.getTaskList())
+                : searchIndex.getUrgencyIndex();
+        return NextCommand.buildNextCommand(index, limit);
+    }
+
+    /**
+     * Builds a query command, listing the tasks matching a filter such as {@code type:deadline done:false}.
+     *
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
+     * @return Query command.
+     * @throws InvalidCommandSyntaxException If the command or its filter is invalid.
+     */
+    private static Command buildQueryCommand(CommandTokens tokens, Yapper yapper)
+            throws InvalidCommandSyntaxException {
+        boolean isExplained = tokens.size() > 1 && tokens.get(1).strip().equalsIgnoreCase(QUERY_EXPLAIN_STRING);
+        int filterToken = isExplained ? 2 : 1;
+        if (tokens.size() <= filterToken) {
+            throw new InvalidCommandSyntaxException(ERR_QUERY_INVALID_SYNTAX_STRING);
+        }
+
+        Filter filter = FilterParser.parse(tokens.sliceToEnd(tokens.startOf(filterToken)));
+        SearchIndex searchIndex = yapper.getSearchIndex();
+        QueryPlanner planner = searchIndex == null
+                ? new QueryPlanner(new TaskFacetIndex(yapper.getTaskList()), new TrigramIndex<>(yapper.getTaskList()))
+                : new QueryPlanner(searchIndex.getFacetIndex(), searchIndex.getTaskIndex());
+        return QueryCommand.buildQueryCommand(planner, filter, isExplained);
+    }
+
+    /**
+     * Returns the index of the dates of the tasks, built for the command if the tasks are not indexed.
+     *
+     * @param yapper Yapper managing the tasks and notes.
+     * @return Index of the dates of the tasks.
+     */
+    private static ScheduleIndex getScheduleIndex(Yapper yapper) {
+        SearchIndex searchIndex = yapper.getSearchIndex();
+        return searchIndex == null
+                ? new ScheduleIndex(yapper.getTaskList())
+                : searchIndex.getScheduleIndex();
+    }
+
     /**
      * Builds a reschedule command.
      *
-     * @param fullCmd  Full command to be entered by the user.
-     * @param taskList List of tasks.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      *
      * @return Reschedule command.
      */
-    private static Command buildRescheduleCommand(String fullCmd, ArrayList<Task> taskList)
+    private static Command buildRescheduleCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException {
-        if (fullCmd.split(" ").length < 4) {
+        if (tokens.size() < 4) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
         }
 
+        ArrayList<Task> taskList = yapper.getTaskList();
+        MutationListener listener = yapper.getMutationListener();
         int idx = -1;
         try {
-            idx = Integer.parseInt(fullCmd.split(" ")[1]) - 1;
+            idx = Integer.parseInt(tokens.get(1)) - 1;
 
         } catch (NumberFormatException e) {
             throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
@@ -435,25 +818,22 @@ public class CommandParser {
 
         assert taskList.get(idx) instanceof EventsScheduleTask || taskList.get(idx) instanceof DeadlineScheduleTask;
 
-        if (taskList.get(idx) instanceof EventsScheduleTask && fullCmd.contains(SUBCOMMAND_FROM_STRING)
-                && fullCmd.contains(SUBCOMMAND_TO_STRING)) {
+        if (taskList.get(idx) instanceof EventsScheduleTask && tokens.has(Marker.FROM) && tokens.has(Marker.TO)) {
             try {
-                int fromIndex = fullCmd.indexOf(SUBCOMMAND_FROM_STRING) + FROM_MAGIC_LENGTH_INT;
-                int toIndex = fullCmd.indexOf(SUBCOMMAND_TO_STRING);
-                String newStartDateTime = fullCmd.substring(fromIndex, toIndex).trim();
-                String newEndDateTime = fullCmd.substring(toIndex + BY_MAGIC_LENGTH_INT).trim();
-                return RescheduleCommand.buildRescheduleCommand(taskList, idx, newStartDateTime, newEndDateTime);
+                String newStartDateTime = tokens.slice(tokens.endOf(Marker.FROM), tokens.startOf(Marker.TO));
+                String newEndDateTime = tokens.sliceToEnd(tokens.endOf(Marker.TO));
+                return RescheduleCommand.buildRescheduleCommand(taskList, idx, listener, newStartDateTime,
+                        newEndDateTime);
 
             } catch (StringIndexOutOfBoundsException e) {
                 throw new InvalidCommandSyntaxException(ERR_MISSING_START_END_DATE_STRING);
             }
 
-        } else if (taskList.get(idx) instanceof DeadlineScheduleTask && fullCmd.contains(SUBCOMMAND_BY_STRING)) {
+        } else if (taskList.get(idx) instanceof DeadlineScheduleTask && tokens.has(Marker.BY)) {
 
             try {
-                int byIndex = fullCmd.indexOf(SUBCOMMAND_BY_STRING) + BY_MAGIC_LENGTH_INT;
-                String newDateTime = fullCmd.substring(byIndex).trim();
-                return RescheduleCommand.buildRescheduleCommand(taskList, idx, newDateTime);
+                String newDateTime = tokens.sliceToEnd(tokens.endOf(Marker.BY));
+                return RescheduleCommand.buildRescheduleCommand(taskList, idx, listener, newDateTime);
 
             } catch (StringIndexOutOfBoundsException e) {
                 throw new InvalidCommandSyntaxException(ERR_MISSING_END_DATE_STRING);
@@ -467,14 +847,14 @@ public class CommandParser {
     /**
      * Build a Note command
      *
-     * @param fullCmd  Full command entered by the user.
-     * @param noteList List of user's notes.
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
      * @return Note command
      * @throws InvalidCommandSyntaxException if the command is invalid.
      */
-    private static Command buildNoteCommand(String fullCmd, ArrayList<Note> noteList)
+    private static Command buildNoteCommand(CommandTokens tokens, Yapper yapper)
             throws InvalidCommandSyntaxException {
-        if (!fullCmd.contains(SUBCOMMAND_NOTE_TITLE_STRING) || !fullCmd.contains(SUBCOMMAND_NOTE_CONTENT_STRING)) {
+        if (!tokens.has(Marker.TITLE) || !tokens.has(Marker.CONTENT)) {
             throw new InvalidCommandSyntaxException(ERR_NOTE_INVALID_SYNTAX_STRING);
         }
 
@@ -482,16 +862,13 @@ public class CommandParser {
         String content = EMPTY_STRING;
 
         try {
-            int titleIndex = fullCmd.indexOf(SUBCOMMAND_NOTE_TITLE_STRING) + TITLE_MAGIC_LENGTH_INT;
-            int contentIndex = fullCmd.indexOf(SUBCOMMAND_NOTE_CONTENT_STRING) + CONTENT_MAGIC_LENGTH_INT;
-
             // Extract title and content
-            if (titleIndex < contentIndex) {
-                title = fullCmd.substring(titleIndex, contentIndex - CONTENT_MAGIC_LENGTH_INT).trim();
-                content = fullCmd.substring(contentIndex).trim();
+            if (tokens.startOf(Marker.TITLE) < tokens.startOf(Marker.CONTENT)) {
+                title = tokens.slice(tokens.endOf(Marker.TITLE), tokens.startOf(Marker.CONTENT));
+                content = tokens.sliceToEnd(tokens.endOf(Marker.CONTENT));
             } else {
-                content = fullCmd.substring(contentIndex, titleIndex - TITLE_MAGIC_LENGTH_INT).trim();
-                title = fullCmd.substring(titleIndex).trim();
+                content = tokens.slice(tokens.endOf(Marker.CONTENT), tokens.startOf(Marker.TITLE));
+                title = tokens.sliceToEnd(tokens.endOf(Marker.TITLE));
             }
 
             if (title.isEmpty()) {
@@ -505,7 +882,26 @@ public class CommandParser {
             throw new InvalidCommandSyntaxException(ERR_NOTE_INVALID_SYNTAX_STRING);
         }
 
-        return NoteCommand.buildNoteCommand(noteList, new Note(title, content));
+        return NoteCommand.buildNoteCommand(yapper.getNoteList(), new Note(title, content),
+                yapper.getMutationListener());
+    }
+
+    /**
+     * Builds a run command.
+     *
+     * @param tokens Tokenized command entered by the user.
+     * @param yapper Yapper managing the tasks and notes.
+     * @return Run command.
+     * @throws InvalidCommandSyntaxException If the command is invalid.
+     */
+    private static Command buildRunCommand(CommandTokens tokens, Yapper yapper)
+            throws InvalidCommandSyntaxException {
+        if (tokens.size() < 2) {
+            throw new InvalidCommandSyntaxException(ERR_SEE_USAGE_STRING);
+        }
+
+        return RunCommand.buildRunCommand(Path.of(tokens.sliceToEnd(tokens.startOf(1))),
+                line -> parseAhead(line, yapper));
     }
 
     /**
@@ -532,48 +928,53 @@ public class CommandParser {
     public static Command parse(String fullCmd, ArrayList<Task> taskList, ArrayList<Note> noteList, File taskFile,
             File noteFile, TaskFileManager taskFileManager, NoteFileManager noteFileManager)
             throws InvalidCommandSyntaxException, IndexOutOfBoundsException {
+        return parse(fullCmd,
+                new Yapper(null, taskList, noteList, taskFile, noteFile, taskFileManager, noteFileManager));
+    }
 
-        String cmd = fullCmd.split(" ")[0];
-        if (CommandOption.fromString(cmd).equals(CommandOption.LIST)) { // list tasks
-            return buildListCommand(fullCmd, taskList, noteList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.MARK)) {
-            return buildMarkCommand(fullCmd, taskList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.UNMARK)) {
-            return buildUnmarkCommand(fullCmd, taskList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.TODO)) {
-            return buildToDosCommand(fullCmd, taskList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.DEADLINE)) {
-            return buildDeadlineCommand(fullCmd, taskList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.EVENT)) {
-            return buildEventCommand(fullCmd, taskList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.DELETE)) {
-            return buildDeleteCommand(fullCmd, taskList, noteList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.BYE)) {
-            return buildByeCommand(fullCmd, taskList, noteList, taskFile, noteFile, taskFileManager, noteFileManager);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.HELP)) {
-            return buildHelpCommand();
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.FIND)) {
-            return buildFindCommand(fullCmd, taskList, noteList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.RESCHEDULE)) {
-            return buildRescheduleCommand(fullCmd, taskList);
-
-        } else if (CommandOption.fromString(cmd).equals(CommandOption.NOTE)) {
-            return buildNoteCommand(fullCmd, noteList);
-
+    /**
+     * Parses the command entered by the user against the tasks and notes managed by Yapper.
+     *
+     * @param fullCmd Full command entered by the user.
+     * @param yapper  Yapper managing the tasks and notes the command acts on.
+     * @return Command object.
+     * @throws InvalidCommandSyntaxException If the command is invalid.
+     * @throws IndexOutOfBoundsException     If the index is out of bounds.
+     */
+    public static Command parse(String fullCmd, Yapper yapper)
+            throws InvalidCommandSyntaxException, IndexOutOfBoundsException {
+        CommandTokens tokens = new CommandTokens(fullCmd);
+        String cmd = tokens.size() > 0 ? tokens.get(0) : EMPTY_STRING;
+        CommandBuilder builder = COMMAND_BUILDERS.get(CommandOption.fromString(cmd));
+        if (builder != null) {
+            return builder.build(tokens, yapper);
         }
 
         assert false : ASSERT_FAIL_STRING;
 
         return null;
     }
+
+    /**
+     * Parses a command ahead of the commands before it being executed, as when a file of commands is run.
+     *
+     * <p>Commands that read the lists or their indexes, such as those looking up a task by its index or
+     * searching the tasks, are only built when they are executed. They then see the changes made by the
+     * commands before them, and never read the lists while those commands change them.
+     *
+     * @param fullCmd Full command entered by the user.
+     * @param yapper  Yapper managing the tasks and notes the command acts on.
+     * @return Command object.
+     * @throws InvalidCommandSyntaxException If the command is invalid.
+     */
+    public static Command parseAhead(String fullCmd, Yapper yapper) throws InvalidCommandSyntaxException {
+        CommandTokens tokens = new CommandTokens(fullCmd);
+        String cmd = tokens.size() > 0 ? tokens.get(0) : EMPTY_STRING;
+        CommandOption option = CommandOption.fromString(cmd);
+        CommandBuilder builder = COMMAND_BUILDERS.get(option);
+        if (!PARSED_AHEAD_OPTIONS.contains(option)) {
+            return new DeferredCommand(tokens, yapper, builder);
+        }
+        return builder.build(tokens, yapper);
+    }
 }
@@ -0,0 +1,221 @@
+package yapper.parser;
+
+import java.util.Arrays;
+
+/**
+ * Read-only view of a command line split into space-separated tokens, built in a single left-to-right scan
+ * that also records where each subcommand marker first appears.
+ *
+ * <p>Tokens are split exactly as {@code line.split(" ")} splits them, so consecutive spaces yield empty
+ * tokens and trailing empty tokens are dropped. Markers are found exactly as {@code line.indexOf(marker)}
+ * finds them. No substring is created until a token or a slice is asked for.
+ */
+final class CommandTokens {
+
+    // Initial number of tokens with room for their offsets
+    private static final int INITIAL_TOKEN_CAPACITY_INT = 8;
+
+    /**
+     * Subcommand markers found while scanning.
+     */
+    enum Marker {
+        FROM("/from"), TO("/to"), BY("/by"), TITLE("/title"), CONTENT("/content");
+
+        /**
+         * Text of the marker.
+         */
+        private final String text;
+
+        Marker(String text) {
+            this.text = text;
+        }
+
+        /**
+         * Returns the text of the marker.
+         *
+         * @return text of the marker
+         */
+        String getText() {
+            return this.text;
+        }
+    }
+
+    // Markers in declaration order, to avoid copying values() per character
+    private static final Marker[] MARKERS = Marker.values();
+
+    /**
+     * Command line the tokens are taken from.
+     */
+    private final String line;
+
+    /**
+     * Start offset of every token, followed by its end offset.
+     */
+    private final int[] tokenBounds;
+
+    /**
+     * Number of tokens.
+     */
+    private final int tokenCount;
+
+    /**
+     * Offset of the first occurrence of each marker, indexed by ordinal, or -1 if absent.
+     */
+    private final int[] markerStarts = new int[MARKERS.length];
+
+    /**
+     * Tokenizes a command line.
+     *
+     * @param line command line to tokenize
+     */
+    CommandTokens(String line) {
+        this.line = line;
+        Arrays.fill(this.markerStarts, -1);
+
+        int[] bounds = new int[INITIAL_TOKEN_CAPACITY_INT * 2];
+        int count = 0;
+        int lastNonEmptyCount = 0;
+        int start = 0;
+        int length = line.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? line.charAt(i) : ' ';
+            if (c == '/' && i < length) {
+                recordMarker(i);
+            }
+            if (c != ' ') {
+                continue;
+            }
+            if (count * 2 == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[count * 2] = start;
+            bounds[count * 2 + 1] = i;
+            count++;
+            if (i > start) {
+                lastNonEmptyCount = count;
+            }
+            start = i + 1;
+        }
+
+        // String.split keeps a lone empty token for an empty line, but drops trailing empty tokens otherwise
+        this.tokenCount = length == 0 ? 1 : lastNonEmptyCount;
+        this.tokenBounds = bounds;
+    }
+
+    /**
+     * Returns the command line the tokens are taken from.
+     *
+     * @return command line
+     */
+    String getLine() {
+        return this.line;
+    }
+
+    /**
+     * Returns the number of tokens.
+     *
+     * @return number of tokens
+     */
+    int size() {
+        return this.tokenCount;
+    }
+
+    /**
+     * Returns a token.
+     *
+     * @param idx index of the token
+     * @return the token
+     * @throws IndexOutOfBoundsException if there is no such token
+     */
+    String get(int idx) {
+        if (idx < 0 || idx >= this.tokenCount) {
+            throw new IndexOutOfBoundsException(idx);
+        }
+        return this.line.substring(this.tokenBounds[idx * 2], this.tokenBounds[idx * 2 + 1]);
+    }
+
+    /**
+     * Returns the offset where a token starts.
+     *
+     * @param idx index of the token
+     * @return offset of the token's first character
+     * @throws IndexOutOfBoundsException if there is no such token
+     */
+    int startOf(int idx) {
+        if (idx < 0 || idx >= this.tokenCount) {
+            throw new IndexOutOfBoundsException(idx);
+        }
+        return this.tokenBounds[idx * 2];
+    }
+
+    /**
+     * Returns true if the marker appears in the line.
+     *
+     * @param marker marker to look for
+     * @return true if the marker appears
+     */
+    boolean has(Marker marker) {
+        return this.markerStarts[marker.ordinal()] >= 0;
+    }
+
+    /**
+     * Returns the offset of the first occurrence of a marker.
+     *
+     * @param marker marker to look for
+     * @return offset of the marker, or -1 if it does not appear
+     */
+    int startOf(Marker marker) {
+        return this.markerStarts[marker.ordinal()];
+    }
+
+    /**
+     * Returns the offset just past the first occurrence of a marker.
+     *
+     * @param marker marker to look for
+     * @return offset past the marker
+     * @throws StringIndexOutOfBoundsException if the marker does not appear
+     */
+    int endOf(Marker marker) {
+        int start = startOf(marker);
+        if (start < 0) {
+            throw new StringIndexOutOfBoundsException(marker.getText());
+        }
+        return start + marker.getText().length();
+    }
+
+    /**
+     * Returns the trimmed text between two offsets.
+     *
+     * @param from offset of the first character
+     * @param to   offset past the last character
+     * @return trimmed text between the offsets
+     * @throws StringIndexOutOfBoundsException if the offsets are out of order or out of range
+     */
+    String slice(int from, int to) {
+        return this.line.substring(from, to).trim();
+    }
+
+    /**
+     * Returns the trimmed text from an offset to the end of the line.
+     *
+     * @param from offset of the first character
+     * @return trimmed text from the offset
+     * @throws StringIndexOutOfBoundsException if the offset is out of range
+     */
+    String sliceToEnd(int from) {
+        return slice(from, this.line.length());
+    }
+
+    /**
+     * Records a marker starting at an offset, unless it appeared earlier.
+     *
+     * @param offset offset of a '/' in the line
+     */
+    private void recordMarker(int offset) {
+        for (Marker marker : MARKERS) {
+            if (this.markerStarts[marker.ordinal()] < 0 && this.line.startsWith(marker.getText(), offset)) {
+                this.markerStarts[marker.ordinal()] = offset;
+            }
+        }
+    }
+}
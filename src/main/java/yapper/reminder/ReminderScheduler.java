@@ -0,0 +1,294 @@
+package yapper.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import yapper.data.MutationListener;
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.Task;
+import yapper.util.DateTimeCodec;
+import yapper.util.TimingWheel;
+import yapper.util.TimingWheel.Timer;
+import yapper.util.VirtualThreads;
+
+/**
+ * Reminds the user of deadlines coming due and events about to start, from a single background thread.
+ *
+ * <p>Every deadline and event start still to come is a timer of a TimingWheel ticking once a second, so a
+ * reminder is registered, cancelled or moved in constant time however many there are, and the thread only
+ * wakes once a tick. A reminder fires a lead time before the deadline or start, or on the next tick if that is
+ * already past. Tasks marked done are not reminded of, and neither are those already due when registered.
+ */
+public class ReminderScheduler implements MutationListener {
+
+    // Default time a reminder fires before its deadline or start
+    public static final long DEFAULT_LEAD_MINUTES_LONG = 15;
+
+    // Length of a tick of the wheel
+    private static final long TICK_MILLIS_LONG = TimeUnit.SECONDS.toMillis(1);
+
+    // Thread name
+    private static final String THREAD_NAME_STRING = "yapper-reminders";
+
+    // Reminders
+    private static final String DEADLINE_REMINDER_FORMAT_STRING = "Reminder: %s is due at %s!";
+    private static final String EVENT_REMINDER_FORMAT_STRING = "Reminder: %s starts at %s!";
+
+    /**
+     * Clock telling the time, and the time zone of the dates of the tasks.
+     */
+    private final Clock clock;
+
+    /**
+     * Time a reminder fires before its deadline or start.
+     */
+    private final Duration lead;
+
+    /**
+     * Receiver of the reminders, called on the background thread.
+     */
+    private final Consumer<String> sink;
+
+    /**
+     * Timers of the reminders, by tick in seconds. Guards the timers and the stop flag, and wakes the background
+     * thread.
+     */
+    private final TimingWheel<Task> wheel;
+
+    /**
+     * Timer of every task with a reminder to come.
+     */
+    private final IdentityHashMap<Task, Timer<Task>> timers = new IdentityHashMap<>();
+
+    /**
+     * Background thread firing the reminders, or null if not started.
+     */
+    private Thread thread;
+
+    /**
+     * True once the background thread has been told to stop.
+     */
+    private boolean isStopped;
+
+    /**
+     * Constructs a ReminderScheduler instance.
+     *
+     * @param clock clock telling the time, and the time zone of the dates of the tasks
+     * @param lead  time a reminder fires before its deadline or start
+     * @param sink  receiver of the reminders, called on the background thread
+     */
+    public ReminderScheduler(Clock clock, Duration lead, Consumer<String> sink) {
+        this.clock = clock;
+        this.lead = lead;
+        this.sink = sink;
+        this.wheel = new TimingWheel<>(toTick(clock.millis()));
+    }
+
+    /**
+     * Registers the reminders of every task of a list, such as the tasks just loaded.
+     *
+     * @param tasks tasks to remind of
+     */
+    public void registerAll(List<Task> tasks) {
+        synchronized (this.wheel) {
+            for (Task task : tasks) {
+                register(task);
+            }
+        }
+    }
+
+    /**
+     * Start the background thread firing the reminders
+     */
+    public synchronized void start() {
+        if (this.thread == null) {
+            this.thread = VirtualThreads.start(THREAD_NAME_STRING, this::run);
+        }
+    }
+
+    /**
+     * Stop the background thread for good, waiting for the reminders being fired to be delivered.
+     */
+    public void stop() {
+        Thread stoppedThread;
+        synchronized (this) {
+            stoppedThread = this.thread;
+            this.thread = null;
+        }
+        synchronized (this.wheel) {
+            this.isStopped = true;
+            this.wheel.notifyAll();
+        }
+        if (stoppedThread == null) {
+            return;
+        }
+
+        boolean isInterrupted = false;
+        while (stoppedThread.isAlive()) {
+            try {
+                stoppedThread.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of reminders still to fire.
+     *
+     * @return number of reminders registered
+     */
+    public int size() {
+        synchronized (this.wheel) {
+            return this.wheel.size();
+        }
+    }
+
+    @Override
+    public void onTaskAdded(int idx, Task task) {
+        synchronized (this.wheel) {
+            register(task);
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(int idx, Task task) {
+        synchronized (this.wheel) {
+            cancel(task);
+        }
+    }
+
+    @Override
+    public void onTaskReplaced(int idx, Task oldTask, Task newTask) {
+        synchronized (this.wheel) {
+            cancel(oldTask);
+            register(newTask);
+        }
+    }
+
+    @Override
+    public void onTaskStatusChanged(int idx, Task task) {
+        synchronized (this.wheel) {
+            register(task); // cancels the reminder of a task marked done
+        }
+    }
+
+    /**
+     * Fire the reminders due by now, delivering them outside the lock
+     */
+    private void fireDue() {
+        ArrayList<Task> dueTasks = new ArrayList<>();
+        synchronized (this.wheel) {
+            this.wheel.advance(toTick(this.clock.millis()), dueTasks);
+            for (Task task : dueTasks) {
+                this.timers.remove(task);
+            }
+        }
+        for (Task task : dueTasks) {
+            this.sink.accept(toReminder(task));
+        }
+    }
+
+    /**
+     * Fire the reminders every tick, until stopped or interrupted
+     */
+    private void run() {
+        try {
+            while (true) {
+                fireDue();
+                synchronized (this.wheel) {
+                    if (this.isStopped) {
+                        return;
+                    }
+                    this.wheel.wait(TICK_MILLIS_LONG - Math.floorMod(this.clock.millis(), TICK_MILLIS_LONG));
+                    if (this.isStopped) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Register the reminder of a task in place of any it had, if it is not done and its deadline or start is
+     * still to come
+     *
+     * @param task task to remind of
+     */
+    private void register(Task task) {
+        cancel(task);
+        LocalDateTime dateTime = toDateTime(task);
+        if (dateTime == null || task.isDone()) {
+            return;
+        }
+
+        long dueMillis = dateTime.atZone(this.clock.getZone()).toInstant().toEpochMilli();
+        if (dueMillis <= this.clock.millis()) {
+            return;
+        }
+        this.timers.put(task, this.wheel.schedule(task, toTick(dueMillis - this.lead.toMillis())));
+    }
+
+    /**
+     * Cancel the reminder of a task, if it has one
+     *
+     * @param task task not to remind of
+     */
+    private void cancel(Task task) {
+        Timer<Task> timer = this.timers.remove(task);
+        if (timer != null) {
+            this.wheel.cancel(timer);
+        }
+    }
+
+    /**
+     * Returns the deadline or start of a task.
+     *
+     * @param task task to look at
+     * @return the deadline of a deadline, the start of an event, or null for any other task
+     */
+    private static LocalDateTime toDateTime(Task task) {
+        if (task instanceof DeadlineScheduleTask) {
+            return ((DeadlineScheduleTask) task).getByLocalDateTime();
+        }
+        if (task instanceof EventsScheduleTask) {
+            return ((EventsScheduleTask) task).getFromLocalDateTime();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the reminder of a task.
+     *
+     * @param task task to remind of
+     * @return the text of the reminder
+     */
+    private static String toReminder(Task task) {
+        String dateTime = DateTimeCodec.formatDisplay(toDateTime(task), new StringBuilder()).toString();
+        return String.format(task instanceof DeadlineScheduleTask
+                ? DEADLINE_REMINDER_FORMAT_STRING
+                : EVENT_REMINDER_FORMAT_STRING, task, dateTime);
+    }
+
+    /**
+     * Returns the tick of the wheel a time falls in.
+     *
+     * @param epochMillis time in milliseconds since the epoch
+     * @return the tick, in seconds since the epoch
+     */
+    private static long toTick(long epochMillis) {
+        return Math.floorDiv(epochMillis, TICK_MILLIS_LONG);
+    }
+}
@@ -0,0 +1,316 @@
+package yapper.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import yapper.data.MutationListener;
+import yapper.data.notes.Note;
+import yapper.data.task.Task;
+import yapper.util.VirtualThreads;
+
+/**
+ * Saves the tasks and notes in the background once they stop changing, so a burst of changes is written once.
+ *
+ * <p>A change only marks its list dirty. The dirty lists are saved after a quiet period with no change, or
+ * once the oldest unsaved change reaches the maximum delay, whichever comes first. The lists are copied while
+ * holding the mutation lock, which every command must hold while it runs, and are written on a background
+ * thread, never the thread that made the change. Only the lists that changed are written. It is meant for
+ * users without a journal: with one, every change is already durable once appended, and the journal is kept
+ * short by its SnapshotCompactor.
+ */
+public class AutosaveScheduler implements MutationListener {
+
+    // Default delays
+    public static final long DEFAULT_QUIET_MILLIS_LONG = TimeUnit.SECONDS.toMillis(2);
+    public static final long DEFAULT_MAX_DELAY_MILLIS_LONG = TimeUnit.SECONDS.toMillis(30);
+
+    // Thread name
+    private static final String THREAD_NAME_STRING = "yapper-autosave";
+
+    // Error messages
+    private static final String ERR_AUTOSAVE_FAILED_FORMAT_STRING = "Autosave failed: %s";
+
+    /**
+     * Lock every command holds while it runs.
+     */
+    private final Object mutationLock;
+
+    /**
+     * Manager to save the tasks with.
+     */
+    private final Persistable<Task> taskFileManager;
+
+    /**
+     * Manager to save the notes with.
+     */
+    private final NoteFileManager noteFileManager;
+
+    /**
+     * File to save the tasks to.
+     */
+    private final File taskFile;
+
+    /**
+     * File to save the notes to.
+     */
+    private final File noteFile;
+
+    /**
+     * Live list of tasks.
+     */
+    private final ArrayList<Task> taskList;
+
+    /**
+     * Live list of notes.
+     */
+    private final ArrayList<Note> noteList;
+
+    /**
+     * Time without changes, in milliseconds, after which the dirty lists are saved.
+     */
+    private final long quietMillis;
+
+    /**
+     * Longest time, in milliseconds, a change waits to be saved.
+     */
+    private final long maxDelayMillis;
+
+    /**
+     * Guards the dirty state and wakes the background thread.
+     */
+    private final Object dirtyLock = new Object();
+
+    /**
+     * True if the tasks changed since they were last saved.
+     */
+    private boolean isTaskListDirty;
+
+    /**
+     * True if the notes changed since they were last saved.
+     */
+    private boolean isNoteListDirty;
+
+    /**
+     * Time of the oldest unsaved change, in nanoseconds.
+     */
+    private long firstChangeNanos;
+
+    /**
+     * Time of the latest change, in nanoseconds.
+     */
+    private long lastChangeNanos;
+
+    /**
+     * Background thread saving the lists, or null if not started.
+     */
+    private Thread thread;
+
+    /**
+     * True once the background thread has been told to stop.
+     */
+    private boolean isStopped;
+
+    /**
+     * Constructs an AutosaveScheduler instance.
+     *
+     * @param mutationLock    lock every command holds while it runs
+     * @param taskFileManager manager to save the tasks with
+     * @param taskFile        file to save the tasks to
+     * @param taskList        live list of tasks
+     * @param noteFileManager manager to save the notes with
+     * @param noteFile        file to save the notes to
+     * @param noteList        live list of notes
+     * @param quietMillis     time without changes after which the dirty lists are saved
+     * @param maxDelayMillis  longest time a change waits to be saved
+     */
+    public AutosaveScheduler(Object mutationLock, Persistable<Task> taskFileManager, File taskFile,
+            ArrayList<Task> taskList, NoteFileManager noteFileManager, File noteFile, ArrayList<Note> noteList,
+            long quietMillis, long maxDelayMillis) {
+        this.mutationLock = mutationLock;
+        this.taskFileManager = taskFileManager;
+        this.taskFile = taskFile;
+        this.taskList = taskList;
+        this.noteFileManager = noteFileManager;
+        this.noteFile = noteFile;
+        this.noteList = noteList;
+        this.quietMillis = quietMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Start the background thread saving the lists
+     */
+    public synchronized void start() {
+        if (this.thread == null) {
+            this.thread = VirtualThreads.start(THREAD_NAME_STRING, this::run);
+        }
+    }
+
+    /**
+     * Stop the background thread for good, waiting for a save in progress to finish but abandoning unsaved
+     * changes. The thread is not interrupted, as an interrupt would close the file channel mid-write.
+     */
+    public void stop() {
+        Thread stoppedThread;
+        synchronized (this) {
+            stoppedThread = this.thread;
+            this.thread = null;
+        }
+        synchronized (this.dirtyLock) {
+            this.isStopped = true;
+            this.dirtyLock.notifyAll();
+        }
+        if (stoppedThread == null) {
+            return;
+        }
+
+        boolean isInterrupted = false;
+        while (stoppedThread.isAlive()) {
+            try {
+                stoppedThread.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns true if a list changed since it was last saved.
+     *
+     * @return true if a list has unsaved changes
+     */
+    public boolean isDirty() {
+        synchronized (this.dirtyLock) {
+            return this.isTaskListDirty || this.isNoteListDirty;
+        }
+    }
+
+    @Override
+    public void onTaskAdded(int idx, Task task) {
+        markDirty(true, false);
+    }
+
+    @Override
+    public void onTaskRemoved(int idx, Task task) {
+        markDirty(true, false);
+    }
+
+    @Override
+    public void onTaskReplaced(int idx, Task oldTask, Task newTask) {
+        markDirty(true, false);
+    }
+
+    @Override
+    public void onTaskStatusChanged(int idx, Task task) {
+        markDirty(true, false);
+    }
+
+    @Override
+    public void onNoteAdded(int idx, Note note) {
+        markDirty(false, true);
+    }
+
+    @Override
+    public void onNoteRemoved(int idx, Note note) {
+        markDirty(false, true);
+    }
+
+    /**
+     * Mark the lists dirty and restart the quiet period
+     *
+     * @param isTaskListChanged true if the tasks changed
+     * @param isNoteListChanged true if the notes changed
+     */
+    private void markDirty(boolean isTaskListChanged, boolean isNoteListChanged) {
+        synchronized (this.dirtyLock) {
+            long now = System.nanoTime();
+            if (!this.isTaskListDirty && !this.isNoteListDirty) {
+                this.firstChangeNanos = now;
+            }
+            this.lastChangeNanos = now;
+            this.isTaskListDirty |= isTaskListChanged;
+            this.isNoteListDirty |= isNoteListChanged;
+            this.dirtyLock.notifyAll();
+        }
+    }
+
+    /**
+     * Save the dirty lists whenever they are due, until stopped or interrupted
+     */
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!awaitDue()) {
+                    return;
+                }
+                saveDirtyLists();
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Wait until a list is dirty and either the quiet period or the maximum delay has passed
+     *
+     * @return false if the thread was stopped instead
+     * @throws InterruptedException if the thread is interrupted
+     */
+    private boolean awaitDue() throws InterruptedException {
+        synchronized (this.dirtyLock) {
+            while (true) {
+                if (this.isStopped) {
+                    return false;
+                }
+                if (!this.isTaskListDirty && !this.isNoteListDirty) {
+                    this.dirtyLock.wait();
+                    continue;
+                }
+                long dueNanos = Math.min(this.lastChangeNanos + TimeUnit.MILLISECONDS.toNanos(this.quietMillis),
+                        this.firstChangeNanos + TimeUnit.MILLISECONDS.toNanos(this.maxDelayMillis));
+                long waitNanos = dueNanos - System.nanoTime();
+                if (waitNanos <= 0) {
+                    return true;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this.dirtyLock, waitNanos);
+            }
+        }
+    }
+
+    /**
+     * Copy the dirty lists under the mutation lock and save them
+     */
+    private void saveDirtyLists() {
+        ArrayList<Task> taskSnapshot = null;
+        ArrayList<Note> noteSnapshot = null;
+        synchronized (this.mutationLock) {
+            synchronized (this.dirtyLock) {
+                if (this.isTaskListDirty) {
+                    taskSnapshot = new ArrayList<>(this.taskList);
+                }
+                if (this.isNoteListDirty) {
+                    noteSnapshot = new ArrayList<>(this.noteList);
+                }
+                this.isTaskListDirty = false;
+                this.isNoteListDirty = false;
+            }
+        }
+
+        try {
+            if (taskSnapshot != null) {
+                this.taskFileManager.saveBulk(this.taskFile, taskSnapshot);
+            }
+            if (noteSnapshot != null) {
+                this.noteFileManager.saveBulk(this.noteFile, noteSnapshot);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println(String.format(ERR_AUTOSAVE_FAILED_FORMAT_STRING, e.getLocalizedMessage()));
+            markDirty(taskSnapshot != null, noteSnapshot != null);
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package yapper.storage;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Manages the loading and saving of tasks to a compact binary file.
+ *
+ * <p>The file starts with the magic bytes {@code YAPT} and a version byte. Each task is then stored as
+ * a type tag byte, a flags byte, its dates as minutes since the epoch, and its description as UTF-8
+ * prefixed with its length. Dates are stored as ints unless one falls outside their range, in which case
+ * the {@code FLAG_LONG_DATES} flag is set and they are stored as longs.
+ */
+public class BinaryTaskFileManager extends FileManager implements Persistable<Task> {
+
+    // File extension of binary task files
+    public static final String BINARY_FILE_EXTENSION_STRING = ".bin";
+
+    // Header
+    private static final byte[] MAGIC_BYTES = { 'Y', 'A', 'P', 'T' };
+    private static final byte VERSION_BYTE = 1;
+
+    // Type tags
+    private static final byte TAG_TODOS_BYTE = 1;
+    private static final byte TAG_DEADLINE_BYTE = 2;
+    private static final byte TAG_EVENTS_BYTE = 3;
+
+    // Flags
+    private static final int FLAG_DONE_INT = 1;
+    private static final int FLAG_LONG_DATES_INT = 1 << 1;
+
+    // Encoding
+    private static final int SECONDS_PER_MINUTE_INT = 60;
+    private static final int VARINT_PAYLOAD_BITS_INT = 7;
+    private static final int VARINT_PAYLOAD_MASK_INT = 0x7F;
+    private static final int VARINT_CONTINUE_BIT_INT = 0x80;
+    private static final int MAX_ROW_HEADER_SIZE_INT = 2 + 2 * Long.BYTES + 5;
+    private static final int READ_BUFFER_SIZE_INT = 64 * 1024;
+
+    // Error messages
+    private static final String ERR_NOT_A_TASK_FILE_FORMAT_STRING = "%s is not a binary task file.";
+    private static final String ERR_UNSUPPORTED_VERSION_FORMAT_STRING = "%s has unsupported version %d.";
+    private static final String ERR_UNKNOWN_TAG_FORMAT_STRING = "%s has unknown task type %d.";
+
+    /**
+     * Constructs a BinaryTaskFileManager instance.
+     */
+    public BinaryTaskFileManager() {
+
+    }
+
+    /**
+     * Returns true if a task file name refers to a binary task file.
+     *
+     * @param taskFileName name of the task file
+     * @return true if the file is a binary task file
+     */
+    public static boolean isBinaryTaskFile(String taskFileName) {
+        return taskFileName.endsWith(BINARY_FILE_EXTENSION_STRING);
+    }
+
+    /**
+     * Open file with specified taskFileName, creating it with just a header if it does not exist
+     *
+     * @param taskFileName name of binary task file to open
+     * @return File object of the opened file
+     */
+    @Override
+    public File open(String taskFileName) {
+        File file = new File(taskFileName);
+        try {
+            file.createNewFile(); // create a new file if relative pathname DNE
+            if (file.length() == 0) {
+                try (FileOutputStream out = new FileOutputStream(file, true)) {
+                    out.write(MAGIC_BYTES);
+                    out.write(VERSION_BYTE);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println(ERR_FILE_ERROR_OCCURRED);
+            System.out.println(e.getLocalizedMessage());
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Load contents from file to taskList
+     *
+     * @param file file to load contents from
+     * @return ArrayList of tasks loaded from file
+     * @throws FileNotFoundException if file is not found
+     * @throws UncheckedIOException  if file is not a valid binary task file
+     */
+    @Override
+    public ArrayList<Task> load(File file) throws FileNotFoundException {
+        try (FileInputStream in = new FileInputStream(file)) {
+            return new Reader(in.getChannel(), file).readAll();
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stream tasks from file lazily, reading through a fixed-size buffer
+     *
+     * @param file file to stream tasks from
+     * @return ordered Stream of tasks in file, backed by the open file
+     * @throws IOException if file cannot be opened or is not a valid binary task file
+     */
+    @Override
+    public Stream<Task> stream(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            Reader reader = new Reader(channel, file);
+            reader.readHeader();
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader.iterator(),
+                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        try {
+                            channel.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Save taskList to file
+     *
+     * @param file     file to save taskList to
+     * @param taskList list of tasks to save
+     * @return true if save is successful
+     */
+    @Override
+    public boolean save(File file, ArrayList<Task> taskList) {
+        try {
+            saveBulk(file, taskList);
+        } catch (IOException e) {
+            System.out.println(e.getLocalizedMessage());
+            return false;
+
+        }
+
+        return true;
+    }
+
+    /**
+     * Save taskList to file in a single buffered pass
+     *
+     * @param file         file to save taskList to
+     * @param taskList     list of tasks to save
+     * @param beforeCommit called with the statistics of the written file just before it replaces file
+     * @return statistics of the tasks and bytes written
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public SaveStats saveBulk(File file, ArrayList<Task> taskList, Consumer<SaveStats> beforeCommit)
+            throws IOException {
+        return writeAtomically(file, out -> {
+            out.write(MAGIC_BYTES, 0, MAGIC_BYTES.length);
+            out.write(new byte[] { VERSION_BYTE }, 0, 1);
+
+            ByteBuffer row = ByteBuffer.allocate(READ_BUFFER_SIZE_INT);
+            long rowCount = 0;
+            for (Task t : taskList) {
+                byte[] description = t.getDescription().getBytes(StandardCharsets.UTF_8);
+                if (row.capacity() < MAX_ROW_HEADER_SIZE_INT + description.length) {
+                    row = ByteBuffer.allocate(MAX_ROW_HEADER_SIZE_INT + description.length);
+                }
+
+                row.clear();
+                if (!encodeRow(t, description, row)) {
+                    System.out.println(String.format(ERR_TASK_NOT_ADDED_STRING, t, file.getName()));
+                    continue;
+                }
+                out.write(row.array(), 0, row.position());
+                rowCount++;
+            }
+            return rowCount;
+        }, beforeCommit);
+    }
+
+    /**
+     * Encode a task as a binary row
+     *
+     * @param t           task to encode
+     * @param description UTF-8 bytes of the description of the task
+     * @param row         buffer to encode the row into
+     * @return true if the task was encoded, false if the task type is unknown
+     */
+    private static boolean encodeRow(Task t, byte[] description, ByteBuffer row) {
+        LocalDateTime[] dates;
+        byte tag;
+        if (t instanceof ToDosTask) {
+            tag = TAG_TODOS_BYTE;
+            dates = new LocalDateTime[0];
+
+        } else if (t instanceof DeadlineScheduleTask) {
+            tag = TAG_DEADLINE_BYTE;
+            dates = new LocalDateTime[] { ((DeadlineScheduleTask) t).getByLocalDateTime() };
+
+        } else if (t instanceof EventsScheduleTask) {
+            EventsScheduleTask ev = (EventsScheduleTask) t;
+            tag = TAG_EVENTS_BYTE;
+            dates = new LocalDateTime[] { ev.getFromLocalDateTime(), ev.getToLocalDateTime() };
+
+        } else {
+            return false;
+
+        }
+
+        int flags = t.getStatusIcon().equals(IS_DONE_SYMBOL) ? FLAG_DONE_INT : 0;
+        long[] epochMinutes = new long[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            epochMinutes[i] = dates[i].toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_MINUTE_INT;
+            if (epochMinutes[i] != (int) epochMinutes[i]) {
+                flags |= FLAG_LONG_DATES_INT;
+            }
+        }
+
+        row.put(tag);
+        row.put((byte) flags);
+        for (long epochMinute : epochMinutes) {
+            if ((flags & FLAG_LONG_DATES_INT) != 0) {
+                row.putLong(epochMinute);
+            } else {
+                row.putInt((int) epochMinute);
+            }
+        }
+        putVarint(row, description.length);
+        row.put(description);
+        return true;
+    }
+
+    /**
+     * Encode a non-negative int in as few bytes as possible, seven bits at a time
+     *
+     * @param row   buffer to encode into
+     * @param value value to encode
+     */
+    private static void putVarint(ByteBuffer row, int value) {
+        while ((value & ~VARINT_PAYLOAD_MASK_INT) != 0) {
+            row.put((byte) ((value & VARINT_PAYLOAD_MASK_INT) | VARINT_CONTINUE_BIT_INT));
+            value >>>= VARINT_PAYLOAD_BITS_INT;
+        }
+        row.put((byte) value);
+    }
+
+    /**
+     * Reads the tasks of a binary task file through a reusable buffer.
+     */
+    private static class Reader {
+
+        private final FileChannel channel;
+        private final File file;
+        private ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE_INT);
+
+        Reader(FileChannel channel, File file) {
+            this.channel = channel;
+            this.file = file;
+            this.buffer.flip(); // start empty
+        }
+
+        /**
+         * Read the header and every task of the file
+         *
+         * @return tasks in the file, in order
+         * @throws IOException if the file cannot be read or is not a valid binary task file
+         */
+        ArrayList<Task> readAll() throws IOException {
+            readHeader();
+            ArrayList<Task> taskList = new ArrayList<>();
+            while (fill(1)) {
+                taskList.add(readRow());
+            }
+            return taskList;
+        }
+
+        /**
+         * Returns an iterator reading the remaining tasks of the file one at a time.
+         *
+         * @return iterator over the remaining tasks, throwing UncheckedIOException if the file cannot be read
+         */
+        Iterator<Task> iterator() {
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return fill(1);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    try {
+                        return readRow();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        /**
+         * Read and check the header of the file
+         *
+         * @throws IOException if the file cannot be read or is not a valid binary task file
+         */
+        void readHeader() throws IOException {
+            if (!fill(MAGIC_BYTES.length + 1)) {
+                throw new IOException(String.format(ERR_NOT_A_TASK_FILE_FORMAT_STRING, this.file.getName()));
+            }
+            for (byte magicByte : MAGIC_BYTES) {
+                if (this.buffer.get() != magicByte) {
+                    throw new IOException(String.format(ERR_NOT_A_TASK_FILE_FORMAT_STRING, this.file.getName()));
+                }
+            }
+            byte version = this.buffer.get();
+            if (version != VERSION_BYTE) {
+                throw new IOException(String.format(ERR_UNSUPPORTED_VERSION_FORMAT_STRING,
+                        this.file.getName(), version));
+            }
+        }
+
+        /**
+         * Read one task
+         *
+         * @return task read
+         * @throws IOException if the file ends mid-task or holds an unknown task type
+         */
+        private Task readRow() throws IOException {
+            require(2);
+            byte tag = this.buffer.get();
+            int flags = this.buffer.get();
+            int dateSize = (flags & FLAG_LONG_DATES_INT) != 0 ? Long.BYTES : Integer.BYTES;
+
+            Task t;
+            switch (tag) {
+
+            case TAG_TODOS_BYTE:
+                t = new ToDosTask(readDescription());
+                break;
+
+            case TAG_DEADLINE_BYTE:
+                require(dateSize);
+                LocalDateTime by = readDate(dateSize);
+                t = new DeadlineScheduleTask(readDescription(), by);
+                break;
+
+            case TAG_EVENTS_BYTE:
+                require(2 * dateSize);
+                LocalDateTime from = readDate(dateSize);
+                LocalDateTime to = readDate(dateSize);
+                t = new EventsScheduleTask(readDescription(), from, to);
+                break;
+
+            default:
+                throw new IOException(String.format(ERR_UNKNOWN_TAG_FORMAT_STRING, this.file.getName(), tag));
+
+            }
+
+            if ((flags & FLAG_DONE_INT) != 0) {
+                t.markAsDone();
+            }
+            return t;
+        }
+
+        /**
+         * Read a date stored as minutes since the epoch
+         *
+         * @param dateSize number of bytes the date is stored in
+         * @return date read
+         */
+        private LocalDateTime readDate(int dateSize) {
+            long epochMinute = dateSize == Long.BYTES ? this.buffer.getLong() : this.buffer.getInt();
+            return LocalDateTime.ofEpochSecond(epochMinute * SECONDS_PER_MINUTE_INT, 0, ZoneOffset.UTC);
+        }
+
+        /**
+         * Read a length-prefixed UTF-8 description
+         *
+         * @return description read
+         * @throws IOException if the file ends mid-description
+         */
+        private String readDescription() throws IOException {
+            int length = 0;
+            for (int shift = 0; ; shift += VARINT_PAYLOAD_BITS_INT) {
+                require(1);
+                int b = this.buffer.get();
+                length |= (b & VARINT_PAYLOAD_MASK_INT) << shift;
+                if ((b & VARINT_CONTINUE_BIT_INT) == 0) {
+                    break;
+                }
+            }
+
+            require(length);
+            String description = new String(this.buffer.array(), this.buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            this.buffer.position(this.buffer.position() + length);
+            return description;
+        }
+
+        /**
+         * Make sure the buffer holds at least a number of bytes, failing if the file ends first
+         *
+         * @param byteCount number of bytes needed
+         * @throws IOException if the file ends first
+         */
+        private void require(int byteCount) throws IOException {
+            if (!fill(byteCount)) {
+                throw new EOFException(String.format(ERR_NOT_A_TASK_FILE_FORMAT_STRING, this.file.getName()));
+            }
+        }
+
+        /**
+         * Read from the file until the buffer holds at least a number of bytes
+         *
+         * @param byteCount number of bytes needed
+         * @return false if the file ends first
+         * @throws IOException if the file cannot be read
+         */
+        private boolean fill(int byteCount) throws IOException {
+            if (this.buffer.remaining() >= byteCount) {
+                return true;
+            }
+            if (this.buffer.capacity() < byteCount) {
+                ByteBuffer larger = ByteBuffer.allocate(byteCount);
+                larger.put(this.buffer);
+                this.buffer = larger;
+            } else {
+                this.buffer.compact();
+            }
+
+            while (this.buffer.position() < byteCount) {
+                if (this.channel.read(this.buffer) < 0) {
+                    this.buffer.flip();
+                    return false;
+                }
+            }
+            this.buffer.flip();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package yapper.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Loads tasks from a task file read a window at a time into one reused buffer, splitting rows into fields by
+ * scanning bytes in place and decoding dates by hand, so the only objects created per row are the task, its
+ * description and its dates.
+ *
+ * <p>Rows are read exactly as {@link TaskFileManager#parseCsvRow} reads them, including how out-of-range days
+ * and {@code 2400} are resolved.
+ *
+ * <p>Large files are split into line-aligned byte ranges that are parsed in parallel on a fork-join pool,
+ * then merged in file order so every task keeps the index it has in the file.
+ *
+ * <p>The file is read rather than memory-mapped: a mapping outlives the load until it is garbage collected,
+ * and on Windows a file still mapped cannot be replaced by the next save.
+ */
+final class BufferedTaskLoader {
+
+    // Size of the region of the file read at a time; rows may not be longer than this
+    private static final int READ_WINDOW_SIZE_INT = 1024 * 1024;
+
+    // Parallel loading
+    private static final long PARALLEL_THRESHOLD_LONG = 8L * 1024 * 1024;
+    private static final long MIN_CHUNK_SIZE_LONG = 1024L * 1024;
+    private static final int CHUNKS_PER_THREAD_INT = 4;
+    private static final int BOUNDARY_PROBE_SIZE_INT = 4 * 1024;
+
+    // Row layout
+    private static final byte FIELD_SEPARATOR_BYTE = ',';
+    private static final byte NEWLINE_BYTE = '\n';
+    private static final byte CARRIAGE_RETURN_BYTE = '\r';
+    private static final byte IS_DONE_BYTE = 'X';
+    private static final int FIELD_COUNT_INT = 5;
+    private static final int TYPE_FIELD_INT = 0;
+    private static final int DESCRIPTION_FIELD_INT = 1;
+    private static final int IS_DONE_FIELD_INT = 2;
+    private static final int FROM_FIELD_INT = 3;
+    private static final int TO_FIELD_INT = 4;
+
+    // Task types
+    private static final byte[] TODOS_BYTES = FileManager.TODOS_COMMAND_STRING.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DEADLINE_BYTES = FileManager.DEADLINE_COMMAND_STRING.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENTS_BYTES = FileManager.EVENTS_COMMAND_STRING.getBytes(StandardCharsets.UTF_8);
+
+    // dd-MM-yyyy HHmm layout
+    private static final int DATE_TIME_LENGTH_INT = 15;
+    private static final int DAY_OFFSET_INT = 0;
+    private static final int MONTH_OFFSET_INT = 3;
+    private static final int YEAR_OFFSET_INT = 6;
+    private static final int HOUR_OFFSET_INT = 11;
+    private static final int MINUTE_OFFSET_INT = 13;
+    private static final int LAST_MONTH_END_CLAMPED_DAY_INT = 28;
+    private static final int MIDNIGHT_END_HOUR_INT = 24;
+
+    // Error messages
+    private static final String ERR_ROW_TOO_LONG_FORMAT_STRING = "Row at byte %d of %s is too long to load.";
+    private static final String ERR_DATE_TIME_FORMAT_STRING = "Text '%s' could not be parsed at index %d";
+
+    /**
+     * Region of the file being read.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Start of each field of the current row, relative to the buffer.
+     */
+    private final int[] fieldStarts = new int[FIELD_COUNT_INT];
+
+    /**
+     * End of each field of the current row, relative to the buffer.
+     */
+    private final int[] fieldEnds = new int[FIELD_COUNT_INT];
+
+    /**
+     * Scratch space to decode descriptions from.
+     */
+    private byte[] scratch = new byte[256];
+
+    private BufferedTaskLoader() {
+
+    }
+
+    /**
+     * Load every task in a task file, in parallel on the common fork-join pool if the file is large
+     *
+     * @param file task file to load, starting with a header row
+     * @return tasks in the file, in order
+     * @throws IOException if the file cannot be read
+     */
+    static ArrayList<Task> load(File file) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (pool.getParallelism() > 1 && file.length() >= PARALLEL_THRESHOLD_LONG) {
+            return loadParallel(file, pool);
+        }
+        return loadSequential(file);
+    }
+
+    /**
+     * Load every task in a task file on the calling thread
+     *
+     * @param file task file to load, starting with a header row
+     * @return tasks in the file, in order
+     * @throws IOException if the file cannot be read
+     */
+    static ArrayList<Task> loadSequential(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ArrayList<Task> taskList = new ArrayList<>();
+            new BufferedTaskLoader().loadRange(channel, file, 0, channel.size(), true, taskList);
+            return taskList;
+        }
+    }
+
+    /**
+     * Load every task in a task file by parsing line-aligned ranges of it on a fork-join pool
+     *
+     * @param file task file to load, starting with a header row
+     * @param pool pool to parse the ranges on
+     * @return tasks in the file, in order
+     * @throws IOException if the file cannot be read
+     */
+    static ArrayList<Task> loadParallel(File file, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = findRowStart(channel, 0);
+            long chunkSize = Math.max(MIN_CHUNK_SIZE_LONG,
+                    (size - dataStart) / ((long) pool.getParallelism() * CHUNKS_PER_THREAD_INT) + 1);
+
+            List<RangeLoadTask> rangeTasks = new ArrayList<>();
+            long rangeStart = dataStart;
+            while (rangeStart < size) {
+                long rangeEnd = findRowStart(channel, Math.min(size, rangeStart + chunkSize));
+                rangeTasks.add(new RangeLoadTask(channel, file, rangeStart, rangeEnd));
+                rangeStart = rangeEnd;
+            }
+
+            try {
+                pool.invoke(new RecursiveTask<Void>() {
+                    @Override
+                    protected Void compute() {
+                        ForkJoinTask.invokeAll(rangeTasks);
+                        return null;
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            int taskCount = 0;
+            for (RangeLoadTask rangeTask : rangeTasks) {
+                taskCount += rangeTask.getRawResult().size();
+            }
+            ArrayList<Task> taskList = new ArrayList<>(taskCount);
+            for (RangeLoadTask rangeTask : rangeTasks) {
+                taskList.addAll(rangeTask.getRawResult());
+            }
+            return taskList;
+        }
+    }
+
+    /**
+     * Find the start of the first row at or after an offset, that is, just past the next newline
+     *
+     * @param channel channel of the file
+     * @param offset  offset to search from
+     * @return offset of the start of the row, or the size of the file if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private static long findRowStart(FileChannel channel, long offset) throws IOException {
+        long size = channel.size();
+        if (offset > 0 && offset < size) {
+            offset--; // a row starting exactly at offset is preceded by a newline at offset - 1
+        }
+
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_SIZE_INT);
+        while (offset < size) {
+            probe.clear();
+            int readCount = channel.read(probe, offset);
+            for (int i = 0; i < readCount; i++) {
+                if (probe.get(i) == NEWLINE_BYTE) {
+                    return offset + i + 1;
+                }
+            }
+            offset += Math.max(readCount, 0);
+        }
+        return size;
+    }
+
+    /**
+     * Read a range of the file a window at a time into a reused buffer and parse every row in it
+     *
+     * @param channel     channel of the file
+     * @param file        file being loaded
+     * @param rangeStart  offset of the first row of the range
+     * @param rangeEnd    offset just past the last row of the range
+     * @param isHeader    true if the first row of the range is the header row
+     * @param taskList    list to add the tasks to, in order
+     * @throws IOException if the file cannot be read
+     */
+    private void loadRange(FileChannel channel, File file, long rangeStart, long rangeEnd, boolean isHeader,
+            ArrayList<Task> taskList) throws IOException {
+        this.buffer = ByteBuffer.allocate((int) Math.min(READ_WINDOW_SIZE_INT, rangeEnd - rangeStart));
+        long windowStart = rangeStart;
+
+        while (windowStart < rangeEnd) {
+            int windowLength = (int) Math.min(this.buffer.capacity(), rangeEnd - windowStart);
+            readWindow(channel, windowStart, windowLength);
+            int limit = this.buffer.limit();
+            boolean isLastWindow = limit < windowLength || windowStart + limit == rangeEnd;
+
+            int rowStart = 0;
+            for (int i = 0; i < limit; i++) {
+                if (this.buffer.get(i) == NEWLINE_BYTE) {
+                    if (!isHeader) {
+                        addRow(taskList, rowStart, i);
+                    }
+                    isHeader = false;
+                    rowStart = i + 1;
+                }
+            }
+
+            if (isLastWindow) {
+                if (rowStart < limit && !isHeader) {
+                    addRow(taskList, rowStart, limit);
+                }
+                break;
+            }
+            if (rowStart == 0) {
+                throw new IOException(String.format(ERR_ROW_TOO_LONG_FORMAT_STRING, windowStart, file.getName()));
+            }
+            windowStart += rowStart; // read again from the start of the incomplete row
+        }
+
+        this.buffer = null;
+    }
+
+    /**
+     * Fill the buffer with a window of the file, stopping early at the end of the file
+     *
+     * @param channel      channel of the file
+     * @param windowStart  offset of the first byte of the window
+     * @param windowLength number of bytes to read
+     * @throws IOException if the file cannot be read
+     */
+    private void readWindow(FileChannel channel, long windowStart, int windowLength) throws IOException {
+        this.buffer.clear().limit(windowLength);
+        while (this.buffer.hasRemaining()) {
+            if (channel.read(this.buffer, windowStart + this.buffer.position()) < 0) {
+                break;
+            }
+        }
+        this.buffer.flip();
+    }
+
+    /**
+     * Parse the row between two offsets of the buffer and add its task to the list
+     *
+     * @param taskList list to add the task to
+     * @param start    offset of the first byte of the row
+     * @param end      offset just past the last byte of the row
+     */
+    private void addRow(ArrayList<Task> taskList, int start, int end) {
+        if (end > start && this.buffer.get(end - 1) == CARRIAGE_RETURN_BYTE) {
+            end--;
+        }
+        if (end == start) {
+            return; // blank row
+        }
+
+        Task t = parseRow(start, end);
+        if (t != null) {
+            taskList.add(t);
+        }
+    }
+
+    /**
+     * Parse a row into a task
+     *
+     * @param start offset of the first byte of the row
+     * @param end   offset just past the last byte of the row
+     * @return task described by the row, or null if the task type is unknown
+     */
+    private Task parseRow(int start, int end) {
+        splitFields(start, end);
+
+        Task t;
+        if (fieldEquals(TYPE_FIELD_INT, TODOS_BYTES)) {
+            t = new ToDosTask(decodeField(DESCRIPTION_FIELD_INT));
+
+        } else if (fieldEquals(TYPE_FIELD_INT, DEADLINE_BYTES)) {
+            t = new DeadlineScheduleTask(decodeField(DESCRIPTION_FIELD_INT), parseDateTime(TO_FIELD_INT));
+
+        } else if (fieldEquals(TYPE_FIELD_INT, EVENTS_BYTES)) {
+            t = new EventsScheduleTask(decodeField(DESCRIPTION_FIELD_INT),
+                    parseDateTime(FROM_FIELD_INT), parseDateTime(TO_FIELD_INT));
+
+        } else {
+            assert false : FileManager.ASSERT_UNKNOWN_EVENT_TYPE + decodeField(TYPE_FIELD_INT);
+            return null;
+
+        }
+
+        if (this.fieldEnds[IS_DONE_FIELD_INT] - this.fieldStarts[IS_DONE_FIELD_INT] == 1
+                && this.buffer.get(this.fieldStarts[IS_DONE_FIELD_INT]) == IS_DONE_BYTE) {
+            t.markAsDone();
+        }
+
+        return t;
+    }
+
+    /**
+     * Record where each of the first fields of a row starts and ends; missing fields are empty
+     *
+     * @param start offset of the first byte of the row
+     * @param end   offset just past the last byte of the row
+     */
+    private void splitFields(int start, int end) {
+        int field = 0;
+        this.fieldStarts[0] = start;
+        for (int i = start; i < end && field < FIELD_COUNT_INT - 1; i++) {
+            if (this.buffer.get(i) == FIELD_SEPARATOR_BYTE) {
+                this.fieldEnds[field] = i;
+                field++;
+                this.fieldStarts[field] = i + 1;
+            }
+        }
+
+        // like String.split, the last field read ends at the next separator, if any
+        int lastEnd = end;
+        for (int i = this.fieldStarts[field]; i < end; i++) {
+            if (this.buffer.get(i) == FIELD_SEPARATOR_BYTE) {
+                lastEnd = i;
+                break;
+            }
+        }
+        this.fieldEnds[field] = lastEnd;
+
+        for (field++; field < FIELD_COUNT_INT; field++) {
+            this.fieldStarts[field] = end;
+            this.fieldEnds[field] = end;
+        }
+    }
+
+    /**
+     * Returns true if a field holds exactly the given bytes.
+     *
+     * @param field index of the field
+     * @param bytes bytes to compare with
+     * @return true if the field equals the bytes
+     */
+    private boolean fieldEquals(int field, byte[] bytes) {
+        int start = this.fieldStarts[field];
+        if (this.fieldEnds[field] - start != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (this.buffer.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode a field as UTF-8 text
+     *
+     * @param field index of the field
+     * @return text of the field
+     */
+    private String decodeField(int field) {
+        int start = this.fieldStarts[field];
+        int length = this.fieldEnds[field] - start;
+        if (length > this.scratch.length) {
+            this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+        }
+        this.buffer.get(start, this.scratch, 0, length);
+        return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse a dd-MM-yyyy HHmm field, resolving it the way DateTimeFormatter does by default
+     *
+     * @param field index of the field
+     * @return date and time in the field
+     * @throws DateTimeException if the field is not a valid date and time
+     */
+    private LocalDateTime parseDateTime(int field) {
+        int start = this.fieldStarts[field];
+        if (this.fieldEnds[field] - start != DATE_TIME_LENGTH_INT
+                || this.buffer.get(start + MONTH_OFFSET_INT - 1) != '-'
+                || this.buffer.get(start + YEAR_OFFSET_INT - 1) != '-'
+                || this.buffer.get(start + HOUR_OFFSET_INT - 1) != ' ') {
+            throw dateTimeParseException(field, 0);
+        }
+
+        int day = parseDigits(field, DAY_OFFSET_INT, 2);
+        int month = parseDigits(field, MONTH_OFFSET_INT, 2);
+        int year = parseDigits(field, YEAR_OFFSET_INT, 4);
+        int hour = parseDigits(field, HOUR_OFFSET_INT, 2);
+        int minute = parseDigits(field, MINUTE_OFFSET_INT, 2);
+
+        if (year == 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            throw dateTimeParseException(field, 0);
+        }
+        if (day > LAST_MONTH_END_CLAMPED_DAY_INT) {
+            day = Math.min(day, YearMonth.of(year, month).lengthOfMonth());
+        }
+        if (hour == MIDNIGHT_END_HOUR_INT && minute == 0) {
+            return LocalDateTime.of(year, month, day, 0, 0).plusDays(1);
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute);
+        } catch (DateTimeException e) {
+            throw dateTimeParseException(field, HOUR_OFFSET_INT);
+        }
+    }
+
+    /**
+     * Parse a run of decimal digits within a field
+     *
+     * @param field  index of the field
+     * @param offset offset of the first digit within the field
+     * @param length number of digits
+     * @return value of the digits
+     * @throws DateTimeParseException if a byte is not a digit
+     */
+    private int parseDigits(int field, int offset, int length) {
+        int start = this.fieldStarts[field] + offset;
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = this.buffer.get(start + i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw dateTimeParseException(field, offset + i);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Builds the exception thrown for a field that is not a valid date and time.
+     *
+     * @param field      index of the field
+     * @param errorIndex index within the field at which parsing failed
+     * @return exception to throw
+     */
+    private DateTimeParseException dateTimeParseException(int field, int errorIndex) {
+        String text = decodeField(field);
+        return new DateTimeParseException(String.format(ERR_DATE_TIME_FORMAT_STRING, text, errorIndex),
+                text, errorIndex);
+    }
+
+    /**
+     * Parses one line-aligned range of a task file with its own BufferedTaskLoader.
+     */
+    private static class RangeLoadTask extends RecursiveTask<ArrayList<Task>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final File file;
+        private final long rangeStart;
+        private final long rangeEnd;
+
+        RangeLoadTask(FileChannel channel, File file, long rangeStart, long rangeEnd) {
+            this.channel = channel;
+            this.file = file;
+            this.rangeStart = rangeStart;
+            this.rangeEnd = rangeEnd;
+        }
+
+        @Override
+        protected ArrayList<Task> compute() {
+            ArrayList<Task> taskList = new ArrayList<>();
+            try {
+                new BufferedTaskLoader().loadRange(this.channel, this.file, this.rangeStart, this.rangeEnd, false,
+                        taskList);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return taskList;
+        }
+    }
+}
@@ -3,6 +3,18 @@ package yapper.storage;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
 
 /**
  * Represents a file manager to handle file operations.
@@ -28,26 +40,15 @@ public abstract class FileManager {
     protected static final String WRITE_TASK_FORMAT_STRING = "%s,%s,%s,%s,%s";
     protected static final String WRITE_NOTE_FORMAT_STRING = "%s,%s";
 
-    // Date time format string
-    protected static final String DATE_TIME_FORMAT_STRING = "dd-MM-yyyy HHmm";
-
     // CSV headers
     protected static final String TASK_CSV_FILE_HEADERS_STRING = "Type,Description,isDone,From,To";
     protected static final String NOTE_CSV_FILE_HEADERS_STRING = "Title,Content";
 
-    /**
-     * Append text to file
-     *
-     * @param filePath     path of file to append text to
-     * @param textToAppend text to append to file
-     * @param append       true to append, false to overwrite
-     * @throws IOException
-     */
-    protected static void appendToFile(String filePath, String textToAppend, boolean append) throws IOException {
-        FileWriter fw = new FileWriter(filePath, append);
-        fw.write(textToAppend + "\n");
-        fw.close();
-    }
+    // Bulk save
+    protected static final String TEMP_FILE_SUFFIX_STRING = ".tmp";
+    protected static final int WRITE_BUFFER_SIZE_INT = 64 * 1024;
+
+    private static final byte NEWLINE_BYTE = '\n';
 
     /**
      * Write CSV headers to file if file is empty
@@ -64,4 +65,181 @@ public abstract class FileManager {
             }
         }
     }
+
+    /**
+     * Writes the CSV headers and every row of a list to file through a single buffered channel.
+     * The rows are written to a temporary file next to {@code file}, which then atomically
+     * replaces {@code file}, so a crash mid-save never leaves a half-written file behind.
+     *
+     * @param <T>                 type of object to save
+     * @param file                file to save the rows to
+     * @param csvFileHeaderString CSV headers to write as the first row
+     * @param list                list of objects to save
+     * @param rowFormatter        formats an object as a CSV row, or returns null to skip it
+     * @param beforeCommit        called with the statistics once the temporary file is durable,
+     *                            just before it replaces {@code file}
+     * @return statistics of the rows and bytes written
+     * @throws IOException if the file cannot be written
+     */
+    protected static <T> SaveStats writeAllToFile(File file, String csvFileHeaderString, List<T> list,
+            Function<T, String> rowFormatter, Consumer<SaveStats> beforeCommit) throws IOException {
+        return writeAtomically(file, out -> {
+            long rowCount = 0;
+            out.writeLine(csvFileHeaderString);
+            for (T t : list) {
+                String row = rowFormatter.apply(t);
+                if (row == null) {
+                    continue;
+                }
+                out.writeLine(row);
+                rowCount++;
+            }
+            return rowCount;
+        }, beforeCommit);
+    }
+
+    /**
+     * Writes a file through a single buffered channel to a temporary file next to {@code file},
+     * which then atomically replaces {@code file}.
+     *
+     * @param file         file to save to
+     * @param contents     writes the contents and returns the number of rows written
+     * @param beforeCommit called with the statistics once the temporary file is durable,
+     *                     just before it replaces {@code file}
+     * @return statistics of the rows and bytes written
+     * @throws IOException if the file cannot be written
+     */
+    protected static SaveStats writeAtomically(File file, FileContents contents, Consumer<SaveStats> beforeCommit)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        Path filePath = file.toPath().toAbsolutePath();
+        Path tempFilePath = filePath.resolveSibling(filePath.getFileName() + TEMP_FILE_SUFFIX_STRING);
+        long rowCount;
+        SaveChannel out;
+
+        try (FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out = new SaveChannel(channel);
+            rowCount = contents.write(out);
+            out.drain();
+            channel.force(true);
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFilePath);
+            throw e;
+        }
+
+        SaveStats stats = new SaveStats(file, rowCount, out.byteCount, out.checksum.getValue(),
+                System.nanoTime() - startNanos);
+        try {
+            beforeCommit.accept(stats);
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(tempFilePath);
+            throw e;
+        }
+
+        replaceFile(tempFilePath, filePath);
+        return stats;
+    }
+
+    /**
+     * Replaces a file with another, atomically if the file system supports it.
+     *
+     * @param source file to move
+     * @param target file to replace
+     * @throws IOException if the file cannot be moved
+     */
+    protected static void replaceFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the contents of a file to a SaveChannel.
+     */
+    @FunctionalInterface
+    protected interface FileContents {
+
+        /**
+         * Writes the contents of a file.
+         *
+         * @param out channel to write to
+         * @return number of rows written
+         * @throws IOException if the channel cannot be written to
+         */
+        long write(SaveChannel out) throws IOException;
+    }
+
+    /**
+     * Buffers bytes written to a file channel, keeping a CRC32 checksum and a count of every byte written.
+     */
+    protected static final class SaveChannel {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE_INT);
+        private final CRC32 checksum = new CRC32();
+        private long byteCount;
+
+        private SaveChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Buffers a line, flushing the buffer to the channel whenever it fills up.
+         *
+         * @param line line to write, without its line terminator
+         * @throws IOException if the channel cannot be written to
+         */
+        void writeLine(String line) throws IOException {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            write(bytes, 0, bytes.length);
+            if (!this.buffer.hasRemaining()) {
+                drain();
+            }
+            this.buffer.put(NEWLINE_BYTE);
+            this.checksum.update(NEWLINE_BYTE);
+            this.byteCount++;
+        }
+
+        /**
+         * Buffers bytes, flushing the buffer to the channel whenever it fills up.
+         *
+         * @param bytes  array holding the bytes to write
+         * @param offset offset of the first byte to write
+         * @param length number of bytes to write
+         * @throws IOException if the channel cannot be written to
+         */
+        void write(byte[] bytes, int offset, int length) throws IOException {
+            this.checksum.update(bytes, offset, length);
+            this.byteCount += length;
+            if (this.buffer.remaining() < length) {
+                drain();
+            }
+
+            if (this.buffer.remaining() < length) { // longer than the buffer itself
+                ByteBuffer longBytes = ByteBuffer.wrap(bytes, offset, length);
+                while (longBytes.hasRemaining()) {
+                    this.channel.write(longBytes);
+                }
+            } else {
+                this.buffer.put(bytes, offset, length);
+            }
+        }
+
+        /**
+         * Writes all buffered bytes to the channel and clears the buffer.
+         *
+         * @throws IOException if the channel cannot be written to
+         */
+        private void drain() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+    }
 }
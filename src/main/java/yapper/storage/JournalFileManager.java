@@ -0,0 +1,597 @@
+package yapper.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
+
+import yapper.data.MutationListener;
+import yapper.data.notes.Note;
+import yapper.data.task.Task;
+
+/**
+ * Manages the append-only journal of changes made to a Person's tasks and notes since their last snapshot.
+ * Every change is appended as a single line, so persisting a command costs the same regardless of list size,
+ * and the journal is replayed on top of the task and note files when they are next loaded.
+ *
+ * <p>Taking a snapshot appends a {@code CHECKPOINT} record, then a {@code SAVED} record holding the checksum
+ * of each new file just before it replaces the old one. On replay, the last {@code SAVED} record matching the
+ * file on disk tells which records the file already contains, so a crash at any point of a snapshot neither
+ * loses nor repeats a change.
+ */
+public class JournalFileManager extends FileManager implements MutationListener {
+
+    // Record types
+    private static final String RECORD_ADD_TASK_STRING = "ADD_TASK";
+    private static final String RECORD_DELETE_TASK_STRING = "DELETE_TASK";
+    private static final String RECORD_RESCHEDULE_TASK_STRING = "RESCHEDULE_TASK";
+    private static final String RECORD_MARK_TASK_STRING = "MARK_TASK";
+    private static final String RECORD_UNMARK_TASK_STRING = "UNMARK_TASK";
+    private static final String RECORD_ADD_NOTE_STRING = "ADD_NOTE";
+    private static final String RECORD_DELETE_NOTE_STRING = "DELETE_NOTE";
+    private static final String RECORD_CHECKPOINT_STRING = "CHECKPOINT";
+    private static final String RECORD_SAVED_STRING = "SAVED";
+
+    // Snapshot kinds in SAVED records
+    private static final String SNAPSHOT_TASK_STRING = "TASK";
+    private static final String SNAPSHOT_NOTE_STRING = "NOTE";
+
+    // Record format
+    private static final String RECORD_FORMAT_STRING = "%s,%s";
+    private static final String RECORD_SAVED_FORMAT_STRING = "SAVED,%s,%d";
+    private static final String RECORD_SEPARATOR_STRING = ",";
+    private static final String NEWLINE_STRING = "\n";
+    private static final byte NEWLINE_BYTE = '\n';
+    private static final int RECORD_FIELD_LIMIT_INT = 2;
+    private static final int READ_BUFFER_SIZE_INT = 64 * 1024;
+
+    // Error messages
+    private static final String ERR_JOURNAL_NOT_OPEN_STRING = "Journal is not open.";
+    private static final String ERR_CHANGE_NOT_JOURNALED_FORMAT_STRING = "Change not journaled: %s";
+    private static final String ERR_TORN_RECORD_FORMAT_STRING = "Discarded incomplete last record of %s.";
+    private static final String ERR_SKIPPED_RECORD_FORMAT_STRING = "Skipped invalid record %d of %s: %s";
+    private static final String ERR_SNAPSHOT_MISMATCH_FORMAT_STRING =
+            "%s does not match a journaled snapshot, replaying every journaled change on top of it.";
+
+    /**
+     * Journal file.
+     */
+    private File file;
+
+    /**
+     * Channel that records are appended through.
+     */
+    private FileChannel channel;
+
+    /**
+     * Number of records in the journal.
+     */
+    private long recordCount;
+
+    /**
+     * Size of the journal in bytes.
+     */
+    private long byteCount;
+
+    /**
+     * Permit held from the checkpoint of a snapshot until the journal is truncated, so snapshots never overlap.
+     */
+    private final Semaphore snapshotPermit = new Semaphore(1);
+
+    /**
+     * Constructs a JournalFileManager instance.
+     */
+    public JournalFileManager() {
+
+    }
+
+    /**
+     * Open journal file with specified journalFileName, creating it if it does not exist
+     *
+     * @param journalFileName name of journal file to open
+     * @return File object of the opened file
+     */
+    public File open(String journalFileName) {
+        File file = new File(journalFileName);
+        try {
+            this.channel = openChannel(file.toPath());
+            this.byteCount = this.channel.size();
+        } catch (IOException e) {
+            System.out.println(ERR_FILE_ERROR_OCCURRED);
+            System.out.println(e.getLocalizedMessage());
+            return null;
+        }
+        this.file = file;
+        return file;
+    }
+
+    /**
+     * Replay journaled changes on top of the tasks and notes loaded from their files
+     *
+     * @param taskFile file the tasks were loaded from
+     * @param noteFile file the notes were loaded from
+     * @param taskList tasks loaded from taskFile
+     * @param noteList notes loaded from noteFile
+     * @return number of changes applied to the lists
+     * @throws IOException if the journal or the files cannot be read
+     */
+    public synchronized int replay(File taskFile, File noteFile, ArrayList<Task> taskList, ArrayList<Note> noteList)
+            throws IOException {
+        List<String> records = readRecords();
+        int taskReplayStart = findReplayStart(records, SNAPSHOT_TASK_STRING, taskFile);
+        int noteReplayStart = findReplayStart(records, SNAPSHOT_NOTE_STRING, noteFile);
+
+        int appliedCount = 0;
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                if (replayRecord(records.get(i), i >= taskReplayStart, i >= noteReplayStart, taskList, noteList)) {
+                    appliedCount++;
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+                System.out.println(String.format(ERR_SKIPPED_RECORD_FORMAT_STRING, i + 1, file.getName(),
+                        records.get(i)));
+            }
+        }
+
+        this.recordCount = records.size();
+        return appliedCount;
+    }
+
+    /**
+     * Save the tasks and notes to their files and drop every journaled change they now contain
+     *
+     * @param taskFileManager manager to save the tasks with
+     * @param taskFile        file to save the tasks to
+     * @param taskList        tasks to save
+     * @param noteFileManager manager to save the notes with
+     * @param noteFile        file to save the notes to
+     * @param noteList        notes to save
+     * @return statistics of the task and note files written
+     * @throws IOException if a file cannot be written
+     */
+    public ArrayList<SaveStats> snapshot(Persistable<Task> taskFileManager, File taskFile, ArrayList<Task> taskList,
+            Persistable<Note> noteFileManager, File noteFile, ArrayList<Note> noteList) throws IOException {
+        long checkpointOffset = beginSnapshot();
+        return completeSnapshot(checkpointOffset, taskFileManager, taskFile, taskList,
+                noteFileManager, noteFile, noteList);
+    }
+
+    /**
+     * Start a snapshot by appending a CHECKPOINT record, waiting for a snapshot in progress to complete first.
+     * The lists passed to {@link #completeSnapshot} must hold exactly the changes journaled before this call.
+     *
+     * @return offset just past the CHECKPOINT record
+     * @throws IOException if the record cannot be written
+     */
+    public long beginSnapshot() throws IOException {
+        this.snapshotPermit.acquireUninterruptibly();
+        try {
+            return checkpoint();
+        } catch (IOException | RuntimeException e) {
+            this.snapshotPermit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Start a snapshot like {@link #beginSnapshot}, unless another snapshot is in progress.
+     *
+     * @return offset just past the CHECKPOINT record, or -1 if another snapshot is in progress
+     * @throws IOException if the record cannot be written
+     */
+    public long tryBeginSnapshot() throws IOException {
+        if (!this.snapshotPermit.tryAcquire()) {
+            return -1;
+        }
+        try {
+            return checkpoint();
+        } catch (IOException | RuntimeException e) {
+            this.snapshotPermit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Complete a snapshot started by {@link #beginSnapshot}; safe to call from a thread other than the one
+     * journaling changes, which may keep appending while the files are written.
+     *
+     * @param checkpointOffset offset returned by beginSnapshot
+     * @param taskFileManager  manager to save the tasks with
+     * @param taskFile         file to save the tasks to
+     * @param taskList         tasks to save
+     * @param noteFileManager  manager to save the notes with
+     * @param noteFile         file to save the notes to
+     * @param noteList         notes to save
+     * @return statistics of the files written
+     * @throws IOException if a file cannot be written
+     */
+    public ArrayList<SaveStats> completeSnapshot(long checkpointOffset, Persistable<Task> taskFileManager,
+            File taskFile, ArrayList<Task> taskList, Persistable<Note> noteFileManager, File noteFile,
+            ArrayList<Note> noteList) throws IOException {
+        ArrayList<SaveStats> statsList = new ArrayList<>();
+        try {
+            statsList.add(taskFileManager.saveBulk(taskFile, taskList,
+                    stats -> appendSavedRecord(SNAPSHOT_TASK_STRING, stats)));
+            statsList.add(noteFileManager.saveBulk(noteFile, noteList,
+                    stats -> appendSavedRecord(SNAPSHOT_NOTE_STRING, stats)));
+            truncateToCheckpoint(checkpointOffset);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            this.snapshotPermit.release();
+        }
+        return statsList;
+    }
+
+    /**
+     * Close the journal; changes reported afterwards fail to be journaled
+     *
+     * @throws IOException if the journal cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Returns the number of records in the journal.
+     *
+     * @return number of records in the journal
+     */
+    public synchronized long getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Returns the size of the journal in bytes.
+     *
+     * @return size of the journal in bytes
+     */
+    public synchronized long getByteCount() {
+        return this.byteCount;
+    }
+
+    @Override
+    public void onTaskAdded(int idx, Task task) {
+        String row = TaskFileManager.toCsvRow(task);
+        if (row != null) {
+            appendChange(String.format(RECORD_FORMAT_STRING, RECORD_ADD_TASK_STRING, row));
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(int idx, Task task) {
+        appendChange(String.format(RECORD_FORMAT_STRING, RECORD_DELETE_TASK_STRING, idx));
+    }
+
+    @Override
+    public void onTaskReplaced(int idx, Task oldTask, Task newTask) {
+        String row = TaskFileManager.toCsvRow(newTask);
+        if (row != null) {
+            appendChange(String.format(RECORD_FORMAT_STRING, RECORD_RESCHEDULE_TASK_STRING,
+                    String.format(RECORD_FORMAT_STRING, idx, row)));
+        }
+    }
+
+    @Override
+    public void onTaskStatusChanged(int idx, Task task) {
+        String recordType = task.getStatusIcon().equals(IS_DONE_SYMBOL)
+                ? RECORD_MARK_TASK_STRING
+                : RECORD_UNMARK_TASK_STRING;
+        appendChange(String.format(RECORD_FORMAT_STRING, recordType, idx));
+    }
+
+    @Override
+    public void onNoteAdded(int idx, Note note) {
+        appendChange(String.format(RECORD_FORMAT_STRING, RECORD_ADD_NOTE_STRING, NoteFileManager.toCsvRow(note)));
+    }
+
+    @Override
+    public void onNoteRemoved(int idx, Note note) {
+        appendChange(String.format(RECORD_FORMAT_STRING, RECORD_DELETE_NOTE_STRING, idx));
+    }
+
+    /**
+     * Append a change to the journal, reporting instead of throwing if it cannot be written
+     *
+     * @param record record describing the change
+     */
+    private void appendChange(String record) {
+        try {
+            append(record);
+        } catch (IOException e) {
+            System.out.println(String.format(ERR_CHANGE_NOT_JOURNALED_FORMAT_STRING, e.getLocalizedMessage()));
+        }
+    }
+
+    /**
+     * Append the checksum of a snapshot file that is about to replace the old one
+     *
+     * @param snapshotKind kind of the snapshot file
+     * @param stats        statistics of the snapshot file written
+     */
+    private void appendSavedRecord(String snapshotKind, SaveStats stats) {
+        try {
+            append(String.format(RECORD_SAVED_FORMAT_STRING, snapshotKind, stats.getChecksum()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Append a record to the journal as a single write
+     *
+     * @param record record to append
+     * @throws IOException if the record cannot be written
+     */
+    private synchronized void append(String record) throws IOException {
+        if (this.channel == null) {
+            throw new IOException(ERR_JOURNAL_NOT_OPEN_STRING);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap((record + NEWLINE_STRING).getBytes(StandardCharsets.UTF_8));
+        this.byteCount += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+        this.recordCount++;
+    }
+
+    /**
+     * Mark the start of a snapshot; records appended after this point are kept when the journal is truncated
+     *
+     * @return offset just past the CHECKPOINT record
+     * @throws IOException if the record cannot be written
+     */
+    private synchronized long checkpoint() throws IOException {
+        append(RECORD_CHECKPOINT_STRING);
+        return this.channel.size();
+    }
+
+    /**
+     * Replace the journal with the records appended since a checkpoint
+     *
+     * @param checkpointOffset offset just past the CHECKPOINT record
+     * @throws IOException if the journal cannot be rewritten
+     */
+    private synchronized void truncateToCheckpoint(long checkpointOffset) throws IOException {
+        assert checkpointOffset >= 0 && checkpointOffset <= this.channel.size() : RECORD_CHECKPOINT_STRING;
+
+        ByteBuffer tail = ByteBuffer.allocate((int) (this.channel.size() - checkpointOffset));
+        while (tail.hasRemaining()) {
+            this.channel.read(tail, checkpointOffset + tail.position());
+        }
+        tail.flip();
+
+        long tailRecordCount = 0;
+        for (int i = 0; i < tail.limit(); i++) {
+            if (tail.get(i) == NEWLINE_BYTE) {
+                tailRecordCount++;
+            }
+        }
+
+        Path journalPath = this.file.toPath().toAbsolutePath();
+        Path tempJournalPath = journalPath.resolveSibling(journalPath.getFileName() + TEMP_FILE_SUFFIX_STRING);
+        try (FileChannel tempChannel = FileChannel.open(tempJournalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (tail.hasRemaining()) {
+                tempChannel.write(tail);
+            }
+            tempChannel.force(true);
+        }
+
+        this.channel.close();
+        replaceFile(tempJournalPath, journalPath);
+        this.channel = openChannel(journalPath);
+        this.byteCount = this.channel.size();
+        this.recordCount = tailRecordCount;
+    }
+
+    /**
+     * Open a channel that appends at the end of the journal and can also read it back
+     *
+     * @param journalPath path of the journal
+     * @return channel positioned at the end of the journal
+     * @throws IOException if the journal cannot be opened
+     */
+    private static FileChannel openChannel(Path journalPath) throws IOException {
+        FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    /**
+     * Read every complete record of the journal, discarding a record left incomplete by a crash
+     *
+     * @return records of the journal, oldest first
+     * @throws IOException if the journal cannot be read
+     */
+    private List<String> readRecords() throws IOException {
+        if (this.channel == null) {
+            throw new IOException(ERR_JOURNAL_NOT_OPEN_STRING);
+        }
+
+        byte[] bytes = Files.readAllBytes(this.file.toPath());
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] != NEWLINE_BYTE) {
+            length--;
+        }
+
+        if (length < bytes.length) {
+            System.out.println(String.format(ERR_TORN_RECORD_FORMAT_STRING, this.file.getName()));
+            this.channel.truncate(length);
+            this.byteCount = length;
+        }
+
+        if (length == 0) {
+            return new ArrayList<>();
+        }
+        return Arrays.asList(new String(bytes, 0, length - 1, StandardCharsets.UTF_8).split(NEWLINE_STRING, -1));
+    }
+
+    /**
+     * Find the first record not yet contained in a snapshot file
+     *
+     * @param records      records of the journal
+     * @param snapshotKind kind of the snapshot file
+     * @param snapshotFile snapshot file on disk
+     * @return index of the first record to replay on top of the snapshot file
+     * @throws IOException if the snapshot file cannot be read
+     */
+    private int findReplayStart(List<String> records, String snapshotKind, File snapshotFile) throws IOException {
+        String savedPrefix = RECORD_SAVED_STRING + RECORD_SEPARATOR_STRING + snapshotKind + RECORD_SEPARATOR_STRING;
+        int lastCheckpoint = -1;
+        int replayStart = 0;
+        boolean hasSavedRecord = false;
+        boolean hasMatch = false;
+        long checksum = 0;
+
+        for (int i = 0; i < records.size(); i++) {
+            String record = records.get(i);
+            if (record.equals(RECORD_CHECKPOINT_STRING)) {
+                lastCheckpoint = i;
+
+            } else if (record.startsWith(savedPrefix)) {
+                if (!hasSavedRecord) {
+                    checksum = checksumOf(snapshotFile);
+                    hasSavedRecord = true;
+                }
+                if (record.substring(savedPrefix.length()).equals(String.valueOf(checksum))) {
+                    replayStart = lastCheckpoint + 1;
+                    hasMatch = true;
+                }
+            }
+        }
+
+        if (hasSavedRecord && !hasMatch) {
+            System.out.println(String.format(ERR_SNAPSHOT_MISMATCH_FORMAT_STRING, snapshotFile.getName()));
+        }
+        return replayStart;
+    }
+
+    /**
+     * Compute the CRC32 checksum of a file
+     *
+     * @param file file to compute the checksum of
+     * @return CRC32 checksum of the file
+     * @throws IOException if the file cannot be read
+     */
+    private static long checksumOf(File file) throws IOException {
+        CRC32 checksum = new CRC32();
+        byte[] buffer = new byte[READ_BUFFER_SIZE_INT];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                checksum.update(buffer, 0, n);
+            }
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * Apply a single record to the task or note list
+     *
+     * @param record       record to apply
+     * @param isTaskReplay true if task records should be applied
+     * @param isNoteReplay true if note records should be applied
+     * @param taskList     list of tasks to apply task records to
+     * @param noteList     list of notes to apply note records to
+     * @return true if the record changed a list
+     */
+    private static boolean replayRecord(String record, boolean isTaskReplay, boolean isNoteReplay,
+            ArrayList<Task> taskList, ArrayList<Note> noteList) {
+        String[] fields = record.split(RECORD_SEPARATOR_STRING, RECORD_FIELD_LIMIT_INT);
+        String recordType = fields[0];
+        String payload = fields.length > 1 ? fields[1] : "";
+
+        switch (recordType) {
+
+        case RECORD_ADD_TASK_STRING:
+            if (!isTaskReplay) {
+                return false;
+            }
+            taskList.add(parseTask(payload));
+            return true;
+
+        case RECORD_DELETE_TASK_STRING:
+            if (!isTaskReplay) {
+                return false;
+            }
+            taskList.remove(Integer.parseInt(payload));
+            return true;
+
+        case RECORD_RESCHEDULE_TASK_STRING:
+            if (!isTaskReplay) {
+                return false;
+            }
+            String[] rescheduleFields = payload.split(RECORD_SEPARATOR_STRING, RECORD_FIELD_LIMIT_INT);
+            taskList.set(Integer.parseInt(rescheduleFields[0]), parseTask(rescheduleFields[1]));
+            return true;
+
+        case RECORD_MARK_TASK_STRING:
+            if (!isTaskReplay) {
+                return false;
+            }
+            taskList.get(Integer.parseInt(payload)).markAsDone();
+            return true;
+
+        case RECORD_UNMARK_TASK_STRING:
+            if (!isTaskReplay) {
+                return false;
+            }
+            taskList.get(Integer.parseInt(payload)).markAsUndone();
+            return true;
+
+        case RECORD_ADD_NOTE_STRING:
+            if (!isNoteReplay) {
+                return false;
+            }
+            noteList.add(NoteFileManager.parseCsvRow(payload));
+            return true;
+
+        case RECORD_DELETE_NOTE_STRING:
+            if (!isNoteReplay) {
+                return false;
+            }
+            noteList.remove(Integer.parseInt(payload));
+            return true;
+
+        case RECORD_CHECKPOINT_STRING:
+        case RECORD_SAVED_STRING:
+            return false;
+
+        default:
+            throw new IllegalArgumentException(recordType);
+
+        }
+    }
+
+    /**
+     * Parse the CSV row of a task record
+     *
+     * @param row CSV row of the task
+     * @return task described by the row
+     */
+    private static Task parseTask(String row) {
+        Task t = TaskFileManager.parseCsvRow(row);
+        if (t == null) {
+            throw new IllegalArgumentException(row);
+        }
+        return t;
+    }
+}
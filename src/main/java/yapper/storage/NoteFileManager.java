@@ -1,10 +1,14 @@
 package yapper.storage;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import yapper.data.notes.Note;
 
@@ -41,27 +45,47 @@ public class NoteFileManager extends FileManager implements Persistable<Note> {
     }
 
     /**
-     * Load contents from cached note file to taskList
+     * Load contents from cached note file to taskList, reading it as UTF-8 with a BufferedReader rather than
+     * a Scanner, which loads locale data at startup
      *
      * @param file file to load contents from
      * @return ArrayList of tasks loaded from file
-     * @throws FileNotFoundException
+     * @throws FileNotFoundException if file cannot be read
      */
     @Override
     public ArrayList<Note> load(File file) throws FileNotFoundException {
         ArrayList<Note> noteList = new ArrayList<>();
-        Scanner s = new Scanner(file);
-        s.nextLine(); // skip first row containing csv headers
-        while (s.hasNext()) {
-            String[] tokens = s.nextLine().split(",");
-            String title = tokens[0];
-            String content = tokens[1];
-            noteList.add(new Note(title, content));
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            reader.readLine(); // skip first row containing csv headers
+            String row;
+            while ((row = reader.readLine()) != null) {
+                if (!row.isBlank()) {
+                    noteList.add(parseCsvRow(row));
+                }
+            }
+        } catch (IOException e) {
+            FileNotFoundException notFound = new FileNotFoundException(e.getLocalizedMessage());
+            notFound.initCause(e);
+            throw notFound;
         }
-        s.close();
         return noteList;
     }
 
+    /**
+     * Stream notes from file lazily, one line at a time
+     *
+     * @param file file to stream notes from
+     * @return ordered Stream of notes in file, backed by the open file
+     * @throws IOException if file cannot be opened
+     */
+    @Override
+    public Stream<Note> stream(File file) throws IOException {
+        return Files.lines(file.toPath(), StandardCharsets.UTF_8)
+                .skip(1) // skip first row containing csv headers
+                .filter(row -> !row.isBlank())
+                .map(NoteFileManager::parseCsvRow);
+    }
+
     /**
      * Save noteList to file
      *
@@ -71,22 +95,51 @@ public class NoteFileManager extends FileManager implements Persistable<Note> {
      */
     @Override
     public boolean save(File file, ArrayList<Note> noteList) {
-        String filePath = file.getName();
         try {
-            appendToFile(filePath, NOTE_CSV_FILE_HEADERS_STRING, false);
-            for (Note n : noteList) {
-                appendToFile(
-                        filePath,
-                        String.format(
-                                WRITE_NOTE_FORMAT_STRING,
-                                n.getName(),
-                                n.getDescription()),
-                                true);
-            }
+            saveBulk(file, noteList);
         } catch (IOException e) {
             System.out.println(e.getLocalizedMessage());
             return false;
         }
         return true;
     }
+
+    /**
+     * Save noteList to file in a single buffered pass
+     *
+     * @param file         file to save noteList to
+     * @param noteList     list of notes to save
+     * @param beforeCommit called with the statistics of the written file just before it replaces file
+     * @return statistics of the rows and bytes written
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public SaveStats saveBulk(File file, ArrayList<Note> noteList, Consumer<SaveStats> beforeCommit)
+            throws IOException {
+        return writeAllToFile(file, NOTE_CSV_FILE_HEADERS_STRING, noteList, NoteFileManager::toCsvRow,
+                beforeCommit);
+    }
+
+    /**
+     * Parse a CSV row into a note
+     *
+     * @param row CSV row to parse
+     * @return note described by the row
+     */
+    static Note parseCsvRow(String row) {
+        String[] tokens = row.split(",");
+        String title = tokens[0];
+        String content = tokens[1];
+        return new Note(title, content);
+    }
+
+    /**
+     * Format a note as a CSV row
+     *
+     * @param n note to format
+     * @return CSV row of the note
+     */
+    static String toCsvRow(Note n) {
+        return String.format(WRITE_NOTE_FORMAT_STRING, n.getName(), n.getContent());
+    }
 }
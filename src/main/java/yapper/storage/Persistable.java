@@ -2,7 +2,10 @@ package yapper.storage;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Represents a persistable object.
@@ -27,6 +30,17 @@ public interface Persistable<T> {
      */
     public ArrayList<T> load(File file) throws FileNotFoundException;
 
+    /**
+     * Stream contents from file lazily, reading records only as they are consumed so that files
+     * larger than the heap can be processed in constant memory.
+     * The stream holds the file open and must be closed, e.g. with try-with-resources.
+     *
+     * @param file file to stream contents from
+     * @return ordered Stream of objects in file, backed by the open file
+     * @throws IOException if file cannot be opened; errors while reading are thrown as UncheckedIOException
+     */
+    public Stream<T> stream(File file) throws IOException;
+
     /**
      * Save list to file
      *
@@ -35,4 +49,28 @@ public interface Persistable<T> {
      * @return true if save is successful, false otherwise
      */
     public boolean save(File file, ArrayList<T> noteList);
+
+    /**
+     * Save list to file in a single buffered pass, atomically replacing the file.
+     *
+     * @param file file to save list to
+     * @param list list to save to file
+     * @return statistics of the rows and bytes written
+     * @throws IOException if the file cannot be written
+     */
+    public default SaveStats saveBulk(File file, ArrayList<T> list) throws IOException {
+        return saveBulk(file, list, stats -> { });
+    }
+
+    /**
+     * Save list to file in a single buffered pass, atomically replacing the file.
+     * {@code beforeCommit} lets callers record the checksum of the new contents before they become visible.
+     *
+     * @param file         file to save list to
+     * @param list         list to save to file
+     * @param beforeCommit called with the statistics of the written file just before it replaces {@code file}
+     * @return statistics of the rows and bytes written
+     * @throws IOException if the file cannot be written
+     */
+    public SaveStats saveBulk(File file, ArrayList<T> list, Consumer<SaveStats> beforeCommit) throws IOException;
 }
@@ -0,0 +1,113 @@
+package yapper.storage;
+
+import java.io.File;
+
+/**
+ * Represents the outcome of a bulk save, used to report save throughput.
+ */
+public class SaveStats {
+
+    // Constants
+    private static final String SAVE_STATS_FORMAT_STRING = "Saved %d rows (%d bytes) to %s in %d ms.";
+    private static final long NANOS_PER_MILLI_LONG = 1_000_000L;
+
+    /**
+     * File that the rows were saved to.
+     */
+    private final File file;
+
+    /**
+     * Number of rows written, excluding the CSV headers.
+     */
+    private final long rowCount;
+
+    /**
+     * Number of bytes written, including the CSV headers.
+     */
+    private final long byteCount;
+
+    /**
+     * CRC32 checksum of every byte written, identifying the saved contents.
+     */
+    private final long checksum;
+
+    /**
+     * Time taken to write and commit the file, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a SaveStats object.
+     *
+     * @param file         file that the rows were saved to
+     * @param rowCount     number of rows written
+     * @param byteCount    number of bytes written
+     * @param checksum     CRC32 checksum of the bytes written
+     * @param elapsedNanos time taken to save, in nanoseconds
+     */
+    public SaveStats(File file, long rowCount, long byteCount, long checksum, long elapsedNanos) {
+        this.file = file;
+        this.rowCount = rowCount;
+        this.byteCount = byteCount;
+        this.checksum = checksum;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the file that the rows were saved to.
+     *
+     * @return file that the rows were saved to
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Returns the number of rows written.
+     *
+     * @return number of rows written
+     */
+    public long getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return number of bytes written
+     */
+    public long getByteCount() {
+        return this.byteCount;
+    }
+
+    /**
+     * Returns the CRC32 checksum of the bytes written.
+     *
+     * @return CRC32 checksum of the bytes written
+     */
+    public long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * Returns the time taken to save, in nanoseconds.
+     *
+     * @return time taken to save, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * String representation of a SaveStats object.
+     */
+    @Override
+    public String toString() {
+        return String.format(
+                SAVE_STATS_FORMAT_STRING,
+                this.rowCount,
+                this.byteCount,
+                this.file.getName(),
+                this.elapsedNanos / NANOS_PER_MILLI_LONG);
+    }
+}
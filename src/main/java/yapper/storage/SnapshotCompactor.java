@@ -0,0 +1,237 @@
+package yapper.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import yapper.data.MutationListener;
+import yapper.data.notes.Note;
+import yapper.data.task.Task;
+
+/**
+ * Compacts the journal into fresh task and note snapshots on a background thread once it grows past
+ * a record count, a size in bytes, or an age, so replay at startup stays bounded.
+ *
+ * <p>The compactor must be registered after the JournalFileManager so that, when it is notified of a change,
+ * the journal already holds that change. The thresholds are checked and the lists copied on the thread that
+ * made the change; only the files are written in the background.
+ */
+public class SnapshotCompactor implements MutationListener {
+
+    // Default thresholds
+    public static final long DEFAULT_MAX_RECORDS_LONG = 1000;
+    public static final long DEFAULT_MAX_BYTES_LONG = 1024 * 1024;
+    public static final long DEFAULT_MAX_AGE_MILLIS_LONG = TimeUnit.MINUTES.toMillis(10);
+
+    // Thread name
+    private static final String THREAD_NAME_STRING = "yapper-compactor";
+
+    // Error messages
+    private static final String ERR_COMPACTION_FAILED_FORMAT_STRING = "Journal compaction failed: %s";
+
+    /**
+     * Journal to compact.
+     */
+    private final JournalFileManager journalFileManager;
+
+    /**
+     * Manager to save the tasks with.
+     */
+    private final Persistable<Task> taskFileManager;
+
+    /**
+     * Manager to save the notes with.
+     */
+    private final NoteFileManager noteFileManager;
+
+    /**
+     * File to save the tasks to.
+     */
+    private final File taskFile;
+
+    /**
+     * File to save the notes to.
+     */
+    private final File noteFile;
+
+    /**
+     * Live list of tasks.
+     */
+    private final ArrayList<Task> taskList;
+
+    /**
+     * Live list of notes.
+     */
+    private final ArrayList<Note> noteList;
+
+    /**
+     * Number of journal records that triggers a compaction.
+     */
+    private final long maxRecords;
+
+    /**
+     * Journal size in bytes that triggers a compaction.
+     */
+    private final long maxBytes;
+
+    /**
+     * Time since the last compaction, in milliseconds, after which the next change triggers a compaction.
+     */
+    private final long maxAgeMillis;
+
+    /**
+     * Single background thread writing the snapshots.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, THREAD_NAME_STRING);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * True while a compaction is being written.
+     */
+    private volatile boolean isCompacting;
+
+    /**
+     * Time of the last compaction, in milliseconds.
+     */
+    private volatile long lastCompactionMillis = System.currentTimeMillis();
+
+    /**
+     * Constructs a SnapshotCompactor instance.
+     *
+     * @param journalFileManager journal to compact
+     * @param taskFileManager    manager to save the tasks with
+     * @param taskFile           file to save the tasks to
+     * @param taskList           live list of tasks
+     * @param noteFileManager    manager to save the notes with
+     * @param noteFile           file to save the notes to
+     * @param noteList           live list of notes
+     * @param maxRecords         number of journal records that triggers a compaction
+     * @param maxBytes           journal size in bytes that triggers a compaction
+     * @param maxAgeMillis       time since the last compaction after which the next change triggers one
+     */
+    public SnapshotCompactor(JournalFileManager journalFileManager, Persistable<Task> taskFileManager,
+            File taskFile, ArrayList<Task> taskList, NoteFileManager noteFileManager, File noteFile,
+            ArrayList<Note> noteList, long maxRecords, long maxBytes, long maxAgeMillis) {
+        this.journalFileManager = journalFileManager;
+        this.taskFileManager = taskFileManager;
+        this.taskFile = taskFile;
+        this.taskList = taskList;
+        this.noteFileManager = noteFileManager;
+        this.noteFile = noteFile;
+        this.noteList = noteList;
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Stop the background thread once a compaction being written has finished
+     */
+    public void close() {
+        this.executor.shutdown();
+        boolean isInterrupted = false;
+        while (!this.executor.isTerminated()) {
+            try {
+                this.executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns true if a compaction is being written.
+     *
+     * @return true if a compaction is being written
+     */
+    public boolean isCompacting() {
+        return this.isCompacting;
+    }
+
+    @Override
+    public void onTaskAdded(int idx, Task task) {
+        compactIfDue();
+    }
+
+    @Override
+    public void onTaskRemoved(int idx, Task task) {
+        compactIfDue();
+    }
+
+    @Override
+    public void onTaskReplaced(int idx, Task oldTask, Task newTask) {
+        compactIfDue();
+    }
+
+    @Override
+    public void onTaskStatusChanged(int idx, Task task) {
+        compactIfDue();
+    }
+
+    @Override
+    public void onNoteAdded(int idx, Note note) {
+        compactIfDue();
+    }
+
+    @Override
+    public void onNoteRemoved(int idx, Note note) {
+        compactIfDue();
+    }
+
+    /**
+     * Start a compaction in the background if the journal has passed a threshold and none is being written
+     */
+    private void compactIfDue() {
+        if (this.isCompacting || !isDue()) {
+            return;
+        }
+
+        long checkpointOffset;
+        try {
+            checkpointOffset = this.journalFileManager.tryBeginSnapshot();
+        } catch (IOException e) {
+            System.out.println(String.format(ERR_COMPACTION_FAILED_FORMAT_STRING, e.getLocalizedMessage()));
+            return;
+        }
+        if (checkpointOffset < 0) {
+            return; // another snapshot is being written, which compacts the journal too
+        }
+
+        // Tasks are shared with the copy, but a status change racing the write is journaled after the
+        // checkpoint as an absolute MARK/UNMARK record, so replaying it again on top of the snapshot is harmless.
+        ArrayList<Task> taskSnapshot = new ArrayList<>(this.taskList);
+        ArrayList<Note> noteSnapshot = new ArrayList<>(this.noteList);
+        this.isCompacting = true;
+        this.executor.execute(() -> {
+            try {
+                this.journalFileManager.completeSnapshot(checkpointOffset, this.taskFileManager, this.taskFile,
+                        taskSnapshot, this.noteFileManager, this.noteFile, noteSnapshot);
+            } catch (IOException | RuntimeException e) {
+                System.out.println(String.format(ERR_COMPACTION_FAILED_FORMAT_STRING, e.getLocalizedMessage()));
+            } finally {
+                this.lastCompactionMillis = System.currentTimeMillis();
+                this.isCompacting = false;
+            }
+        });
+    }
+
+    /**
+     * Returns true if the journal has passed any of the thresholds.
+     *
+     * @return true if a compaction is due
+     */
+    private boolean isDue() {
+        return this.journalFileManager.getRecordCount() >= this.maxRecords
+                || this.journalFileManager.getByteCount() >= this.maxBytes
+                || System.currentTimeMillis() - this.lastCompactionMillis >= this.maxAgeMillis;
+    }
+}
@@ -3,15 +3,20 @@ package yapper.storage;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Objects;
 import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import yapper.data.task.DeadlineScheduleTask;
 import yapper.data.task.EventsScheduleTask;
 import yapper.data.task.Task;
 import yapper.data.task.ToDosTask;
+import yapper.util.DateTimeCodec;
 
 /**
  * Manages the loading and saving of tasks to file.
@@ -19,6 +24,7 @@ import yapper.data.task.ToDosTask;
 public class TaskFileManager extends FileManager implements Persistable<Task> {
 
     private static final String EMPTY_STRING = "";
+    private static final char CSV_DELIMITER_CHAR = ',';
 
     /**
      * Constructs a TaskFileManager instance.
@@ -48,7 +54,8 @@ public class TaskFileManager extends FileManager implements Persistable<Task> {
     }
 
     /**
-     * Load contents from file to taskList
+     * Load contents from file to taskList, scanning its bytes in place and falling back to a Scanner
+     * if it cannot be read that way
      *
      * @param file file to load contents from
      * @return ArrayList of tasks loaded from file
@@ -56,57 +63,96 @@ public class TaskFileManager extends FileManager implements Persistable<Task> {
      */
     @Override
     public ArrayList<Task> load(File file) throws FileNotFoundException {
-        ArrayList<Task> taskList = new ArrayList<>();
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT_STRING);
+        try {
+            return BufferedTaskLoader.load(file);
+        } catch (IOException e) {
+            return loadWithScanner(file);
+        }
+    }
 
-        Scanner s = new Scanner(file);
+    /**
+     * Load contents from file to taskList line by line with a Scanner
+     *
+     * @param file file to load contents from
+     * @return ArrayList of tasks loaded from file
+     * @throws FileNotFoundException if file is not found
+     */
+    static ArrayList<Task> loadWithScanner(File file) throws FileNotFoundException {
+        ArrayList<Task> taskList = new ArrayList<>();
+        Scanner s = new Scanner(file, StandardCharsets.UTF_8.name());
         s.nextLine(); // skip first row containing csv headers
         while (s.hasNext()) {
-            String[] tokens = s.nextLine().split(",");
-            String taskType = EMPTY_STRING;
-            String taskDescription = EMPTY_STRING;
-            String taskIsDone = EMPTY_STRING;
-            String taskFrom = EMPTY_STRING;
-            String taskTo = EMPTY_STRING;
-
-            taskType = tokens[0];
-            taskDescription = tokens[1];
-
-            if (tokens.length > 2) {
-                taskIsDone = tokens[2];
+            Task t = parseCsvRow(s.nextLine());
+            if (t != null) {
+                taskList.add(t);
             }
+        }
+        s.close();
 
-            if (tokens.length > 3) {
-                taskFrom = tokens[3];
-            }
+        return taskList;
+    }
 
-            if (tokens.length > 4) {
-                taskTo = tokens[4]; // task by in EventsTask
-            }
+    /**
+     * Stream tasks from file lazily, one line at a time
+     *
+     * @param file file to stream tasks from
+     * @return ordered Stream of tasks in file, backed by the open file
+     * @throws IOException if file cannot be opened
+     */
+    @Override
+    public Stream<Task> stream(File file) throws IOException {
+        return Files.lines(file.toPath(), StandardCharsets.UTF_8)
+                .skip(1) // skip first row containing csv headers
+                .filter(row -> !row.isBlank())
+                .map(TaskFileManager::parseCsvRow)
+                .filter(Objects::nonNull);
+    }
 
-            switch (taskType) {
+    /**
+     * Parse a CSV row into a task
+     *
+     * @param row CSV row to parse
+     * @return task described by the row, or null if the task type is unknown
+     */
+    static Task parseCsvRow(String row) {
+        String[] tokens = row.split(",");
+        String taskType = EMPTY_STRING;
+        String taskDescription = EMPTY_STRING;
+        String taskIsDone = EMPTY_STRING;
+        String taskFrom = EMPTY_STRING;
+        String taskTo = EMPTY_STRING;
+
+        taskType = tokens[0];
+        taskDescription = tokens[1];
+
+        if (tokens.length > 2) {
+            taskIsDone = tokens[2];
+        }
 
-            case TODOS_COMMAND_STRING:
-                loadToDosTaskFromFile(taskList, taskDescription, taskIsDone);
-                break;
+        if (tokens.length > 3) {
+            taskFrom = tokens[3];
+        }
 
-            case DEADLINE_COMMAND_STRING:
-                loadDeadlineTaskFromFile(taskList, dtf, taskDescription, taskIsDone, taskTo);
-                break;
+        if (tokens.length > 4) {
+            taskTo = tokens[4]; // task by in EventsTask
+        }
 
-            case EVENTS_COMMAND_STRING:
-                loadEventsTaskFromFile(taskList, dtf, taskDescription, taskIsDone, taskFrom, taskTo);
-                break;
+        switch (taskType) {
 
-            default:
-                assert false : ASSERT_UNKNOWN_EVENT_TYPE + taskType;
-                break;
+        case TODOS_COMMAND_STRING:
+            return loadToDosTaskFromFile(taskDescription, taskIsDone);
 
-            }
-        }
-        s.close();
+        case DEADLINE_COMMAND_STRING:
+            return loadDeadlineTaskFromFile(taskDescription, taskIsDone, taskTo);
 
-        return taskList;
+        case EVENTS_COMMAND_STRING:
+            return loadEventsTaskFromFile(taskDescription, taskIsDone, taskFrom, taskTo);
+
+        default:
+            assert false : ASSERT_UNKNOWN_EVENT_TYPE + taskType;
+            return null;
+
+        }
     }
 
     /**
@@ -118,114 +164,122 @@ public class TaskFileManager extends FileManager implements Persistable<Task> {
      */
     @Override
     public boolean save(File file, ArrayList<Task> taskList) {
-        String filePath = file.getName();
         try {
-            appendToFile(filePath, TASK_CSV_FILE_HEADERS_STRING, false);
-
-            for (Task t : taskList) {
-                if (t instanceof ToDosTask) {
-                    saveToDosTaskToFile(filePath, t);
+            saveBulk(file, taskList);
+        } catch (IOException e) {
+            System.out.println(e.getLocalizedMessage());
+            return false;
 
-                } else if (t instanceof DeadlineScheduleTask) {
-                    saveDeadlineTaskToFile(filePath, t);
+        }
 
-                } else if (t instanceof EventsScheduleTask) {
-                    saveEventsTaskToFile(filePath, t);
+        return true;
+    }
 
-                } else {
-                    System.out.println(String.format(ERR_TASK_NOT_ADDED_STRING, t, file.getName()));
+    /**
+     * Save taskList to file in a single buffered pass
+     *
+     * @param file         file to save taskList to
+     * @param taskList     list of tasks to save
+     * @param beforeCommit called with the statistics of the written file just before it replaces file
+     * @return statistics of the rows and bytes written
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public SaveStats saveBulk(File file, ArrayList<Task> taskList, Consumer<SaveStats> beforeCommit)
+            throws IOException {
+        return writeAllToFile(file, TASK_CSV_FILE_HEADERS_STRING, taskList, t -> {
+            String row = toCsvRow(t);
+            if (row == null) {
+                System.out.println(String.format(ERR_TASK_NOT_ADDED_STRING, t, file.getName()));
+            }
+            return row;
+        }, beforeCommit);
+    }
 
-                }
+    /**
+     * Format a task as a CSV row
+     *
+     * @param t task to format
+     * @return CSV row of the task, or null if the task type is unknown
+     */
+    static String toCsvRow(Task t) {
+        if (t instanceof ToDosTask) {
+            return formatToDosTask(t);
 
-            }
+        } else if (t instanceof DeadlineScheduleTask) {
+            return formatDeadlineTask(t);
 
-        } catch (IOException e) {
-            System.out.println(e.getLocalizedMessage());
-            return false;
+        } else if (t instanceof EventsScheduleTask) {
+            return formatEventsTask(t);
 
         }
 
-        return true;
+        return null;
     }
 
     /**
-     * Save EventsTask to file
+     * Format EventsTask as a CSV row
      *
-     * @param filePath path of file to save EventsTask to
-     * @param t        EventsTask to save
-     * @throws IOException
+     * @param t EventsTask to format
+     * @return CSV row of the EventsTask
      */
-    private static void saveEventsTaskToFile(String filePath, Task t) throws IOException {
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT_STRING);
+    private static String formatEventsTask(Task t) {
         EventsScheduleTask ev = (EventsScheduleTask) t;
 
-        FileManager.appendToFile(
-                filePath,
-                String.format(
-                        WRITE_TASK_FORMAT_STRING,
-                        EVENTS_COMMAND_STRING, ev.getDescription(),
-                        ev.getStatusIcon(), ev.getFromLocalDateTime().format(dtf),
-                        ev.getToLocalDateTime().format(dtf)),
-                true);
+        StringBuilder sb = new StringBuilder(EVENTS_COMMAND_STRING).append(CSV_DELIMITER_CHAR)
+                .append(ev.getDescription()).append(CSV_DELIMITER_CHAR)
+                .append(ev.getStatusIcon()).append(CSV_DELIMITER_CHAR);
+        DateTimeCodec.formatInput(ev.getFromLocalDateTime(), sb).append(CSV_DELIMITER_CHAR);
+        return DateTimeCodec.formatInput(ev.getToLocalDateTime(), sb).toString();
     }
 
     /**
-     * Save DeadlineTask to file
+     * Format DeadlineTask as a CSV row
      *
-     * @param filePath path of file to save DeadlineTask to
-     * @param t        DeadlineTask to save
-     * @throws IOException
+     * @param t DeadlineTask to format
+     * @return CSV row of the DeadlineTask
      */
-    private static void saveDeadlineTaskToFile(String filePath, Task t) throws IOException {
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT_STRING);
+    private static String formatDeadlineTask(Task t) {
         DeadlineScheduleTask dl = (DeadlineScheduleTask) t;
-        FileManager.appendToFile(
-                filePath,
-                String.format(
-                        WRITE_TASK_FORMAT_STRING,
-                        DEADLINE_COMMAND_STRING,
-                        dl.getDescription(),
-                        dl.getStatusIcon(),
-                        EMPTY_STRING,
-                        dl.getByLocalDateTime().format(dtf)),
-                true);
+
+        StringBuilder sb = new StringBuilder(DEADLINE_COMMAND_STRING).append(CSV_DELIMITER_CHAR)
+                .append(dl.getDescription()).append(CSV_DELIMITER_CHAR)
+                .append(dl.getStatusIcon()).append(CSV_DELIMITER_CHAR)
+                .append(EMPTY_STRING).append(CSV_DELIMITER_CHAR);
+        return DateTimeCodec.formatInput(dl.getByLocalDateTime(), sb).toString();
     }
 
     /**
-     * Save ToDosTask to file
+     * Format ToDosTask as a CSV row
      *
-     * @param filePath path of file to save ToDosTask to
-     * @param t        ToDosTask to save
-     * @throws IOException
+     * @param t ToDosTask to format
+     * @return CSV row of the ToDosTask
      */
-    private static void saveToDosTaskToFile(String filePath, Task t) throws IOException {
+    private static String formatToDosTask(Task t) {
         ToDosTask td = (ToDosTask) t;
 
-        FileManager.appendToFile(filePath,
-                String.format(
-                        WRITE_TASK_FORMAT_STRING,
-                        TODOS_COMMAND_STRING,
-                        td.getDescription(),
-                        td.getStatusIcon(),
-                        EMPTY_STRING, EMPTY_STRING),
-                true);
+        return String.format(
+                WRITE_TASK_FORMAT_STRING,
+                TODOS_COMMAND_STRING,
+                td.getDescription(),
+                td.getStatusIcon(),
+                EMPTY_STRING, EMPTY_STRING);
     }
 
     /**
      * Load EventsTask from file
      *
-     * @param taskList        list of tasks to load EventsTask to
-     * @param dtf             DateTimeFormatter to parse LocalDateTime
      * @param taskDescription description of EventsTask
      * @param taskIsDone      status of EventsTask
      * @param taskFrom        start time of EventsTask
      * @param taskTo          end time of EventsTask
+     * @return EventsTask loaded from file
      */
-    private static void loadEventsTaskFromFile(ArrayList<Task> taskList, DateTimeFormatter dtf, String taskDescription,
-            String taskIsDone, String taskFrom, String taskTo) {
+    private static Task loadEventsTaskFromFile(String taskDescription, String taskIsDone, String taskFrom,
+            String taskTo) {
 
-        LocalDateTime taskFromLocalDateTime = LocalDateTime.parse(taskFrom, dtf);
-        LocalDateTime taskToLocalDateTime = LocalDateTime.parse(taskTo, dtf);
+        LocalDateTime taskFromLocalDateTime = DateTimeCodec.parse(taskFrom);
+        LocalDateTime taskToLocalDateTime = DateTimeCodec.parse(taskTo);
 
         EventsScheduleTask ev = new EventsScheduleTask(taskDescription, taskFromLocalDateTime, taskToLocalDateTime);
 
@@ -233,45 +287,43 @@ public class TaskFileManager extends FileManager implements Persistable<Task> {
             ev.markAsDone();
         }
 
-        taskList.add(ev);
+        return ev;
     }
 
     /**
      * Load DeadlineTask from file
      *
-     * @param taskList        list of tasks to load DeadlineTask to
-     * @param dtf             DateTimeFormatter to parse LocalDateTime
      * @param taskDescription description of DeadlineTask
      * @param taskIsDone      status of DeadlineTask
      * @param taskTo          deadline of DeadlineTask
+     * @return DeadlineTask loaded from file
      */
-    private static void loadDeadlineTaskFromFile(ArrayList<Task> taskList,
-            DateTimeFormatter dtf, String taskDescription, String taskIsDone, String taskTo) {
+    private static Task loadDeadlineTaskFromFile(String taskDescription, String taskIsDone, String taskTo) {
 
-        LocalDateTime taskByLocalDateTime = LocalDateTime.parse(taskTo, dtf);
+        LocalDateTime taskByLocalDateTime = DateTimeCodec.parse(taskTo);
         DeadlineScheduleTask dl = new DeadlineScheduleTask(taskDescription, taskByLocalDateTime);
 
         if (taskIsDone.equals(IS_DONE_SYMBOL)) {
             dl.markAsDone();
         }
 
-        taskList.add(dl);
+        return dl;
     }
 
     /**
      * Load ToDosTask from file
      *
-     * @param taskList        list of tasks to load ToDosTask to
      * @param taskDescription description of ToDosTask
      * @param taskIsDone      status of ToDosTask
+     * @return ToDosTask loaded from file
      */
-    private static void loadToDosTaskFromFile(ArrayList<Task> taskList, String taskDescription, String taskIsDone) {
+    private static Task loadToDosTaskFromFile(String taskDescription, String taskIsDone) {
 
         ToDosTask td = new ToDosTask(taskDescription);
         if (taskIsDone.equals(IS_DONE_SYMBOL)) {
             td.markAsDone();
         }
 
-        taskList.add(td);
+        return td;
     }
 }
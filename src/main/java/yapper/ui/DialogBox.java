@@ -78,6 +78,15 @@ public class DialogBox extends HBox {
         dialog.getStyleClass().add(DIALOG_REPLY_LABEL_FIELD_STRING);
     }
 
+    /**
+     * Replaces the text displayed.
+     *
+     * @param text The text to display
+     */
+    public void setText(String text) {
+        dialog.setText(text);
+    }
+
     /**
      * Gets a dialog box for the user.
      *
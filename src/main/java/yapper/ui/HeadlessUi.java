@@ -0,0 +1,116 @@
+package yapper.ui;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import yapper.chatbot.CommandExecutor;
+import yapper.chatbot.Yapper;
+
+/**
+ * Runs the chatbot without JavaFX, reading one command per line and writing the responses as text.
+ *
+ * <p>Responses go through a single buffered stream, which is flushed only once every command already
+ * read has been answered, so a script is answered in large writes while a person typing still sees each
+ * response straight away. Reminders are written between responses, never in the middle of one.
+ */
+public class HeadlessUi {
+
+    // Size of the output buffer
+    private static final int OUTPUT_BUFFER_SIZE_INT = 64 * 1024;
+
+    /**
+     * Yapper to run the commands with.
+     */
+    private final Yapper yapper;
+
+    /**
+     * Reader of the commands.
+     */
+    private final BufferedReader in;
+
+    /**
+     * Stream to write the responses to.
+     */
+    private final PrintStream out;
+
+    /**
+     * Constructs a HeadlessUi instance.
+     *
+     * @param yapper Yapper to run the commands with.
+     * @param in     Reader of the commands.
+     * @param out    Stream to write the responses to.
+     */
+    public HeadlessUi(Yapper yapper, BufferedReader in, PrintStream out) {
+        this.yapper = yapper;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Returns a buffered UTF-8 stream writing to standard output, to be installed as System.out so that
+     * responses and messages printed by the storage layer come out in order.
+     *
+     * @return Buffered stream writing to standard output.
+     */
+    public static PrintStream createStandardOutput() {
+        return new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out),
+                OUTPUT_BUFFER_SIZE_INT), false, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a reminder straight away, between the responses to two commands.
+     *
+     * @param reminder Reminder to write.
+     */
+    public void showReminder(String reminder) {
+        synchronized (this.out) {
+            this.out.println(reminder);
+            this.out.flush();
+        }
+    }
+
+    /**
+     * Runs commands until the input ends or a command ends the conversation.
+     *
+     * @param isGreeting True to write the greeting before reading the first command.
+     * @throws IOException If the commands cannot be read.
+     */
+    public void run(boolean isGreeting) throws IOException {
+        if (isGreeting) {
+            this.out.println(Ui.printGreet(this.yapper.getName()));
+            this.out.flush();
+        }
+
+        ArrayList<String> responseList = new ArrayList<>();
+        String input;
+        try {
+            while ((input = this.in.readLine()) != null) {
+                if (input.isBlank()) {
+                    continue;
+                }
+
+                responseList.clear();
+                boolean isExit = CommandExecutor.executeLine(this.yapper, input, responseList);
+                synchronized (this.out) {
+                    for (String response : responseList) {
+                        this.out.println(response);
+                    }
+                }
+                if (isExit) {
+                    break;
+                }
+                if (!this.in.ready()) {
+                    this.out.flush();
+                }
+            }
+        } finally {
+            this.out.flush();
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package yapper.ui;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -11,10 +11,8 @@ import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
+import yapper.chatbot.CommandExecutor;
 import yapper.chatbot.Yapper;
-import yapper.commands.Command;
-import yapper.data.exception.InvalidCommandSyntaxException;
-import yapper.parser.CommandParser;
 
 /**
  * Controller for the main GUI.
@@ -28,6 +26,9 @@ public class MainWindow extends AnchorPane {
     // Assert messages
     private static final String ASSERT_RESPONSE_LIST_EMPTY = "Response list should not be empty.";
 
+    // Shown in place of a response until the command has run
+    private static final String PENDING_RESPONSE_STRING = "...";
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -39,6 +40,11 @@ public class MainWindow extends AnchorPane {
 
     private Yapper yapper;
 
+    /**
+     * Runs the commands off the JavaFX application thread.
+     */
+    private CommandExecutor commandExecutor;
+
     private Image userImage = new Image(this.getClass().getResourceAsStream(USER_IMAGE));
     private Image yapperImage = new Image(this.getClass().getResourceAsStream(YAPPER_IMAGE));
 
@@ -58,52 +64,70 @@ public class MainWindow extends AnchorPane {
      */
     public void setYapper(Yapper y) {
         yapper = y;
+        commandExecutor = new CommandExecutor(y);
+        yapper.startReminders(reminder -> Platform.runLater(() -> this.displayReminder(reminder)));
     }
 
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing
-     * Yapper's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Closes Yapper once the commands entered have run, saving the tasks and notes on the thread running the
+     * commands rather than the JavaFX application thread, which waits for it.
      */
-    @FXML
-    private void handleUserInput() {
-
-        String input = userInput.getText();
-        ArrayList<String> responseList = new ArrayList<>(); // List of responses to be displayed to the user
+    public void close() {
         try {
-            Command command = CommandParser.parse(
-                    input,
-                    yapper.getTaskList(),
-                    yapper.getNoteList(),
-                    yapper.getTaskFile(),
-                    yapper.getNoteFile(),
-                    yapper.getTaskFileManager(),
-                    yapper.getNoteFileManager());
+            commandExecutor.close();
+        } catch (IOException e) {
+            System.out.println(e.getLocalizedMessage());
+        }
+    }
+
+
+    /**
+     * Displays a reminder from Yapper in the dialog container.
+     *
+     * @param reminder The reminder to be displayed.
+     */
+    private void displayReminder(String reminder) {
+        dialogContainer.getChildren().add(DialogBox.getYapperDialog(reminder, yapperImage));
+    }
 
-            command.execute(responseList);
 
-        } catch (InvalidCommandSyntaxException | IndexOutOfBoundsException | IllegalArgumentException e) {
-            this.addResponses(responseList, e.getMessage());
+    /**
+     * Creates two dialog boxes, one echoing user input and the other showing that
+     * Yapper is working on a reply, and appends them to the dialog container.
+     * The command runs in the background and the reply replaces the pending text
+     * once it is ready. Clears the user input after processing.
+     */
+    @FXML
+    private void handleUserInput() {
 
-        }
+        String input = userInput.getText();
+        DialogBox responseDialog = this.displayResponses(input, PENDING_RESPONSE_STRING);
 
-        assert responseList.size() > 0 : ASSERT_RESPONSE_LIST_EMPTY;
+        commandExecutor.submit(input, Platform::runLater, (responseList, isExit) -> {
+            assert responseList.size() > 0 : ASSERT_RESPONSE_LIST_EMPTY;
 
-        this.displayResponses(input, responseList.toArray(new String[0]));
+            this.displayResult(responseDialog, responseList, isExit);
+        });
 
         userInput.clear();
     }
 
 
     /**
-     * Adds multiple responses to the response list using varargs.
+     * Replaces the pending text of a dialog box with the responses to the command,
+     * and closes the application if the command ends the conversation.
      *
-     * @param responseList The list to store responses.
-     * @param messages     The messages to be added.
+     * @param responseDialog The dialog box showing the pending text.
+     * @param responseList   The responses to be displayed.
+     * @param isExit         True if the command ends the conversation.
      */
-    private void addResponses(List<String> responseList, String... messages) {
-        responseList.addAll(Arrays.asList(messages));
+    private void displayResult(DialogBox responseDialog, ArrayList<String> responseList, boolean isExit) {
+        responseDialog.setText(String.join("\n", responseList));
+
+        if (isExit) {
+            Platform.exit();
+        }
     }
 
 
@@ -112,13 +136,16 @@ public class MainWindow extends AnchorPane {
      *
      * @param input     The user's input.
      * @param responses The responses to be displayed.
+     * @return The dialog box displaying Yapper's response.
      */
-    private void displayResponses(String input, String... responses) {
+    private DialogBox displayResponses(String input, String... responses) {
         String fullResponseString = String.join("\n", responses);
+        DialogBox responseDialog = DialogBox.getYapperDialog(fullResponseString, yapperImage);
         dialogContainer.getChildren().addAll(
                 DialogBox.getUserDialog(input, userImage),
-                DialogBox.getYapperDialog(fullResponseString, yapperImage));
+                responseDialog);
 
+        return responseDialog;
     }
 
 
@@ -0,0 +1,255 @@
+package yapper.ui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import yapper.chatbot.SessionCache;
+import yapper.chatbot.Yapper;
+import yapper.util.VirtualThreads;
+
+/**
+ * Serves many users from one process over a loopback TCP port or a Unix domain socket, speaking the same
+ * one-command-per-line syntax as the headless mode.
+ *
+ * <p>A connection starts with {@code user <name>}, binding it to that user's tasks and notes, which are kept
+ * in a directory of their own. Every connection is served on its own thread and every user's commands run
+ * one at a time through a SessionCache, so commands of connections sharing a user never run at the same time,
+ * and users idle for long are saved and dropped from memory. A connection may instead start with
+ * {@code stats} to get the statistics of the cache. Every message sent back is ended by an empty line. An
+ * idle connection holds only its thread and small buffers.
+ */
+public class ServerUi {
+
+    // Size of the buffers of every connection
+    private static final int CONNECTION_BUFFER_SIZE_INT = 512;
+
+    // Connections waiting to be accepted before new ones are refused
+    private static final int ACCEPT_BACKLOG_INT = 1024;
+
+    // Commands a connection may have waiting to run before it stops reading more
+    private static final int MAX_PENDING_COMMANDS_INT = 64;
+
+    // Thread names
+    private static final String ACCEPT_THREAD_NAME_STRING = "yapper-server";
+    private static final String CONNECTION_THREAD_NAME_STRING = "yapper-connection";
+    private static final String COMMAND_THREAD_NAME_STRING = "yapper-commands";
+
+    // System property overriding the bound on the estimated weight of the users kept in memory
+    private static final String PROPERTY_SESSIONS_MAX_BYTES_STRING = "yapper.sessions.maxBytes";
+
+    // Login
+    private static final String LOGIN_PREFIX_STRING = "user ";
+    private static final String STATISTICS_REQUEST_STRING = "stats";
+    private static final Pattern USER_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    // Output
+    private static final String LISTENING_FORMAT_STRING = "Listening on %s";
+    private static final String LOGIN_PROMPT_STRING = "Log in with: user <name>";
+
+    // Error messages
+    private static final String ERR_INVALID_LOGIN_STRING =
+        "Invalid login! User names are 1 to 32 letters, digits, '_' or '-'.";
+    private static final String ERR_CONNECTION_FORMAT_STRING = "Connection closed: %s";
+
+    /**
+     * Name of the chatbot.
+     */
+    private final String chatbotName;
+
+    /**
+     * Address to listen on.
+     */
+    private final SocketAddress address;
+
+    /**
+     * Directory holding a directory of tasks and notes for every user.
+     */
+    private final Path dataDirectory;
+
+    /**
+     * Users served, kept in memory while they are used.
+     */
+    private final SessionCache sessions;
+
+    /**
+     * Constructs a ServerUi instance.
+     *
+     * @param chatbotName   Name of the chatbot.
+     * @param address       Address to listen on, either on the loopback interface or of a Unix domain socket.
+     * @param dataDirectory Directory holding a directory of tasks and notes for every user.
+     * @param yapperFactory Creates the chatbot serving a user, given the directory of their tasks and notes.
+     */
+    public ServerUi(String chatbotName, SocketAddress address, Path dataDirectory,
+            Function<Path, Yapper> yapperFactory) {
+        this.chatbotName = chatbotName;
+        this.address = address;
+        this.dataDirectory = dataDirectory;
+        this.sessions = new SessionCache(userName -> yapperFactory.apply(dataDirectory.resolve(userName)),
+                VirtualThreads.executor(COMMAND_THREAD_NAME_STRING),
+                Long.getLong(PROPERTY_SESSIONS_MAX_BYTES_STRING, SessionCache.DEFAULT_MAX_WEIGHT_LONG));
+    }
+
+    /**
+     * Returns the address of the Unix domain socket at a path, or of a port on the loopback interface.
+     *
+     * @param portOrPath Port number, or path of the socket.
+     * @return Address to listen on.
+     */
+    public static SocketAddress toAddress(String portOrPath) {
+        try {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(portOrPath));
+        } catch (NumberFormatException e) {
+            return UnixDomainSocketAddress.of(portOrPath);
+        }
+    }
+
+    /**
+     * Accepts connections until the server socket fails.
+     *
+     * @throws IOException If the address cannot be listened on.
+     */
+    public void run() throws IOException {
+        boolean isUnix = this.address instanceof UnixDomainSocketAddress;
+        try (ServerSocketChannel server = isUnix
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open()) {
+            server.bind(this.address, ACCEPT_BACKLOG_INT);
+            System.out.println(String.format(LISTENING_FORMAT_STRING, this.address));
+            System.out.flush();
+
+            Thread.currentThread().setName(ACCEPT_THREAD_NAME_STRING);
+            while (true) {
+                SocketChannel connection = server.accept();
+                VirtualThreads.start(CONNECTION_THREAD_NAME_STRING, () -> serve(connection));
+            }
+        } finally {
+            if (isUnix) {
+                Files.deleteIfExists(((UnixDomainSocketAddress) this.address).getPath());
+            }
+        }
+    }
+
+    /**
+     * Serve one connection until it is closed or its user says bye
+     *
+     * @param connection Connection to serve.
+     */
+    private void serve(SocketChannel connection) {
+        try (connection) {
+            // readers and writers from Channels.newReader and newWriter do not hold the channel's blocking
+            // lock, unlike its streams, so responses can be written while the next command is awaited
+            BufferedReader in = new BufferedReader(Channels.newReader(connection,
+                    StandardCharsets.UTF_8.newDecoder(), CONNECTION_BUFFER_SIZE_INT), CONNECTION_BUFFER_SIZE_INT);
+            PrintWriter out = new PrintWriter(Channels.newWriter(connection,
+                    StandardCharsets.UTF_8.newEncoder(), CONNECTION_BUFFER_SIZE_INT));
+
+            String userName = logIn(in, out);
+            if (userName == null) {
+                return;
+            }
+            respond(out, List.of(Ui.printGreet(this.chatbotName)));
+
+            Semaphore pendingCommands = new Semaphore(MAX_PENDING_COMMANDS_INT);
+            String input;
+            while ((input = in.readLine()) != null) {
+                if (input.isBlank()) {
+                    continue;
+                }
+                pendingCommands.acquire();
+                this.sessions.submit(userName, input, (responseList, isExit) -> {
+                    try {
+                        respond(out, responseList);
+                    } finally {
+                        pendingCommands.release();
+                        if (isExit) {
+                            closeQuietly(connection);
+                        }
+                    }
+                });
+            }
+
+            // let the commands already read run before the connection is closed
+            pendingCommands.acquire(MAX_PENDING_COMMANDS_INT);
+
+        } catch (ClosedChannelException e) {
+            // closed after the user said bye
+        } catch (IOException e) {
+            System.out.println(String.format(ERR_CONNECTION_FORMAT_STRING, e.getLocalizedMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the user name the connection logs in with, creating the directory of the user's tasks and notes,
+     * or answers a request for the statistics of the cache.
+     *
+     * @param in  Reader of the connection.
+     * @param out Stream writing to the connection.
+     * @return Name of the user, or null if the login is invalid or the statistics were requested.
+     * @throws IOException If the login cannot be read.
+     */
+    private String logIn(BufferedReader in, PrintWriter out) throws IOException {
+        respond(out, List.of(LOGIN_PROMPT_STRING));
+
+        String login = in.readLine();
+        if (STATISTICS_REQUEST_STRING.equals(login)) {
+            respond(out, List.of(this.sessions.getStatistics()));
+            return null;
+        }
+        String userName = login == null || !login.startsWith(LOGIN_PREFIX_STRING)
+                ? null
+                : login.substring(LOGIN_PREFIX_STRING.length()).trim();
+        if (userName == null || !USER_NAME_PATTERN.matcher(userName).matches()) {
+            respond(out, List.of(ERR_INVALID_LOGIN_STRING));
+            return null;
+        }
+
+        Files.createDirectories(this.dataDirectory.resolve(userName));
+        return userName;
+    }
+
+    /**
+     * Write responses to a connection, ended by an empty line
+     *
+     * @param out       Stream writing to the connection.
+     * @param responses Responses to write.
+     */
+    private static void respond(PrintWriter out, Iterable<String> responses) {
+        for (String response : responses) {
+            out.println(response);
+        }
+        out.println();
+        out.flush();
+    }
+
+    /**
+     * Close a connection, ignoring failures as it is no longer used
+     *
+     * @param connection Connection to close.
+     */
+    private static void closeQuietly(SocketChannel connection) {
+        try {
+            connection.close();
+        } catch (IOException e) {
+            // the connection is closed either way
+        }
+    }
+}
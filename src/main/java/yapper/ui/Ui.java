@@ -18,9 +18,25 @@ public class Ui {
             -----------------------------------------------------------------------------------------
             - list {task | note}                - Show the current task or note list
             - find {task | note} <search_term>  - Find tasks or notes containing <search_term>
+            - find {~task | ~note} <search_term> [max_distance]
+                                                 - Find tasks or notes with words up to [max_distance]
+                                                   typos away from the words of <search_term>
+            - search note <words>               - List the notes best matching <words>, best first
+            - between <from> <to>               - List the events and deadlines from <from> to <to>
+                                                   (Format: dd-MM-yyyy HHmm)
+            - conflicts                         - List every pair of events clashing with each other
+            - freeslot <duration> /from <from> /to <to>
+                                                 - List the earliest gaps between events from <from>
+                                                   to <to> at least <duration> long
+                                                   (Format: 1h30m, dd-MM-yyyy HHmm)
+            - next [k]                          - List the k unfinished deadlines and events due soonest
+            - query [explain] <filters>         - List the tasks matching every filter, such as
+                                                   type:deadline done:false due<25-12-2026 text:report,
+                                                   joined with or, not and (), explain showing the plan
             - mark <task_number>                - Mark task <task_number> as done
             - unmark <task_number>              - Unmark task <task_number> as incomplete
             - delete {task | note} <index>      - Delete task or note with <index> from the list
+            - run <file>                        - Run every command in <file>, one per line
             - bye                               - End the conversation with the chatbot
             - help                              - Show this help menu
 
@@ -31,7 +47,8 @@ public class Ui {
                                                  - Create a Deadline task with <deadline>
                                                    (Format: dd-MM-yyyy HHmm)
             - event <task_name> /from <start_time> /to <end_time>
-                                                 - Create an Event task with <start_time> and <end_time>
+                                                 - Create an Event task with <start_time> and <end_time>,
+                                                   listing the events it clashes with
                                                    (Format: dd-MM-yyyy HHmm)
 
             === Note Creation ===
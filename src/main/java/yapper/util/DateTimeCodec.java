@@ -0,0 +1,226 @@
+package yapper.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parses and formats the date and time patterns shared by commands, storage and task rendering.
+ *
+ * <p>Dates are entered and stored as {@code dd-MM-yyyy HHmm}, or as {@code dd-MM-yyyy} where only the day
+ * matters, and displayed as {@code dd-MMM-yyyy HHmm}.
+ * The formatters are built once and are safe to share between threads. Well-formed values go through
+ * allocation-light fast paths that give the same results as the formatters; anything else, such as a day
+ * the formatter would clamp to the end of the month, falls back to the formatters.
+ */
+public final class DateTimeCodec {
+
+    // Patterns
+    public static final String INPUT_PATTERN_STRING = "dd-MM-yyyy HHmm";
+    public static final String INPUT_DATE_PATTERN_STRING = "dd-MM-yyyy";
+    public static final String DISPLAY_DATE_PATTERN_STRING = "dd-MMM-yyyy";
+    public static final String DISPLAY_PATTERN_STRING = "dd-MMM-yyyy HHmm";
+
+    // Formatters
+    public static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern(INPUT_PATTERN_STRING);
+    public static final DateTimeFormatter INPUT_DATE_FORMATTER = DateTimeFormatter.ofPattern(INPUT_DATE_PATTERN_STRING);
+    public static final DateTimeFormatter DISPLAY_DATE_FORMATTER =
+            DateTimeFormatter.ofPattern(DISPLAY_DATE_PATTERN_STRING);
+    public static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern(DISPLAY_PATTERN_STRING);
+
+    // Lengths of a value in the input patterns
+    private static final int INPUT_LENGTH_INT = INPUT_PATTERN_STRING.length();
+    private static final int INPUT_DATE_LENGTH_INT = INPUT_DATE_PATTERN_STRING.length();
+
+    // Years the fast paths print as exactly four digits
+    private static final int MIN_FAST_YEAR_INT = 1;
+    private static final int MAX_FAST_YEAR_INT = 9999;
+
+    /**
+     * Short month names in the display formatter's locale, indexed by month value.
+     */
+    private static final String[] MONTH_NAMES = buildMonthNames();
+
+    private DateTimeCodec() {
+    }
+
+    /**
+     * Parses a date and time in the input pattern.
+     *
+     * @param text text to parse
+     * @return parsed date and time
+     * @throws java.time.format.DateTimeParseException if the text is not a valid date and time
+     */
+    public static LocalDateTime parse(CharSequence text) {
+        LocalDateTime dateTime = parseFast(text);
+        return dateTime != null ? dateTime : LocalDateTime.parse(text, INPUT_FORMATTER);
+    }
+
+    /**
+     * Parses a date in the input pattern, without the time.
+     *
+     * @param text text to parse
+     * @return parsed date
+     * @throws java.time.format.DateTimeParseException if the text is not a valid date
+     */
+    public static LocalDate parseDate(CharSequence text) {
+        LocalDate date = parseDateFast(text);
+        return date != null ? date : LocalDate.parse(text, INPUT_DATE_FORMATTER);
+    }
+
+    /**
+     * Appends a date and time in the input pattern, which is also the storage pattern.
+     *
+     * @param dateTime date and time to format
+     * @param sb       StringBuilder to append to
+     * @return the StringBuilder
+     */
+    public static StringBuilder formatInput(LocalDateTime dateTime, StringBuilder sb) {
+        int year = dateTime.getYear();
+        if (year < MIN_FAST_YEAR_INT || year > MAX_FAST_YEAR_INT) {
+            INPUT_FORMATTER.formatTo(dateTime, sb);
+            return sb;
+        }
+        appendTwoDigits(sb, dateTime.getDayOfMonth()).append('-');
+        appendTwoDigits(sb, dateTime.getMonthValue()).append('-');
+        appendFourDigits(sb, year).append(' ');
+        return appendTwoDigits(appendTwoDigits(sb, dateTime.getHour()), dateTime.getMinute());
+    }
+
+    /**
+     * Returns a date and time in the input pattern.
+     *
+     * @param dateTime date and time to format
+     * @return formatted date and time
+     */
+    public static String formatInput(LocalDateTime dateTime) {
+        return formatInput(dateTime, new StringBuilder(INPUT_LENGTH_INT)).toString();
+    }
+
+    /**
+     * Appends a date in the display pattern, without the time.
+     *
+     * @param dateTime date and time to format
+     * @param sb       StringBuilder to append to
+     * @return the StringBuilder
+     */
+    public static StringBuilder formatDisplayDate(LocalDateTime dateTime, StringBuilder sb) {
+        int year = dateTime.getYear();
+        if (year < MIN_FAST_YEAR_INT || year > MAX_FAST_YEAR_INT) {
+            DISPLAY_DATE_FORMATTER.formatTo(dateTime, sb);
+            return sb;
+        }
+        appendTwoDigits(sb, dateTime.getDayOfMonth()).append('-');
+        sb.append(MONTH_NAMES[dateTime.getMonthValue()]).append('-');
+        return appendFourDigits(sb, year);
+    }
+
+    /**
+     * Appends a date and time in the display pattern.
+     *
+     * @param dateTime date and time to format
+     * @param sb       StringBuilder to append to
+     * @return the StringBuilder
+     */
+    public static StringBuilder formatDisplay(LocalDateTime dateTime, StringBuilder sb) {
+        int year = dateTime.getYear();
+        if (year < MIN_FAST_YEAR_INT || year > MAX_FAST_YEAR_INT) {
+            DISPLAY_FORMATTER.formatTo(dateTime, sb);
+            return sb;
+        }
+        formatDisplayDate(dateTime, sb).append(' ');
+        return appendTwoDigits(appendTwoDigits(sb, dateTime.getHour()), dateTime.getMinute());
+    }
+
+    /**
+     * Returns the date and time of well-formed input-pattern text, or null if the text needs the formatter.
+     *
+     * @param text text to parse
+     * @return parsed date and time, or null
+     */
+    private static LocalDateTime parseFast(CharSequence text) {
+        if (text.length() != INPUT_LENGTH_INT
+                || text.charAt(2) != '-' || text.charAt(5) != '-' || text.charAt(10) != ' ') {
+            return null;
+        }
+        int day = readDigits(text, 0, 2);
+        int month = readDigits(text, 3, 5);
+        int year = readDigits(text, 6, 10);
+        int hour = readDigits(text, 11, 13);
+        int minute = readDigits(text, 13, 15);
+        if ((day | month | year | hour | minute) < 0 || year < MIN_FAST_YEAR_INT || hour > 23 || minute > 59) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute);
+        } catch (DateTimeException e) {
+            return null; // let the formatter resolve or reject it
+        }
+    }
+
+    /**
+     * Returns the date of well-formed date-only input-pattern text, or null if the text needs the formatter.
+     *
+     * @param text text to parse
+     * @return parsed date, or null
+     */
+    private static LocalDate parseDateFast(CharSequence text) {
+        if (text.length() != INPUT_DATE_LENGTH_INT || text.charAt(2) != '-' || text.charAt(5) != '-') {
+            return null;
+        }
+        int day = readDigits(text, 0, 2);
+        int month = readDigits(text, 3, 5);
+        int year = readDigits(text, 6, 10);
+        if ((day | month | year) < 0 || year < MIN_FAST_YEAR_INT) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null; // let the formatter resolve or reject it
+        }
+    }
+
+    /**
+     * Returns the value of a run of ASCII digits, or -1 if any character is not one.
+     *
+     * @param text text to read
+     * @param from index of the first digit
+     * @param to   index past the last digit
+     * @return value of the digits, or -1
+     */
+    private static int readDigits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static StringBuilder appendFourDigits(StringBuilder sb, int value) {
+        return appendTwoDigits(appendTwoDigits(sb, value / 100), value % 100);
+    }
+
+    /**
+     * Returns the short month names the display formatter prints, indexed by month value.
+     *
+     * @return month names, with index 0 unused
+     */
+    private static String[] buildMonthNames() {
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM", DISPLAY_FORMATTER.getLocale());
+        String[] monthNames = new String[13];
+        for (int month = 1; month <= 12; month++) {
+            monthNames[month] = LocalDate.of(2000, month, 1).format(monthFormatter);
+        }
+        return monthNames;
+    }
+}
@@ -0,0 +1,85 @@
+package yapper.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks one at a time, in the order they were submitted, on threads borrowed from another executor.
+ *
+ * <p>No thread is kept while there is nothing to run, so an idle SerialExecutor costs only its empty queue. A
+ * task that throws ends the thread running it, as it would on the delegate, and the tasks queued behind it
+ * carry on on another thread.
+ */
+public final class SerialExecutor implements Executor {
+
+    // Initial capacity of the queue, kept small as most executors are idle
+    private static final int INITIAL_QUEUE_CAPACITY_INT = 4;
+
+    /**
+     * Executor lending the threads the tasks run on.
+     */
+    private final Executor delegate;
+
+    /**
+     * Tasks waiting to run.
+     */
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>(INITIAL_QUEUE_CAPACITY_INT);
+
+    /**
+     * True while a thread borrowed from the delegate is running the queued tasks.
+     */
+    private boolean isDraining;
+
+    /**
+     * Constructs a SerialExecutor instance.
+     *
+     * @param delegate executor lending the threads the tasks run on
+     */
+    public SerialExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Queues a task to run after every task submitted before it.
+     *
+     * @param task task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        synchronized (this.tasks) {
+            this.tasks.add(task);
+            if (this.isDraining) {
+                return;
+            }
+            this.isDraining = true;
+        }
+        this.delegate.execute(this::drain);
+    }
+
+    /**
+     * Run the queued tasks until the queue is empty
+     */
+    private void drain() {
+        while (true) {
+            Runnable task;
+            synchronized (this.tasks) {
+                task = this.tasks.poll();
+                if (task == null) {
+                    this.isDraining = false;
+                    return;
+                }
+            }
+
+            boolean isCompleted = false;
+            try {
+                task.run();
+                isCompleted = true;
+            } finally {
+                if (!isCompleted) {
+                    // keep running the tasks queued behind it on another thread, leaving the failure to this one
+                    this.delegate.execute(this::drain);
+                }
+            }
+        }
+    }
+}
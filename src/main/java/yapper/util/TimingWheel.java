@@ -0,0 +1,339 @@
+package yapper.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel, holding timers that expire at a given tick and handing out the expired ones as
+ * time advances.
+ *
+ * <p>Every level has 64 slots, a slot of level {@code l} spanning {@code 64^l} ticks. A timer is kept in the
+ * level of the highest 6 bits where its expiry and the current tick differ, in the slot those bits of its
+ * expiry name, as a node of a doubly linked list. Scheduling and cancelling a timer therefore take constant
+ * time, however many timers there are. When the current tick reaches a slot of a higher level, the timers of
+ * that slot are moved down to the lower levels, so a timer is moved at most once per level before it expires.
+ * Advancing skips straight to the next tick starting a slot of the lowest level holding timers, as nothing can
+ * expire or move down before then, so a long advance costs little more than a short one.
+ *
+ * <p>Ticks are taken to be non-negative. The wheel is not thread-safe.
+ *
+ * @param <T> type of the values of the timers
+ */
+public final class TimingWheel<T> {
+
+    // Bits of a tick each level stands for, and the number of levels needed to cover every tick
+    private static final int SLOT_BITS_INT = 6;
+    private static final int SLOT_COUNT_INT = 1 << SLOT_BITS_INT;
+    private static final int SLOT_MASK_INT = SLOT_COUNT_INT - 1;
+    private static final int LEVEL_COUNT_INT = (Long.SIZE + SLOT_BITS_INT - 1) / SLOT_BITS_INT;
+
+    /**
+     * A value due at a tick.
+     *
+     * @param <T> type of the value
+     */
+    public static final class Timer<T> {
+
+        /**
+         * Value of the timer.
+         */
+        private final T value;
+
+        /**
+         * Tick the timer expires at.
+         */
+        private final long expiryTick;
+
+        /**
+         * Level of the slot holding the timer, or -1 if it was already expired when scheduled.
+         */
+        private int level;
+
+        /**
+         * Previous timer of the list holding the timer, or null if it is not scheduled.
+         */
+        private Timer<T> previous;
+
+        /**
+         * Next timer of the list holding the timer, or null if it is not scheduled.
+         */
+        private Timer<T> next;
+
+        private Timer(T value, long expiryTick) {
+            this.value = value;
+            this.expiryTick = expiryTick;
+        }
+
+        /**
+         * Returns the value of the timer.
+         *
+         * @return the value of the timer
+         */
+        public T getValue() {
+            return this.value;
+        }
+
+        /**
+         * Returns the tick the timer expires at.
+         *
+         * @return the tick the timer expires at
+         */
+        public long getExpiryTick() {
+            return this.expiryTick;
+        }
+
+        /**
+         * Returns true if the timer has neither expired nor been cancelled.
+         *
+         * @return true if the timer is still in the wheel
+         */
+        public boolean isScheduled() {
+            return this.next != null;
+        }
+    }
+
+    /**
+     * Head of the list of every slot, by level then slot.
+     */
+    private final ArrayList<Timer<T>> slots = new ArrayList<>(LEVEL_COUNT_INT * SLOT_COUNT_INT);
+
+    /**
+     * Head of the list of the timers already expired when scheduled.
+     */
+    private final Timer<T> overdue = newHead();
+
+    /**
+     * Number of timers in the slots of every level.
+     */
+    private final int[] levelSizes = new int[LEVEL_COUNT_INT];
+
+    /**
+     * Tick the wheel has advanced to.
+     */
+    private long currentTick;
+
+    /**
+     * Number of timers in the wheel.
+     */
+    private int size;
+
+    /**
+     * Constructs a TimingWheel instance.
+     *
+     * @param startTick tick the wheel starts at
+     */
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int i = 0; i < LEVEL_COUNT_INT * SLOT_COUNT_INT; i++) {
+            this.slots.add(newHead());
+        }
+    }
+
+    /**
+     * Returns the tick the wheel has advanced to.
+     *
+     * @return the current tick
+     */
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    /**
+     * Returns the number of timers in the wheel.
+     *
+     * @return number of timers neither expired nor cancelled
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Schedules a value to expire at a tick. A timer expiring no later than the current tick expires on the
+     * next advance.
+     *
+     * @param value      value of the timer
+     * @param expiryTick tick the timer expires at
+     * @return the timer, to cancel it with
+     */
+    public Timer<T> schedule(T value, long expiryTick) {
+        Timer<T> timer = new Timer<>(value, expiryTick);
+        if (expiryTick <= this.currentTick) {
+            timer.level = -1;
+            link(this.overdue, timer);
+        } else {
+            place(timer);
+        }
+        this.size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer of the wheel.
+     *
+     * @param timer timer to cancel
+     * @return true if the timer was cancelled, false if it had already expired or been cancelled
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (!timer.isScheduled()) {
+            return false;
+        }
+        if (timer.level >= 0) {
+            this.levelSizes[timer.level]--;
+        }
+        unlink(timer);
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to a tick, adding the values of the timers expiring by then to a list in order of
+     * expiry, the timers that were overdue when scheduled coming first.
+     *
+     * @param tick    tick to advance to
+     * @param expired list to add the values of the expired timers to
+     */
+    public void advance(long tick, List<T> expired) {
+        expire(this.overdue, expired);
+        while (this.currentTick < tick) {
+            int level = lowestLevel();
+            if (level < 0) {
+                this.currentTick = tick; // nothing to move down or expire on the way
+                return;
+            }
+            if (level > 0) {
+                // nothing moves down or expires before the next tick starting a slot of that level
+                int shift = level * SLOT_BITS_INT;
+                long nextSlotTick = ((this.currentTick >>> shift) + 1) << shift;
+                if (nextSlotTick > tick || nextSlotTick < 0) {
+                    this.currentTick = tick;
+                    return;
+                }
+                this.currentTick = nextSlotTick - 1;
+            }
+            this.currentTick++;
+            cascade();
+            expire(slotOf(0, this.currentTick), expired);
+        }
+    }
+
+    /**
+     * Move the timers of the higher level slots the current tick just reached down to the lower levels,
+     * highest level first
+     */
+    private void cascade() {
+        int topLevel = Math.min(LEVEL_COUNT_INT - 1, Long.numberOfTrailingZeros(this.currentTick) / SLOT_BITS_INT);
+        for (int level = topLevel; level >= 1; level--) {
+            Timer<T> head = slotOf(level, this.currentTick);
+            Timer<T> timer = head.next;
+            head.next = head;
+            head.previous = head;
+            while (timer != head) {
+                Timer<T> next = timer.next;
+                this.levelSizes[level]--;
+                place(timer);
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * Link a timer expiring no earlier than the current tick into the slot its expiry falls in
+     *
+     * @param timer timer to link
+     */
+    private void place(Timer<T> timer) {
+        long differentBits = timer.expiryTick ^ this.currentTick;
+        int level = differentBits == 0
+                ? 0
+                : (Long.SIZE - 1 - Long.numberOfLeadingZeros(differentBits)) / SLOT_BITS_INT;
+        timer.level = level;
+        this.levelSizes[level]++;
+        link(slotOf(level, timer.expiryTick), timer);
+    }
+
+    /**
+     * Returns the lowest level holding timers.
+     *
+     * @return the lowest level holding timers, or -1 if there is none
+     */
+    private int lowestLevel() {
+        for (int level = 0; level < LEVEL_COUNT_INT; level++) {
+            if (this.levelSizes[level] > 0) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Unlink every timer of a list, adding their values to a list
+     *
+     * @param head    head of the list
+     * @param expired list to add the values to
+     */
+    private void expire(Timer<T> head, List<T> expired) {
+        Timer<T> timer = head.next;
+        while (timer != head) {
+            Timer<T> next = timer.next;
+            if (timer.level >= 0) {
+                this.levelSizes[timer.level]--;
+            }
+            timer.previous = null;
+            timer.next = null;
+            expired.add(timer.value);
+            this.size--;
+            timer = next;
+        }
+        head.next = head;
+        head.previous = head;
+    }
+
+    /**
+     * Returns the head of the list of the slot of a level a tick falls in.
+     *
+     * @param level level of the slot
+     * @param tick  tick falling in the slot
+     * @return the head of the list of the slot
+     */
+    private Timer<T> slotOf(int level, long tick) {
+        int slot = (int) (tick >>> (level * SLOT_BITS_INT)) & SLOT_MASK_INT;
+        return this.slots.get(level * SLOT_COUNT_INT + slot);
+    }
+
+    /**
+     * Returns the head of a new empty list.
+     *
+     * @return head linked to itself
+     */
+    private Timer<T> newHead() {
+        Timer<T> head = new Timer<>(null, 0);
+        head.previous = head;
+        head.next = head;
+        return head;
+    }
+
+    /**
+     * Link a timer at the end of a list
+     *
+     * @param head  head of the list
+     * @param timer timer to link
+     */
+    private static <T> void link(Timer<T> head, Timer<T> timer) {
+        timer.previous = head.previous;
+        timer.next = head;
+        head.previous.next = timer;
+        head.previous = timer;
+    }
+
+    /**
+     * Unlink a timer from its list
+     *
+     * @param timer timer to unlink
+     */
+    private static <T> void unlink(Timer<T> timer) {
+        timer.previous.next = timer.next;
+        timer.next.previous = timer.previous;
+        timer.previous = null;
+        timer.next = null;
+    }
+}
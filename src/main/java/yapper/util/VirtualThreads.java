@@ -0,0 +1,91 @@
+package yapper.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads where the running JDK has them, and daemon platform threads otherwise.
+ * The project targets Java 17, so virtual threads are looked up reflectively.
+ */
+public final class VirtualThreads {
+
+    /**
+     * Factory creating virtual threads, or null if the running JDK has none.
+     */
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = lookUpVirtualThreadFactory();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns true if the running JDK has virtual threads.
+     *
+     * @return true if threads started here are virtual
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * Returns a thread factory naming every thread it creates with the given name.
+     *
+     * @param name name of the threads
+     * @return factory of virtual threads, or of daemon platform threads if virtual threads are unsupported
+     */
+    public static ThreadFactory factory(String name) {
+        return runnable -> {
+            Thread thread = VIRTUAL_THREAD_FACTORY == null
+                    ? new Thread(runnable)
+                    : VIRTUAL_THREAD_FACTORY.newThread(runnable);
+            thread.setName(name);
+            if (!thread.isDaemon()) {
+                thread.setDaemon(true);
+            }
+            return thread;
+        };
+    }
+
+    /**
+     * Starts a named thread running the given task.
+     *
+     * @param name     name of the thread
+     * @param runnable task to run
+     * @return the started thread
+     */
+    public static Thread start(String name, Runnable runnable) {
+        Thread thread = factory(name).newThread(runnable);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Returns an executor running every task on a new virtual thread, or on a pool of daemon platform threads
+     * reused between tasks if virtual threads are unsupported.
+     *
+     * @param name name of the threads
+     * @return executor of tasks
+     */
+    public static Executor executor(String name) {
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            return Executors.newCachedThreadPool(factory(name));
+        }
+        return runnable -> start(name, runnable);
+    }
+
+    /**
+     * Returns the factory of Thread.ofVirtual(), or null if the running JDK has none.
+     *
+     * @return factory creating virtual threads, or null
+     */
+    private static ThreadFactory lookUpVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package yapper.data.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Compares the time it takes to find tasks with a TrigramIndex against checking every task, on a large list
+ * of generated descriptions, along with the time it takes to build the index and to find misspelt search
+ * terms. Run with {@code ./gradlew benchmarkFind [-Prows=N]}.
+ */
+public class FindBenchmark {
+
+    // Benchmark settings
+    private static final int DEFAULT_ROW_COUNT_INT = 1_000_000;
+    private static final int WARMUP_ROUND_COUNT_INT = 2;
+    private static final int ROUND_COUNT_INT = 5;
+    private static final int FUZZY_WARMUP_ROUND_COUNT_INT = 1000;
+    private static final long SEED_LONG = 2103;
+
+    // Words the descriptions are made of, some common and some rare
+    private static final String[] VERBS = {"read", "return", "buy", "submit", "call", "review", "fix", "plan"};
+    private static final String[] NOUNS = {"book", "report", "groceries", "assignment", "mum", "pull request",
+        "bug", "trip", "lecture notes", "tutorial"};
+    private static final int TOPIC_COUNT_INT = 50_000;
+
+    // Search terms, from matching many tasks to matching none
+    private static final String[] TERMS = {"ook", "Report", "pull req", "topic 4213", "#1234", "week 7 of",
+        "CS2103", "zebra"};
+
+    // Misspelt search terms, each followed by the edit distance tolerated
+    private static final String[] FUZZY_TERMS = {"zebra", "2", "tutorail", "2", "cs2130", "1", "12345", "1",
+        "lectur", "1"};
+
+    // Output
+    private static final String ROWS_FORMAT_STRING = "%,d rows%n";
+    private static final String BUILD_FORMAT_STRING = "Index built in median %,d ms%n";
+    private static final String RESULT_FORMAT_STRING =
+            "%-12s %,8d matches  scan median %,9.3f ms  index median %,9.3f ms  %,7.1fx%n";
+    private static final String FUZZY_RESULT_FORMAT_STRING =
+            "~%-11s %,8d matches within %d  index median %,9.3f ms%n";
+
+    /**
+     * Functional interface for a way of finding tasks.
+     */
+    private interface Finder {
+        ArrayList<Task> find(String searchTerm);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of rows.
+     */
+    public static void main(String[] args) {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROW_COUNT_INT;
+        Random random = new Random(SEED_LONG);
+        ArrayList<Task> taskList = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            taskList.add(new ToDosTask(VERBS[random.nextInt(VERBS.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " for topic " + random.nextInt(TOPIC_COUNT_INT)
+                    + " in week " + (1 + random.nextInt(13)) + " of CS" + (1000 + random.nextInt(9000))
+                    + " #" + i));
+        }
+        System.out.printf(ROWS_FORMAT_STRING, rowCount);
+
+        TrigramIndex<Task> index = null;
+        long[] elapsedMillis = new long[ROUND_COUNT_INT];
+        for (int i = -WARMUP_ROUND_COUNT_INT; i < ROUND_COUNT_INT; i++) {
+            index = null;
+            System.gc();
+            long start = System.nanoTime();
+            index = new TrigramIndex<>(taskList);
+            if (i >= 0) {
+                elapsedMillis[i] = (System.nanoTime() - start) / 1_000_000;
+            }
+        }
+        Arrays.sort(elapsedMillis);
+        System.out.printf(BUILD_FORMAT_STRING, elapsedMillis[ROUND_COUNT_INT / 2]);
+
+        TrigramIndex<Task> builtIndex = index;
+        for (String term : TERMS) {
+            ArrayList<Task> expected = scan(taskList, term);
+            if (!expected.equals(builtIndex.find(term))) {
+                throw new IllegalStateException("Index and scan disagree on " + term);
+            }
+            double scanMillis = time(searchTerm -> scan(taskList, searchTerm), term, WARMUP_ROUND_COUNT_INT);
+            double indexMillis = time(builtIndex::find, term, WARMUP_ROUND_COUNT_INT);
+            System.out.printf(RESULT_FORMAT_STRING, term, expected.size(), scanMillis, indexMillis,
+                    scanMillis / indexMillis);
+        }
+        for (int i = 0; i < FUZZY_TERMS.length; i += 2) {
+            int maxDistance = Integer.parseInt(FUZZY_TERMS[i + 1]);
+            double indexMillis = time(searchTerm -> builtIndex.findFuzzy(searchTerm, maxDistance), FUZZY_TERMS[i],
+                    FUZZY_WARMUP_ROUND_COUNT_INT);
+            System.out.printf(FUZZY_RESULT_FORMAT_STRING, FUZZY_TERMS[i],
+                    builtIndex.findFuzzy(FUZZY_TERMS[i], maxDistance).size(), maxDistance, indexMillis);
+        }
+    }
+
+    /**
+     * Time a way of finding tasks over several rounds and return its median time.
+     *
+     * @param finder           way of finding tasks to time.
+     * @param searchTerm       search term to find.
+     * @param warmupRoundCount number of rounds run before timing.
+     * @return median time in milliseconds.
+     */
+    private static double time(Finder finder, String searchTerm, int warmupRoundCount) {
+        for (int i = 0; i < warmupRoundCount; i++) {
+            finder.find(searchTerm);
+        }
+
+        long[] elapsedNanos = new long[ROUND_COUNT_INT];
+        for (int i = 0; i < ROUND_COUNT_INT; i++) {
+            long start = System.nanoTime();
+            finder.find(searchTerm);
+            elapsedNanos[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(elapsedNanos);
+        return elapsedNanos[ROUND_COUNT_INT / 2] / 1e6;
+    }
+
+    /**
+     * Returns the tasks whose description contains a search term, checking every task.
+     *
+     * @param taskList   tasks to check.
+     * @param searchTerm search term to find.
+     * @return tasks containing the search term, in list order.
+     */
+    private static ArrayList<Task> scan(ArrayList<Task> taskList, String searchTerm) {
+        ArrayList<Task> matches = new ArrayList<>();
+        for (Task task : taskList) {
+            if (task.getDescription().contains(searchTerm)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,74 @@
+package yapper.data.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import yapper.data.notes.Note;
+
+/**
+ * Tests the NoteTextIndex class.
+ */
+public class NoteTextIndexTest {
+
+    // Constants for testing
+    private static final String[] WORDS = {"exam", "lecture", "tutorial", "CS2103", "week", "notes", "java",
+        "gradle", "recap", "quiz"};
+
+    /**
+     * Tests that notes are ranked by how much of the query they match, a title counting more than content.
+     */
+    @Test
+    public void testSearchRanksMatches() {
+        ArrayList<Note> noteList = new ArrayList<>();
+        noteList.add(new Note("groceries", "buy milk and eggs"));
+        noteList.add(new Note("lecture", "week 3 covers java generics"));
+        noteList.add(new Note("java", "java streams and java generics, more java"));
+        noteList.add(new Note("exam", "revise generics"));
+
+        NoteTextIndex index = new NoteTextIndex(noteList);
+        assertEquals(List.of(noteList.get(2), noteList.get(1)), index.search("Java", 10));
+        assertEquals(List.of(noteList.get(2)), index.search("java", 1));
+        assertEquals(List.of(noteList.get(3), noteList.get(1), noteList.get(2)), index.search("exam generics", 10));
+        assertTrue(index.search("missing", 10).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    /**
+     * Tests that an index kept up to date as notes are added and removed ranks notes as one built afresh.
+     */
+    @Test
+    public void testSearchMatchesRebuiltIndex() {
+        Random random = new Random(42);
+        ArrayList<Note> noteList = new ArrayList<>();
+        NoteTextIndex index = new NoteTextIndex(noteList);
+
+        for (int step = 0; step < 1000; step++) {
+            if (random.nextInt(3) > 0 || noteList.isEmpty()) {
+                noteList.add(new Note(randomText(random, 2), randomText(random, 8)));
+                index.add(noteList.size() - 1, noteList.get(noteList.size() - 1));
+            } else {
+                int idx = random.nextInt(noteList.size());
+                noteList.remove(idx);
+                index.remove(idx);
+            }
+
+            String query = randomText(random, 2);
+            assertEquals(new NoteTextIndex(noteList).search(query, 5), index.search(query, 5), query);
+        }
+    }
+
+    private static String randomText(Random random, int maxWordCount) {
+        StringBuilder text = new StringBuilder();
+        int wordCount = 1 + random.nextInt(maxWordCount);
+        for (int i = 0; i < wordCount; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,301 @@
+package yapper.data.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.ScheduleTask;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Tests the ScheduleIndex class against checking every task.
+ */
+public class ScheduleIndexTest {
+
+    // Constants for testing
+    private static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int HOUR_COUNT_INT = 24 * 14;
+
+    /**
+     * Tests that the events and deadlines between two dates match checking every task, while tasks are added,
+     * removed and rescheduled.
+     */
+    @Test
+    public void testBetweenMatchesScan() {
+        Random random = new Random(42);
+        ArrayList<Task> taskList = new ArrayList<>();
+        ScheduleIndex index = new ScheduleIndex(taskList);
+
+        for (int step = 0; step < 3000; step++) {
+            int operation = random.nextInt(4);
+            if (operation <= 1 || taskList.isEmpty()) {
+                taskList.add(randomTask(random));
+                index.add(taskList.get(taskList.size() - 1));
+            } else if (operation == 2) {
+                index.remove(taskList.remove(random.nextInt(taskList.size())));
+            } else {
+                int idx = random.nextInt(taskList.size());
+                Task oldTask = taskList.get(idx);
+                taskList.set(idx, randomTask(random));
+                index.replace(oldTask, taskList.get(idx));
+            }
+
+            LocalDateTime from = randomDateTime(random);
+            LocalDateTime to = from.plusHours(random.nextInt(48));
+            ArrayList<ScheduleTask> matches = index.between(from, to);
+            for (int i = 1; i < matches.size(); i++) {
+                assertTrue(!timeOf(matches.get(i - 1)).isAfter(timeOf(matches.get(i))));
+            }
+            assertEquals(sorted(scan(taskList, from, to)), sorted(matches));
+        }
+    }
+
+    /**
+     * Tests that events ending or deadlines due exactly at the edges of the period are included, an event coming
+     * before a deadline at the same time.
+     */
+    @Test
+    public void testBetweenIncludesEdges() {
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new EventsScheduleTask("before", START_DATE_TIME, START_DATE_TIME.plusHours(1)));
+        taskList.add(new DeadlineScheduleTask("due", START_DATE_TIME.plusHours(3)));
+        taskList.add(new EventsScheduleTask("after", START_DATE_TIME.plusHours(3), START_DATE_TIME.plusHours(5)));
+        taskList.add(new EventsScheduleTask("later", START_DATE_TIME.plusHours(4), START_DATE_TIME.plusHours(5)));
+
+        ScheduleIndex index = new ScheduleIndex(taskList);
+        assertEquals(List.of(taskList.get(0), taskList.get(2), taskList.get(1)),
+                index.between(START_DATE_TIME.plusHours(1), START_DATE_TIME.plusHours(3)));
+    }
+
+    /**
+     * Tests that the clashing events, and those clashing with a new event, match comparing every pair of events.
+     */
+    @Test
+    public void testClashesMatchScan() {
+        Random random = new Random(7);
+        ArrayList<Task> taskList = new ArrayList<>();
+        ScheduleIndex index = new ScheduleIndex(taskList);
+
+        for (int step = 0; step < 300; step++) {
+            taskList.add(randomTask(random));
+            index.add(taskList.get(taskList.size() - 1));
+            if (random.nextInt(4) == 0) {
+                index.remove(taskList.remove(random.nextInt(taskList.size())));
+            }
+
+            ArrayList<String> expectedPairs = new ArrayList<>();
+            ArrayList<EventsScheduleTask> eventList = events(taskList);
+            for (int i = 0; i < eventList.size(); i++) {
+                for (int j = i + 1; j < eventList.size(); j++) {
+                    if (isClash(eventList.get(i), eventList.get(j))) {
+                        expectedPairs.add(pairOf(eventList.get(i), eventList.get(j)));
+                    }
+                }
+            }
+            ArrayList<String> pairs = new ArrayList<>();
+            for (ScheduleIndex.Clash clash : index.clashes()) {
+                assertTrue(!clash.getFirst().getFromLocalDateTime().isAfter(clash.getSecond().getFromLocalDateTime()));
+                pairs.add(pairOf(clash.getFirst(), clash.getSecond()));
+            }
+            expectedPairs.sort(null);
+            pairs.sort(null);
+            assertEquals(expectedPairs, pairs);
+
+            EventsScheduleTask newEvent = (EventsScheduleTask) randomEvent(random);
+            ArrayList<EventsScheduleTask> expectedClashing = new ArrayList<>();
+            for (EventsScheduleTask event : eventList) {
+                if (isClash(event, newEvent)) {
+                    expectedClashing.add(event);
+                }
+            }
+            ArrayList<EventsScheduleTask> clashing =
+                    index.clashesWith(newEvent.getFromLocalDateTime(), newEvent.getToLocalDateTime());
+            assertEquals(sorted(new ArrayList<>(expectedClashing)), sorted(new ArrayList<>(clashing)));
+        }
+    }
+
+    /**
+     * Tests that an event ending as another starts does not clash with it.
+     */
+    @Test
+    public void testClashesExcludeTouchingEvents() {
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new EventsScheduleTask("morning", START_DATE_TIME, START_DATE_TIME.plusHours(2)));
+        taskList.add(new EventsScheduleTask("noon", START_DATE_TIME.plusHours(2), START_DATE_TIME.plusHours(4)));
+        taskList.add(new EventsScheduleTask("all day", START_DATE_TIME, START_DATE_TIME.plusHours(12)));
+
+        ScheduleIndex index = new ScheduleIndex(taskList);
+        ArrayList<ScheduleIndex.Clash> clashes = index.clashes();
+        assertEquals(2, clashes.size());
+        for (ScheduleIndex.Clash clash : clashes) {
+            assertTrue(clash.getFirst() == taskList.get(2) || clash.getSecond() == taskList.get(2));
+        }
+        assertEquals(List.of(taskList.get(2)),
+                index.clashesWith(START_DATE_TIME.plusHours(4), START_DATE_TIME.plusHours(5)));
+    }
+
+    /**
+     * Tests that the free slots match merging every event, while events are added, removed and rescheduled.
+     */
+    @Test
+    public void testFreeSlotsMatchScan() {
+        Random random = new Random(11);
+        ArrayList<Task> taskList = new ArrayList<>();
+        ScheduleIndex index = new ScheduleIndex(taskList);
+
+        for (int step = 0; step < 2000; step++) {
+            int operation = random.nextInt(4);
+            if (operation <= 1 || taskList.isEmpty()) {
+                taskList.add(randomTask(random));
+                index.add(taskList.get(taskList.size() - 1));
+            } else if (operation == 2) {
+                index.remove(taskList.remove(random.nextInt(taskList.size())));
+            } else {
+                int idx = random.nextInt(taskList.size());
+                Task oldTask = taskList.get(idx);
+                taskList.set(idx, randomTask(random));
+                index.replace(oldTask, taskList.get(idx));
+            }
+
+            LocalDateTime from = randomDateTime(random);
+            LocalDateTime to = from.plusHours(random.nextInt(200));
+            Duration minLength = Duration.ofHours(random.nextInt(6) + 1);
+            int limit = random.nextInt(5) + 1;
+            assertEquals(scanFreeSlots(taskList, from, to, minLength, limit),
+                    toStrings(index.freeSlots(from, to, minLength, limit)));
+        }
+    }
+
+    /**
+     * Tests that the free slots stop at the edges of the window and skip gaps too short.
+     */
+    @Test
+    public void testFreeSlotsWithinWindow() {
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new EventsScheduleTask("early", START_DATE_TIME, START_DATE_TIME.plusHours(2)));
+        taskList.add(new EventsScheduleTask("touching", START_DATE_TIME.plusHours(2), START_DATE_TIME.plusHours(3)));
+        taskList.add(new EventsScheduleTask("late", START_DATE_TIME.plusHours(4), START_DATE_TIME.plusHours(6)));
+
+        ScheduleIndex index = new ScheduleIndex(taskList);
+        assertEquals(List.of(START_DATE_TIME.plusHours(6) + "/" + START_DATE_TIME.plusHours(9)),
+                toStrings(index.freeSlots(START_DATE_TIME.plusHours(1), START_DATE_TIME.plusHours(9),
+                        Duration.ofHours(2), 5)));
+        assertEquals(List.of(START_DATE_TIME.plusHours(3) + "/" + START_DATE_TIME.plusHours(4)),
+                toStrings(index.freeSlots(START_DATE_TIME.plusHours(1), START_DATE_TIME.plusHours(9),
+                        Duration.ofHours(1), 1)));
+    }
+
+    private static ArrayList<String> scanFreeSlots(ArrayList<Task> taskList, LocalDateTime from, LocalDateTime to,
+            Duration minLength, int limit) {
+        ArrayList<EventsScheduleTask> eventList = events(taskList);
+        eventList.sort(Comparator.comparing(EventsScheduleTask::getFromLocalDateTime));
+        ArrayList<String> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (EventsScheduleTask event : eventList) {
+            if (event.getToLocalDateTime().isBefore(event.getFromLocalDateTime())) {
+                continue;
+            }
+            LocalDateTime gapEnd = event.getFromLocalDateTime().isBefore(to) ? event.getFromLocalDateTime() : to;
+            if (gapEnd.isAfter(cursor) && !cursor.plus(minLength).isAfter(gapEnd) && slots.size() < limit) {
+                slots.add(cursor + "/" + gapEnd);
+            }
+            if (event.getToLocalDateTime().isAfter(cursor)) {
+                cursor = event.getToLocalDateTime();
+            }
+        }
+        if (to.isAfter(cursor) && !cursor.plus(minLength).isAfter(to) && slots.size() < limit) {
+            slots.add(cursor + "/" + to);
+        }
+        return slots;
+    }
+
+    private static ArrayList<String> toStrings(ArrayList<ScheduleIndex.FreeSlot> slots) {
+        ArrayList<String> strings = new ArrayList<>();
+        for (ScheduleIndex.FreeSlot slot : slots) {
+            strings.add(slot.getFrom() + "/" + slot.getTo());
+        }
+        return strings;
+    }
+
+    private static boolean isClash(EventsScheduleTask first, EventsScheduleTask second) {
+        return first.getFromLocalDateTime().isBefore(second.getToLocalDateTime())
+                && second.getFromLocalDateTime().isBefore(first.getToLocalDateTime());
+    }
+
+    private static String pairOf(EventsScheduleTask first, EventsScheduleTask second) {
+        int firstHash = System.identityHashCode(first);
+        int secondHash = System.identityHashCode(second);
+        return Math.min(firstHash, secondHash) + "-" + Math.max(firstHash, secondHash);
+    }
+
+    private static ArrayList<EventsScheduleTask> events(ArrayList<Task> taskList) {
+        ArrayList<EventsScheduleTask> eventList = new ArrayList<>();
+        for (Task task : taskList) {
+            if (task instanceof EventsScheduleTask) {
+                eventList.add((EventsScheduleTask) task);
+            }
+        }
+        return eventList;
+    }
+
+    private static LocalDateTime timeOf(ScheduleTask task) {
+        return task instanceof EventsScheduleTask
+                ? ((EventsScheduleTask) task).getFromLocalDateTime()
+                : ((DeadlineScheduleTask) task).getByLocalDateTime();
+    }
+
+    private static ArrayList<ScheduleTask> sorted(ArrayList<ScheduleTask> tasks) {
+        ArrayList<ScheduleTask> sortedTasks = new ArrayList<>(tasks);
+        sortedTasks.sort(Comparator.comparing(ScheduleIndexTest::timeOf).thenComparingInt(System::identityHashCode));
+        return sortedTasks;
+    }
+
+    private static LocalDateTime randomDateTime(Random random) {
+        return START_DATE_TIME.plusHours(random.nextInt(HOUR_COUNT_INT));
+    }
+
+    private static Task randomTask(Random random) {
+        switch (random.nextInt(3)) {
+        case 0:
+            return new ToDosTask("todo");
+        case 1:
+            return new DeadlineScheduleTask("deadline", randomDateTime(random));
+        default:
+            return randomEvent(random);
+        }
+    }
+
+    private static Task randomEvent(Random random) {
+        LocalDateTime from = randomDateTime(random);
+        return new EventsScheduleTask("event", from, from.plusHours(random.nextInt(72)));
+    }
+
+    private static ArrayList<ScheduleTask> scan(ArrayList<Task> taskList, LocalDateTime from, LocalDateTime to) {
+        ArrayList<ScheduleTask> matches = new ArrayList<>();
+        for (Task task : taskList) {
+            if (task instanceof EventsScheduleTask) {
+                EventsScheduleTask event = (EventsScheduleTask) task;
+                if (!event.getFromLocalDateTime().isAfter(to) && !event.getToLocalDateTime().isBefore(from)) {
+                    matches.add(event);
+                }
+            } else if (task instanceof DeadlineScheduleTask) {
+                DeadlineScheduleTask deadline = (DeadlineScheduleTask) task;
+                if (!deadline.getByLocalDateTime().isBefore(from) && !deadline.getByLocalDateTime().isAfter(to)) {
+                    matches.add(deadline);
+                }
+            }
+        }
+        return matches;
+    }
+}
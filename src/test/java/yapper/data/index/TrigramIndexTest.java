@@ -0,0 +1,145 @@
+package yapper.data.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Tests the TrigramIndex class against checking every task.
+ */
+public class TrigramIndexTest {
+
+    // Constants for testing
+    private static final String[] WORDS = {"read", "Book", "bookshelf", "CS2103", "caf\u00e9", "CAF\u00c9", "x-ray",
+        "re", "ad"};
+    private static final String[] TERMS = {"read", "ead", "Book", "book", "ok", "CS", "2103", "caf", "\u00c9", "x-ray",
+        "-", "re ad", "d B", "ay r", "", "missing"};
+    private static final String[] FUZZY_TERMS = {"raed", "bok", "Bookshelv", "CS2103T", "cafe", "xray", "x-rey",
+        "r", "reed add", ""};
+
+    /**
+     * Tests that finding matches checking every task, while tasks are added, removed and replaced.
+     */
+    @Test
+    public void testFindMatchesScan() {
+        Random random = new Random(42);
+        ArrayList<Task> taskList = new ArrayList<>();
+        TrigramIndex<Task> index = new TrigramIndex<>(taskList);
+
+        for (int step = 0; step < 2000; step++) {
+            int operation = random.nextInt(4);
+            if (operation <= 1 || taskList.isEmpty()) {
+                taskList.add(randomTask(random));
+                index.add(taskList.size() - 1, taskList.get(taskList.size() - 1));
+            } else if (operation == 2) {
+                int idx = random.nextInt(taskList.size());
+                taskList.remove(idx);
+                index.remove(idx);
+            } else {
+                int idx = random.nextInt(taskList.size());
+                taskList.set(idx, randomTask(random));
+                index.replace(idx, taskList.get(idx));
+            }
+
+            String term = TERMS[random.nextInt(TERMS.length)];
+            assertEquals(scan(taskList, term), index.find(term), term);
+        }
+    }
+
+    /**
+     * Tests that finding with typos matches comparing every word of every task, while tasks are added and removed.
+     */
+    @Test
+    public void testFindFuzzyMatchesScan() {
+        Random random = new Random(7);
+        ArrayList<Task> taskList = new ArrayList<>();
+        TrigramIndex<Task> index = new TrigramIndex<>(taskList);
+
+        for (int step = 0; step < 1000; step++) {
+            if (random.nextInt(3) > 0 || taskList.isEmpty()) {
+                taskList.add(randomTask(random));
+                index.add(taskList.size() - 1, taskList.get(taskList.size() - 1));
+            } else {
+                int idx = random.nextInt(taskList.size());
+                taskList.remove(idx);
+                index.remove(idx);
+            }
+
+            String term = FUZZY_TERMS[random.nextInt(FUZZY_TERMS.length)];
+            int maxDistance = random.nextInt(3);
+            assertEquals(fuzzyScan(taskList, term, maxDistance), index.findFuzzy(term, maxDistance),
+                    term + " " + maxDistance);
+        }
+    }
+
+    /**
+     * Tests that an index built from loaded tasks finds them.
+     */
+    @Test
+    public void testFindLoaded() {
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new ToDosTask("read Book"));
+        taskList.add(new ToDosTask("return book"));
+
+        TrigramIndex<Task> index = new TrigramIndex<>(taskList);
+        assertEquals(scan(taskList, "ook"), index.find("ook"));
+        assertEquals(scan(taskList, "Book"), index.find("Book"));
+    }
+
+    private static Task randomTask(Random random) {
+        StringBuilder description = new StringBuilder();
+        int wordCount = 1 + random.nextInt(3);
+        for (int i = 0; i < wordCount; i++) {
+            description.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return new ToDosTask(description.toString());
+    }
+
+    private static ArrayList<Task> fuzzyScan(ArrayList<Task> taskList, String term, int maxDistance) {
+        ArrayList<String> termWords = TrigramIndex.toWords(term);
+        ArrayList<Task> matches = new ArrayList<>();
+        for (Task task : taskList) {
+            boolean isMatch = !termWords.isEmpty();
+            for (String termWord : termWords) {
+                boolean isWordMatch = false;
+                for (String word : TrigramIndex.toWords(task.getDescription())) {
+                    isWordMatch |= distance(termWord, word) <= maxDistance;
+                }
+                isMatch &= isWordMatch;
+            }
+            if (isMatch) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    private static ArrayList<Task> scan(ArrayList<Task> taskList, String term) {
+        ArrayList<Task> matches = new ArrayList<>();
+        for (Task task : taskList) {
+            if (task.getDescription().contains(term)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    private static int distance(String term, String word) {
+        int[][] distances = new int[term.length() + 1][word.length() + 1];
+        for (int i = 0; i <= term.length(); i++) {
+            for (int j = 0; j <= word.length(); j++) {
+                distances[i][j] = i == 0 || j == 0
+                        ? i + j
+                        : Math.min(distances[i - 1][j - 1] + (term.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1),
+                                Math.min(distances[i - 1][j], distances[i][j - 1]) + 1);
+            }
+        }
+        return distances[term.length()][word.length()];
+    }
+}
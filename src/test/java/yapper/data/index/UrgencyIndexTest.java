@@ -0,0 +1,155 @@
+package yapper.data.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.ScheduleTask;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Tests the UrgencyIndex class against sorting every task.
+ */
+public class UrgencyIndexTest {
+
+    // Constants for testing
+    private static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int HOUR_COUNT_INT = 24 * 14;
+
+    /**
+     * Tests that the most urgent unfinished tasks match sorting every task, while tasks are added, removed,
+     * rescheduled and marked.
+     */
+    @Test
+    public void testNextMatchesSort() {
+        Random random = new Random(42);
+        ArrayList<Task> taskList = new ArrayList<>();
+        UrgencyIndex index = new UrgencyIndex(taskList);
+
+        for (int step = 0; step < 3000; step++) {
+            int operation = random.nextInt(5);
+            if (operation <= 1 || taskList.isEmpty()) {
+                taskList.add(randomTask(random));
+                index.add(taskList.get(taskList.size() - 1));
+            } else if (operation == 2) {
+                index.remove(taskList.remove(random.nextInt(taskList.size())));
+            } else if (operation == 3) {
+                int idx = random.nextInt(taskList.size());
+                Task oldTask = taskList.get(idx);
+                taskList.set(idx, randomTask(random));
+                index.replace(oldTask, taskList.get(idx));
+            } else {
+                Task task = taskList.get(random.nextInt(taskList.size()));
+                if (task.isDone()) {
+                    task.markAsUndone();
+                } else {
+                    task.markAsDone();
+                }
+                index.updateStatus(task);
+            }
+
+            int limit = 1 + random.nextInt(20);
+            ArrayList<ScheduleTask> next = index.next(limit);
+            List<LocalDateTime> expected = sortedTimes(taskList);
+            assertEquals(expected.subList(0, Math.min(limit, expected.size())), timesOf(next));
+            assertDistinctUnfinished(taskList, next);
+        }
+    }
+
+    /**
+     * Tests that tasks due at the same time are listed in the order they were added.
+     */
+    @Test
+    public void testNextBreaksTiesByOrderAdded() {
+        ArrayList<Task> taskList = new ArrayList<>();
+        UrgencyIndex index = new UrgencyIndex(taskList);
+        for (int i = 0; i < 10; i++) {
+            taskList.add(new DeadlineScheduleTask("deadline " + i, START_DATE_TIME));
+            index.add(taskList.get(i));
+        }
+
+        ArrayList<ScheduleTask> next = index.next(10);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(next.get(i) == taskList.get(i));
+        }
+    }
+
+    /**
+     * Tests that a change not reported to the index fails an assertion rather than being hidden.
+     */
+    @Test
+    public void testNextAfterUnreportedChange() {
+        ArrayList<Task> taskList = new ArrayList<>();
+        UrgencyIndex index = new UrgencyIndex(taskList);
+        taskList.add(new DeadlineScheduleTask("late", START_DATE_TIME.plusDays(1)));
+
+        assertThrows(AssertionError.class, () -> index.next(1));
+    }
+
+    private static void assertDistinctUnfinished(ArrayList<Task> taskList, ArrayList<ScheduleTask> next) {
+        IdentityHashMap<Task, Boolean> inList = new IdentityHashMap<>();
+        for (Task task : taskList) {
+            inList.put(task, true);
+        }
+        IdentityHashMap<Task, Boolean> seen = new IdentityHashMap<>();
+        for (ScheduleTask task : next) {
+            assertTrue(inList.containsKey(task));
+            assertFalse(task.isDone());
+            assertTrue(seen.put(task, true) == null);
+        }
+    }
+
+    private static LocalDateTime timeOf(Task task) {
+        return task instanceof EventsScheduleTask
+                ? ((EventsScheduleTask) task).getFromLocalDateTime()
+                : ((DeadlineScheduleTask) task).getByLocalDateTime();
+    }
+
+    private static List<LocalDateTime> timesOf(ArrayList<ScheduleTask> tasks) {
+        ArrayList<LocalDateTime> times = new ArrayList<>();
+        for (ScheduleTask task : tasks) {
+            times.add(timeOf(task));
+        }
+        return times;
+    }
+
+    private static List<LocalDateTime> sortedTimes(ArrayList<Task> taskList) {
+        ArrayList<LocalDateTime> times = new ArrayList<>();
+        for (Task task : taskList) {
+            if (task instanceof ScheduleTask && !task.isDone()) {
+                times.add(timeOf(task));
+            }
+        }
+        Collections.sort(times);
+        return times;
+    }
+
+    private static LocalDateTime randomDateTime(Random random) {
+        return START_DATE_TIME.plusHours(random.nextInt(HOUR_COUNT_INT));
+    }
+
+    private static Task randomTask(Random random) {
+        switch (random.nextInt(3)) {
+        case 0:
+            return new ToDosTask("todo");
+        case 1:
+            return new DeadlineScheduleTask("deadline", randomDateTime(random));
+        default:
+            LocalDateTime from = randomDateTime(random);
+            return new EventsScheduleTask("event", from, from.plusHours(random.nextInt(72)));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package yapper.data.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import yapper.data.exception.InvalidCommandSyntaxException;
+import yapper.data.index.TaskFacetIndex;
+import yapper.data.index.TrigramIndex;
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Tests the QueryPlanner class against checking every task.
+ */
+public class QueryPlannerTest {
+
+    // Constants for testing
+    private static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int HOUR_COUNT_INT = 24 * 30;
+    private static final String[] WORDS = { "report", "essay", "gym", "lunch", "Report", "review", "ab" };
+    private static final String[] TERMS = {
+        "type:todo", "type:deadline", "type:event", "done:true", "done:false", "due<10-01-2025", "due<=10-01-2025",
+        "due:05-01-2025", "due>=20-01-2025", "due>20-01-2025", "text:report", "text:\"gym lunch\"", "text:ab",
+        "text:zzz"
+    };
+
+    /**
+     * Tests that the tasks matching random queries match checking every task, while tasks are added, removed,
+     * rescheduled and marked.
+     *
+     * @throws InvalidCommandSyntaxException if a query is invalid.
+     */
+    @Test
+    public void testQueryMatchesScan() throws InvalidCommandSyntaxException {
+        Random random = new Random(42);
+        ArrayList<Task> taskList = new ArrayList<>();
+        TaskFacetIndex facets = new TaskFacetIndex(taskList);
+        TrigramIndex<Task> textIndex = new TrigramIndex<>(taskList);
+        QueryPlanner planner = new QueryPlanner(facets, textIndex);
+
+        for (int step = 0; step < 2000; step++) {
+            int operation = random.nextInt(5);
+            if (operation <= 1 || taskList.isEmpty()) {
+                taskList.add(randomTask(random));
+                facets.add(taskList.size() - 1, taskList.get(taskList.size() - 1));
+                textIndex.add(taskList.size() - 1, taskList.get(taskList.size() - 1));
+            } else if (operation == 2) {
+                int idx = random.nextInt(taskList.size());
+                taskList.remove(idx);
+                facets.remove(idx);
+                textIndex.remove(idx);
+            } else if (operation == 3) {
+                int idx = random.nextInt(taskList.size());
+                taskList.set(idx, randomTask(random));
+                facets.replace(idx, taskList.get(idx));
+                textIndex.replace(idx, taskList.get(idx));
+            } else {
+                int idx = random.nextInt(taskList.size());
+                Task task = taskList.get(idx);
+                if (task.isDone()) {
+                    task.markAsUndone();
+                } else {
+                    task.markAsDone();
+                }
+                facets.updateStatus(idx, task);
+            }
+
+            Filter filter = FilterParser.parse(randomQuery(random));
+            QueryPlan.Result result = planner.plan(filter).execute();
+            ArrayList<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < taskList.size(); i++) {
+                if (filter.test(taskList.get(i))) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected, result.getPositions(), filter.toString());
+            for (int i = 0; i < expected.size(); i++) {
+                assertTrue(result.getMatches().get(i) == taskList.get(expected.get(i)));
+            }
+            assertTrue(result.getExamined() <= taskList.size());
+            assertEquals(taskList.size(), result.getTotal());
+        }
+    }
+
+    /**
+     * Tests that a selective query is looked up in the indexes, examining fewer tasks than checking every task.
+     *
+     * @throws InvalidCommandSyntaxException if the query is invalid.
+     */
+    @Test
+    public void testSelectiveQueryUsesIndexes() throws InvalidCommandSyntaxException {
+        ArrayList<Task> taskList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            taskList.add(i % 10 == 0
+                    ? new DeadlineScheduleTask("report " + i, START_DATE_TIME.plusDays(i % 50))
+                    : new ToDosTask("chore " + i));
+        }
+        taskList.get(0).markAsDone();
+        QueryPlanner planner = new QueryPlanner(new TaskFacetIndex(taskList), new TrigramIndex<>(taskList));
+
+        QueryPlan plan = planner.plan(FilterParser.parse("type:deadline done:false due<05-01-2025 text:report"));
+        QueryPlan.Result result = plan.execute();
+        assertEquals(19, result.getMatches().size());
+        assertEquals(19, result.getExamined()); // due in the period, intersected with the unfinished deadlines
+        assertTrue(String.join("\n", plan.explain()).contains("due date index"));
+
+        QueryPlan scanPlan = planner.plan(FilterParser.parse("not text:report"));
+        assertEquals(1000, scanPlan.execute().getExamined());
+        assertTrue(String.join("\n", scanPlan.explain()).contains("scan of every task"));
+    }
+
+    /**
+     * Tests that invalid queries are rejected.
+     */
+    @Test
+    public void testInvalidQueries() {
+        String[] queries = { "", "type:note", "done:maybe", "due<2025-01-01", "text:", "(type:todo", "type:todo )",
+            "or type:todo", "owner:me", "type<todo" };
+        for (String query : queries) {
+            assertThrows(InvalidCommandSyntaxException.class, () -> FilterParser.parse(query));
+        }
+    }
+
+    private static String randomQuery(Random random) {
+        switch (random.nextInt(5)) {
+        case 0:
+            return randomTerm(random);
+        case 1:
+            return randomTerm(random) + " " + randomTerm(random) + " " + randomTerm(random);
+        case 2:
+            return randomTerm(random) + " or " + randomTerm(random);
+        case 3:
+            return "not " + randomTerm(random) + " and " + randomTerm(random);
+        default:
+            return "(" + randomTerm(random) + " or not " + randomTerm(random) + ") " + randomTerm(random);
+        }
+    }
+
+    private static String randomTerm(Random random) {
+        return TERMS[random.nextInt(TERMS.length)];
+    }
+
+    private static String randomDescription(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static LocalDateTime randomDateTime(Random random) {
+        return START_DATE_TIME.plusHours(random.nextInt(HOUR_COUNT_INT));
+    }
+
+    private static Task randomTask(Random random) {
+        switch (random.nextInt(3)) {
+        case 0:
+            return new ToDosTask(randomDescription(random));
+        case 1:
+            return new DeadlineScheduleTask(randomDescription(random), randomDateTime(random));
+        default:
+            LocalDateTime from = randomDateTime(random);
+            return new EventsScheduleTask(randomDescription(random), from, from.plusHours(random.nextInt(72)));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package yapper.data.user;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+import yapper.storage.BinaryTaskFileManager;
+
+/**
+ * Tests the Person class.
+ */
+public class PersonTest {
+
+    // Constants for testing
+    private static final String TASK_FILE_NAME = "tasks.bin";
+    private static final String DAMAGED_TASK_FILE_NAME = "tasks.bin.damaged";
+    private static final String NOTE_FILE_NAME = "notes.csv";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that a task file with a damaged header is kept aside and the tasks start empty, instead of the
+     * Person failing to load or the file being overwritten.
+     */
+    @Test
+    public void testLoadDamagedTaskFile() throws IOException {
+        Path taskPath = tempDir.resolve(TASK_FILE_NAME);
+        BinaryTaskFileManager taskFileManager = new BinaryTaskFileManager();
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new ToDosTask("read book"));
+        taskFileManager.saveBulk(taskFileManager.open(taskPath.toString()), taskList);
+        byte[] bytes = Files.readAllBytes(taskPath);
+        bytes[0] = 'X'; // first magic byte
+        Files.write(taskPath, bytes);
+
+        Person person = new Person(taskPath.toString(), tempDir.resolve(NOTE_FILE_NAME).toString());
+        try {
+            assertEquals(0, person.getTaskList().size());
+            assertEquals(0, person.getNoteList().size());
+            assertArrayEquals(bytes, Files.readAllBytes(tempDir.resolve(DAMAGED_TASK_FILE_NAME)));
+            assertEquals(0, taskFileManager.load(taskPath.toFile()).size());
+        } finally {
+            person.close();
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package yapper.parser;
 
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 
 import org.junit.jupiter.api.Test;
 
+import yapper.chatbot.Yapper;
+import yapper.commands.Command;
 import yapper.commands.DeadlineTaskCommand;
 import yapper.commands.EventsTaskCommand;
 import yapper.commands.TaskCommand;
 import yapper.commands.ToDosTaskCommand;
+import yapper.data.notes.Note;
 import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
 
 public class CommandParserTest {
 
@@ -62,4 +68,70 @@ public class CommandParserTest {
         assert (command instanceof EventsTaskCommand);
         assert (command.getTaskDescription().equals("drink water"));
     }
+
+    /**
+     * Tests that parseAhead leaves the commands reading the lists or their indexes to be built when executed,
+     * as the commands before them may still be changing the lists.
+     *
+     * @throws Exception if an error occurs within the test.
+     */
+    @Test
+    public void parseAhead_deferListReads_test() throws Exception {
+        GuardedList<Task> guardedTaskList = new GuardedList<>();
+        GuardedList<Note> guardedNoteList = new GuardedList<>();
+        Yapper yapper = new Yapper(null, guardedTaskList, guardedNoteList, null, null, null, null);
+        String[] lines = { "find task book", "find ~task bok", "search note book", "next 3", "conflicts",
+            "between 01-01-2025 0000 01-02-2025 0000", "freeslot 1h /from 01-01-2025 0900 /to 01-01-2025 1700",
+            "query type:todo", "event talk /from 01-01-2025 1000 /to 01-01-2025 1100", "mark 1" };
+
+        guardedTaskList.add(new ToDosTask("read book"));
+        guardedTaskList.isGuarded = true;
+        guardedNoteList.isGuarded = true;
+        ArrayList<Command> commands = new ArrayList<>();
+        for (String line : lines) {
+            commands.add(CommandParser.parseAhead(line, yapper)); // throws if the list is read
+        }
+
+        guardedTaskList.isGuarded = false;
+        guardedNoteList.isGuarded = false;
+        for (Command command : commands) {
+            ArrayList<String> responseList = new ArrayList<>();
+            command.execute(responseList);
+            assert (!responseList.isEmpty());
+        }
+    }
+
+    /**
+     * List failing every read while guarded, as if another thread were changing it.
+     */
+    private static class GuardedList<T> extends ArrayList<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private boolean isGuarded;
+
+        @Override
+        public T get(int index) {
+            checkUnguarded();
+            return super.get(index);
+        }
+
+        @Override
+        public int size() {
+            checkUnguarded();
+            return super.size();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            checkUnguarded();
+            return super.iterator();
+        }
+
+        private void checkUnguarded() {
+            if (this.isGuarded) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package yapper.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import yapper.parser.CommandTokens.Marker;
+
+/**
+ * Tests the CommandTokens class against the String methods it replaces.
+ */
+public class CommandTokensTest {
+
+    // Constants for testing
+    private static final String[] LINES = {
+        "list task", "list  task", "list task  ", "", " ", "  todo x", "todo", "a b c d e f g h i j k l m n o p q",
+        "event a /from 21-08-2025 1800 /to 22-08-2025 1900", "note /content c /title t /to /tomorrow",
+    };
+
+    /**
+     * Tests that tokens match String.split on a single space.
+     */
+    @Test
+    public void testTokensMatchSplit() {
+        for (String line : LINES) {
+            String[] expected = line.split(" ");
+            CommandTokens tokens = new CommandTokens(line);
+
+            assertEquals(expected.length, tokens.size(), line);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], tokens.get(i), line);
+            }
+        }
+    }
+
+    /**
+     * Tests that markers are found where String.indexOf finds them.
+     */
+    @Test
+    public void testMarkersMatchIndexOf() {
+        for (String line : LINES) {
+            CommandTokens tokens = new CommandTokens(line);
+
+            for (Marker marker : Marker.values()) {
+                assertEquals(line.indexOf(marker.getText()), tokens.startOf(marker), line + " " + marker);
+            }
+        }
+    }
+}
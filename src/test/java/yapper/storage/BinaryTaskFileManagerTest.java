@@ -0,0 +1,86 @@
+package yapper.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Tests the BinaryTaskFileManager class.
+ */
+public class BinaryTaskFileManagerTest {
+
+    // Constants for testing
+    private static final String TASK_FILE_NAME = "tasks.bin";
+    private static final String CSV_TASK_FILE_NAME = "tasks.csv";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that tasks saved in binary load back unchanged, including dates too far out for int minutes.
+     */
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        BinaryTaskFileManager taskFileManager = new BinaryTaskFileManager();
+        File file = taskFileManager.open(tempDir.resolve(TASK_FILE_NAME).toString());
+        assertEquals(0, taskFileManager.load(file).size());
+
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new ToDosTask("read book"));
+        taskList.add(new DeadlineScheduleTask("return book", LocalDateTime.of(2024, 2, 29, 18, 0)));
+        taskList.add(new EventsScheduleTask("caf\u00e9 meeting", LocalDateTime.of(2023, 12, 31, 23, 0),
+                LocalDateTime.of(9999, 1, 1, 0, 30)));
+        taskList.add(new ToDosTask("x".repeat(100_000)));
+        taskList.get(1).markAsDone();
+        taskList.get(2).markAsDone();
+
+        SaveStats stats = taskFileManager.saveBulk(file, taskList);
+        ArrayList<Task> loaded = taskFileManager.load(file);
+
+        assertEquals(taskList.size(), stats.getRowCount());
+        assertEquals(taskList.toString(), loaded.toString());
+    }
+
+    /**
+     * Tests that a file in another format is rejected instead of loaded as garbage.
+     */
+    @Test
+    public void testLoadRejectsCsv() {
+        File csvFile = new TaskFileManager().open(tempDir.resolve(CSV_TASK_FILE_NAME).toString());
+
+        assertThrows(UncheckedIOException.class, () -> new BinaryTaskFileManager().load(csvFile));
+    }
+
+    /**
+     * Tests that a binary task file with a damaged header is rejected instead of loaded as garbage.
+     */
+    @Test
+    public void testLoadRejectsCorruptHeader() throws IOException {
+        BinaryTaskFileManager taskFileManager = new BinaryTaskFileManager();
+        File file = taskFileManager.open(tempDir.resolve(TASK_FILE_NAME).toString());
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new ToDosTask("read book"));
+        taskFileManager.saveBulk(file, taskList);
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[4] = (byte) (bytes[4] + 1); // version byte after the magic bytes
+        Files.write(file.toPath(), bytes);
+
+        assertThrows(UncheckedIOException.class, () -> taskFileManager.load(file));
+    }
+}
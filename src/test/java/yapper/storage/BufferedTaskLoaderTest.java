@@ -0,0 +1,116 @@
+package yapper.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import yapper.data.task.Task;
+
+/**
+ * Tests the BufferedTaskLoader class.
+ */
+public class BufferedTaskLoaderTest {
+
+    // Constants for testing
+    private static final String TASK_FILE_NAME = "tasks.csv";
+    private static final String TASK_FILE_CONTENT = "Type,Description,isDone,From,To\n"
+            + "Todos,read book, ,,\n"
+            + "Deadline,return book,X,,30-02-2024 1800\r\n"
+            + "Events,caf\u00e9 meeting, ,31-12-2023 2400,01-01-2024 0130\n"
+            + "\n"
+            + "Todos,no newline at end,X,,";
+    private static final int LARGE_TASK_FILE_ROW_COUNT = 60_000;
+    private static final int PARALLELISM = 4;
+    private static final String INVALID_TASK_FILE_CONTENT = "Type,Description,isDone,From,To\n"
+            + "Deadline,return book, ,,32-01-2024 1800\n";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that the buffered loader reads the same tasks as the Scanner loader.
+     */
+    @Test
+    public void testLoadMatchesScanner() throws IOException {
+        File file = writeTaskFile(TASK_FILE_CONTENT);
+
+        ArrayList<Task> loaded = BufferedTaskLoader.load(file);
+        ArrayList<Task> scanned = TaskFileManager.loadWithScanner(
+                writeTaskFile(TASK_FILE_CONTENT.replace("\n\n", "\n")));
+
+        assertEquals(4, loaded.size());
+        assertEquals(scanned.toString(), loaded.toString());
+    }
+
+    /**
+     * Tests that an invalid date is rejected like the Scanner loader rejects it.
+     */
+    @Test
+    public void testLoadInvalidDate() throws IOException {
+        File file = writeTaskFile(INVALID_TASK_FILE_CONTENT);
+
+        assertThrows(DateTimeParseException.class, () -> BufferedTaskLoader.load(file));
+        assertThrows(DateTimeParseException.class, () -> TaskFileManager.loadWithScanner(file));
+    }
+
+    /**
+     * Tests that loading ranges of a file in parallel keeps the tasks in file order.
+     */
+    @Test
+    public void testLoadParallelKeepsOrder() throws IOException {
+        StringBuilder content = new StringBuilder("Type,Description,isDone,From,To\n");
+        for (int i = 0; i < LARGE_TASK_FILE_ROW_COUNT; i++) {
+            content.append(i % 2 == 0
+                    ? "Todos,task " + i + ", ,,\n"
+                    : "Events,task " + i + ",X,01-01-2024 1000,01-01-2024 1100\n");
+        }
+        File file = writeTaskFile(content.toString());
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+
+        try {
+            ArrayList<Task> parallel = BufferedTaskLoader.loadParallel(file, pool);
+            ArrayList<Task> sequential = BufferedTaskLoader.loadSequential(file);
+
+            assertEquals(LARGE_TASK_FILE_ROW_COUNT, parallel.size());
+            assertEquals(sequential.toString(), parallel.toString());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a loaded file can be replaced by a save right away, as nothing is left holding it.
+     */
+    @Test
+    public void testSaveAfterLoad() throws IOException {
+        File file = writeTaskFile(TASK_FILE_CONTENT);
+        TaskFileManager taskFileManager = new TaskFileManager();
+
+        ArrayList<Task> loaded = taskFileManager.load(file);
+        loaded.remove(0);
+        taskFileManager.saveBulk(file, loaded);
+
+        assertEquals(loaded.toString(), taskFileManager.load(file).toString());
+        try (Stream<Path> paths = Files.list(tempDir)) {
+            assertEquals(1, paths.count()); // the temporary file was moved over the task file
+        }
+    }
+
+    private File writeTaskFile(String content) throws IOException {
+        Path path = Files.createTempFile(tempDir, null, TASK_FILE_NAME);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path.toFile();
+    }
+}
@@ -0,0 +1,90 @@
+package yapper.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import yapper.data.notes.Note;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Tests the JournalFileManager class.
+ */
+public class JournalFileManagerTest {
+
+    // Constants for testing
+    private static final String TASK_FILE_NAME = "tasks.csv";
+    private static final String NOTE_FILE_NAME = "notes.csv";
+    private static final String JOURNAL_FILE_NAME = "tasks.journal";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that journaled changes are replayed on top of the saved files.
+     */
+    @Test
+    public void testReplay() throws IOException {
+        TaskFileManager taskFileManager = new TaskFileManager();
+        NoteFileManager noteFileManager = new NoteFileManager();
+        File taskFile = taskFileManager.open(tempDir.resolve(TASK_FILE_NAME).toString());
+        File noteFile = noteFileManager.open(tempDir.resolve(NOTE_FILE_NAME).toString());
+
+        JournalFileManager journal = new JournalFileManager();
+        journal.open(tempDir.resolve(JOURNAL_FILE_NAME).toString());
+        Task book = new ToDosTask("read book");
+        book.markAsDone();
+        journal.onTaskAdded(0, new ToDosTask("buy milk"));
+        journal.onTaskAdded(1, book);
+        journal.onTaskStatusChanged(1, book);
+        journal.onTaskRemoved(0, null);
+        journal.onNoteAdded(0, new Note("shop", "milk"));
+
+        ArrayList<Task> taskList = taskFileManager.load(taskFile);
+        ArrayList<Note> noteList = noteFileManager.load(noteFile);
+        JournalFileManager reopened = new JournalFileManager();
+        reopened.open(tempDir.resolve(JOURNAL_FILE_NAME).toString());
+        reopened.replay(taskFile, noteFile, taskList, noteList);
+
+        assertEquals(1, taskList.size());
+        assertEquals(book.toString(), taskList.get(0).toString());
+        assertEquals(1, noteList.size());
+        assertEquals("shop: milk", noteList.get(0).toString());
+    }
+
+    /**
+     * Tests that changes saved by a snapshot are not replayed again.
+     */
+    @Test
+    public void testSnapshot() throws IOException {
+        TaskFileManager taskFileManager = new TaskFileManager();
+        NoteFileManager noteFileManager = new NoteFileManager();
+        File taskFile = taskFileManager.open(tempDir.resolve(TASK_FILE_NAME).toString());
+        File noteFile = noteFileManager.open(tempDir.resolve(NOTE_FILE_NAME).toString());
+
+        JournalFileManager journal = new JournalFileManager();
+        journal.open(tempDir.resolve(JOURNAL_FILE_NAME).toString());
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new ToDosTask("read book"));
+        journal.onTaskAdded(0, taskList.get(0));
+        journal.snapshot(taskFileManager, taskFile, taskList, noteFileManager, noteFile, new ArrayList<>());
+        taskList.add(new ToDosTask("buy milk"));
+        journal.onTaskAdded(1, taskList.get(1));
+
+        ArrayList<Task> loadedTaskList = taskFileManager.load(taskFile);
+        ArrayList<Note> loadedNoteList = noteFileManager.load(noteFile);
+        JournalFileManager reopened = new JournalFileManager();
+        reopened.open(tempDir.resolve(JOURNAL_FILE_NAME).toString());
+        reopened.replay(taskFile, noteFile, loadedTaskList, loadedNoteList);
+
+        assertEquals(2, loadedTaskList.size());
+        assertEquals(0, loadedNoteList.size());
+    }
+}
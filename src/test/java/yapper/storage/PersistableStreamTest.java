@@ -0,0 +1,76 @@
+package yapper.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import yapper.data.notes.Note;
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Tests the stream method of every Persistable.
+ */
+public class PersistableStreamTest {
+
+    // Constants for testing
+    private static final String CSV_TASK_FILE_NAME = "tasks.csv";
+    private static final String BINARY_TASK_FILE_NAME = "tasks.bin";
+    private static final String NOTE_FILE_NAME = "notes.csv";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that streaming tasks yields what loading them does, for both task formats.
+     */
+    @Test
+    public void testStreamTasks() throws IOException {
+        ArrayList<Task> taskList = new ArrayList<>();
+        taskList.add(new ToDosTask("read book"));
+        taskList.add(new DeadlineScheduleTask("return book", LocalDateTime.of(2024, 2, 29, 18, 0)));
+        taskList.add(new EventsScheduleTask("meeting", LocalDateTime.of(2023, 12, 31, 23, 0),
+                LocalDateTime.of(2024, 1, 1, 0, 30)));
+        taskList.get(1).markAsDone();
+
+        assertStreamMatchesLoad(new TaskFileManager(), CSV_TASK_FILE_NAME, taskList);
+        assertStreamMatchesLoad(new BinaryTaskFileManager(), BINARY_TASK_FILE_NAME, taskList);
+    }
+
+    /**
+     * Tests that streaming notes yields what loading them does.
+     */
+    @Test
+    public void testStreamNotes() throws IOException {
+        ArrayList<Note> noteList = new ArrayList<>();
+        noteList.add(new Note("shop", "milk"));
+        noteList.add(new Note("gym", "legs"));
+
+        assertStreamMatchesLoad(new NoteFileManager(), NOTE_FILE_NAME, noteList);
+    }
+
+    private <T> void assertStreamMatchesLoad(Persistable<T> persistable, String fileName, ArrayList<T> list)
+            throws IOException {
+        File file = persistable.open(tempDir.resolve(fileName).toString());
+        persistable.saveBulk(file, list);
+
+        try (Stream<T> stream = persistable.stream(file)) {
+            assertEquals(persistable.load(file).toString(),
+                    stream.collect(Collectors.toList()).toString());
+        }
+        try (Stream<T> stream = persistable.stream(file)) {
+            assertEquals(list.get(0).toString(), stream.findFirst().get().toString());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package yapper.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import yapper.data.task.DeadlineScheduleTask;
+import yapper.data.task.EventsScheduleTask;
+import yapper.data.task.Task;
+import yapper.data.task.ToDosTask;
+
+/**
+ * Compares the time and memory it takes to load a large task file with the Scanner loader, with
+ * the buffered byte-scanning loader, sequentially and in parallel, and in the binary format, along with the time
+ * each format takes to save. Run with {@code ./gradlew benchmarkLoad [-Prows=N]}.
+ */
+public class TaskLoadBenchmark {
+
+    // Benchmark settings
+    private static final int DEFAULT_ROW_COUNT_INT = 1_000_000;
+    private static final int WARMUP_ROUND_COUNT_INT = 2;
+    private static final int ROUND_COUNT_INT = 5;
+    private static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    // Output
+    private static final String FILE_FORMAT_STRING = "%,d rows, %d cores%n";
+    private static final String SAVE_FORMAT_STRING = "%-8s median %,6d ms to save %,d bytes%n";
+    private static final String RESULT_FORMAT_STRING = "%-8s median %,6d ms, %,8d MB allocated per load%n";
+
+    /**
+     * Functional interface for a way of loading a task file.
+     */
+    private interface Loader {
+        ArrayList<Task> load(File file) throws IOException;
+    }
+
+    /**
+     * Functional interface for a way of saving a task file.
+     */
+    private interface Saver {
+        SaveStats save(File file, ArrayList<Task> taskList) throws IOException;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optional number of rows in the task file.
+     * @throws IOException if the task file cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROW_COUNT_INT;
+        File file = File.createTempFile("tasks", ".csv");
+        File binaryFile = File.createTempFile("tasks", BinaryTaskFileManager.BINARY_FILE_EXTENSION_STRING);
+        file.deleteOnExit();
+        binaryFile.deleteOnExit();
+
+        ArrayList<Task> taskList = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            LocalDateTime from = START_DATE_TIME.plusMinutes(i * 15L);
+            Task t = i % 3 == 0
+                    ? new ToDosTask("todo " + i)
+                    : i % 3 == 1
+                    ? new DeadlineScheduleTask("deadline " + i, from)
+                    : new EventsScheduleTask("event " + i, from, from.plusHours(1));
+            if (i % 2 == 0) {
+                t.markAsDone();
+            }
+            taskList.add(t);
+        }
+        System.out.printf(FILE_FORMAT_STRING, rowCount, Runtime.getRuntime().availableProcessors());
+
+        BinaryTaskFileManager binaryTaskFileManager = new BinaryTaskFileManager();
+        runSave("CSV", new TaskFileManager()::saveBulk, file, taskList);
+        runSave("Binary", binaryTaskFileManager::saveBulk, binaryFile, taskList);
+
+        run("Scanner", TaskFileManager::loadWithScanner, file, rowCount);
+        run("Buffered", BufferedTaskLoader::loadSequential, file, rowCount);
+        run("Parallel", f -> BufferedTaskLoader.loadParallel(f, ForkJoinPool.commonPool()), file, rowCount);
+        run("Binary", binaryTaskFileManager::load, binaryFile, rowCount);
+    }
+
+    /**
+     * Time a way of saving over several rounds and print its median time and the size of the file.
+     *
+     * @param name     name of the format.
+     * @param saver    way of saving to time.
+     * @param file     task file to save to.
+     * @param taskList tasks to save.
+     * @throws IOException if the task file cannot be written.
+     */
+    private static void runSave(String name, Saver saver, File file, ArrayList<Task> taskList) throws IOException {
+        for (int i = 0; i < WARMUP_ROUND_COUNT_INT; i++) {
+            saver.save(file, taskList);
+        }
+
+        long[] elapsedMillis = new long[ROUND_COUNT_INT];
+        for (int i = 0; i < ROUND_COUNT_INT; i++) {
+            long start = System.nanoTime();
+            saver.save(file, taskList);
+            elapsedMillis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+
+        Arrays.sort(elapsedMillis);
+        System.out.printf(SAVE_FORMAT_STRING, name, elapsedMillis[ROUND_COUNT_INT / 2], file.length());
+    }
+
+    /**
+     * Time a loader over several rounds and print its median time and allocation.
+     *
+     * @param name     name of the loader.
+     * @param loader   loader to time.
+     * @param file     task file to load.
+     * @param rowCount number of rows expected in the file.
+     * @throws IOException if the task file cannot be read.
+     */
+    private static void run(String name, Loader loader, File file, int rowCount) throws IOException {
+        for (int i = 0; i < WARMUP_ROUND_COUNT_INT; i++) {
+            loader.load(file);
+        }
+
+        long[] elapsedMillis = new long[ROUND_COUNT_INT];
+        long allocatedBytes = 0;
+        for (int i = 0; i < ROUND_COUNT_INT; i++) {
+            System.gc();
+            long allocatedBefore = allocatedBytesOfAllThreads();
+            long start = System.nanoTime();
+            int loadedCount = loader.load(file).size();
+            elapsedMillis[i] = (System.nanoTime() - start) / 1_000_000;
+            allocatedBytes += allocatedBytesOfAllThreads() - allocatedBefore;
+            if (loadedCount != rowCount) {
+                throw new IllegalStateException(name + " loaded " + loadedCount + " of " + rowCount + " rows");
+            }
+        }
+
+        Arrays.sort(elapsedMillis);
+        System.out.printf(RESULT_FORMAT_STRING, name, elapsedMillis[ROUND_COUNT_INT / 2],
+                allocatedBytes / ROUND_COUNT_INT / (1024 * 1024));
+    }
+
+    /**
+     * Returns the bytes allocated so far by every live thread, including fork-join workers.
+     *
+     * @return bytes allocated by every live thread.
+     */
+    private static long allocatedBytesOfAllThreads() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+            total += Math.max(allocated, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,80 @@
+package yapper.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the DateTimeCodec class against the formatters it replaces.
+ */
+public class DateTimeCodecTest {
+
+    // Constants for testing
+    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HHmm");
+    private static final DateTimeFormatter INPUT_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy HHmm");
+    private static final DateTimeFormatter DISPLAY_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
+
+    /**
+     * Tests that formatting matches the formatters, including years the fast path leaves to them.
+     */
+    @Test
+    public void testFormat() {
+        LocalDateTime[] dateTimes = {
+            LocalDateTime.of(2024, 2, 29, 18, 5),
+            LocalDateTime.of(1, 1, 1, 0, 0),
+            LocalDateTime.of(9999, 12, 31, 23, 59),
+            LocalDateTime.of(10000, 6, 15, 9, 30),
+        };
+
+        for (LocalDateTime dateTime : dateTimes) {
+            assertEquals(dateTime.format(INPUT_FORMATTER), DateTimeCodec.formatInput(dateTime));
+            assertEquals(dateTime.format(DISPLAY_FORMATTER),
+                    DateTimeCodec.formatDisplay(dateTime, new StringBuilder()).toString());
+            assertEquals(dateTime.format(DISPLAY_DATE_FORMATTER),
+                    DateTimeCodec.formatDisplayDate(dateTime, new StringBuilder()).toString());
+        }
+    }
+
+    /**
+     * Tests that parsing resolves and rejects exactly what the formatter does.
+     */
+    @Test
+    public void testParse() {
+        String[] validTexts = {"29-02-2024 1805", "31-02-2023 1200", "31-12-2023 2400"};
+        for (String text : validTexts) {
+            assertEquals(LocalDateTime.parse(text, INPUT_FORMATTER), DateTimeCodec.parse(text));
+        }
+
+        String[] invalidTexts = {"32-01-2024 1200", "01-13-2024 1200", "01-01-0000 1200", "01-01-2024 1260",
+            "01-01-20240 0000", "1-01-2024 1200", "01/01/2024 1200", ""};
+        for (String text : invalidTexts) {
+            assertThrows(DateTimeParseException.class, () -> LocalDateTime.parse(text, INPUT_FORMATTER));
+            assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parse(text));
+        }
+    }
+
+    /**
+     * Tests that parsing a date without the time resolves and rejects exactly what the formatter does.
+     */
+    @Test
+    public void testParseDate() {
+        String[] validTexts = {"29-02-2024", "31-02-2023", "01-01-0001", "31-12-9999"};
+        for (String text : validTexts) {
+            assertEquals(LocalDate.parse(text, INPUT_DATE_FORMATTER), DateTimeCodec.parseDate(text));
+        }
+
+        String[] invalidTexts = {"32-01-2024", "01-13-2024", "01-01-0000", "01-01-20240", "1-01-2024", "01/01/2024",
+            "2024-01-01", "01-01-2024 1200", ""};
+        for (String text : invalidTexts) {
+            assertThrows(DateTimeParseException.class, () -> LocalDate.parse(text, INPUT_DATE_FORMATTER));
+            assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseDate(text));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package yapper.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the TimingWheel class against checking every timer.
+ */
+public class TimingWheelTest {
+
+    // Constants for testing
+    private static final long START_TICK_LONG = 1_700_000_000L;
+
+    /**
+     * Tests that the timers expiring on every advance match checking every timer, in order of expiry, while
+     * timers are scheduled and cancelled and the wheel advances by short and long steps.
+     */
+    @Test
+    public void testAdvanceMatchesScan() {
+        Random random = new Random(42);
+        TimingWheel<Integer> wheel = new TimingWheel<>(START_TICK_LONG);
+        HashMap<Integer, TimingWheel.Timer<Integer>> timers = new HashMap<>();
+        HashMap<Integer, Boolean> isOverdue = new HashMap<>();
+        int nextId = 0;
+
+        for (int step = 0; step < 20000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 6) {
+                long expiryTick = wheel.getCurrentTick() + randomDelay(random) - 10;
+                isOverdue.put(nextId, expiryTick <= wheel.getCurrentTick());
+                timers.put(nextId, wheel.schedule(nextId, expiryTick));
+                nextId++;
+            } else if (operation < 8 && !timers.isEmpty()) {
+                Integer id = new ArrayList<>(timers.keySet()).get(random.nextInt(timers.size()));
+                assertTrue(wheel.cancel(timers.remove(id)));
+            } else {
+                long tick = wheel.getCurrentTick() + randomDelay(random);
+                ArrayList<Integer> expected = new ArrayList<>();
+                for (TimingWheel.Timer<Integer> timer : timers.values()) {
+                    if (timer.getExpiryTick() <= tick) {
+                        expected.add(timer.getValue());
+                    }
+                }
+
+                ArrayList<Integer> expired = new ArrayList<>();
+                wheel.advance(tick, expired);
+                assertEquals(tick, wheel.getCurrentTick());
+                assertInExpiryOrder(expired, timers, isOverdue);
+                for (Integer id : expired) {
+                    assertFalse(timers.remove(id).isScheduled());
+                }
+                expected.sort(null);
+                expired.sort(null);
+                assertEquals(expected, expired);
+            }
+            assertEquals(timers.size(), wheel.size());
+        }
+    }
+
+    /**
+     * Tests that a cancelled or expired timer cannot be cancelled again.
+     */
+    @Test
+    public void testCancelOnlyOnce() {
+        TimingWheel<String> wheel = new TimingWheel<>(START_TICK_LONG);
+        TimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", START_TICK_LONG + 100);
+        TimingWheel.Timer<String> expired = wheel.schedule("expired", START_TICK_LONG + 100_000);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        ArrayList<String> expiredValues = new ArrayList<>();
+        wheel.advance(START_TICK_LONG + 100_000, expiredValues);
+        assertEquals(List.of("expired"), expiredValues);
+        assertFalse(wheel.cancel(expired));
+        assertEquals(0, wheel.size());
+    }
+
+    private static long randomDelay(Random random) {
+        switch (random.nextInt(4)) {
+        case 0:
+            return random.nextInt(64);
+        case 1:
+            return random.nextInt(5000);
+        case 2:
+            return random.nextInt(1_000_000);
+        default:
+            return (long) random.nextInt(1 << 30) * random.nextInt(64);
+        }
+    }
+
+    private static void assertInExpiryOrder(ArrayList<Integer> expired,
+            HashMap<Integer, TimingWheel.Timer<Integer>> timers, HashMap<Integer, Boolean> isOverdue) {
+        long lastExpiryTick = Long.MIN_VALUE;
+        boolean isPastOverdue = false;
+        for (Integer id : expired) {
+            if (isOverdue.get(id)) {
+                assertFalse(isPastOverdue);
+                continue;
+            }
+            isPastOverdue = true;
+            assertTrue(timers.get(id).getExpiryTick() >= lastExpiryTick);
+            lastExpiryTick = timers.get(id).getExpiryTick();
+        }
+    }
+}